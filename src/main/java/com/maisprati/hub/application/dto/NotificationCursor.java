@@ -0,0 +1,40 @@
+package com.maisprati.hub.application.dto;
+
+import com.maisprati.hub.domain.model.Notification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação de notificações: posição {@code (createdAt, id)} do último item da página.
+ *
+ * <p>Codificado em Base64 URL-safe ({@code createdAt|id}) para o cliente apenas repassar no parâmetro {@code before}.</p>
+ */
+public record NotificationCursor(LocalDateTime createdAt, String id) {
+
+    public static NotificationCursor of(Notification notification) {
+        if (notification.getCreatedAt() == null || notification.getId() == null) return null;
+        return new NotificationCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor não foi gerado pela API
+     */
+    public static NotificationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) throw new IllegalArgumentException("Cursor inválido");
+            return new NotificationCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
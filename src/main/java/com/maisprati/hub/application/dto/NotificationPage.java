@@ -0,0 +1,11 @@
+package com.maisprati.hub.application.dto;
+
+import com.maisprati.hub.domain.model.Notification;
+
+import java.util.List;
+
+/**
+ * Página de notificações; {@code nextCursor} é {@code null} na última página.
+ */
+public record NotificationPage(List<Notification> items, String nextCursor) {
+}
@@ -0,0 +1,29 @@
+package com.maisprati.hub.application.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma linha do provisionamento; {@code row} é a posição da linha na entrada (a partir de 1).
+ */
+public record TeamProvisioningResult(int row, Status status, String name, String teamId, String securityCode,
+                                     List<String> errors) {
+
+    /**
+     * {@code CONFLICT}: o time foi gravado, mas membros listados em {@code errors} entraram em outro time
+     * entre a validação e a gravação do lote
+     */
+    public enum Status { CREATED, CONFLICT, REJECTED }
+
+    public static TeamProvisioningResult created(int row, String name, String teamId, String securityCode) {
+        return new TeamProvisioningResult(row, Status.CREATED, name, teamId, securityCode, List.of());
+    }
+
+    public static TeamProvisioningResult conflict(int row, String name, String teamId, String securityCode,
+                                                  List<String> errors) {
+        return new TeamProvisioningResult(row, Status.CONFLICT, name, teamId, securityCode, List.copyOf(errors));
+    }
+
+    public static TeamProvisioningResult rejected(int row, String name, List<String> errors) {
+        return new TeamProvisioningResult(row, Status.REJECTED, name, null, null, List.copyOf(errors));
+    }
+}
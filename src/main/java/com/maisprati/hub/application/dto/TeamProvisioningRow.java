@@ -0,0 +1,12 @@
+package com.maisprati.hub.application.dto;
+
+import java.util.List;
+
+/**
+ * Linha do provisionamento em lote de times (JSON ou uma linha do CSV).
+ * <p>
+ * {@code maxMembers} e {@code securityCode} são opcionais; {@code memberEmails} são os alunos já alocados no time.
+ */
+public record TeamProvisioningRow(String name, String description, Integer maxMembers, String securityCode,
+                                  List<String> memberEmails) {
+}
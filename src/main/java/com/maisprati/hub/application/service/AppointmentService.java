@@ -21,7 +21,7 @@ public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
     private final TimeSlotDayService timeSlotDayService;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
 
     private final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -53,7 +53,8 @@ public class AppointmentService {
         log.info("Agendamento criado: aluno {} no time {} às {} ({})",
                 studentId, teamId, time.format(TIME_FORMATTER), date);
 
-        notificationService.createNotificationForAppointment(saved, "SCHEDULED");
+        // Notificações expandidas em segundo plano pela outbox
+        notificationOutboxService.recordAppointmentEvent(saved, "SCHEDULED");
 
         return saved;
     }
@@ -73,7 +74,7 @@ public class AppointmentService {
         timeSlotDayService.releaseSlot(appointment.getAdminId(), appointment.getDate(), appointment.getTime());
 
         Appointment saved = appointmentRepository.save(appointment);
-        notificationService.createNotificationForAppointment(saved, "CANCELLED");
+        notificationOutboxService.recordAppointmentEvent(saved, "CANCELLED");
         log.info("Agendamento {} cancelado", appointmentId);
         return saved;
     }
@@ -88,7 +89,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.COMPLETED);
         Appointment saved = appointmentRepository.save(appointment);
-        notificationService.createNotificationForAppointment(saved, "COMPLETED");
+        notificationOutboxService.recordAppointmentEvent(saved, "COMPLETED");
         log.info("Agendamento {} concluído", appointmentId);
 
         return saved;
@@ -0,0 +1,54 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.infrastructure.config.AvailabilityRuleProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Grava antecipadamente os dias das regras de disponibilidade dos próximos
+ * {@code availability.rules.materialize-days-ahead} dias ({@code availability.rules.materialization-cron}).
+ *
+ * <p>Opcional: sem o job, cada dia de regra é gravado na primeira reserva. Útil quando outras ferramentas leem
+ * {@code time_slots} diretamente. Dias já gravados nunca são sobrescritos, então o job pode rodar a qualquer momento
+ * e em mais de uma instância.</p>
+ *
+ * <p><b>Métricas:</b> {@code availability.rules.materialized} (dias gravados).</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "availability.rules", name = "materialization-enabled", havingValue = "true")
+public class AvailabilityRuleMaterializationJob {
+
+    private final TimeSlotDayService timeSlotDayService;
+    private final AvailabilityRuleProperties properties;
+    private final Counter materialized;
+
+    public AvailabilityRuleMaterializationJob(TimeSlotDayService timeSlotDayService,
+                                              AvailabilityRuleProperties properties,
+                                              MeterRegistry meterRegistry) {
+        this.timeSlotDayService = timeSlotDayService;
+        this.properties = properties;
+        this.materialized = Counter.builder("availability.rules.materialized")
+                .description("Dias de regras de disponibilidade gravados pelo job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${availability.rules.materialization-cron:0 0 4 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        try {
+            int created = timeSlotDayService.materializeRuleDays(today, today.plusDays(properties.getMaterializeDaysAhead()));
+            materialized.increment(created);
+            log.info("Regras de disponibilidade: {} dia(s) gravados até {}", created,
+                    today.plusDays(properties.getMaterializeDaysAhead()));
+        } catch (Exception e) {
+            log.error("Erro no job de materialização das regras de disponibilidade: {}", e.getMessage(), e);
+        }
+    }
+}
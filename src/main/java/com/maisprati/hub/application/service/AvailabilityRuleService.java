@@ -0,0 +1,150 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.exception.AvailabilityRuleNotFoundException;
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache;
+import com.maisprati.hub.infrastructure.persistence.repository.AvailabilityRuleRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.TimeSlotDayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Regras de disponibilidade recorrente dos admins ({@link AvailabilityRule}).
+ * <p>
+ * Criar, alterar ou remover uma regra não grava nenhum dia: os meses em cache do admin são descartados e a
+ * próxima leitura expande as regras de novo. Quando a regra deixa de valer numa data (data excluída ou regra
+ * removida), os horários livres que ela oferecia saem também dos dias já gravados; horários reservados ficam.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityRuleService {
+
+    static final int MAX_RULE_DAYS = 366;
+    static final int MAX_INTERVAL_MINUTES = 240;
+
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+    private final AvailabilityCalendarCache availabilityCalendarCache;
+    private final TimeSlotDayRepository timeSlotDayRepository;
+
+    /**
+     * Cria a regra do admin.
+     *
+     * @throws IllegalArgumentException se a regra for inválida
+     */
+    public AvailabilityRule createRule(String adminId, AvailabilityRule rule) {
+        validate(rule);
+
+        rule.setId(null);
+        rule.setAdminId(adminId);
+        rule.setCreatedAt(LocalDateTime.now());
+        if (rule.getExcludedDates() == null) rule.setExcludedDates(new HashSet<>());
+
+        AvailabilityRule saved = availabilityRuleRepository.save(rule);
+        availabilityCalendarCache.evictAdmin(adminId);
+        log.info("Regra de disponibilidade {} criada para o admin {}", saved.getId(), adminId);
+        return saved;
+    }
+
+    public List<AvailabilityRule> getRules(String adminId) {
+        return availabilityRuleRepository.findByAdminIdOrderByValidFromAsc(adminId);
+    }
+
+    /**
+     * Tira uma data da regra (feriado, ausência); horários já reservados nessa data continuam reservados.
+     */
+    public AvailabilityRule addExcludedDate(String adminId, String ruleId, LocalDate date) {
+        AvailabilityRule rule = getRule(adminId, ruleId);
+        Set<LocalDate> excluded = rule.getExcludedDates() != null ? new HashSet<>(rule.getExcludedDates()) : new HashSet<>();
+        if (!excluded.add(date)) return rule;
+
+        List<TimeSlot> withdrawn = rule.slotsOn(date);
+        rule.setExcludedDates(excluded);
+        AvailabilityRule saved = availabilityRuleRepository.save(rule);
+        retractFromStoredDays(adminId, Map.of(date, withdrawn));
+        availabilityCalendarCache.evictAdmin(adminId);
+        return saved;
+    }
+
+    public void deleteRule(String adminId, String ruleId) {
+        AvailabilityRule rule = getRule(adminId, ruleId);
+        Map<LocalDate, List<TimeSlot>> withdrawn = new HashMap<>();
+        for (LocalDate date = rule.getValidFrom(); !date.isAfter(rule.getValidUntil()); date = date.plusDays(1)) {
+            List<TimeSlot> slots = rule.slotsOn(date);
+            if (!slots.isEmpty()) withdrawn.put(date, slots);
+        }
+
+        availabilityRuleRepository.delete(rule);
+        retractFromStoredDays(adminId, withdrawn);
+        availabilityCalendarCache.evictAdmin(adminId);
+    }
+
+    /**
+     * Tira dos dias gravados (materializados) os horários livres que a regra deixou de oferecer, exceto os que
+     * outra regra do admin ainda oferece na mesma data. Chamado depois de gravar a regra alterada ou removida.
+     */
+    private void retractFromStoredDays(String adminId, Map<LocalDate, List<TimeSlot>> withdrawn) {
+        if (withdrawn.isEmpty()) return;
+
+        LocalDate from = withdrawn.keySet().stream().min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = withdrawn.keySet().stream().max(LocalDate::compareTo).orElseThrow();
+        List<AvailabilityRule> remaining = availabilityRuleRepository.findActiveByAdminId(adminId, from, to);
+
+        Map<LocalDate, Set<String>> timesByDate = new HashMap<>();
+        withdrawn.forEach((date, slots) -> {
+            Set<String> times = slots.stream().map(TimeSlot::getTime).collect(Collectors.toCollection(HashSet::new));
+            AvailabilityRule.expand(remaining, date).forEach(slot -> times.remove(slot.getTime()));
+            if (!times.isEmpty()) timesByDate.put(date, times);
+        });
+        if (timesByDate.isEmpty()) return;
+
+        long removed = timeSlotDayRepository.retractFreeSlots(adminId, timesByDate);
+        log.info("Horários de {} dia(s) retirados do admin {} ({} dia(s) sem horários apagados)",
+                timesByDate.size(), adminId, removed);
+    }
+
+    private AvailabilityRule getRule(String adminId, String ruleId) {
+        return availabilityRuleRepository.findById(ruleId)
+                .filter(rule -> rule.getAdminId().equals(adminId))
+                .orElseThrow(() -> new AvailabilityRuleNotFoundException("Regra de disponibilidade não encontrada"));
+    }
+
+    /**
+     * Horários na granularidade do bitmap ({@value TimeSlotBitmap#GRANULARITY_MINUTES} min), para que os dias
+     * materializados possam ser gravados em qualquer formato
+     */
+    private static void validate(AvailabilityRule rule) {
+        if (rule.getDaysOfWeek() == null || rule.getDaysOfWeek().isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um dia da semana");
+        }
+        int start = TimeSlotBitmap.bucketOf(rule.getStartTime());
+        int end = TimeSlotBitmap.bucketOf(rule.getEndTime());
+        if (start < 0 || end < 0 || end <= start) {
+            throw new IllegalArgumentException("Janela de horário inválida");
+        }
+        int interval = rule.getIntervalMinutes();
+        if (interval <= 0 || interval > MAX_INTERVAL_MINUTES || interval % TimeSlotBitmap.GRANULARITY_MINUTES != 0) {
+            throw new IllegalArgumentException("Intervalo deve ser múltiplo de " + TimeSlotBitmap.GRANULARITY_MINUTES
+                    + " minutos, até " + MAX_INTERVAL_MINUTES);
+        }
+        if (rule.getValidFrom() == null || rule.getValidUntil() == null || rule.getValidUntil().isBefore(rule.getValidFrom())) {
+            throw new IllegalArgumentException("Período de validade inválido");
+        }
+        if (ChronoUnit.DAYS.between(rule.getValidFrom(), rule.getValidUntil()) > MAX_RULE_DAYS) {
+            throw new IllegalArgumentException("Período máximo de " + MAX_RULE_DAYS + " dias");
+        }
+    }
+}
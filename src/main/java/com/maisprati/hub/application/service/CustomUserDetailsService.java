@@ -1,7 +1,7 @@
 package com.maisprati.hub.application.service;
 
 import com.maisprati.hub.domain.model.User;
-import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,11 +18,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
 
         // O Spring Security automaticamente verifica user.isEnabled()
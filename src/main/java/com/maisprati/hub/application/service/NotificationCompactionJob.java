@@ -0,0 +1,220 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.infrastructure.config.NotificationRetentionProperties;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Retenção da coleção de notificações, complementar ao TTL de {@code expireAt}.
+ *
+ * <p>Uma vez por dia ({@code notification.retention.compaction-cron}):</p>
+ * <ul>
+ *     <li><b>Compactação:</b> notificações de baixo valor ({@code compact-types}) mais antigas que
+ *     {@code compact-after-days} viram um resumo diário por usuário ({@code daily_digest}, com a
+ *     contagem por tipo em {@code data.counts})</li>
+ *     <li><b>Expiração das não lidas:</b> o TTL só remove notificações lidas; as não lidas fora da
+ *     retenção do tipo são removidas aqui, descontando o contador de não lidas</li>
+ * </ul>
+ *
+ * <p>As remoções são feitas em lotes de {@code batch-size} com {@code batch-pause-ms} entre eles,
+ * sobre o índice {@code (type, createdAt)}, para não competir com o tráfego da aplicação.
+ * Se o processo cair entre o resumo e a remoção de um lote, o lote é recontado na próxima execução.</p>
+ *
+ * <p><b>Métricas:</b> {@code notification.retention.reclaimed{reason=compacted|expired}} (documentos removidos),
+ * {@code notification.retention.digests} (resumos gravados) e {@code notification.retention.run} (duração).</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "notification.retention", name = "compaction-enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationCompactionJob {
+
+    static final String DIGEST_TYPE = "daily_digest";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final NotificationRetentionProperties properties;
+
+    private final Counter compacted;
+    private final Counter expired;
+    private final Counter digests;
+    private final Timer runTimer;
+
+    public NotificationCompactionJob(MongoTemplate mongoTemplate,
+                                     NotificationCounterRepository notificationCounterRepository,
+                                     NotificationRetentionProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.properties = properties;
+
+        this.compacted = Counter.builder("notification.retention.reclaimed")
+                .tag("reason", "compacted")
+                .description("Notificações removidas por compactação em resumo diário")
+                .register(meterRegistry);
+        this.expired = Counter.builder("notification.retention.reclaimed")
+                .tag("reason", "expired")
+                .description("Notificações não lidas removidas por fim da retenção")
+                .register(meterRegistry);
+        this.digests = Counter.builder("notification.retention.digests")
+                .description("Resumos diários gravados ou atualizados")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("notification.retention.run")
+                .description("Duração de cada execução do job de retenção")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${notification.retention.compaction-cron:0 30 3 * * *}")
+    public void run() {
+        runTimer.record(() -> {
+            try {
+                long compactedCount = compact();
+                long expiredCount = expireUnread();
+                log.info("Retenção de notificações: {} compactadas, {} não lidas expiradas", compactedCount, expiredCount);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Erro no job de retenção de notificações: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Resume as notificações de baixo valor antigas em um documento por usuário e dia
+     *
+     * @return quantidade de notificações removidas
+     */
+    long compact() throws InterruptedException {
+        if (properties.getCompactTypes().isEmpty()) return 0;
+
+        LocalDateTime cutoff = LocalDate.now().minusDays(properties.getCompactAfterDays()).atStartOfDay();
+        Criteria criteria = Criteria.where("type").in(properties.getCompactTypes()).and("createdAt").lt(cutoff);
+
+        return inBatches(criteria, batch -> {
+            writeDigests(batch);
+            compacted.increment(batch.size());
+        });
+    }
+
+    /**
+     * Remove as notificações não lidas que passaram da retenção do seu tipo
+     *
+     * @return quantidade de notificações removidas
+     */
+    long expireUnread() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        long removed = 0;
+
+        for (Map.Entry<String, Integer> rule : properties.getDaysByType().entrySet()) {
+            if (rule.getValue() <= 0) continue;
+            removed += expireUnread(Criteria.where("type").is(rule.getKey())
+                    .and("createdAt").lt(now.minusDays(rule.getValue())));
+        }
+
+        if (properties.getDefaultDays() > 0) {
+            removed += expireUnread(Criteria.where("type").nin(properties.getDaysByType().keySet())
+                    .and("createdAt").lt(now.minusDays(properties.getDefaultDays())));
+        }
+        return removed;
+    }
+
+    private long expireUnread(Criteria criteria) throws InterruptedException {
+        return inBatches(criteria.and("read").ne(true), batch -> expired.increment(batch.size()));
+    }
+
+    /**
+     * Processa e remove, lote a lote, as notificações que atendem ao critério,
+     * descontando dos contadores as que ainda não tinham sido lidas
+     */
+    private long inBatches(Criteria criteria, Consumer<List<Notification>> handler) throws InterruptedException {
+        long total = 0;
+        while (true) {
+            Query query = Query.query(criteria).with(Sort.by("createdAt")).limit(properties.getBatchSize());
+            query.fields().include("userId", "type", "createdAt", "read");
+            List<Notification> batch = mongoTemplate.find(query, Notification.class);
+            if (batch.isEmpty()) break;
+
+            handler.accept(batch);
+
+            List<String> ids = batch.stream().map(Notification::getId).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), Notification.class);
+            decrementUnread(batch);
+            total += batch.size();
+
+            if (batch.size() < properties.getBatchSize()) break;
+            Thread.sleep(properties.getBatchPauseMs());
+        }
+        return total;
+    }
+
+    /**
+     * Soma o lote nos resumos diários (um upsert {@code $inc} por usuário e dia, num único bulk).
+     * Notificações sem {@code userId} (gravadas antes da validação em {@code createNotification}) são
+     * removidas sem resumo.
+     */
+    private void writeDigests(List<Notification> batch) {
+        Map<String, Map<LocalDate, Map<String, Long>>> countsByUserAndDay = batch.stream()
+                .filter(notification -> notification.getUserId() != null)
+                .collect(Collectors.groupingBy(Notification::getUserId,
+                        Collectors.groupingBy(notification -> notification.getCreatedAt().toLocalDate(),
+                                Collectors.groupingBy(Notification::getType, Collectors.counting()))));
+
+        if (countsByUserAndDay.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class);
+
+        countsByUserAndDay.forEach((userId, byDay) -> byDay.forEach((day, byType) -> {
+            // O resumo é identificado por (userId, type, createdAt = fim do dia), coberto pelo índice do inbox
+            LocalDateTime digestCreatedAt = day.atTime(23, 59, 59);
+            Query digest = Query.query(Criteria.where("userId").is(userId)
+                    .and("type").is(DIGEST_TYPE)
+                    .and("createdAt").is(digestCreatedAt));
+
+            Update update = new Update()
+                    .setOnInsert("title", "Resumo do dia")
+                    .setOnInsert("message", "Resumo das notificações de " + day.format(DATE_FORMATTER))
+                    .setOnInsert("data.date", day.toString())
+                    .setOnInsert("read", true)
+                    .setOnInsert("readAt", LocalDateTime.now())
+                    .setOnInsert("expireAt", properties.expireAt(DIGEST_TYPE, digestCreatedAt));
+            byType.forEach((type, count) -> update.inc("data.counts." + type, count));
+
+            bulk.upsert(digest, update);
+        }));
+
+        bulk.execute();
+        digests.increment(countsByUserAndDay.values().stream().mapToInt(Map::size).sum());
+    }
+
+    /**
+     * Notificações sem {@code userId} não têm contador a descontar
+     */
+    private void decrementUnread(List<Notification> batch) {
+        batch.stream()
+                .filter(notification -> !notification.isRead() && notification.getUserId() != null)
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()))
+                .forEach(notificationCounterRepository::decrementUnread);
+    }
+}
@@ -0,0 +1,246 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.enums.OutboxStatus;
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.domain.model.NotificationEvent;
+import com.maisprati.hub.infrastructure.config.NotificationOutboxProperties;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationCounterRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationEventRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatcher da outbox de notificações.
+ *
+ * <p>A cada {@code notification.outbox.poll-interval-ms}:</p>
+ * <ul>
+ *     <li>Reserva até {@code batch-size} eventos com {@code findAndModify} (PENDING vencido ou
+ *     PROCESSING com reserva expirada, ou seja, de um ciclo que caiu no meio)</li>
+ *     <li>Expande os eventos nas notificações de cada destinatário e grava o lote com um único insert</li>
+ *     <li>Remove os eventos entregues; falhas voltam para PENDING com backoff exponencial e,
+ *     após {@code max-attempts}, ficam como FAILED para análise</li>
+ * </ul>
+ *
+ * <p>Entrega pelo menos uma vez: se o processo cair entre o insert e a remoção do evento,
+ * o lote é reprocessado quando a reserva expirar.</p>
+ *
+ * <p><b>Métricas:</b> {@code notification.outbox.depth} (eventos pendentes),
+ * {@code notification.outbox.lag} (tempo entre o registro e a entrega),
+ * {@code notification.outbox.dispatched} e {@code notification.outbox.notifications} (vazão),
+ * {@code notification.outbox.retries} e {@code notification.outbox.failed}.</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "notification.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationOutboxDispatcher {
+
+    private static final Set<OutboxStatus> OPEN_STATUSES = Set.of(OutboxStatus.PENDING, OutboxStatus.PROCESSING);
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationEventRepository notificationEventRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final NotificationService notificationService;
+    private final NotificationOutboxProperties properties;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer lag;
+    private final Counter dispatched;
+    private final Counter notificationsWritten;
+    private final Counter retries;
+    private final Counter failed;
+
+    public NotificationOutboxDispatcher(MongoTemplate mongoTemplate,
+                                        NotificationEventRepository notificationEventRepository,
+                                        NotificationRepository notificationRepository,
+                                        NotificationCounterRepository notificationCounterRepository,
+                                        NotificationService notificationService,
+                                        NotificationOutboxProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationEventRepository = notificationEventRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.notificationService = notificationService;
+        this.properties = properties;
+
+        Gauge.builder("notification.outbox.depth", depth, AtomicLong::get)
+                .description("Eventos aguardando entrega na outbox de notificações")
+                .register(meterRegistry);
+        this.lag = Timer.builder("notification.outbox.lag")
+                .description("Tempo entre o registro do evento e a gravação das notificações")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dispatched = Counter.builder("notification.outbox.dispatched")
+                .description("Eventos entregues")
+                .register(meterRegistry);
+        this.notificationsWritten = Counter.builder("notification.outbox.notifications")
+                .description("Notificações gravadas pelo dispatcher")
+                .register(meterRegistry);
+        this.retries = Counter.builder("notification.outbox.retries")
+                .description("Eventos reagendados após falha")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.outbox.failed")
+                .description("Eventos que esgotaram as tentativas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ciclo do dispatcher: processa lotes enquanto vierem cheios
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            int processed;
+            do {
+                processed = dispatchBatch();
+            } while (processed == properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Erro no dispatcher da outbox de notificações: {}", e.getMessage(), e);
+        } finally {
+            depth.set(notificationEventRepository.countByStatusIn(OPEN_STATUSES));
+        }
+    }
+
+    /**
+     * Reserva, expande e entrega um lote de eventos
+     *
+     * @return quantidade de eventos reservados
+     */
+    int dispatchBatch() {
+        List<NotificationEvent> claimed = claimBatch();
+        if (claimed.isEmpty()) return 0;
+
+        List<NotificationEvent> expanded = new ArrayList<>(claimed.size());
+        List<Notification> notifications = new ArrayList<>();
+
+        for (NotificationEvent event : claimed) {
+            try {
+                notifications.addAll(expand(event));
+                expanded.add(event);
+            } catch (Exception e) {
+                scheduleRetry(event, e);
+            }
+        }
+
+        if (expanded.isEmpty()) return claimed.size();
+
+        try {
+            if (!notifications.isEmpty()) {
+                notificationRepository.saveAll(notifications);
+                notificationCounterRepository.incrementUnread(notifications);
+            }
+        } catch (Exception e) {
+            expanded.forEach(event -> scheduleRetry(event, e));
+            return claimed.size();
+        }
+
+        List<String> ids = expanded.stream().map(NotificationEvent::getId).toList();
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), NotificationEvent.class);
+
+        Instant now = Instant.now();
+        expanded.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+        dispatched.increment(expanded.size());
+        notificationsWritten.increment(notifications.size());
+        log.info("Outbox: {} eventos entregues ({} notificações)", expanded.size(), notifications.size());
+
+        return claimed.size();
+    }
+
+    /**
+     * Monta as notificações de um evento (sem gravar)
+     */
+    List<Notification> expand(NotificationEvent event) {
+        var payload = event.getPayload();
+        return switch (event.getType()) {
+            case APPOINTMENT -> notificationService.buildNotificationsForAppointment(
+                    NotificationOutboxService.appointmentFrom(payload), (String) payload.get("eventType"));
+            case TEAM_JOIN -> adminOnly(notificationService.buildTeamJoinNotification(
+                    (String) payload.get("studentName"), (String) payload.get("teamName")));
+            case TEAM_EXIT -> adminOnly(notificationService.buildTeamExitNotification(
+                    (String) payload.get("studentName"), (String) payload.get("teamName"), (String) payload.get("reason")));
+        };
+    }
+
+    private List<Notification> adminOnly(List<Notification> notifications) {
+        if (notifications.isEmpty()) throw new IllegalStateException("Nenhum admin encontrado no sistema");
+        return notifications;
+    }
+
+    private List<NotificationEvent> claimBatch() {
+        List<NotificationEvent> claimed = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < properties.getBatchSize(); i++) {
+            NotificationEvent event = claimNext();
+            if (event == null) break;
+            claimed.add(event);
+        }
+        return claimed;
+    }
+
+    /**
+     * Reserva o próximo evento de forma atômica (várias instâncias podem rodar o dispatcher)
+     */
+    private NotificationEvent claimNext() {
+        Instant now = Instant.now();
+
+        Query query = Query.query(new Criteria().orOperator(
+                Criteria.where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(OutboxStatus.PROCESSING).and("lockedUntil").lt(now)
+        )).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+
+        Update update = new Update()
+                .set("status", OutboxStatus.PROCESSING)
+                .set("lockedUntil", now.plusMillis(properties.getLeaseMs()))
+                .inc("attempts", 1);
+
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), NotificationEvent.class);
+    }
+
+    private void scheduleRetry(NotificationEvent event, Exception error) {
+        Update update = new Update().set("lastError", error.getMessage()).unset("lockedUntil");
+
+        if (event.getAttempts() >= properties.getMaxAttempts()) {
+            update.set("status", OutboxStatus.FAILED);
+            failed.increment();
+            log.error("Outbox: evento {} ({}) falhou após {} tentativas: {}",
+                    event.getId(), event.getType(), event.getAttempts(), error.getMessage());
+        } else {
+            update.set("status", OutboxStatus.PENDING)
+                    .set("nextAttemptAt", Instant.now().plusMillis(backoff(event.getAttempts())));
+            retries.increment();
+            log.warn("Outbox: evento {} ({}) reagendado (tentativa {}): {}",
+                    event.getId(), event.getType(), event.getAttempts(), error.getMessage());
+        }
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(event.getId())), update, NotificationEvent.class);
+    }
+
+    /**
+     * Backoff exponencial: initial-backoff-ms * 2^(tentativa - 1), limitado a max-backoff-ms
+     */
+    long backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(properties.getInitialBackoffMs() << exponent, properties.getMaxBackoffMs());
+    }
+}
@@ -0,0 +1,91 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.enums.NotificationEventType;
+import com.maisprati.hub.domain.enums.OutboxStatus;
+import com.maisprati.hub.domain.model.Appointment;
+import com.maisprati.hub.domain.model.NotificationEvent;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registra eventos na outbox de notificações.
+ *
+ * <p>Cada operação de negócio grava um único documento compacto ({@link NotificationEvent});
+ * a expansão nas notificações de cada destinatário fica com o {@link NotificationOutboxDispatcher},
+ * fora da requisição HTTP.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxService {
+
+    private final NotificationEventRepository notificationEventRepository;
+
+    /**
+     * Registra evento de agendamento (SCHEDULED, CANCELLED ou COMPLETED)
+     */
+    public void recordAppointmentEvent(Appointment appointment, String eventType) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventType", eventType);
+        payload.put("appointmentId", appointment.getId());
+        payload.put("studentId", appointment.getStudentId());
+        payload.put("adminId", appointment.getAdminId());
+        payload.put("teamId", appointment.getTeamId());
+        payload.put("date", appointment.getDate().toString());
+        payload.put("time", appointment.getTime().toString());
+
+        record(NotificationEventType.APPOINTMENT, payload);
+    }
+
+    /**
+     * Registra entrada de membro no time (notificação para o admin)
+     */
+    public void recordTeamJoin(String studentName, String teamName) {
+        record(NotificationEventType.TEAM_JOIN, Map.of("studentName", studentName, "teamName", teamName));
+    }
+
+    /**
+     * Registra saída de membro do time (notificação para o admin)
+     */
+    public void recordTeamExit(String studentName, String teamName, String reason) {
+        record(NotificationEventType.TEAM_EXIT,
+                Map.of("studentName", studentName, "teamName", teamName, "reason", reason));
+    }
+
+    /**
+     * Reconstrói o agendamento a partir do payload do evento
+     */
+    static Appointment appointmentFrom(Map<String, Object> payload) {
+        return Appointment.builder()
+                .id((String) payload.get("appointmentId"))
+                .studentId((String) payload.get("studentId"))
+                .adminId((String) payload.get("adminId"))
+                .teamId((String) payload.get("teamId"))
+                .date(LocalDate.parse((String) payload.get("date")))
+                .time(LocalTime.parse((String) payload.get("time")))
+                .build();
+    }
+
+    private void record(NotificationEventType type, Map<String, Object> payload) {
+        Instant now = Instant.now();
+        NotificationEvent event = NotificationEvent.builder()
+                .type(type)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        notificationEventRepository.insert(event);
+        log.debug("Evento {} registrado na outbox de notificações", type);
+    }
+}
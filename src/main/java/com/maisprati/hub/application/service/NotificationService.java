@@ -1,9 +1,15 @@
 package com.maisprati.hub.application.service;
 
+import com.maisprati.hub.application.dto.NotificationCursor;
+import com.maisprati.hub.application.dto.NotificationPage;
+import com.maisprati.hub.domain.exception.NotificationNotFoundException;
 import com.maisprati.hub.domain.model.Appointment;
 import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.domain.model.NotificationCounter;
 import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.infrastructure.cache.AdminRecipientRegistry;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationCounterRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.NotificationRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
@@ -25,32 +31,69 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
+    private final AdminRecipientRegistry adminRecipientRegistry;
+
+    /** Tamanho de página quando o cliente não informa {@code limit} */
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Maior página aceita, para que nenhum cliente volte a carregar o inbox inteiro */
+    static final int MAX_PAGE_SIZE = 100;
 
     /**
-     * Buscar todas as notificações de um usuário
+     * Buscar uma página das notificações de um usuário, das mais recentes para as mais antigas
+     *
+     * @param before cursor devolvido pela página anterior ({@code null} para a primeira página)
+     * @throws IllegalArgumentException se o cursor for inválido
      */
-    public List<Notification> getUserNotifications(String userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public NotificationPage getUserNotifications(String userId, Integer limit, String before) {
+        int pageSize = resolvePageSize(limit);
+        NotificationCursor cursor = before == null || before.isBlank() ? null : NotificationCursor.decode(before);
+
+        // Busca um item a mais para saber se existe próxima página sem um count()
+        List<Notification> items = notificationRepository.findPageByUserId(
+                userId,
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                pageSize + 1);
+
+        if (items.size() <= pageSize) {
+            return new NotificationPage(items, null);
+        }
+
+        List<Notification> page = List.copyOf(items.subList(0, pageSize));
+        NotificationCursor next = NotificationCursor.of(page.get(pageSize - 1));
+        return new NotificationPage(page, next != null ? next.encode() : null);
     }
 
     /**
-     * Buscar notificações do admin
+     * Buscar uma página das notificações do admin autenticado (página vazia se não for admin)
      */
-    public List<Notification> getAdminNotifications() {
-        Optional<User> adminOpt = userRepository.findByEmail("admin@admin.com");
-        if (adminOpt.isEmpty()) {
-            log.error("Admin não encontrado no sistema");
-            return List.of();
+    public NotificationPage getAdminNotifications(String adminId, Integer limit, String before) {
+        if (!adminRecipientRegistry.isAdmin(adminId)) {
+            log.warn("Usuário {} não é um admin registrado", adminId);
+            return new NotificationPage(List.of(), null);
         }
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(adminOpt.get().getId());
+        return getUserNotifications(adminId, limit, before);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
     /**
      * Criar uma nova notificação genérica
+     *
+     * @throws IllegalArgumentException se a notificação não tiver destinatário
      */
     public Notification createNotification(Notification notificationData) {
+        if (notificationData.getUserId() == null || notificationData.getUserId().isBlank()) {
+            throw new IllegalArgumentException("Informe o usuário da notificação");
+        }
+
         Notification notification = Notification.builder()
                 .userId(notificationData.getUserId())
                 .type(notificationData.getType())
@@ -61,6 +104,7 @@ public class NotificationService {
                 .build();
 
         Notification savedNotification = notificationRepository.save(notification);
+        notificationCounterRepository.incrementUnread(List.of(savedNotification));
         log.info("Notificação criada para usuário: {}, tipo: {}", notification.getUserId(), notification.getType());
 
         return savedNotification;
@@ -70,39 +114,93 @@ public class NotificationService {
      * Deletar uma notificação
      */
     public void deleteNotification(String notificationId) {
-        notificationRepository.deleteById(notificationId);
+        Notification removed = notificationRepository.removeById(notificationId);
+        if (removed != null && !removed.isRead()) {
+            notificationCounterRepository.decrementUnread(removed.getUserId(), 1);
+        }
         log.info("Notificação deletada: {}", notificationId);
     }
 
+    /**
+     * Quantidade de notificações não lidas do usuário (lida do contador, sem consultar as notificações)
+     */
+    public long getUnreadCount(String userId) {
+        return notificationCounterRepository.findById(userId)
+                .map(NotificationCounter::getUnread)
+                .orElse(0L);
+    }
+
+    /**
+     * Marcar uma notificação do usuário como lida
+     *
+     * @return {@code false} se a notificação já estava lida
+     * @throws NotificationNotFoundException se a notificação não existe ou é de outro usuário
+     */
+    public boolean markAsRead(String userId, String notificationId) {
+        Notification notification = notificationRepository.markAsRead(notificationId, userId);
+        if (notification == null) {
+            if (!notificationRepository.existsByIdAndUserId(notificationId, userId)) {
+                throw new NotificationNotFoundException("Notificação não encontrada");
+            }
+            return false;
+        }
+
+        notificationCounterRepository.decrementUnread(notification.getUserId(), 1);
+        return true;
+    }
+
+    /**
+     * Marcar todas as notificações do usuário como lidas (um único update na coleção)
+     *
+     * @return quantidade de notificações alteradas
+     */
+    public long markAllAsRead(String userId) {
+        long updated = notificationRepository.markAllAsRead(userId);
+        notificationCounterRepository.decrementUnread(userId, updated);
+        log.info("{} notificações marcadas como lidas para usuário: {}", updated, userId);
+        return updated;
+    }
+
     /**
      * Enviar mensagem do aluno para o admin
+     *
+     * @return a notificação do primeiro admin (todos recebem uma cópia), ou {@code null} se não há admin
      */
     public Notification sendNotificationToAdmin(String studentName, String message) {
-        return saveAdminNotification(
+        return first(saveAdminNotification(
                 "student_message",
                 "Nova mensagem do aluno " + studentName,
                 studentName + ": " + message,
                 null
-        );
+        ));
     }
 
     /**
      * Enviar solicitação genérica do aluno para o admin
+     *
+     * @return a notificação do primeiro admin (todos recebem uma cópia), ou {@code null} se não há admin
      */
     public Notification sendMessageToAdmin(String studentName, String message) {
-        return saveAdminNotification(
+        return first(saveAdminNotification(
                 "student_request",
                 "Nova solicitação do aluno " + studentName,
                 studentName + ": " + message,
                 null
-        );
+        ));
     }
 
     /**
      * Notificar admin sobre entrada de membro no time
      */
     public Notification notifyAdminTeamJoin(String studentName, String teamName) {
-        return saveAdminNotification(
+        return first(saveAdminNotification(buildTeamJoinNotification(studentName, teamName)));
+    }
+
+    /**
+     * Monta as notificações dos admins sobre entrada de membro no time (não salva)
+     */
+    public List<Notification> buildTeamJoinNotification(String studentName, String teamName) {
+        return buildAdminNotification(
                 "team_join",
                 "Novo membro no time",
                 studentName + " entrou no time " + teamName,
@@ -114,7 +212,14 @@ public class NotificationService {
      * Notificar admin sobre saída de membro do time
      */
     public Notification notifyAdminTeamExit(String studentName, String teamName, String reason) {
-        return saveAdminNotification(
+        return first(saveAdminNotification(buildTeamExitNotification(studentName, teamName, reason)));
+    }
+
+    /**
+     * Monta as notificações dos admins sobre saída de membro do time (não salva)
+     */
+    public List<Notification> buildTeamExitNotification(String studentName, String teamName, String reason) {
+        return buildAdminNotification(
                 "team_exit",
                 "Membro saiu do time",
                 studentName + " saiu do time " + teamName + ". Motivo: " + reason,
@@ -123,127 +228,143 @@ public class NotificationService {
     }
 
     /**
-     * Monta a notificação para o admin e salva no banco
+     * Monta as notificações para os admins e salva no banco
      */
-    private Notification saveAdminNotification(String type, String title, String message, Map<String, Object> data) {
-        Notification notification = buildAdminNotification(type, title, message, data);
-        if (notification != null) {
-            notificationRepository.save(notification);
-            log.info("Admin notificado: {} - {}", type, message);
-        }
-        return notification;
+    private List<Notification> saveAdminNotification(String type, String title, String message, Map<String, Object> data) {
+        return saveAdminNotification(buildAdminNotification(type, title, message, data));
     }
 
     /**
-     * Monta o objeto Notification para o admin (não salva)
+     * Grava as notificações de todos os admins com um único insert em lote
      */
-    private Notification buildAdminNotification(String type, String title, String message, Map<String, Object> data) {
-        Optional<User> adminOpt = userRepository.findByEmail("admin@admin.com");
-        if (adminOpt.isEmpty()) {
-            log.error("Admin não encontrado no sistema");
-            return null;
+    private List<Notification> saveAdminNotification(List<Notification> notifications) {
+        if (!notifications.isEmpty()) {
+            notificationRepository.saveAll(notifications);
+            notificationCounterRepository.incrementUnread(notifications);
+            log.info("{} admin(s) notificados: {} - {}",
+                    notifications.size(), notifications.get(0).getType(), notifications.get(0).getMessage());
         }
+        return notifications;
+    }
 
-        User admin = adminOpt.get();
+    /**
+     * Mantém o retorno de uma notificação dos métodos públicos (contrato da API anterior ao envio para vários admins)
+     */
+    private static Notification first(List<Notification> notifications) {
+        return notifications.isEmpty() ? null : notifications.get(0);
+    }
 
-        return Notification.builder()
-                .userId(admin.getId())
-                .type(type)
-                .title(title)
-                .message(message)
-                .data(data)
-                .createdAt(LocalDateTime.now())
-                .build();
+    /**
+     * Monta uma notificação por admin registrado (não salva, sem consulta ao banco)
+     */
+    private List<Notification> buildAdminNotification(String type, String title, String message, Map<String, Object> data) {
+        List<String> adminIds = adminRecipientRegistry.getAdminIds();
+        if (adminIds.isEmpty()) {
+            log.error("Nenhum admin encontrado no sistema");
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return adminIds.stream()
+                .map(adminId -> buildNotification(adminId, type, title, message, data, now))
+                .toList();
     }
 
     /**
      * Cria notificações para agendamentos (para todos os envolvidos)
+     * <p>
+     * Todas as notificações do evento são montadas primeiro e gravadas com um único insert em lote.
      */
     public void createNotificationForAppointment(Appointment appointment, String eventType) {
         try {
-            // Formatadores para data brasileira
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-            String formattedDate = appointment.getDate().format(dateFormatter);
-            String formattedTime = appointment.getTime().format(timeFormatter);
-
-            // Buscar dados do time se existir
-            String teamName = null;
-            List<String> teamMemberIds = new ArrayList<>();
-
-            if (appointment.getTeamId() != null) {
-                Optional<Team> teamOpt = teamRepository.findById(appointment.getTeamId());
-                if (teamOpt.isPresent()) {
-                    Team team = teamOpt.get();
-                    teamName = team.getName();
+            List<Notification> notifications = buildNotificationsForAppointment(appointment, eventType);
+
+            if (!notifications.isEmpty()) {
+                notificationRepository.saveAll(notifications);
+                notificationCounterRepository.incrementUnread(notifications);
+                log.info("{} notificações criadas para appointment: {}, evento: {}",
+                        notifications.size(), appointment.getId(), eventType);
+            }
+
+        } catch (Exception e) {
+            log.error("Erro ao criar notificações para appointment: {}", appointment.getId(), e);
+        }
+    }
+
+    /**
+     * Monta as notificações de um evento de agendamento para todos os envolvidos (não salva)
+     */
+    public List<Notification> buildNotificationsForAppointment(Appointment appointment, String eventType) {
+        // Formatadores para data brasileira
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        String formattedDate = appointment.getDate().format(dateFormatter);
+        String formattedTime = appointment.getTime().format(timeFormatter);
+
+        // Buscar nome e membros do time (projeção, sem o documento completo)
+        String teamName = null;
+        List<String> teamMemberIds = new ArrayList<>();
+
+        if (appointment.getTeamId() != null) {
+            Optional<Team> teamOpt = teamRepository.findNameAndMemberIdsById(appointment.getTeamId());
+            if (teamOpt.isPresent()) {
+                Team team = teamOpt.get();
+                teamName = team.getName();
+                if (team.getMembers() != null) {
                     teamMemberIds = team.getMembers().stream()
                             .map(member -> member.getUserId())
                             .collect(Collectors.toList());
                 }
             }
+        }
 
-            // Se tem time, tratar como reunião do time
-            if (appointment.getTeamId() != null && teamName != null) {
-                handleTeamAppointmentNotifications(
-                        appointment, eventType, formattedDate, formattedTime,
-                        teamName, teamMemberIds
-                );
-            } else {
-                // Reunião individual
-                handleIndividualAppointmentNotifications(
-                        appointment, eventType, formattedDate, formattedTime
-                );
-            }
-
-        } catch (Exception e) {
-            log.error("Erro ao criar notificações para appointment: {}", appointment.getId(), e);
+        // Se tem time, tratar como reunião do time
+        if (appointment.getTeamId() != null && teamName != null) {
+            return buildTeamAppointmentNotifications(
+                    appointment, eventType, formattedDate, formattedTime,
+                    teamName, teamMemberIds
+            );
         }
+
+        // Reunião individual
+        return buildIndividualAppointmentNotifications(
+                appointment, eventType, formattedDate, formattedTime
+        );
     }
 
     /**
-     * Trata notificações para reuniões de time
+     * Monta as notificações para reuniões de time (não salva)
      */
-    private void handleTeamAppointmentNotifications(
+    private List<Notification> buildTeamAppointmentNotifications(
             Appointment appointment, String eventType, String formattedDate, String formattedTime,
             String teamName, List<String> teamMemberIds) {
 
         String studentId = appointment.getStudentId();
         String adminId = appointment.getAdminId();
+        Map<String, Object> data = Map.of("appointmentId", appointment.getId(), "teamName", teamName);
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(teamMemberIds.size() + 2);
 
         switch (eventType) {
             case "SCHEDULED":
+                String scheduledMessage = "O time " + teamName + " agendou uma reunião para " + formattedDate + " às " + formattedTime;
+
                 // Notificar admin sobre reunião do time
-                createNotification(Notification.builder()
-                        .userId(adminId)
-                        .type("team_appointment_scheduled")
-                        .title("Nova reunião do time")
-                        .message("O time " + teamName + " agendou uma reunião para " + formattedDate + " às " + formattedTime)
-                        .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(adminId, "team_appointment_scheduled",
+                        "Nova reunião do time", scheduledMessage, data, now));
 
                 // Notificar outros membros do time (exceto quem agendou)
                 teamMemberIds.stream()
                         .filter(memberId -> !memberId.equals(studentId))
-                        .forEach(memberId -> createNotification(Notification.builder()
-                                .userId(memberId)
-                                .type("team_appointment_scheduled")
-                                .title("Nova reunião do time")
-                                .message("O time " + teamName + " agendou uma reunião para " + formattedDate + " às " + formattedTime)
-                                .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                                .createdAt(LocalDateTime.now())
-                                .build()));
+                        .forEach(memberId -> notifications.add(buildNotification(memberId, "team_appointment_scheduled",
+                                "Nova reunião do time", scheduledMessage, data, now)));
 
                 // Notificar quem agendou (mensagem específica)
-                createNotification(Notification.builder()
-                        .userId(studentId)
-                        .type("appointment_scheduled")
-                        .title("Reunião agendada")
-                        .message("Você agendou uma reunião para o time " + teamName + " em " + formattedDate + " às " + formattedTime)
-                        .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(studentId, "appointment_scheduled",
+                        "Reunião agendada",
+                        "Você agendou uma reunião para o time " + teamName + " em " + formattedDate + " às " + formattedTime,
+                        data, now));
                 break;
 
             case "CANCELLED":
@@ -251,86 +372,60 @@ public class NotificationService {
                 String cancelMessage = "A reunião do time " + teamName + " marcada para " + formattedDate + " às " + formattedTime + " foi cancelada";
 
                 // Notificar admin
-                createNotification(Notification.builder()
-                        .userId(adminId)
-                        .type("team_appointment_cancelled")
-                        .title("Reunião do time cancelada")
-                        .message(cancelMessage)
-                        .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(adminId, "team_appointment_cancelled",
+                        "Reunião do time cancelada", cancelMessage, data, now));
 
                 // Notificar todos os membros do time
-                teamMemberIds.forEach(memberId -> createNotification(Notification.builder()
-                        .userId(memberId)
-                        .type("team_appointment_cancelled")
-                        .title("Reunião do time cancelada")
-                        .message(cancelMessage)
-                        .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                        .createdAt(LocalDateTime.now())
-                        .build()));
+                teamMemberIds.forEach(memberId -> notifications.add(buildNotification(memberId, "team_appointment_cancelled",
+                        "Reunião do time cancelada", cancelMessage, data, now)));
                 break;
 
             case "COMPLETED":
+                String completedMessage = "A reunião do time " + teamName + " do dia " + formattedDate + " às " + formattedTime + " foi concluída";
+
                 // Notificar admin
-                createNotification(Notification.builder()
-                        .userId(adminId)
-                        .type("team_appointment_completed")
-                        .title("Reunião do time concluída")
-                        .message("A reunião do time " + teamName + " do dia " + formattedDate + " às " + formattedTime + " foi concluída")
-                        .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(adminId, "team_appointment_completed",
+                        "Reunião do time concluída", completedMessage, data, now));
 
                 // Notificar todos os membros do time
-                teamMemberIds.forEach(memberId -> createNotification(Notification.builder()
-                        .userId(memberId)
-                        .type("team_appointment_completed")
-                        .title("Reunião do time concluída")
-                        .message("A reunião do time " + teamName + " do dia " + formattedDate + " às " + formattedTime + " foi concluída")
-                        .data(Map.of("appointmentId", appointment.getId(), "teamName", teamName))
-                        .createdAt(LocalDateTime.now())
-                        .build()));
+                teamMemberIds.forEach(memberId -> notifications.add(buildNotification(memberId, "team_appointment_completed",
+                        "Reunião do time concluída", completedMessage, data, now)));
                 break;
         }
+
+        return notifications;
     }
 
     /**
-     * Trata notificações para reuniões individuais
+     * Monta as notificações para reuniões individuais (não salva)
      */
-    private void handleIndividualAppointmentNotifications(
+    private List<Notification> buildIndividualAppointmentNotifications(
             Appointment appointment, String eventType, String formattedDate, String formattedTime) {
 
         String studentId = appointment.getStudentId();
         String adminId = appointment.getAdminId();
-
-        String studentName = "Um aluno";
-        Optional<User> studentOpt = userRepository.findById(studentId);
-        if (studentOpt.isPresent()) {
-            studentName = studentOpt.get().getName();
-        }
+        Map<String, Object> data = Map.of("appointmentId", appointment.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(2);
 
         switch (eventType) {
             case "SCHEDULED":
+                // Nome do aluno só é usado na notificação de agendamento
+                String studentName = userRepository.findById(studentId)
+                        .map(User::getName)
+                        .orElse("Um aluno");
+
                 // Notificar admin
-                createNotification(Notification.builder()
-                        .userId(adminId)
-                        .type("appointment_scheduled")
-                        .title("Nova reunião agendada")
-                        .message(studentName + " agendou uma reunião para " + formattedDate + " às " + formattedTime)
-                        .data(Map.of("appointmentId", appointment.getId()))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(adminId, "appointment_scheduled",
+                        "Nova reunião agendada",
+                        studentName + " agendou uma reunião para " + formattedDate + " às " + formattedTime,
+                        data, now));
 
                 // Notificar estudante
-                createNotification(Notification.builder()
-                        .userId(studentId)
-                        .type("appointment_scheduled")
-                        .title("Nova reunião marcada")
-                        .message("Sua reunião foi marcada para " + formattedDate + " às " + formattedTime)
-                        .data(Map.of("appointmentId", appointment.getId()))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(studentId, "appointment_scheduled",
+                        "Nova reunião marcada",
+                        "Sua reunião foi marcada para " + formattedDate + " às " + formattedTime,
+                        data, now));
                 break;
 
             case "CANCELLED":
@@ -338,47 +433,44 @@ public class NotificationService {
                 String cancelMessage = "A reunião marcada para " + formattedDate + " às " + formattedTime + " foi cancelada";
 
                 // Notificar admin
-                createNotification(Notification.builder()
-                        .userId(adminId)
-                        .type("appointment_cancelled")
-                        .title("Reunião cancelada")
-                        .message(cancelMessage)
-                        .data(Map.of("appointmentId", appointment.getId()))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(adminId, "appointment_cancelled",
+                        "Reunião cancelada", cancelMessage, data, now));
 
                 // Notificar estudante
-                createNotification(Notification.builder()
-                        .userId(studentId)
-                        .type("appointment_cancelled")
-                        .title("Reunião cancelada")
-                        .message(cancelMessage)
-                        .data(Map.of("appointmentId", appointment.getId()))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(studentId, "appointment_cancelled",
+                        "Reunião cancelada", cancelMessage, data, now));
                 break;
 
             case "COMPLETED":
                 // Notificar admin
-                createNotification(Notification.builder()
-                        .userId(adminId)
-                        .type("appointment_completed")
-                        .title("Reunião concluída")
-                        .message("A reunião do dia " + formattedDate + " às " + formattedTime + " foi concluída")
-                        .data(Map.of("appointmentId", appointment.getId()))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(adminId, "appointment_completed",
+                        "Reunião concluída",
+                        "A reunião do dia " + formattedDate + " às " + formattedTime + " foi concluída",
+                        data, now));
 
                 // Notificar estudante
-                createNotification(Notification.builder()
-                        .userId(studentId)
-                        .type("appointment_completed")
-                        .title("Reunião concluída")
-                        .message("Sua reunião do dia " + formattedDate + " às " + formattedTime + " foi concluída.")
-                        .data(Map.of("appointmentId", appointment.getId()))
-                        .createdAt(LocalDateTime.now())
-                        .build());
+                notifications.add(buildNotification(studentId, "appointment_completed",
+                        "Reunião concluída",
+                        "Sua reunião do dia " + formattedDate + " às " + formattedTime + " foi concluída.",
+                        data, now));
                 break;
         }
+
+        return notifications;
+    }
+
+    /**
+     * Monta o objeto Notification de um destinatário (não salva)
+     */
+    private Notification buildNotification(String userId, String type, String title, String message,
+                                           Map<String, Object> data, LocalDateTime createdAt) {
+        return Notification.builder()
+                .userId(userId)
+                .type(type)
+                .title(title)
+                .message(message)
+                .data(data)
+                .createdAt(createdAt)
+                .build();
     }
 }
@@ -0,0 +1,261 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.infrastructure.config.NotificationStreamProperties;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Broker em memória do stream SSE de notificações ({@code GET /api/notifications/stream}).
+ *
+ * <ul>
+ *     <li>Cada conexão tem um buffer limitado ({@code notification.stream.buffer-size}); um cliente lento
+ *     que estoura o buffer é desconectado e retoma pelo {@code Last-Event-ID}, sem segurar memória nem threads</li>
+ *     <li>O envio de cada conexão roda em thread virtual, uma por vez (os eventos chegam em ordem)</li>
+ *     <li>Heartbeat a cada {@code notification.stream.heartbeat-ms}</li>
+ *     <li>{@code Last-Event-ID}: reenvia as notificações criadas após o último id recebido. A conexão é registrada
+ *     antes da consulta (nada criado no meio tempo se perde), mas as publicações que chegam durante a consulta ficam
+ *     retidas e só entram no buffer depois do reenvio, sem as que o reenvio já trouxe</li>
+ * </ul>
+ *
+ * <p>O broker atende apenas as conexões deste nó.</p>
+ */
+@Service
+@Slf4j
+public class NotificationStreamBroker {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationStreamProperties properties;
+
+    private final Map<String, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter overflows;
+
+    public NotificationStreamBroker(NotificationRepository notificationRepository,
+                                    NotificationStreamProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.properties = properties;
+
+        Gauge.builder("notification.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Conexões SSE de notificações abertas neste nó")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("notification.stream.overflows")
+                .description("Conexões encerradas por buffer cheio (cliente lento)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre o stream do usuário, reenviando o que foi perdido desde {@code lastEventId}
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        return subscribe(userId, lastEventId, new SseEmitter(properties.getTimeoutMs()));
+    }
+
+    SseEmitter subscribe(String userId, String lastEventId, SseEmitter emitter) {
+        boolean resume = lastEventId != null && ObjectId.isValid(lastEventId);
+        Subscriber subscriber = new Subscriber(userId, emitter, properties.getBufferSize(), resume);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        if (resume) {
+            List<Notification> missed = List.of();
+            try {
+                missed = notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                        userId, lastEventId, Limit.of(properties.getResumeLimit()));
+            } finally {
+                finishReplay(subscriber, missed);
+            }
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Publica notificações recém-criadas para as conexões abertas dos destinatários
+     */
+    public void publish(Collection<Notification> notifications) {
+        for (Notification notification : notifications) {
+            Set<Subscriber> subscribers = subscribersByUser.get(notification.getUserId());
+            if (subscribers == null) continue;
+            subscribers.forEach(subscriber -> deliver(subscriber, notification));
+        }
+    }
+
+    /**
+     * Heartbeat em todas as conexões (apenas as que não têm eventos pendentes)
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.buffer.isEmpty()) enqueue(subscriber, Subscriber.HEARTBEAT);
+        }));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Publicação ao vivo: retida enquanto o reenvio do {@code Last-Event-ID} não entrou no buffer e descartada
+     * se o reenvio já a trouxe
+     */
+    private void deliver(Subscriber subscriber, Notification notification) {
+        subscriber.replayLock.lock();
+        try {
+            if (subscriber.held != null) {
+                subscriber.held.add(notification);
+                return;
+            }
+            if (subscriber.alreadyReplayed(notification)) return;
+        } finally {
+            subscriber.replayLock.unlock();
+        }
+        enqueue(subscriber, notification);
+    }
+
+    /**
+     * Enfileira o reenvio e, em seguida, as publicações retidas durante a consulta que ele não cobriu
+     */
+    private void finishReplay(Subscriber subscriber, List<Notification> missed) {
+        subscriber.replayLock.lock();
+        try {
+            missed.forEach(notification -> enqueue(subscriber, notification));
+            if (!missed.isEmpty()) subscriber.lastReplayedId = missed.get(missed.size() - 1).getId();
+
+            List<Notification> held = subscriber.held;
+            subscriber.held = null;
+            held.stream()
+                    .filter(notification -> !subscriber.alreadyReplayed(notification))
+                    .forEach(notification -> enqueue(subscriber, notification));
+        } finally {
+            subscriber.replayLock.unlock();
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Object event) {
+        if (subscriber.closed.get()) return;
+
+        if (!subscriber.buffer.offer(event)) {
+            overflows.increment();
+            log.warn("Stream de notificações do usuário {} com buffer cheio, encerrando conexão", subscriber.userId);
+            close(subscriber);
+            return;
+        }
+
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Envia os eventos pendentes da conexão; apenas uma thread por conexão
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            Object event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                if (subscriber.closed.get()) return;
+                try {
+                    subscriber.emitter.send(toSseEvent(event));
+                } catch (Exception e) {
+                    log.debug("Falha ao enviar para o stream do usuário {}: {}", subscriber.userId, e.getMessage());
+                    close(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // evento que chegou entre o último poll e a liberação
+        } while (!subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(Object event) {
+        if (event == Subscriber.HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        Notification notification = (Notification) event;
+        return SseEmitter.event()
+                .id(notification.getId())
+                .name("notification")
+                .data(notification);
+    }
+
+    private void close(Subscriber subscriber) {
+        unsubscribe(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (Exception ignored) {
+            // conexão já encerrada
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) return;
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscriber {
+        static final Object HEARTBEAT = new Object();
+
+        final String userId;
+        final SseEmitter emitter;
+        final Queue<Object> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        /** Protege {@code held} e {@code lastReplayedId}; nunca é mantido durante I/O */
+        final ReentrantLock replayLock = new ReentrantLock();
+        /** Publicações que chegaram durante a consulta do reenvio; {@code null} fora dela */
+        List<Notification> held;
+        /** Maior id reenviado; publicações até ele já foram entregues pelo reenvio */
+        String lastReplayedId;
+
+        Subscriber(String userId, SseEmitter emitter, int bufferSize, boolean resume) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.held = resume ? new ArrayList<>() : null;
+        }
+
+        boolean alreadyReplayed(Notification notification) {
+            return lastReplayedId != null && ObjectId.isValid(notification.getId())
+                    && new ObjectId(notification.getId()).compareTo(new ObjectId(lastReplayedId)) <= 0;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.maisprati.hub.application.service;
 
 import com.maisprati.hub.domain.model.PasswordResetToken;
 import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.email.EmailSender;
 import com.maisprati.hub.infrastructure.persistence.repository.PasswordResetTokenRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
@@ -23,6 +24,7 @@ public class PasswordResetService {
 	private final EmailSender emailSender;
 	private final PasswordEncoder passwordEncoder;
 	private final PasswordResetTokenRepository resetTokenRepository;
+	private final UserCache userCache;
 	
 	public void generateAndSendToken(String email) {
 		log.info("Gerando token de reset para email={}", email);
@@ -63,11 +65,7 @@ public class PasswordResetService {
 		// atualiza a senha
 		user.setPassword(passwordEncoder.encode(newPassword));
 		userRepository.save(user);
-		
-		// conferindo reset de senha
-		log.info("Nova senha criptografada: {}", user.getPassword());
-		boolean confere = passwordEncoder.matches(newPassword, user.getPassword());
-		log.info("Senha confere? {}", confere);
+		userCache.evict(user);
 		
 		// invalida token
 		resetToken.setUsed(true);
@@ -0,0 +1,138 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.enums.TeamMemberRole;
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.util.SecurityCodeGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Criação de times compartilhada pelo cadastro avulso ({@link TeamService}) e pelo provisionamento em lote
+ * ({@link TeamProvisioningService}): permissão do criador, montagem do documento e inserção com troca do
+ * código de segurança quando ele colide no índice único.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TeamAllocator {
+
+    static final int DEFAULT_MAX_MEMBERS = 10;
+    static final int MAX_CODE_ATTEMPTS = 5;
+
+    static final String DUPLICATE_CODE = "Código de segurança já existe";
+    static final String NO_UNIQUE_CODE = "Não foi possível gerar um código de segurança único";
+
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Garante que o criador é admin
+     */
+    public User requireAdmin(String userId) {
+        User creator = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+
+        if (!UserType.ADMIN.equals(creator.getType())) {
+            throw new RuntimeException("Apenas administradores podem criar times");
+        }
+        return creator;
+    }
+
+    /**
+     * Monta um time ativo, ainda não gravado, com os usuários como membros
+     *
+     * @param maxMembers   vagas, ou {@code null} para {@value #DEFAULT_MAX_MEMBERS}
+     * @param securityCode código informado, ou {@code null} para gerar um
+     */
+    public Team newTeam(String name, String description, Integer maxMembers, String securityCode, List<User> members) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TeamMember> teamMembers = members.stream()
+                .map(user -> TeamMember.builder()
+                        .userId(user.getId())
+                        .role(TeamMemberRole.MEMBER)
+                        .joinedAt(now)
+                        .isActive(true)
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return Team.builder()
+                .name(name)
+                .description(description)
+                .securityCode(securityCode != null ? securityCode : SecurityCodeGenerator.generate())
+                .maxMembers(maxMembers != null ? maxMembers : DEFAULT_MAX_MEMBERS)
+                .currentMembers(teamMembers.size())
+                .members(teamMembers)
+                .isActive(true)
+                .createdAt(now)
+                .build();
+    }
+
+    /**
+     * Inserção otimista de um time: o índice único de securityCode (a aplicação não sobe sem ele, ver
+     * {@code MongoIndexInitializer}) é quem detecta a colisão (uma escrita no caso comum). Um código gerado
+     * que colidir é trocado; um código informado pelo admin, não.
+     */
+    public Team insert(Team team, boolean fixedCode) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return teamRepository.insert(team);
+            } catch (DuplicateKeyException e) {
+                if (fixedCode) {
+                    throw new RuntimeException(DUPLICATE_CODE + ". Gere um novo código.");
+                }
+                if (attempt >= MAX_CODE_ATTEMPTS) {
+                    throw new RuntimeException(NO_UNIQUE_CODE);
+                }
+                log.warn("Código de segurança {} já existe, gerando outro (tentativa {})", team.getSecurityCode(), attempt);
+                team.setSecurityCode(SecurityCodeGenerator.generate());
+            }
+        }
+    }
+
+    /**
+     * Insere os times em lote; só os que colidirem no código de segurança são reenviados, com um código novo,
+     * até {@value #MAX_CODE_ATTEMPTS} tentativas. Times com código informado na entrada não são trocados.
+     *
+     * @param fixedCode posições (na lista recebida) dos times cujo código veio na entrada
+     * @return posições dos times não gravados, com o motivo
+     */
+    public Map<Integer, String> insertAll(List<Team> teams, IntPredicate fixedCode) {
+        Map<Integer, String> rejected = new TreeMap<>();
+        List<Integer> batch = new ArrayList<>(teams.size());
+        for (int i = 0; i < teams.size(); i++) batch.add(i);
+
+        for (int attempt = 1; !batch.isEmpty(); attempt++) {
+            List<Integer> sent = batch;
+            List<Integer> conflicts = teamRepository.insertAllUnordered(sent.stream().map(teams::get).toList())
+                    .stream().map(sent::get).toList();
+
+            batch = new ArrayList<>();
+            for (int index : conflicts) {
+                if (fixedCode.test(index)) {
+                    rejected.put(index, DUPLICATE_CODE);
+                } else if (attempt >= MAX_CODE_ATTEMPTS) {
+                    rejected.put(index, NO_UNIQUE_CODE);
+                } else {
+                    teams.get(index).setSecurityCode(SecurityCodeGenerator.generate());
+                    batch.add(index);
+                }
+            }
+        }
+        return rejected;
+    }
+}
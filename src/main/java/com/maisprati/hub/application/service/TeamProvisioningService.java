@@ -0,0 +1,331 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.application.dto.TeamProvisioningResult;
+import com.maisprati.hub.application.dto.TeamProvisioningRow;
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
+import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Provisionamento em lote dos times de uma turma (início de cohort).
+ *
+ * <ul>
+ *     <li>Todas as linhas são validadas antes de qualquer escrita; os e-mails dos membros são resolvidos
+ *     com uma única consulta {@code $in}</li>
+ *     <li>Os times válidos são gravados com um único insert não ordenado (códigos gerados que colidirem
+ *     são trocados e só esses times reenviados) e os membros marcados com {@code hasGroup} num único
+ *     {@code updateMany} condicional; membros que entraram em outro time nesse meio tempo são reportados</li>
+ *     <li>Cada linha gera um {@link TeamProvisioningResult}, entregue ao consumidor assim que é conhecido:
+ *     recusas na validação saem antes das escritas, os demais resultados só depois de todas elas</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeamProvisioningService {
+
+    private static final int MAX_ROWS = 1000;
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "maxmembers", "securitycode", "memberemails");
+
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final TeamAllocator teamAllocator;
+
+    /**
+     * Garante que quem provisiona é admin (chamado antes de começar a resposta em streaming)
+     */
+    public void requireAdmin(String creatorUserId) {
+        teamAllocator.requireAdmin(creatorUserId);
+    }
+
+    /**
+     * Limite de linhas por lote (também chamado antes de começar a resposta em streaming)
+     */
+    public void checkBatchSize(List<TeamProvisioningRow> rows) {
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("No máximo " + MAX_ROWS + " times por lote");
+        }
+    }
+
+    /**
+     * Valida e grava os times, entregando o resultado de cada linha ao {@code sink}
+     * (o criador já deve ter sido validado com {@link #requireAdmin})
+     */
+    public void provision(List<TeamProvisioningRow> rows, Consumer<TeamProvisioningResult> sink) {
+        checkBatchSize(rows);
+
+        Map<String, User> usersByEmail = resolveMembers(rows);
+
+        // Validação completa antes de qualquer escrita
+        List<PendingTeam> pending = new ArrayList<>();
+        Map<String, Integer> rowByName = new HashMap<>();
+        Map<String, Integer> rowByCode = new HashMap<>();
+        Map<String, Integer> rowByEmail = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            TeamProvisioningRow row = rows.get(i);
+            List<String> errors = new ArrayList<>();
+            String name = trimToNull(row.name());
+
+            if (name == null) {
+                errors.add("Nome do time é obrigatório");
+            } else {
+                Integer firstRow = rowByName.putIfAbsent(name.toLowerCase(Locale.ROOT), rowNumber);
+                if (firstRow != null) errors.add("Nome repetido (linha " + firstRow + ")");
+            }
+
+            String securityCode = trimToNull(row.securityCode());
+            if (securityCode != null) {
+                Integer firstRow = rowByCode.putIfAbsent(securityCode, rowNumber);
+                if (firstRow != null) errors.add("Código de segurança repetido (linha " + firstRow + ")");
+            }
+
+            List<User> members = new ArrayList<>();
+            for (String email : emailsOf(row)) {
+                User user = usersByEmail.get(email);
+                Integer firstRow = rowByEmail.putIfAbsent(email, rowNumber);
+                if (user == null) {
+                    errors.add("E-mail não cadastrado: " + email);
+                } else if (firstRow != null) {
+                    errors.add("Aluno também listado na linha " + firstRow + ": " + email);
+                } else if (!UserType.STUDENT.equals(user.getType())) {
+                    errors.add("Apenas alunos podem ser membros: " + email);
+                } else if (Boolean.FALSE.equals(user.getIsActive())) {
+                    errors.add("Usuário inativo: " + email);
+                } else if (Boolean.TRUE.equals(user.getHasGroup())) {
+                    errors.add("Usuário já está em um time: " + email);
+                } else {
+                    members.add(user);
+                }
+            }
+
+            int maxMembers = row.maxMembers() != null ? row.maxMembers() : TeamAllocator.DEFAULT_MAX_MEMBERS;
+            if (maxMembers < 1) {
+                errors.add("maxMembers deve ser maior que zero");
+            } else if (emailsOf(row).size() > maxMembers) {
+                errors.add("Mais membros (" + emailsOf(row).size() + ") que vagas (" + maxMembers + ")");
+            }
+
+            if (errors.isEmpty()) {
+                pending.add(new PendingTeam(rowNumber, securityCode != null,
+                        teamAllocator.newTeam(name, trimToNull(row.description()), maxMembers, securityCode, members)));
+            } else {
+                sink.accept(TeamProvisioningResult.rejected(rowNumber, name, errors));
+            }
+        }
+
+        List<TeamProvisioningResult> insertRejected = new ArrayList<>();
+        List<PendingTeam> created = insertTeams(pending, insertRejected);
+
+        // hasGroup é gravado antes de qualquer resultado pós-escrita: uma falha ao entregar um resultado
+        // (cliente desconectado) não deixa times gravados com membros ainda livres
+        List<String> memberIds = created.stream()
+                .flatMap(p -> p.team().getMembers().stream())
+                .map(TeamMember::getUserId)
+                .toList();
+        Set<String> conflicting = markMembers(created, memberIds);
+
+        Map<String, String> emailById = usersByEmail.values().stream()
+                .collect(Collectors.toMap(User::getId, User::getEmail, (a, b) -> a));
+        insertRejected.forEach(sink);
+        for (PendingTeam p : created) {
+            List<String> conflicts = p.team().getMembers().stream()
+                    .map(TeamMember::getUserId)
+                    .filter(conflicting::contains)
+                    .map(id -> "Aluno entrou em outro time durante o provisionamento: " + emailById.getOrDefault(id, id))
+                    .toList();
+            sink.accept(conflicts.isEmpty()
+                    ? TeamProvisioningResult.created(p.row(), p.team().getName(), p.team().getId(), p.team().getSecurityCode())
+                    : TeamProvisioningResult.conflict(p.row(), p.team().getName(), p.team().getId(), p.team().getSecurityCode(), conflicts));
+        }
+
+        log.info("Provisionamento: {} time(s) criados, {} linha(s) recusadas, {} aluno(s) alocados, {} em conflito",
+                created.size(), rows.size() - created.size(), memberIds.size(), conflicting.size());
+    }
+
+    /**
+     * Insere os times em lote; os que colidirem no código de segurança são reenviados com um código novo,
+     * exceto quando o código veio na entrada (a linha é recusada)
+     *
+     * @param rejected recebe as linhas recusadas na inserção
+     * @return times gravados
+     */
+    private List<PendingTeam> insertTeams(List<PendingTeam> teams, List<TeamProvisioningResult> rejected) {
+        Map<Integer, String> conflicts = teamAllocator.insertAll(
+                teams.stream().map(PendingTeam::team).toList(), index -> teams.get(index).fixedCode());
+
+        List<PendingTeam> created = new ArrayList<>(teams.size() - conflicts.size());
+        for (int i = 0; i < teams.size(); i++) {
+            PendingTeam pending = teams.get(i);
+            String error = conflicts.get(i);
+            if (error == null) {
+                created.add(pending);
+            } else {
+                rejected.add(TeamProvisioningResult.rejected(pending.row(), pending.team().getName(), List.of(error)));
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Marca {@code hasGroup} nos membros dos times gravados com um único {@code updateMany} condicional.
+     * Se menos usuários forem alterados que o esperado, alguém entrou em outro time entre a validação e a
+     * gravação: esses usuários são procurados nos demais times ativos (uma consulta, só nesse caso).
+     *
+     * @return ids dos membros que também estão em outro time ativo
+     */
+    private Set<String> markMembers(List<PendingTeam> created, List<String> memberIds) {
+        if (memberIds.isEmpty()) return Set.of();
+
+        long marked = userRepository.markHasGroupByIdIn(memberIds);
+        memberIds.forEach(userCache::evictById);
+        if (marked >= memberIds.size()) return Set.of();
+
+        log.warn("Provisionamento: {} de {} aluno(s) já estavam com hasGroup ao gravar os times",
+                memberIds.size() - marked, memberIds.size());
+        Set<String> createdTeamIds = created.stream().map(p -> p.team().getId()).collect(Collectors.toSet());
+        Set<String> ids = new HashSet<>(memberIds);
+        return teamRepository.findActiveMemberIdsByMemberIdIn(memberIds).stream()
+                .filter(team -> !createdTeamIds.contains(team.getId()))
+                .flatMap(team -> team.getMembers().stream())
+                .map(TeamMember::getUserId)
+                .filter(ids::contains)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Todos os e-mails da entrada resolvidos numa única consulta
+     */
+    private Map<String, User> resolveMembers(List<TeamProvisioningRow> rows) {
+        Set<String> emails = new HashSet<>();
+        rows.forEach(row -> emails.addAll(emailsOf(row)));
+        if (emails.isEmpty()) return Map.of();
+
+        return userRepository.findAllocationProfilesByEmailIn(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity(), (a, b) -> a));
+    }
+
+    private static List<String> emailsOf(TeamProvisioningRow row) {
+        if (row.memberEmails() == null) return List.of();
+        return row.memberEmails().stream()
+                .map(TeamProvisioningService::trimToNull)
+                .filter(email -> email != null)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Lê o CSV de provisionamento. Cabeçalho obrigatório com a coluna {@code name}; as demais
+     * ({@code description}, {@code maxMembers}, {@code securityCode}, {@code memberEmails}) são opcionais.
+     * Os e-mails de uma célula são separados por {@code ;}. Campos podem vir entre aspas (RFC 4180).
+     */
+    public List<TeamProvisioningRow> parseCsv(String csv) {
+        List<List<String>> records = readCsv(csv == null ? "" : csv.replace("\uFEFF", ""));
+        if (records.isEmpty()) throw new IllegalArgumentException("CSV vazio");
+
+        List<String> header = records.get(0).stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+        if (!header.contains("name")) throw new IllegalArgumentException("CSV sem a coluna 'name'");
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column)) throw new IllegalArgumentException("Coluna desconhecida no CSV: " + column);
+        }
+        List<TeamProvisioningRow> rows = new ArrayList<>(records.size() - 1);
+        for (int i = 1; i < records.size(); i++) {
+            List<String> record = records.get(i);
+            Map<String, String> values = new HashMap<>();
+            for (int c = 0; c < header.size() && c < record.size(); c++) {
+                values.put(header.get(c), trimToNull(record.get(c)));
+            }
+
+            String maxMembers = values.get("maxmembers");
+            String emails = values.get("memberemails");
+            rows.add(new TeamProvisioningRow(
+                    values.get("name"),
+                    values.get("description"),
+                    maxMembers != null ? parseMaxMembers(maxMembers, i) : null,
+                    values.get("securitycode"),
+                    emails != null ? Arrays.asList(emails.split(";")) : List.of()));
+        }
+        return rows;
+    }
+
+    private static Integer parseMaxMembers(String value, int row) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("maxMembers inválido na linha " + row + ": " + value);
+        }
+    }
+
+    /**
+     * Separa o CSV em registros e campos, respeitando aspas (com {@code ""} escapando aspas) e quebras de
+     * linha dentro de campos entre aspas. Linhas em branco são ignoradas.
+     */
+    private static List<List<String>> readCsv(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') i++;
+                record.add(field.toString());
+                field.setLength(0);
+                if (!(record.size() == 1 && record.get(0).isBlank())) records.add(record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("CSV com aspas não fechadas");
+
+        record.add(field.toString());
+        if (!(record.size() == 1 && record.get(0).isBlank())) records.add(record);
+        return records;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record PendingTeam(int row, boolean fixedCode, Team team) {
+    }
+}
@@ -4,9 +4,10 @@ import com.maisprati.hub.domain.model.Team;
 import com.maisprati.hub.domain.model.TeamMember;
 import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.domain.enums.TeamMemberRole;
-import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.util.SecurityCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,8 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,8 +29,10 @@ public class TeamService {
 
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
-    private static final int DEFAULT_MAX_MEMBERS = 10;
+    private final NotificationOutboxService notificationOutboxService;
+    private final TeamAllocator teamAllocator;
+    private final UserCache userCache;
+    private static final int MAX_TEAMS_PER_CLASS = 100;
 
     /**
      * Buscar todos os times
@@ -43,6 +48,17 @@ public class TeamService {
         return teamRepository.findByIsActiveTrue();
     }
 
+    /**
+     * Buscar todos os times ativos com os dados públicos dos membros
+     * <p>
+     * Duas consultas no total, independente da quantidade de times: os times e um {@code $in} com os usuários.
+     */
+    public List<Team> getActiveTeamsWithMembers() {
+        List<Team> teams = teamRepository.findByIsActiveTrue();
+        enrichMembers(teams);
+        return teams;
+    }
+
     /**
      * Buscar time pelo ID
      */
@@ -55,29 +71,32 @@ public class TeamService {
      */
     public Optional<Team> getTeamByIdWithUserData(String teamId) {
         Optional<Team> teamOpt = teamRepository.findById(teamId);
-        if (teamOpt.isPresent()) {
-            Team team = teamOpt.get();
-            // Enriquecer os dados dos membros com informações dos usuários
-            if (team.getMembers() != null) {
-                team.getMembers().forEach(member -> {
-                    Optional<User> userOpt = userRepository.findById(member.getUserId());
-                    if (userOpt.isPresent()) {
-                        User user = userOpt.get();
-                        // Criar um objeto simplificado para evitar exposição de dados sensíveis
-                        User publicUser = User.builder()
-                                .id(user.getId())
-                                .name(user.getName())
-                                .email(user.getEmail())
-                                .type(user.getType())
-                                .build();
-                        member.setUser(publicUser);
-                    }
-                });
-            }
-        }
+        teamOpt.ifPresent(team -> enrichMembers(List.of(team)));
         return teamOpt;
     }
 
+    /**
+     * Enriquecer os membros dos times com os dados públicos dos usuários (uma única consulta {@code $in})
+     */
+    private void enrichMembers(List<Team> teams) {
+        Set<String> userIds = teams.stream()
+                .filter(team -> team.getMembers() != null)
+                .flatMap(team -> team.getMembers().stream())
+                .map(TeamMember::getUserId)
+                .collect(Collectors.toSet());
+
+        if (userIds.isEmpty()) return;
+
+        // Projeção limitada aos campos públicos: a senha nem sai do banco
+        Map<String, User> usersById = userRepository.findPublicProfilesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        teams.stream()
+                .filter(team -> team.getMembers() != null)
+                .flatMap(team -> team.getMembers().stream())
+                .forEach(member -> member.setUser(usersById.get(member.getUserId())));
+    }
+
     /**
      * Validar código de segurança do time
      */
@@ -96,85 +115,64 @@ public class TeamService {
      * Criar um novo time (apenas ADMIN)
      */
     public Team createTeam(Team teamData, String creatorUserId) {
-        // Verificar se o usuário é admin
-        User creator = userRepository.findById(creatorUserId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        if (!UserType.ADMIN.equals(creator.getType())) {
-            throw new RuntimeException("Apenas administradores podem criar times");
-        }
+        teamAllocator.requireAdmin(creatorUserId);
 
         // Usar o código de segurança fornecido pelo frontend, ou gerar um novo se não fornecido
-        String securityCode = teamData.getSecurityCode();
-        if (securityCode == null || securityCode.trim().isEmpty()) {
-            securityCode = generateUniqueSecurityCode();
-        } else {
-            // Verificar se o código fornecido já existe
-            if (teamRepository.existsBySecurityCode(securityCode)) {
-                throw new RuntimeException("Código de segurança já existe. Gere um novo código.");
-            }
-        }
+        String requestedCode = teamData.getSecurityCode();
+        boolean generatedCode = requestedCode == null || requestedCode.trim().isEmpty();
 
-        // Criar o time
-        Team newTeam = Team.builder()
-                .name(teamData.getName())
-                .description(teamData.getDescription())
-                .securityCode(securityCode)
-                .maxMembers(teamData.getMaxMembers() != null ? teamData.getMaxMembers() : DEFAULT_MAX_MEMBERS)
-                .currentMembers(0)
-                .members(List.of()) // Lista vazia inicialmente
-                .isActive(true)
-                .createdAt(LocalDateTime.now())
-                .build();
+        Team newTeam = teamAllocator.newTeam(teamData.getName(), teamData.getDescription(), teamData.getMaxMembers(),
+                generatedCode ? null : requestedCode, List.of());
 
-        Team savedTeam = teamRepository.save(newTeam);
+        Team savedTeam = teamAllocator.insert(newTeam, !generatedCode);
         log.info("Time '{}' criado com sucesso! Código: {}", savedTeam.getName(), savedTeam.getSecurityCode());
-
         return savedTeam;
     }
 
+    /**
+     * Criar N times de uma turma de uma vez (apenas ADMIN)
+     * <p>
+     * Os times se chamam "{turma} - Time 1..N" e são gravados em um único lote; só os que colidirem
+     * no código de segurança são reenviados, com um código novo.
+     */
+    public List<Team> createTeamsForClass(String className, int count, Integer maxMembers, String description,
+                                          String creatorUserId) {
+        teamAllocator.requireAdmin(creatorUserId);
+
+        if (className == null || className.trim().isEmpty()) {
+            throw new RuntimeException("Nome da turma é obrigatório");
+        }
+        if (count < 1 || count > MAX_TEAMS_PER_CLASS) {
+            throw new RuntimeException("Quantidade de times deve estar entre 1 e " + MAX_TEAMS_PER_CLASS);
+        }
+
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            teams.add(teamAllocator.newTeam(className.trim() + " - Time " + i, description, maxMembers, null, List.of()));
+        }
+
+        Map<Integer, String> rejected = teamAllocator.insertAll(teams, index -> false);
+        if (!rejected.isEmpty()) {
+            throw new RuntimeException("Não foi possível gerar códigos de segurança únicos para "
+                    + rejected.size() + " time(s)");
+        }
+
+        log.info("{} times criados para a turma '{}'", teams.size(), className.trim());
+        return teams;
+    }
+
     /**
      * Adicionar membro ao time
      */
     @Transactional
     public Team addMemberToTeam(String teamId, String userId, TeamMemberRole role, String subLeaderType) {
 
-        // Buscar time
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new RuntimeException("Time não encontrado"));
-
         // Buscar usuário
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
         log.info("👤 Usuário: {} (hasGroup: {})", user.getName(), user.getHasGroup());
 
-        // Verificar se o time está cheio
-        if (team.getCurrentMembers() >= team.getMaxMembers()) {
-            throw new RuntimeException("Time já está cheio");
-        }
-
-        List<Team> allTeams = teamRepository.findAll();
-
-        for (Team t : allTeams) {
-            boolean removed = t.getMembers().removeIf(member -> member.getUserId().equals(userId));
-            if (removed) {
-                t.setCurrentMembers(t.getMembers().size());
-                teamRepository.save(t);
-            }
-        }
-
-        // Verificar se ainda é membro do time de destino (após limpeza)
-        team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new RuntimeException("Time não encontrado"));
-
-        boolean isAlreadyMember = team.getMembers().stream()
-                .anyMatch(member -> member.getUserId().equals(userId));
-
-        if (isAlreadyMember) {
-            throw new RuntimeException("Usuário já é membro deste time");
-        }
-
         // Criar novo membro
         TeamMember newMember = TeamMember.builder()
                 .userId(userId)
@@ -184,23 +182,44 @@ public class TeamService {
                 .isActive(true)
                 .build();
 
-        // Adicionar membro ao time
-        team.getMembers().add(newMember);
-        team.setCurrentMembers(team.getMembers().size());
+        // Adicionar membro de forma atômica: só entra se houver vaga e ainda não for membro
+        Team updatedTeam = teamRepository.pushMemberIfCapacity(teamId, newMember);
+        if (updatedTeam == null) {
+            throw joinRejected(teamId, userId);
+        }
 
-        // Salvar time
-        Team updatedTeam = teamRepository.save(team);
+        // Remover o usuário dos outros times com um único $pull (índice members.userId)
+        long previousTeams = teamRepository.pullMemberFromOtherTeams(userId, teamId);
+        if (previousTeams > 0) {
+            log.info("👤 Usuário {} removido de {} time(s) anterior(es)", userId, previousTeams);
+        }
 
         // Atualizar usuário (marcar como tendo grupo)
         user.setHasGroup(true);
         userRepository.save(user);
+        userCache.evict(user);
 
         // Notificar admin sobre entrada no time
-        notificationService.notifyAdminTeamJoin(user.getName(), team.getName());
+        notificationOutboxService.recordTeamJoin(user.getName(), updatedTeam.getName());
 
         return updatedTeam;
     }
 
+    /**
+     * Motivo da recusa do join (consulta o time apenas no caminho de falha)
+     */
+    private RuntimeException joinRejected(String teamId, String userId) {
+        Optional<Team> team = teamRepository.findById(teamId);
+        if (team.isEmpty()) {
+            return new RuntimeException("Time não encontrado");
+        }
+
+        boolean isAlreadyMember = team.get().getMembers() != null && team.get().getMembers().stream()
+                .anyMatch(member -> member.getUserId().equals(userId));
+
+        return new RuntimeException(isAlreadyMember ? "Usuário já é membro deste time" : "Time já está cheio");
+    }
+
     /**
      * Atualizar role de um membro
      */
@@ -256,10 +275,11 @@ public class TeamService {
         if (user != null) {
             user.setHasGroup(false);
             userRepository.save(user);
+            userCache.evict(user);
 
             // Notificar admin sobre saída do time
             String finalReason = reason != null ? reason : "Motivo não informado";
-            notificationService.notifyAdminTeamExit(user.getName(), team.getName(), finalReason);
+            notificationOutboxService.recordTeamExit(user.getName(), team.getName(), finalReason);
         }
 
         log.info("Usuário '{}' removido do time '{}'", userId, team.getName());
@@ -284,30 +304,24 @@ public class TeamService {
      * Verificar se usuário está em algum time ativo
      */
     public boolean isUserInActiveTeam(String userId) {
-        List<Team> activeTeams = teamRepository.findByIsActiveTrue();
-
-        return activeTeams.stream()
-                .anyMatch(team -> team.getMembers().stream()
-                        .anyMatch(member -> member.getUserId().equals(userId) && member.getIsActive()));
+        return teamRepository.existsActiveMembership(userId);
     }
 
     /**
      * Buscar time por código de segurança
+     * <p>
+     * Se não achar o código exato, tenta a forma normalizada (minúsculas, hífens, O/I/L digitados no lugar
+     * de 0/1), desde que ela passe no dígito verificador.
      */
     public Optional<Team> getTeamBySecurityCode(String securityCode) {
-        return teamRepository.findBySecurityCode(securityCode);
-    }
-
-    /**
-     * Gerar código de segurança único
-     */
-    private String generateUniqueSecurityCode() {
-        String securityCode;
-        do {
-            securityCode = "TEAM" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-        } while (teamRepository.existsBySecurityCode(securityCode));
+        Optional<Team> team = teamRepository.findBySecurityCode(securityCode);
+        if (team.isPresent()) return team;
 
-        return securityCode;
+        String normalized = SecurityCodeGenerator.normalize(securityCode);
+        if (normalized == null || normalized.equals(securityCode) || !SecurityCodeGenerator.isValid(normalized)) {
+            return team;
+        }
+        return teamRepository.findBySecurityCode(normalized);
     }
 
     public Team updateTeamBasicData(String teamId, String name, String description) {
@@ -336,23 +350,22 @@ public class TeamService {
      */
     @Transactional
     public void removeUserFromAllActiveTeams(String userId, String reason) {
-        // Busca todos os times ativos
-        List<Team> activeTeams = getActiveTeams();
-
-        // Remove o usuário de cada time em que ele esteja
-        for (Team team : activeTeams) {
-            boolean isMember = team.getMembers().stream()
-                    .anyMatch(member -> member.getUserId().equals(userId));
-
-            if (isMember) {
-                try {
-                    removeMemberFromTeam(team.getId(), userId, reason);
-                    log.info("Usuário {} removido do time {} devido a: {}", userId, team.getName(), reason);
-                } catch (Exception e) {
-                    log.error("Erro ao remover usuário {} do time {}: {}", userId, team.getName(), e.getMessage());
-                    // Continua removendo dos outros times mesmo se falhar em um
-                }
-            }
-        }
+        // Times afetados (só os nomes, pelo índice), usados nas notificações de saída
+        List<Team> teams = teamRepository.findActiveTeamNamesByMember(userId);
+        if (teams.isEmpty()) return;
+
+        // Remove o usuário de todos os times ativos com um único $pull
+        long removed = teamRepository.pullMemberFromActiveTeams(userId);
+        log.info("Usuário {} removido de {} time(s) devido a: {}", userId, removed, reason);
+
+        // Atualizar usuário (remover do grupo) e notificar admin sobre cada saída
+        userRepository.findById(userId).ifPresent(user -> {
+            user.setHasGroup(false);
+            userRepository.save(user);
+            userCache.evict(user);
+
+            String finalReason = reason != null ? reason : "Motivo não informado";
+            teams.forEach(team -> notificationOutboxService.recordTeamExit(user.getName(), team.getName(), finalReason));
+        });
     }
 }
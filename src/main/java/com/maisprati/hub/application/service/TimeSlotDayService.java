@@ -2,17 +2,39 @@ package com.maisprati.hub.application.service;
 
 import com.maisprati.hub.domain.exception.DayNotFoundException;
 import com.maisprati.hub.domain.exception.SlotUnavailableException;
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import com.maisprati.hub.domain.model.AvailableSlot;
 import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
 import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache.MonthSnapshot;
+import com.maisprati.hub.infrastructure.persistence.repository.AvailabilityRuleRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.TimeSlotDayRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +42,20 @@ import java.util.List;
 public class TimeSlotDayService {
 
     private final TimeSlotDayRepository timeSlotDayRepository;
+    private final AvailabilityCalendarCache availabilityCalendarCache;
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 200;
+    static final int MAX_SEARCH_DAYS = 186;
+    static final int MATERIALIZATION_BATCH_SIZE = 500;
+
+    /**
+     * {@code _id} dos dias novos: determinístico, para que dois upserts simultâneos da mesma data não criem dois dias
+     */
+    static String dayId(String adminId, LocalDate date) {
+        return adminId + ":" + date;
+    }
 
     /**
      * Criar um novo dia com slots.
@@ -27,58 +63,92 @@ public class TimeSlotDayService {
     @Transactional
     public TimeSlotDay createOrUpdateDay(String adminId, LocalDate date, List<TimeSlot> slots) {
         TimeSlotDay day = timeSlotDayRepository.findByAdminIdAndDate(adminId, date)
-                .orElseGet(() -> {
-                    TimeSlotDay newDay = TimeSlotDay.builder()
-                            .adminId(adminId)
-                            .date(date)
-                            .slots(slots)
-                            .build();
-                    return newDay;
-                });
-
-        List<TimeSlot> bookedSlots = day.getSlots().stream()
-                .filter(TimeSlot::isBooked)
-                .toList();
-
-        day.getSlots().clear();
-        day.getSlots().addAll(bookedSlots);
-        
-        for (TimeSlot newSlot : slots) {
-            boolean isAlreadyBooked = bookedSlots.stream()
-                    .anyMatch(s -> s.getTime().equals(newSlot.getTime()));
-            if (!isAlreadyBooked) {
-                day.getSlots().add(newSlot);
-            }
+                .orElseGet(() -> TimeSlotDay.builder()
+                        .id(dayId(adminId, date))
+                        .adminId(adminId)
+                        .date(date)
+                        .slots(List.of())
+                        .build());
+
+        day.setSlots(mergeKeepingBooked(day.getSlots(), slots));
+
+        TimeSlotDay saved = timeSlotDayRepository.save(day);
+        availabilityCalendarCache.onDaySaved(saved);
+        return saved;
+    }
+
+    /**
+     * Horários já reservados são mantidos; os demais passam a ser os novos.
+     * <p>
+     * Com todos os horários na granularidade do bitmap, o merge é feito com operações de bits
+     * (resultado em ordem cronológica); senão, por conjunto de horários reservados.
+     */
+    static List<TimeSlot> mergeKeepingBooked(List<TimeSlot> current, List<TimeSlot> incoming) {
+        TimeSlotBitmap currentBitmap = TimeSlotBitmap.of(current);
+        TimeSlotBitmap incomingBitmap = TimeSlotBitmap.of(incoming);
+        if (currentBitmap != null && incomingBitmap != null) {
+            return currentBitmap.mergeKeepingBooked(incomingBitmap).toSlots();
         }
 
-        return timeSlotDayRepository.save(day);
+        List<TimeSlot> merged = new ArrayList<>();
+        Set<String> bookedTimes = new HashSet<>();
+        if (current != null) {
+            current.stream().filter(TimeSlot::isBooked).forEach(slot -> {
+                merged.add(slot);
+                bookedTimes.add(slot.getTime());
+            });
+        }
+        incoming.stream()
+                .filter(slot -> !bookedTimes.contains(slot.getTime()))
+                .forEach(merged::add);
+        return merged;
     }
 
     /**
      * Marcar slot como agendado (booked=true, available=false).
+     * <p>
+     * Uma única atualização condicional: se dois alunos reservam o mesmo horário ao mesmo tempo,
+     * só um consegue e o outro recebe {@link SlotUnavailableException}.
+     * <p>
+     * Se o dia ainda não foi gravado mas uma regra de disponibilidade oferece o horário, o dia da regra é
+     * materializado (upsert que não sobrescreve um dia já existente) e a reserva é refeita sobre ele.
      */
     @Transactional
     public TimeSlotDay markSlotAsBooked(String adminId, LocalDate date, LocalTime time) {
-        TimeSlotDay day = timeSlotDayRepository.findByAdminIdAndDate(adminId, date)
-                .orElseThrow(() -> new DayNotFoundException("Dia não encontrado"));
-
         String timeString = time.toString().substring(0, 5);
 
-        TimeSlot slot = day.getSlots().stream()
-                .filter(s -> s.getTime().equals(timeString))
-                .findFirst()
-                .orElseThrow(() -> new SlotUnavailableException("Horário não encontrado"));
-
-        if (!slot.isAvailable() || slot.isBooked()) {
-            throw new SlotUnavailableException("Horário indisponível");
+        TimeSlotDay day = timeSlotDayRepository.bookSlot(adminId, date, timeString);
+        if (day == null) {
+            List<TimeSlot> ruleSlots = ruleSlots(adminId, date);
+            if (ruleSlots.stream().anyMatch(slot -> slot.getTime().equals(timeString))
+                    && !timeSlotDayRepository.existsByAdminIdAndDate(adminId, date)) {
+                timeSlotDayRepository.materializeDays(List.of(ruleDay(adminId, date, ruleSlots)));
+                day = timeSlotDayRepository.bookSlot(adminId, date, timeString);
+            }
+        }
+        if (day == null) {
+            throw bookingRejected(adminId, date, timeString);
         }
 
-        slot.setBooked(true);
-        slot.setAvailable(false);
+        availabilityCalendarCache.onSlotBooked(adminId, date, timeString);
+        return day;
+    }
 
-        timeSlotDayRepository.save(day);
+    /**
+     * Motivo da recusa da reserva (consulta o dia apenas no caminho de falha)
+     */
+    private RuntimeException bookingRejected(String adminId, LocalDate date, String timeString) {
+        Optional<TimeSlotDay> day = timeSlotDayRepository.findByAdminIdAndDate(adminId, date);
+        if (day.isEmpty()) {
+            return ruleSlots(adminId, date).isEmpty()
+                    ? new DayNotFoundException("Dia não encontrado")
+                    : new SlotUnavailableException("Horário não encontrado");
+        }
 
-        return day;
+        boolean slotExists = day.get().getSlots() != null && day.get().getSlots().stream()
+                .anyMatch(s -> s.getTime().equals(timeString));
+
+        return new SlotUnavailableException(slotExists ? "Horário indisponível" : "Horário não encontrado");
     }
 
     /**
@@ -86,32 +156,228 @@ public class TimeSlotDayService {
      */
     @Transactional
     public void releaseSlot(String adminId, LocalDate date, LocalTime time) {
-        TimeSlotDay day = timeSlotDayRepository.findByAdminIdAndDate(adminId, date)
-                .orElseThrow(() -> new DayNotFoundException("Dia não encontrado"));
-
         String timeString = time.toString().substring(0, 5);
 
-        day.getSlots().stream()
-                .filter(s -> s.getTime().equals(timeString))
-                .findFirst()
-                .ifPresent(slot -> {
-                    slot.setBooked(false);
-                    slot.setAvailable(true);
-                });
+        if (timeSlotDayRepository.releaseSlot(adminId, date, timeString)) {
+            availabilityCalendarCache.onSlotReleased(adminId, date, timeString);
+        } else if (!timeSlotDayRepository.existsByAdminIdAndDate(adminId, date) && ruleSlots(adminId, date).isEmpty()) {
+            // dia só de regra: nenhum horário dele está reservado, não há o que liberar
+            throw new DayNotFoundException("Dia não encontrado");
+        }
+    }
+
+    private List<TimeSlot> ruleSlots(String adminId, LocalDate date) {
+        return AvailabilityRule.expand(availabilityRuleRepository.findActiveByAdminId(adminId, date, date), date);
+    }
+
+    private static TimeSlotDay ruleDay(String adminId, LocalDate date, List<TimeSlot> slots) {
+        return TimeSlotDay.builder().id(dayId(adminId, date)).adminId(adminId).date(date).slots(slots).build();
+    }
+
+    /**
+     * Dias das regras de disponibilidade entre as datas (inclusivas) que não têm {@link TimeSlotDay} gravado,
+     * em ordem de data e admin. Os dias ainda não existem no banco; o {@code id} é o que terão ao serem gravados.
+     */
+    private List<TimeSlotDay> ruleDays(List<AvailabilityRule> rules, LocalDate from, LocalDate to, Set<String> storedDays) {
+        if (rules.isEmpty()) return List.of();
+
+        Map<String, List<AvailabilityRule>> rulesByAdmin = rules.stream()
+                .collect(Collectors.groupingBy(AvailabilityRule::getAdminId, TreeMap::new, Collectors.toList()));
+        List<TimeSlotDay> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (Map.Entry<String, List<AvailabilityRule>> entry : rulesByAdmin.entrySet()) {
+                if (storedDays.contains(dayId(entry.getKey(), date))) continue;
+                List<TimeSlot> slots = AvailabilityRule.expand(entry.getValue(), date);
+                if (!slots.isEmpty()) days.add(ruleDay(entry.getKey(), date, slots));
+            }
+        }
+        return days;
+    }
+
+    private Set<String> storedDayIds(LocalDate from, LocalDate to) {
+        return timeSlotDayRepository.findKeysByDateBetween(from, to).stream()
+                .map(day -> dayId(day.getAdminId(), day.getDate()))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Grava os dias das regras de disponibilidade entre as datas que ainda não existem (job de materialização).
+     * Dias já gravados, reservados ou editados pelo admin, nunca são sobrescritos.
+     *
+     * @return quantidade de dias criados
+     */
+    public int materializeRuleDays(LocalDate from, LocalDate to) {
+        List<AvailabilityRule> rules = availabilityRuleRepository.findActive(from, to);
+        if (rules.isEmpty()) return 0;
 
-        timeSlotDayRepository.save(day);
+        List<TimeSlotDay> days = ruleDays(rules, from, to, storedDayIds(from, to));
+        int created = 0;
+        for (int start = 0; start < days.size(); start += MATERIALIZATION_BATCH_SIZE) {
+            created += timeSlotDayRepository.materializeDays(
+                    days.subList(start, Math.min(start + MATERIALIZATION_BATCH_SIZE, days.size())));
+        }
+        return created;
     }
 
+    /**
+     * Dia do admin, lido do mês em cache.
+     */
     @Transactional(readOnly = true)
     public TimeSlotDay getDayByAdminAndDate(String adminId, LocalDate date) {
-        return timeSlotDayRepository.findByAdminIdAndDate(adminId, date)
+        return getMonthSnapshot(adminId, YearMonth.from(date)).day(date)
                 .orElseThrow(() -> new DayNotFoundException("Dia não encontrado para admin " + adminId + " na data " + date));
     }
 
+    /**
+     * Primeiros {@code limit} horários livres entre as datas, de todos os admins, em ordem de data e horário.
+     * <p>
+     * Os dias no formato lista vêm da agregação (cursor consumido sob demanda); os dias no formato bitmap
+     * e os dias ainda não gravados das regras de disponibilidade, se houver, são expandidos aqui e intercalados
+     * na mesma ordem. O stream deve ser fechado.
+     *
+     * @param fromTime início da janela de horário (inclusivo), opcional
+     * @param toTime   fim da janela de horário (exclusivo), opcional
+     * @throws IllegalArgumentException se o intervalo de datas ou de horário for inválido
+     */
+    public Stream<AvailableSlot> findAvailableSlots(LocalDate from, LocalDate to, LocalTime fromTime, LocalTime toTime,
+                                                    Integer limit) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Intervalo de datas inválido");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_SEARCH_DAYS) {
+            throw new IllegalArgumentException("Intervalo máximo de " + MAX_SEARCH_DAYS + " dias");
+        }
+        if (fromTime != null && toTime != null && !toTime.isAfter(fromTime)) {
+            throw new IllegalArgumentException("Janela de horário inválida");
+        }
+
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        String start = fromTime != null ? fromTime.toString().substring(0, 5) : null;
+        String end = toTime != null ? toTime.toString().substring(0, 5) : null;
+
+        List<AvailableSlot> expanded = new ArrayList<>(freeBitmapSlots(from, to, start, end, size));
+        expanded.addAll(freeRuleSlots(from, to, start, end, size));
+        Stream<AvailableSlot> aggregated = timeSlotDayRepository.streamAvailableSlots(from, to, start, end, size);
+        if (expanded.isEmpty()) return aggregated;
+
+        expanded.sort(AvailableSlot.CHRONOLOGICAL);
+        return mergeSorted(aggregated, expanded, size);
+    }
+
+    /**
+     * Horários livres dos dias em bitmap; como os dias vêm em ordem de data, a leitura para
+     * assim que há {@code limit} horários e o próximo dia é posterior a todos eles
+     */
+    private List<AvailableSlot> freeBitmapSlots(LocalDate from, LocalDate to, String start, String end, int limit) {
+        List<AvailableSlot> free = new ArrayList<>();
+        try (Stream<TimeSlotDay> days = timeSlotDayRepository.streamBitmapDays(from, to)) {
+            Iterator<TimeSlotDay> iterator = days.iterator();
+            LocalDate lastDate = null;
+            while (iterator.hasNext()) {
+                TimeSlotDay day = iterator.next();
+                if (free.size() >= limit && day.getDate().isAfter(lastDate)) break;
+                lastDate = day.getDate();
+
+                day.getSlots().stream()
+                        .filter(slot -> slot.isAvailable() && !slot.isBooked())
+                        .filter(slot -> (start == null || slot.getTime().compareTo(start) >= 0)
+                                && (end == null || slot.getTime().compareTo(end) < 0))
+                        .forEach(slot -> free.add(new AvailableSlot(day.getAdminId(), day.getDate(), slot.getTime())));
+            }
+        }
+        free.sort(AvailableSlot.CHRONOLOGICAL);
+        return free.size() > limit ? free.subList(0, limit) : free;
+    }
+
+    /**
+     * Horários livres dos dias de regra ainda não gravados (os gravados já estão na agregação ou no bitmap)
+     */
+    private List<AvailableSlot> freeRuleSlots(LocalDate from, LocalDate to, String start, String end, int limit) {
+        List<AvailabilityRule> rules = availabilityRuleRepository.findActive(from, to);
+        if (rules.isEmpty()) return List.of();
+
+        List<AvailableSlot> free = new ArrayList<>();
+        Set<String> storedDays = storedDayIds(from, to);
+        for (TimeSlotDay day : ruleDays(rules, from, to, storedDays)) {
+            if (free.size() >= limit && day.getDate().isAfter(free.get(free.size() - 1).date())) break;
+            day.getSlots().stream()
+                    .filter(slot -> (start == null || slot.getTime().compareTo(start) >= 0)
+                            && (end == null || slot.getTime().compareTo(end) < 0))
+                    .forEach(slot -> free.add(new AvailableSlot(day.getAdminId(), day.getDate(), slot.getTime())));
+        }
+        free.sort(AvailableSlot.CHRONOLOGICAL);
+        return free.size() > limit ? free.subList(0, limit) : free;
+    }
+
+    /**
+     * Intercala dois resultados já ordenados, sem materializar o stream da agregação
+     */
+    private static Stream<AvailableSlot> mergeSorted(Stream<AvailableSlot> sorted, List<AvailableSlot> other, int limit) {
+        Iterator<AvailableSlot> left = sorted.iterator();
+        Iterator<AvailableSlot> right = other.iterator();
+
+        Iterator<AvailableSlot> merged = new Iterator<>() {
+            private AvailableSlot nextLeft = left.hasNext() ? left.next() : null;
+            private AvailableSlot nextRight = right.hasNext() ? right.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null;
+            }
+
+            @Override
+            public AvailableSlot next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                AvailableSlot result;
+                if (nextRight == null || (nextLeft != null && AvailableSlot.CHRONOLOGICAL.compare(nextLeft, nextRight) <= 0)) {
+                    result = nextLeft;
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    result = nextRight;
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .limit(limit)
+                .onClose(sorted::close);
+    }
+
     @Transactional(readOnly = true)
     public List<TimeSlotDay> getSlotsByAdminAndMonth(String adminId, int year, int month) {
-        LocalDate start = LocalDate.of(year, month, 1);
-        LocalDate end = start.plusMonths(1);
-        return timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, start, end);
+        return getMonthSnapshot(adminId, YearMonth.of(year, month)).days();
+    }
+
+    /**
+     * Dias do mês do admin com o ETag do conteúdo; o banco só é consultado quando o mês não está em cache.
+     * Os dias das regras de disponibilidade sem {@link TimeSlotDay} gravado são expandidos em memória
+     * ({@code id} nulo até serem gravados).
+     * <p>
+     * O intervalo é fechado no dia 1 e aberto no dia 1 do mês seguinte ({@code Between} com datas soltas
+     * exclui os dois extremos e deixava de fora o primeiro dia do mês).
+     */
+    @Transactional(readOnly = true)
+    public MonthSnapshot getMonthSnapshot(String adminId, YearMonth month) {
+        return availabilityCalendarCache.getMonth(adminId, month, () -> loadMonth(adminId, month));
+    }
+
+    private List<TimeSlotDay> loadMonth(String adminId, YearMonth month) {
+        LocalDate first = month.atDay(1);
+        LocalDate last = month.atEndOfMonth();
+        List<TimeSlotDay> stored = timeSlotDayRepository.findByAdminIdAndDateBetween(
+                adminId, Range.rightOpen(first, month.plusMonths(1).atDay(1)));
+
+        List<AvailabilityRule> rules = availabilityRuleRepository.findActiveByAdminId(adminId, first, last);
+        if (rules.isEmpty()) return stored;
+
+        Set<String> storedDays = stored.stream().map(day -> dayId(day.getAdminId(), day.getDate())).collect(Collectors.toSet());
+        List<TimeSlotDay> days = new ArrayList<>(stored);
+        ruleDays(rules, first, last, storedDays).forEach(day -> {
+            day.setId(null);
+            days.add(day);
+        });
+        return days;
     }
 }
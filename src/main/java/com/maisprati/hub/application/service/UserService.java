@@ -3,9 +3,11 @@ package com.maisprati.hub.application.service;
 import com.maisprati.hub.domain.enums.EmotionalStatus;
 import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.security.password.BoundedPasswordEncoder;
+import com.maisprati.hub.infrastructure.security.password.PasswordHashingBusyException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,10 +27,12 @@ import java.util.Optional;
  *     <li>Buscar usuários pelo ID e pelo E-mail</li>
  *     <li>Valida email e senha para login</li>
  *     <li>Inativar usuários e removê-los de seus times</li>
+ *     <li>Invalidar o {@link UserCache} a cada alteração de usuário</li>
  * </ul>
  *
- * <p>Depende de {@link UserRepository} para acesso ao banco e de
- * {@link BCryptPasswordEncoder} para criptografia de senhas.</p>
+ * <p>Depende de {@link UserRepository} para acesso ao banco e do {@link PasswordEncoder} da aplicação,
+ * um {@link BoundedPasswordEncoder}: o BCrypt roda em um executor limitado e, com a fila cheia, a chamada
+ * falha com {@link PasswordHashingBusyException} (HTTP 503 + Retry-After).</p>
  */
 
 @Service
@@ -37,6 +41,7 @@ public class UserService {
 
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final UserCache userCache;
 
 	/**
 	 * Registra um aluno no sistema
@@ -60,6 +65,9 @@ public class UserService {
 		User existing = userRepository.findById(user.getId())
 				.orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
+		// invalida também o e-mail antigo, caso seja alterado
+		userCache.evict(existing);
+
 		if (user.getName() != null) {
 			existing.setName(user.getName());
 		}
@@ -84,7 +92,9 @@ public class UserService {
 
 		existing.setUpdatedAt(LocalDateTime.now());
 
-		return userRepository.save(existing);
+		User saved = userRepository.save(existing);
+		userCache.evict(saved);
+		return saved;
 	}
 
 	/**
@@ -93,6 +103,7 @@ public class UserService {
 	@Transactional
 	public void deleteUser(String id) {
 		userRepository.deleteById(id);
+		userCache.evictById(id);
 	}
 
 	/**
@@ -147,7 +158,7 @@ public class UserService {
 		user.setWantsGroup(false);
 		user.setUpdatedAt(LocalDateTime.now());
 
-		return userRepository.save(user);
+		return saveAndEvict(user);
 	}
 
 	/**
@@ -175,7 +186,7 @@ public class UserService {
 		user.setIsActive(false);
 		user.setUpdatedAt(LocalDateTime.now());
 
-		return userRepository.save(user);
+		return saveAndEvict(user);
 	}
 
 	/**
@@ -197,7 +208,7 @@ public class UserService {
 		user.setIsActive(true);
 		user.setUpdatedAt(LocalDateTime.now());
 
-		return userRepository.save(user);
+		return saveAndEvict(user);
 	}
 
 	/**
@@ -219,7 +230,7 @@ public class UserService {
 		user.setWantsGroup(false);
 		user.setUpdatedAt(LocalDateTime.now());
 
-		return userRepository.save(user);
+		return saveAndEvict(user);
 	}
 
 	@Transactional
@@ -230,7 +241,7 @@ public class UserService {
 		user.setEmotionalStatus(emotionalStatus);
 		user.setUpdatedAt(LocalDateTime.now());
 
-		return userRepository.save(user);
+		return saveAndEvict(user);
 	}
 
 	/**
@@ -240,4 +251,13 @@ public class UserService {
 		return List.of(EmotionalStatus.values());
 	}
 
+	/**
+	 * Salva o usuário e remove a versão antiga do cache de autenticação
+	 */
+	private User saveAndEvict(User user) {
+		User saved = userRepository.save(user);
+		userCache.evict(user);
+		return saved;
+	}
+
 }
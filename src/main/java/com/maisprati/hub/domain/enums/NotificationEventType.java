@@ -0,0 +1,7 @@
+package com.maisprati.hub.domain.enums;
+
+public enum NotificationEventType {
+    APPOINTMENT,
+    TEAM_JOIN,
+    TEAM_EXIT
+}
@@ -0,0 +1,7 @@
+package com.maisprati.hub.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.maisprati.hub.domain.exception;
+
+public class AvailabilityRuleNotFoundException extends RuntimeException {
+    public AvailabilityRuleNotFoundException(String message) {
+        super(message);
+    }
+}
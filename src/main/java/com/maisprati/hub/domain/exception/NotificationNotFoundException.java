@@ -0,0 +1,7 @@
+package com.maisprati.hub.domain.exception;
+
+public class NotificationNotFoundException extends RuntimeException {
+    public NotificationNotFoundException(String message) {
+        super(message);
+    }
+}
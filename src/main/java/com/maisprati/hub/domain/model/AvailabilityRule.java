@@ -0,0 +1,89 @@
+package com.maisprati.hub.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Disponibilidade recorrente de um admin, ex.: terças e quintas, das 14:00 às 17:00, a cada 30 minutos,
+ * até o fim do semestre. Um documento substitui um {@link TimeSlotDay} por dia.
+ *
+ * <p>Os dias da regra só viram {@link TimeSlotDay} quando um horário é reservado (ou pelo job de materialização);
+ * até lá, as consultas expandem a regra em memória. Um {@link TimeSlotDay} gravado para a data prevalece sobre
+ * as regras, e datas em {@code excludedDates} (feriados, ausências) não têm horários.</p>
+ */
+@Document(collection = "availability_rules")
+@CompoundIndex(name = "adminId_validUntil", def = "{'adminId': 1, 'validUntil': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityRule {
+
+    @Id
+    private String id;
+    private String adminId;
+
+    private Set<DayOfWeek> daysOfWeek;
+
+    /** Primeiro horário, {@code "HH:mm"} */
+    private String startTime;
+
+    /** Fim da janela (exclusivo), {@code "HH:mm"} */
+    private String endTime;
+
+    private int intervalMinutes;
+
+    private LocalDate validFrom;
+    private LocalDate validUntil;
+
+    private Set<LocalDate> excludedDates;
+    private LocalDateTime createdAt;
+
+    public boolean appliesOn(LocalDate date) {
+        return date != null && !date.isBefore(validFrom) && !date.isAfter(validUntil)
+                && daysOfWeek != null && daysOfWeek.contains(date.getDayOfWeek())
+                && (excludedDates == null || !excludedDates.contains(date));
+    }
+
+    /**
+     * Horários livres da regra na data (vazio se a regra não vale nesse dia)
+     */
+    @JsonIgnore
+    public List<TimeSlot> slotsOn(LocalDate date) {
+        List<TimeSlot> slots = new ArrayList<>();
+        if (!appliesOn(date) || intervalMinutes <= 0) return slots;
+
+        LocalTime end = LocalTime.parse(endTime);
+        for (LocalTime time = LocalTime.parse(startTime); time.isBefore(end); time = time.plusMinutes(intervalMinutes)) {
+            slots.add(new TimeSlot(time.toString(), true, false));
+            if (time.plusMinutes(intervalMinutes).isBefore(time)) break; // passaria da meia-noite
+        }
+        return slots;
+    }
+
+    /**
+     * União dos horários de várias regras na data, em ordem cronológica
+     */
+    public static List<TimeSlot> expand(List<AvailabilityRule> rules, LocalDate date) {
+        TreeMap<String, TimeSlot> byTime = new TreeMap<>();
+        for (AvailabilityRule rule : rules) {
+            rule.slotsOn(date).forEach(slot -> byTime.putIfAbsent(slot.getTime(), slot));
+        }
+        return new ArrayList<>(byTime.values());
+    }
+}
@@ -0,0 +1,16 @@
+package com.maisprati.hub.domain.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Horário livre de um admin (projeção da busca de disponibilidade).
+ */
+public record AvailableSlot(String adminId, LocalDate date, String time) {
+
+    /** Ordem da busca: data, horário e admin (desempate estável) */
+    public static final Comparator<AvailableSlot> CHRONOLOGICAL = Comparator
+            .comparing(AvailableSlot::date)
+            .thenComparing(AvailableSlot::time)
+            .thenComparing(AvailableSlot::adminId);
+}
@@ -5,6 +5,9 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -12,6 +15,10 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 @Document(collection = "notifications")
+@CompoundIndexes({
+        @CompoundIndex(name = "userId_createdAt_id", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "type_createdAt", def = "{'type': 1, 'createdAt': 1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,4 +40,16 @@ public class Notification {
     private String message;
     private Map<String, Object> data; // dados extras flexíveis
     private LocalDateTime createdAt;
+
+    @Builder.Default
+    private boolean read = false;
+    private LocalDateTime readAt;
+
+    /**
+     * Fim da retenção (definido pelo tipo na gravação). O TTL só remove notificações lidas,
+     * para não dessincronizar o contador de não lidas; as não lidas vencidas são removidas
+     * pelo job de compactação, que também ajusta o contador.
+     */
+    @Indexed(name = "expireAt_read_ttl", expireAfter = "0s", partialFilter = "{ 'read': true }")
+    private LocalDateTime expireAt;
 }
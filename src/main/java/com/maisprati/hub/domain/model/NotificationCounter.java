@@ -0,0 +1,25 @@
+package com.maisprati.hub.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Contador de notificações não lidas por usuário.
+ *
+ * <p>Mantido com {@code $inc} a cada criação, leitura ou remoção, para que o badge do front
+ * seja lido sem consultar a coleção de notificações.</p>
+ */
+@Document(collection = "notification_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter {
+
+    @Id
+    private String userId;
+
+    private long unread;
+}
@@ -0,0 +1,49 @@
+package com.maisprati.hub.domain.model;
+
+import com.maisprati.hub.domain.enums.NotificationEventType;
+import com.maisprati.hub.domain.enums.OutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Evento da outbox de notificações.
+ *
+ * <p>A operação de negócio (agendamento, entrada/saída de time) grava apenas este documento compacto;
+ * o {@code NotificationOutboxDispatcher} o expande em segundo plano nas {@link Notification}
+ * de cada destinatário e remove o evento após a gravação.</p>
+ */
+@Document(collection = "notification_outbox")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationEvent {
+
+    @Id
+    private String id;
+
+    private NotificationEventType type;
+
+    private Map<String, Object> payload; // dados necessários para montar as notificações
+
+    private OutboxStatus status;
+
+    private int attempts;
+
+    private Instant nextAttemptAt; // próxima tentativa (backoff após falha)
+
+    private Instant lockedUntil; // fim da reserva do dispatcher (evento em PROCESSING)
+
+    private String lastError;
+
+    private Instant createdAt;
+}
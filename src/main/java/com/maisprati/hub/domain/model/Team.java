@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.NotBlank;
@@ -15,6 +17,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "teams")
+@CompoundIndexes({
+        @CompoundIndex(name = "members_userId", def = "{'members.userId': 1}"), // multikey: times de um usuário
+        @CompoundIndex(name = "isActive_members_userId_isActive",
+                def = "{'isActive': 1, 'members.userId': 1, 'members.isActive': 1}") // usuário em time ativo
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
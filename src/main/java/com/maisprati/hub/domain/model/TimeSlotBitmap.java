@@ -0,0 +1,130 @@
+package com.maisprati.hub.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Representação compacta dos horários de um dia: buckets de {@link #GRANULARITY_MINUTES} minutos
+ * em três bitsets de {@value #WORDS} longs.
+ *
+ * <ul>
+ *     <li>{@code slots}: o horário existe no dia</li>
+ *     <li>{@code available}: o horário está disponível</li>
+ *     <li>{@code booked}: o horário está reservado</li>
+ * </ul>
+ *
+ * <p>Um horário {@code "HH:mm"} fora da granularidade (ex.: {@code "09:07"}) não é representável;
+ * nesse caso {@link #of} devolve {@code null} e o dia continua no formato de lista.</p>
+ */
+public final class TimeSlotBitmap {
+
+    public static final int GRANULARITY_MINUTES = 5;
+    public static final int BUCKETS = 24 * 60 / GRANULARITY_MINUTES;
+    public static final int WORDS = (BUCKETS + 63) / 64;
+
+    private final long[] slots;
+    private final long[] available;
+    private final long[] booked;
+
+    public TimeSlotBitmap(long[] slots, long[] available, long[] booked) {
+        this.slots = Arrays.copyOf(slots, WORDS);
+        this.available = Arrays.copyOf(available, WORDS);
+        this.booked = Arrays.copyOf(booked, WORDS);
+    }
+
+    /**
+     * Converte a lista de horários; {@code null} se algum horário não cair na granularidade
+     */
+    public static TimeSlotBitmap of(List<TimeSlot> timeSlots) {
+        long[] slots = new long[WORDS];
+        long[] available = new long[WORDS];
+        long[] booked = new long[WORDS];
+
+        if (timeSlots != null) {
+            for (TimeSlot slot : timeSlots) {
+                int bucket = bucketOf(slot.getTime());
+                if (bucket < 0) return null;
+                slots[word(bucket)] |= mask(bucket);
+                if (slot.isAvailable()) available[word(bucket)] |= mask(bucket);
+                if (slot.isBooked()) booked[word(bucket)] |= mask(bucket);
+            }
+        }
+        return new TimeSlotBitmap(slots, available, booked);
+    }
+
+    /**
+     * Horários em ordem cronológica, no formato {@code "HH:mm"}
+     */
+    public List<TimeSlot> toSlots() {
+        List<TimeSlot> result = new ArrayList<>();
+        for (int w = 0; w < WORDS; w++) {
+            long bits = slots[w];
+            while (bits != 0) {
+                int bucket = w * 64 + Long.numberOfTrailingZeros(bits);
+                long mask = mask(bucket);
+                result.add(new TimeSlot(timeOf(bucket), (available[w] & mask) != 0, (booked[w] & mask) != 0));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Novos horários do dia preservando os já reservados: reservados ficam como estão,
+     * os demais horários passam a ser os de {@code incoming}
+     */
+    public TimeSlotBitmap mergeKeepingBooked(TimeSlotBitmap incoming) {
+        long[] mergedSlots = new long[WORDS];
+        long[] mergedAvailable = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            mergedSlots[w] = booked[w] | incoming.slots[w];
+            mergedAvailable[w] = (available[w] & booked[w]) | (incoming.available[w] & ~booked[w]);
+        }
+        return new TimeSlotBitmap(mergedSlots, mergedAvailable, booked);
+    }
+
+    /**
+     * Bucket do horário {@code "HH:mm"}, ou {@code -1} se o texto não estiver nesse formato
+     * ou o horário não cair na granularidade
+     */
+    public static int bucketOf(String time) {
+        if (time == null || time.length() != 5 || time.charAt(2) != ':') return -1;
+        int hours = digits(time, 0);
+        int minutes = digits(time, 3);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59 || minutes % GRANULARITY_MINUTES != 0) return -1;
+        return (hours * 60 + minutes) / GRANULARITY_MINUTES;
+    }
+
+    public static int word(int bucket) {
+        return bucket >>> 6;
+    }
+
+    public static long mask(int bucket) {
+        return 1L << (bucket & 63);
+    }
+
+    private static String timeOf(int bucket) {
+        int minutes = bucket * GRANULARITY_MINUTES;
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static int digits(String text, int start) {
+        char tens = text.charAt(start);
+        char units = text.charAt(start + 1);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') return -1;
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    public long[] getSlots() {
+        return slots.clone();
+    }
+
+    public long[] getAvailable() {
+        return available.clone();
+    }
+
+    public long[] getBooked() {
+        return booked.clone();
+    }
+}
@@ -1,16 +1,24 @@
 package com.maisprati.hub.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Document(collection = "time_slots")
+@CompoundIndexes({
+        @CompoundIndex(name = "adminId_date", def = "{'adminId': 1, 'date': 1}"),
+        // Busca de horários livres entre datas, de todos os admins
+        @CompoundIndex(name = "date_adminId", def = "{'date': 1, 'adminId': 1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,4 +32,22 @@ public class TimeSlotDay {
 
     private LocalDate date;
     private List<TimeSlot> slots;
+
+    /*
+     * Formato compacto opcional (timeslots.storage.format=bitmap): bitsets de TimeSlotBitmap.
+     * Quando presentes no documento, {@code slots} é reconstruído a partir deles na leitura,
+     * então a API continua expondo só a lista.
+     */
+    @JsonIgnore
+    private long[] slotBits;
+    @JsonIgnore
+    private long[] availableBits;
+    @JsonIgnore
+    private long[] bookedBits;
+
+    @JsonIgnore
+    public TimeSlotBitmap getBitmap() {
+        return slotBits == null ? null : new TimeSlotBitmap(slotBits,
+                availableBits != null ? availableBits : new long[0], bookedBits != null ? bookedBits : new long[0]);
+    }
 }
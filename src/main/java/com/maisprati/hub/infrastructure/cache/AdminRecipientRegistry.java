@@ -0,0 +1,113 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids dos administradores que recebem as notificações destinadas ao admin.
+ *
+ * <ul>
+ *     <li>Resolvidos por papel ({@link UserType#ADMIN}), não por e-mail: vários admins são suportados</li>
+ *     <li>Carregados uma única vez, na primeira notificação; depois disso nenhuma notificação consulta {@code users}</li>
+ *     <li>Atualizados pelo {@code AdminRecipientListener} a cada usuário salvo ou removido</li>
+ *     <li>Admins desativados ({@code isActive = false}) não recebem notificações</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdminRecipientRegistry {
+	
+	private final UserRepository userRepository;
+	
+	/** Lista imutável, trocada inteira a cada alteração; {@code null} enquanto não carregada */
+	private volatile List<String> adminIds;
+	
+	/**
+	 * Serializa recarga e atualizações, para que uma recarga não sobrescreva um usuário salvo durante a consulta.
+	 * {@code ReentrantLock} e não {@code synchronized}: a recarga faz I/O e não pode fixar threads virtuais
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	/**
+	 * Ids dos admins ativos (consulta o banco apenas na primeira chamada).
+	 */
+	public List<String> getAdminIds() {
+		List<String> ids = adminIds;
+		return ids != null ? ids : refresh();
+	}
+	
+	public boolean isAdmin(String userId) {
+		return userId != null && getAdminIds().contains(userId);
+	}
+	
+	/**
+	 * Recarrega os admins a partir do banco.
+	 */
+	public List<String> refresh() {
+		lock.lock();
+		try {
+			List<String> ids = userRepository.findByType(UserType.ADMIN).stream()
+				                   .filter(AdminRecipientRegistry::receivesNotifications)
+				                   .map(User::getId)
+				                   .toList();
+			adminIds = ids;
+			log.info("{} admin(s) registrados para notificações", ids.size());
+			return ids;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Reflete um usuário salvo: entra se for admin ativo, sai caso contrário.
+	 */
+	public void onUserSaved(User user) {
+		if (user == null || user.getId() == null) return;
+		
+		lock.lock();
+		try {
+			List<String> ids = adminIds;
+			if (ids == null) return; // ainda não carregado: o refresh já verá o usuário
+			
+			boolean admin = user.getType() == UserType.ADMIN && receivesNotifications(user);
+			boolean registered = ids.contains(user.getId());
+			
+			if (admin && !registered) {
+				List<String> updated = new ArrayList<>(ids);
+				updated.add(user.getId());
+				adminIds = List.copyOf(updated);
+			} else if (!admin && registered) {
+				onUserDeleted(user.getId());
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Reflete um usuário removido.
+	 */
+	public void onUserDeleted(String userId) {
+		lock.lock();
+		try {
+			List<String> ids = adminIds;
+			if (ids == null || !ids.contains(userId)) return;
+			adminIds = ids.stream().filter(id -> !id.equals(userId)).toList();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private static boolean receivesNotifications(User user) {
+		return !Boolean.FALSE.equals(user.getIsActive());
+	}
+}
@@ -0,0 +1,23 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.availability")
+public class AvailabilityCacheProperties {
+	
+	/** Liga/desliga o cache do calendário de horários */
+	private boolean enabled = true;
+	
+	/** Quantidade máxima de meses (admin + mês) mantidos em memória */
+	private long maxSize = 5_000;
+	
+	/**
+	 * Tempo de vida de cada mês em segundos, contado a partir da leitura do banco.
+	 * Define a janela máxima até uma alteração feita fora do {@code TimeSlotDayService} (ex.: outra instância) valer
+	 */
+	private long ttlSeconds = 300;
+}
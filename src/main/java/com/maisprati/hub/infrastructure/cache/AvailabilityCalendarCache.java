@@ -0,0 +1,264 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache em memória do calendário de horários, por admin e por mês.
+ *
+ * <p>Evita uma consulta a {@code time_slots} a cada renderização do calendário
+ * ({@code GET /api/timeslots/month} e {@code GET /api/timeslots/days/{date}}).</p>
+ *
+ * <ul>
+ *     <li>Write-through: o {@code TimeSlotDayService} aplica cada dia salvo, reservado ou liberado no mês em memória,
+ *     sem descartar nem reler o mês. Reserva e liberação mudam só o horário afetado (delta): aplicar o dia inteiro
+ *     devolvido pela reserva poderia desfazer uma liberação do mesmo dia aplicada no meio tempo</li>
+ *     <li>Cada mês carrega um ETag calculado a partir do conteúdo: igual entre instâncias e entre reinícios</li>
+ *     <li>Limitado por tamanho ({@code cache.availability.max-size}) e por TTL ({@code cache.availability.ttl-seconds})
+ *     contado da leitura do banco, que limita a defasagem de alterações feitas por outra instância</li>
+ *     <li>Métricas: {@code cache.*{cache=availability.months}}, {@code availability.cache.hit.ratio},
+ *     {@code availability.cache.staleness} (segundos desde a leitura do mês mais antigo em memória) e
+ *     {@code availability.cache.write.through}</li>
+ * </ul>
+ *
+ * <p>O carregamento de um mês é feito fora de qualquer lock do cache (nada de I/O dentro de {@code Cache#get}, que
+ * prenderia a thread virtual à de plataforma): duas requisições simultâneas podem consultar o banco para o mesmo mês.
+ * Cada alteração incrementa uma versão (por faixa de chaves) antes de ser aplicada; uma leitura que cruzou com uma
+ * alteração do mesmo mês devolve o que leu, mas não o grava no cache, então o mês nunca volta a um estado anterior.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityCalendarCache {
+	
+	private static final Comparator<TimeSlotDay> BY_DATE = Comparator.comparing(TimeSlotDay::getDate);
+	private static final int VERSION_STRIPES = 64;
+	
+	private final AvailabilityCacheProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+	
+	private Cache<MonthKey, MonthSnapshot> months;
+	private Counter writeThrough;
+	
+	@PostConstruct
+	public void init() {
+		months = Caffeine.newBuilder()
+			         .maximumSize(properties.getMaxSize())
+			         .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+			         .recordStats()
+			         .build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, months, "availability.months");
+		Gauge.builder("availability.cache.hit.ratio", months, c -> c.stats().hitRate())
+			.description("Proporção de leituras do calendário atendidas pelo cache")
+			.register(meterRegistry);
+		Gauge.builder("availability.cache.staleness", this, AvailabilityCalendarCache::stalenessSeconds)
+			.description("Segundos desde a leitura do banco do mês mais antigo em memória")
+			.baseUnit("seconds")
+			.register(meterRegistry);
+		writeThrough = Counter.builder("availability.cache.write.through")
+			               .description("Alterações de dias aplicadas em meses já em memória")
+			               .register(meterRegistry);
+	}
+	
+	/**
+	 * Mês do admin, consultando o banco ({@code loader}) apenas em caso de miss.
+	 */
+	public MonthSnapshot getMonth(String adminId, YearMonth month, Supplier<List<TimeSlotDay>> loader) {
+		if (!properties.isEnabled()) return MonthSnapshot.of(loader.get(), Instant.now());
+		
+		MonthKey key = new MonthKey(adminId, month);
+		MonthSnapshot cached = months.getIfPresent(key);
+		if (cached != null) return cached;
+		
+		int stripe = stripeOf(key);
+		long version = versions.get(stripe);
+		MonthSnapshot loaded = MonthSnapshot.of(loader.get(), Instant.now());
+		if (versions.get(stripe) != version) return loaded;
+		
+		MonthSnapshot current = months.asMap().putIfAbsent(key, loaded);
+		if (current != null) return current;
+		// alteração entre a conferência da versão e o putIfAbsent: não encontrou o mês para aplicar o delta
+		if (versions.get(stripe) != version) months.asMap().remove(key, loaded);
+		return loaded;
+	}
+	
+	/**
+	 * Reflete um dia salvo (estado completo do dia), se o mês estiver em memória.
+	 */
+	public void onDaySaved(TimeSlotDay day) {
+		if (!properties.isEnabled() || day == null || day.getAdminId() == null || day.getDate() == null) return;
+		update(day.getAdminId(), day.getDate(), snapshot -> snapshot.withDay(copyOf(day)));
+	}
+	
+	/**
+	 * Reflete a reserva de um horário, se o mês estiver em memória. Se o mês não tiver o dia ou o horário
+	 * (dia de regra materializado na reserva), o mês é descartado e relido na próxima consulta.
+	 */
+	public void onSlotBooked(String adminId, LocalDate date, String time) {
+		if (!properties.isEnabled() || adminId == null || date == null) return;
+		update(adminId, date, snapshot -> snapshot.day(date)
+			                                  .filter(day -> hasSlot(day, time))
+			                                  .map(day -> snapshot.withDay(withSlot(day, time, true)))
+			                                  .orElse(null));
+	}
+	
+	/**
+	 * Reflete a liberação de um horário, se o mês estiver em memória.
+	 */
+	public void onSlotReleased(String adminId, LocalDate date, String time) {
+		if (!properties.isEnabled() || adminId == null || date == null) return;
+		update(adminId, date, snapshot -> snapshot.day(date)
+			                                  .map(day -> snapshot.withDay(withSlot(day, time, false)))
+			                                  .orElse(snapshot));
+	}
+	
+	/**
+	 * Remove o mês do admin.
+	 */
+	public void evict(String adminId, YearMonth month) {
+		MonthKey key = new MonthKey(adminId, month);
+		versions.incrementAndGet(stripeOf(key));
+		months.invalidate(key);
+	}
+	
+	/**
+	 * Remove todos os meses do admin (ex.: regra de disponibilidade criada ou removida).
+	 */
+	public void evictAdmin(String adminId) {
+		for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) versions.incrementAndGet(stripe);
+		months.asMap().keySet().removeIf(key -> key.adminId().equals(adminId));
+	}
+	
+	/**
+	 * {@code change} devolvendo {@code null} descarta o mês
+	 */
+	private void update(String adminId, LocalDate date, UnaryOperator<MonthSnapshot> change) {
+		MonthKey key = new MonthKey(adminId, YearMonth.from(date));
+		versions.incrementAndGet(stripeOf(key));
+		MonthSnapshot updated = months.asMap().computeIfPresent(key, (k, snapshot) -> change.apply(snapshot));
+		if (updated != null) writeThrough.increment();
+	}
+	
+	private static int stripeOf(MonthKey key) {
+		return key.hashCode() & (VERSION_STRIPES - 1);
+	}
+	
+	private double stalenessSeconds() {
+		Instant now = Instant.now();
+		return months.asMap().values().stream()
+			       .map(MonthSnapshot::loadedAt)
+			       .min(Comparator.naturalOrder())
+			       .map(oldest -> Duration.between(oldest, now).toMillis() / 1000.0)
+			       .orElse(0.0);
+	}
+	
+	private static boolean hasSlot(TimeSlotDay day, String time) {
+		return day.getSlots() != null && day.getSlots().stream().anyMatch(slot -> slot.getTime().equals(time));
+	}
+	
+	private static TimeSlotDay withSlot(TimeSlotDay day, String time, boolean booked) {
+		TimeSlotDay copy = copyOf(day);
+		copy.getSlots().stream()
+			.filter(slot -> slot.getTime().equals(time))
+			.forEach(slot -> {
+				slot.setBooked(booked);
+				slot.setAvailable(!booked);
+			});
+		return copy;
+	}
+	
+	/**
+	 * Cópia desacoplada do dia: o que está em memória não muda quando quem chamou altera o objeto devolvido
+	 */
+	private static TimeSlotDay copyOf(TimeSlotDay day) {
+		List<TimeSlot> slots = new ArrayList<>();
+		if (day.getSlots() != null) {
+			day.getSlots().forEach(slot -> slots.add(new TimeSlot(slot.getTime(), slot.isAvailable(), slot.isBooked())));
+		}
+		return TimeSlotDay.builder()
+			       .id(day.getId())
+			       .adminId(day.getAdminId())
+			       .studentId(day.getStudentId())
+			       .date(day.getDate())
+			       .slots(slots)
+			       .build();
+	}
+	
+	/**
+	 * ETag forte ({@code "..."}) do conteúdo dos dias: FNV-1a 64 bits sobre data e horários
+	 */
+	public static String etagOf(List<TimeSlotDay> days) {
+		long hash = 0xcbf29ce484222325L;
+		for (TimeSlotDay day : days) {
+			hash = fnv(hash, String.valueOf(day.getDate()));
+			if (day.getSlots() == null) continue;
+			for (TimeSlot slot : day.getSlots()) {
+				hash = fnv(hash, slot.getTime());
+				hash = fnv(hash, slot.isAvailable() ? "A" : "-");
+				hash = fnv(hash, slot.isBooked() ? "B" : "-");
+			}
+		}
+		return "\"" + Long.toHexString(hash) + "\"";
+	}
+	
+	private static long fnv(long hash, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return (hash ^ '|') * 0x100000001b3L;
+	}
+	
+	private record MonthKey(String adminId, YearMonth month) {
+	}
+	
+	/**
+	 * Estado imutável de um mês: os dias em ordem de data, o ETag e o instante da leitura do banco
+	 */
+	public record MonthSnapshot(List<TimeSlotDay> days, String etag, Instant loadedAt) {
+		
+		static MonthSnapshot of(List<TimeSlotDay> days, Instant loadedAt) {
+			List<TimeSlotDay> sorted = days.stream().map(AvailabilityCalendarCache::copyOf).sorted(BY_DATE).toList();
+			return new MonthSnapshot(sorted, etagOf(sorted), loadedAt);
+		}
+		
+		public Optional<TimeSlotDay> day(LocalDate date) {
+			return days.stream().filter(day -> date.equals(day.getDate())).findFirst();
+		}
+		
+		/**
+		 * Novo estado com o dia inserido ou substituído; mantém o instante da leitura
+		 */
+		MonthSnapshot withDay(TimeSlotDay changed) {
+			List<TimeSlotDay> updated = new ArrayList<>(days.size() + 1);
+			days.stream().filter(day -> !changed.getDate().equals(day.getDate())).forEach(updated::add);
+			updated.add(changed);
+			updated.sort(BY_DATE);
+			List<TimeSlotDay> result = List.copyOf(updated);
+			return new MonthSnapshot(result, etagOf(result), loadedAt);
+		}
+	}
+}
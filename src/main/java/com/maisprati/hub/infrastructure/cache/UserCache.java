@@ -0,0 +1,129 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache em memória de usuários usado nos caminhos de autenticação.
+ *
+ * <p>Evita uma consulta {@link UserRepository#findByEmail} a cada requisição no filtro JWT,
+ * no refresh de token e no carregamento do {@code UserDetails}.</p>
+ *
+ * <ul>
+ *     <li>Limitado por tamanho ({@code cache.user.max-size}) e por TTL ({@code cache.user.ttl-seconds})</li>
+ *     <li>Indexado por e-mail e por id; as duas chaves são gravadas e invalidadas juntas</li>
+ *     <li>Quem grava o usuário ({@code UserService}, {@code TeamService} ao mudar {@code hasGroup}) invalida as entradas</li>
+ *     <li>Estatísticas (hit/miss/eviction) publicadas no actuator como {@code cache.*{cache=users.by-email|users.by-id}}</li>
+ * </ul>
+ *
+ * <p>O carregamento é feito fora de qualquer lock do cache: duas requisições simultâneas
+ * podem consultar o banco para o mesmo usuário, mas nenhuma fica bloqueada esperando I/O da outra.</p>
+ *
+ * <p>Quem chama sempre recebe uma cópia: alterar o usuário devolvido (ex.: {@code setHasGroup}) não muda
+ * a entrada em cache, que só é trocada por uma nova leitura do banco depois de invalidada.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+	
+	private final UserRepository userRepository;
+	private final UserCacheProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	private Cache<String, User> byEmail;
+	private Cache<String, User> byId;
+	
+	@PostConstruct
+	public void init() {
+		byEmail = newCache();
+		byId = newCache();
+		CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.by-email");
+		CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+	}
+	
+	private Cache<String, User> newCache() {
+		return Caffeine.newBuilder()
+			       .maximumSize(properties.getMaxSize())
+			       .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+			       .recordStats()
+			       .build();
+	}
+	
+	/**
+	 * Busca o usuário pelo e-mail, consultando o banco apenas em caso de miss.
+	 */
+	public Optional<User> findByEmail(String email) {
+		if (!properties.isEnabled() || email == null) return userRepository.findByEmail(email);
+		
+		User cached = byEmail.getIfPresent(email);
+		if (cached != null) return Optional.of(copyOf(cached));
+		
+		Optional<User> loaded = userRepository.findByEmail(email);
+		loaded.ifPresent(this::put);
+		return loaded;
+	}
+	
+	/**
+	 * Busca o usuário pelo id, consultando o banco apenas em caso de miss.
+	 */
+	public Optional<User> findById(String id) {
+		if (!properties.isEnabled() || id == null) return userRepository.findById(id);
+		
+		User cached = byId.getIfPresent(id);
+		if (cached != null) return Optional.of(copyOf(cached));
+		
+		Optional<User> loaded = userRepository.findById(id);
+		loaded.ifPresent(this::put);
+		return loaded;
+	}
+	
+	/**
+	 * Remove do cache o usuário com o id informado (e o e-mail associado, se conhecido).
+	 */
+	public void evictById(String id) {
+		if (id == null) return;
+		User cached = byId.getIfPresent(id);
+		byId.invalidate(id);
+		if (cached != null && cached.getEmail() != null) byEmail.invalidate(cached.getEmail());
+	}
+	
+	/**
+	 * Remove do cache o usuário com o e-mail informado (e o id associado, se conhecido).
+	 */
+	public void evictByEmail(String email) {
+		if (email == null) return;
+		User cached = byEmail.getIfPresent(email);
+		byEmail.invalidate(email);
+		if (cached != null && cached.getId() != null) byId.invalidate(cached.getId());
+	}
+	
+	/**
+	 * Remove as duas chaves do usuário informado.
+	 */
+	public void evict(User user) {
+		if (user == null) return;
+		evictById(user.getId());
+		evictByEmail(user.getEmail());
+	}
+	
+	private void put(User user) {
+		User cached = copyOf(user);
+		if (cached.getId() != null) byId.put(cached.getId(), cached);
+		if (cached.getEmail() != null) byEmail.put(cached.getEmail(), cached);
+	}
+	
+	/** Os campos de {@link User} são imutáveis (strings, enums, datas), então a cópia rasa basta */
+	private static User copyOf(User user) {
+		return user.toBuilder().build();
+	}
+}
@@ -0,0 +1,23 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.user")
+public class UserCacheProperties {
+	
+	/** Liga/desliga o cache de usuários */
+	private boolean enabled = true;
+	
+	/** Quantidade máxima de usuários mantidos em memória */
+	private long maxSize = 10_000;
+	
+	/**
+	 * Tempo de vida de cada entrada em segundos.
+	 * Define a janela máxima até uma alteração feita fora do {@code UserService} (ex.: inativação) valer
+	 */
+	private long ttlSeconds = 60;
+}
@@ -0,0 +1,23 @@
+package com.maisprati.hub.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "availability.rules")
+public class AvailabilityRuleProperties {
+
+    /**
+     * Liga o job que grava antecipadamente os dias das regras de disponibilidade.
+     * Desligado, os dias só são gravados na primeira reserva
+     */
+    private boolean materializationEnabled = false;
+
+    /** Quando o job roda (padrão: 04:00, fora do horário de uso) */
+    private String materializationCron = "0 0 4 * * *";
+
+    /** Quantos dias à frente, a partir de hoje, o job grava */
+    private int materializeDaysAhead = 14;
+}
@@ -25,8 +25,8 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void initializeAdminUser() {
-        // Verifica se já existe um admin
-        if (userRepository.findByEmail("admin@admin.com").isPresent()) {
+        // Verifica se já existe algum admin (por papel, não pelo e-mail padrão)
+        if (userRepository.existsByType(UserType.ADMIN)) {
             log.info("👤 Usuário admin já existe no banco");
             return;
         }
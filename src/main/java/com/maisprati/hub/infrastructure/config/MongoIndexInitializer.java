@@ -0,0 +1,84 @@
+package com.maisprati.hub.infrastructure.config;
+
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.domain.model.NotificationEvent;
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Cria os índices declarados ({@code @Indexed}, {@code @CompoundIndex}) nas entidades listadas.
+ *
+ * <p>{@code spring.data.mongodb.auto-index-creation} está desligado; os índices das consultas
+ * de alto volume são criados aqui na inicialização. Falhas em índices de consulta são registradas no log
+ * sem impedir a aplicação de subir; índices únicos garantem regras de negócio (a inserção otimista de
+ * times depende do índice único de {@code securityCode} para detectar colisões), então a falha ao criá-los
+ * ou a ausência deles depois da criação impede a inicialização.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer implements CommandLineRunner {
+
+    /** Entidades cujos índices são garantidos na inicialização */
+    static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            NotificationEvent.class,
+            Notification.class,
+            Team.class,
+            TimeSlotDay.class,
+            AvailabilityRule.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    @Override
+    public void run(String... args) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            resolver.resolveIndexFor(entity).forEach(index -> {
+                try {
+                    mongoTemplate.indexOps(entity).createIndex(index);
+                } catch (Exception e) {
+                    if (isUnique(index)) {
+                        throw new IllegalStateException("Falha ao criar índice único " + index.getIndexKeys()
+                                + " em " + entity.getSimpleName(), e);
+                    }
+                    log.error("Falha ao criar índice {} em {}: {}", index.getIndexKeys(), entity.getSimpleName(), e.getMessage());
+                }
+            });
+        }
+        requireUniqueIndex(Team.class, "securityCode");
+        log.info("Índices verificados para {} entidades", INDEXED_ENTITIES.size());
+    }
+
+    /**
+     * Confere no banco que existe um índice único só sobre {@code field}
+     *
+     * @throws IllegalStateException se o índice não existe ou não é único
+     */
+    void requireUniqueIndex(Class<?> entity, String field) {
+        boolean present = mongoTemplate.indexOps(entity).getIndexInfo().stream()
+                .anyMatch(info -> info.isUnique() && info.getIndexFields().size() == 1
+                        && field.equals(info.getIndexFields().get(0).getKey()));
+        if (!present) {
+            throw new IllegalStateException("Índice único de " + field + " ausente em " + entity.getSimpleName());
+        }
+    }
+
+    private static boolean isUnique(IndexDefinition index) {
+        return index.getIndexOptions().getBoolean("unique", false);
+    }
+}
@@ -0,0 +1,32 @@
+package com.maisprati.hub.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.outbox")
+public class NotificationOutboxProperties {
+
+    /** Liga o dispatcher em segundo plano */
+    private boolean enabled = true;
+
+    /** Intervalo entre execuções do dispatcher (ms) */
+    private long pollIntervalMs = 1000;
+
+    /** Eventos reservados e expandidos por lote */
+    private int batchSize = 100;
+
+    /** Tempo de reserva de um evento; após isso outro ciclo pode reprocessá-lo (ms) */
+    private long leaseMs = 30_000;
+
+    /** Tentativas antes do evento ficar como FAILED */
+    private int maxAttempts = 8;
+
+    /** Espera após a primeira falha, dobrando a cada tentativa (ms) */
+    private long initialBackoffMs = 1000;
+
+    /** Espera máxima entre tentativas (ms) */
+    private long maxBackoffMs = 300_000;
+}
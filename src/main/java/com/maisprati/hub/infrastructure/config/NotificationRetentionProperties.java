@@ -0,0 +1,56 @@
+package com.maisprati.hub.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.retention")
+public class NotificationRetentionProperties {
+
+    /** Retenção padrão das notificações (dias); 0 mantém para sempre */
+    private int defaultDays = 180;
+
+    /** Retenção por tipo (dias), ex.: {@code notification.retention.days-by-type.team_join=30} */
+    private Map<String, Integer> daysByType = new HashMap<>();
+
+    /** Liga o job de compactação/expiração */
+    private boolean compactionEnabled = true;
+
+    /** Quando o job roda (padrão: 03:30, fora do horário de uso) */
+    private String compactionCron = "0 30 3 * * *";
+
+    /** Tipos de baixo valor resumidos em um documento diário por usuário */
+    private List<String> compactTypes = List.of("team_join", "appointment_completed", "team_appointment_completed");
+
+    /** Idade mínima (dias) para uma notificação ser compactada */
+    private int compactAfterDays = 7;
+
+    /** Documentos removidos por lote */
+    private int batchSize = 500;
+
+    /** Pausa entre lotes, para não competir com o tráfego da aplicação (ms) */
+    private long batchPauseMs = 100;
+
+    /**
+     * Retenção (dias) do tipo informado; 0 mantém para sempre
+     */
+    public int daysFor(String type) {
+        return daysByType.getOrDefault(type, defaultDays);
+    }
+
+    /**
+     * Momento de expiração de uma notificação do tipo informado, ou {@code null} se não expira
+     */
+    public LocalDateTime expireAt(String type, LocalDateTime createdAt) {
+        int days = daysFor(type);
+        if (days <= 0 || createdAt == null) return null;
+        return createdAt.plusDays(days);
+    }
+}
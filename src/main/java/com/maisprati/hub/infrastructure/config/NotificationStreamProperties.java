@@ -0,0 +1,23 @@
+package com.maisprati.hub.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.stream")
+public class NotificationStreamProperties {
+
+    /** Eventos pendentes por conexão; ao estourar, a conexão é encerrada e o cliente retoma via Last-Event-ID */
+    private int bufferSize = 100;
+
+    /** Intervalo entre heartbeats (ms), mantém a conexão aberta em proxies */
+    private long heartbeatMs = 25_000;
+
+    /** Duração máxima de uma conexão (ms); o EventSource do navegador reconecta sozinho */
+    private long timeoutMs = 30 * 60 * 1000L;
+
+    /** Máximo de notificações reenviadas ao retomar com Last-Event-ID */
+    private int resumeLimit = 100;
+}
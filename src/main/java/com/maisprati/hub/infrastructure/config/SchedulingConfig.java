@@ -0,0 +1,16 @@
+package com.maisprati.hub.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas {@code @Scheduled} (dispatcher da outbox, heartbeat do SSE, jobs noturnos).
+ *
+ * <p>O pool do agendador ({@code spring.task.scheduling.pool.size}) tem mais de uma thread: com a thread única
+ * padrão, um job longo como a compactação de notificações atrasaria o dispatcher e o heartbeat por minutos.
+ * No profile {@code virtual} cada execução roda em sua própria thread virtual.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
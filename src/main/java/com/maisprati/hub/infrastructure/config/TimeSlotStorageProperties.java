@@ -0,0 +1,23 @@
+package com.maisprati.hub.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "timeslots.storage")
+public class TimeSlotStorageProperties {
+
+    public enum Format { LIST, BITMAP }
+
+    /**
+     * Formato em que os dias são gravados. Os dois formatos são lidos sempre, então dá para trocar
+     * sem migração: cada dia muda de formato na próxima gravação.
+     */
+    private Format format = Format.LIST;
+
+    public boolean isBitmap() {
+        return format == Format.BITMAP;
+    }
+}
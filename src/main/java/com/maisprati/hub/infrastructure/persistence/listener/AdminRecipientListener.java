@@ -0,0 +1,33 @@
+package com.maisprati.hub.infrastructure.persistence.listener;
+
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.AdminRecipientRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém o {@link AdminRecipientRegistry} em dia com as alterações de usuários
+ * (cadastro, mudança de tipo, ativação/desativação e remoção).
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminRecipientListener extends AbstractMongoEventListener<User> {
+
+    private final AdminRecipientRegistry adminRecipientRegistry;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        adminRecipientRegistry.onUserSaved(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            adminRecipientRegistry.onUserDeleted(id.toString());
+        }
+    }
+}
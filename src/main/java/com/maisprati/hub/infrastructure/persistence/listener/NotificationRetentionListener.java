@@ -0,0 +1,27 @@
+package com.maisprati.hub.infrastructure.persistence.listener;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.infrastructure.config.NotificationRetentionProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche {@code expireAt} de toda notificação gravada (save, saveAll/insertMany)
+ * conforme a retenção configurada para o tipo.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionListener extends AbstractMongoEventListener<Notification> {
+
+    private final NotificationRetentionProperties properties;
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Notification> event) {
+        Notification notification = event.getSource();
+        if (notification.getExpireAt() == null) {
+            notification.setExpireAt(properties.expireAt(notification.getType(), notification.getCreatedAt()));
+        }
+    }
+}
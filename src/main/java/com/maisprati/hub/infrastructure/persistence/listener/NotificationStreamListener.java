@@ -0,0 +1,26 @@
+package com.maisprati.hub.infrastructure.persistence.listener;
+
+import com.maisprati.hub.application.service.NotificationStreamBroker;
+import com.maisprati.hub.domain.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publica no stream SSE toda notificação gravada (save, saveAll/insertMany),
+ * seja pelo {@code NotificationService} ou pelo dispatcher da outbox.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationStreamListener extends AbstractMongoEventListener<Notification> {
+
+    private final NotificationStreamBroker notificationStreamBroker;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Notification> event) {
+        notificationStreamBroker.publish(List.of(event.getSource()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.maisprati.hub.infrastructure.persistence.listener;
+
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.config.TimeSlotStorageProperties;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Camada de conversão entre a lista {@code slots} (modelo e API) e o formato bitmap no banco.
+ *
+ * <ul>
+ *     <li>Gravação: {@code slots} é a fonte da verdade; com {@code timeslots.storage.format=bitmap} e todos os
+ *     horários na granularidade, o documento guarda só os bitsets, senão só a lista</li>
+ *     <li>Leitura: documentos com bitsets têm {@code slots} reconstruído a partir deles</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class TimeSlotDayStorageListener extends AbstractMongoEventListener<TimeSlotDay> {
+
+    private final TimeSlotStorageProperties properties;
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<TimeSlotDay> event) {
+        Document document = event.getDocument();
+        if (document == null) return;
+
+        document.remove("slotBits");
+        document.remove("availableBits");
+        document.remove("bookedBits");
+
+        if (!properties.isBitmap()) return;
+
+        TimeSlotBitmap bitmap = TimeSlotBitmap.of(event.getSource().getSlots());
+        if (bitmap == null) return;
+
+        document.remove("slots");
+        document.put("slotBits", Arrays.stream(bitmap.getSlots()).boxed().toList());
+        document.put("availableBits", Arrays.stream(bitmap.getAvailable()).boxed().toList());
+        document.put("bookedBits", Arrays.stream(bitmap.getBooked()).boxed().toList());
+    }
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<TimeSlotDay> event) {
+        TimeSlotDay day = event.getSource();
+        TimeSlotBitmap bitmap = day.getBitmap();
+        if (bitmap != null) {
+            day.setSlots(bitmap.toSlots());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AvailabilityRuleRepository extends MongoRepository<AvailabilityRule, String> {
+
+    List<AvailabilityRule> findByAdminIdOrderByValidFromAsc(String adminId);
+
+    /** Regras do admin que valem em algum dia entre {@code from} e {@code to} (inclusivos) */
+    @Query("{ 'adminId': ?0, 'validFrom': { $lte: ?2 }, 'validUntil': { $gte: ?1 } }")
+    List<AvailabilityRule> findActiveByAdminId(String adminId, LocalDate from, LocalDate to);
+
+    /** Regras de todos os admins que valem em algum dia entre {@code from} e {@code to} (inclusivos) */
+    @Query("{ 'validFrom': { $lte: ?1 }, 'validUntil': { $gte: ?0 } }")
+    List<AvailabilityRule> findActive(LocalDate from, LocalDate to);
+}
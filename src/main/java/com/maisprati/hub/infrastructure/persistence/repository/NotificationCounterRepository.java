@@ -0,0 +1,9 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.NotificationCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationCounterRepository extends MongoRepository<NotificationCounter, String>, NotificationCounterRepositoryCustom {
+}
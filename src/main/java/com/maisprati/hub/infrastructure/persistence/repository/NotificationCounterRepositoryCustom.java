@@ -0,0 +1,18 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+
+import java.util.Collection;
+
+public interface NotificationCounterRepositoryCustom {
+
+    /**
+     * Soma as notificações não lidas de cada destinatário com um único bulk de upserts {@code $inc}
+     */
+    void incrementUnread(Collection<Notification> notifications);
+
+    /**
+     * Subtrai {@code amount} do contador do usuário, sem deixá-lo negativo
+     */
+    void decrementUnread(String userId, long amount);
+}
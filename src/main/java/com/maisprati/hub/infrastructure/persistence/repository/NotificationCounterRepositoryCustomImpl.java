@@ -0,0 +1,56 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.domain.model.NotificationCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class NotificationCounterRepositoryCustomImpl implements NotificationCounterRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementUnread(Collection<Notification> notifications) {
+        Map<String, Long> unreadByUser = notifications.stream()
+                .filter(notification -> !notification.isRead() && notification.getUserId() != null)
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()));
+
+        if (unreadByUser.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationCounter.class);
+        unreadByUser.forEach((userId, amount) ->
+                bulk.upsert(byUser(userId), new Update().inc("unread", amount)));
+        bulk.execute();
+    }
+
+    @Override
+    public void decrementUnread(String userId, long amount) {
+        if (amount <= 0) return;
+
+        boolean decremented = mongoTemplate.updateFirst(
+                byUser(userId).addCriteria(Criteria.where("unread").gte(amount)),
+                new Update().inc("unread", -amount),
+                NotificationCounter.class).getMatchedCount() > 0;
+
+        // Notificações anteriores ao contador não foram somadas: zera em vez de ficar negativo
+        if (!decremented) {
+            mongoTemplate.updateFirst(
+                    byUser(userId).addCriteria(Criteria.where("unread").lt(amount)),
+                    new Update().set("unread", 0L),
+                    NotificationCounter.class);
+        }
+    }
+
+    private static Query byUser(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+}
@@ -0,0 +1,14 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.enums.OutboxStatus;
+import com.maisprati.hub.domain.model.NotificationEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface NotificationEventRepository extends MongoRepository<NotificationEvent, String> {
+
+    long countByStatusIn(Collection<OutboxStatus> statuses);
+}
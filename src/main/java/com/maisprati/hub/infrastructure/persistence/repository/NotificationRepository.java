@@ -1,14 +1,22 @@
 package com.maisprati.hub.infrastructure.persistence.repository;
 
 import com.maisprati.hub.domain.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface NotificationRepository extends MongoRepository<Notification, String> {
+public interface NotificationRepository extends MongoRepository<Notification, String>, NotificationRepositoryCustom {
     
     List<Notification> findByUserIdOrderByCreatedAtDesc(String userId);
     void deleteByUserId(String userId);
+    boolean existsByIdAndUserId(String id, String userId);
+
+    /**
+     * Notificações criadas depois de {@code lastId} (ObjectId ordenado pelo horário de criação),
+     * usadas para retomar o stream SSE a partir do Last-Event-ID
+     */
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String lastId, Limit limit);
 }
@@ -0,0 +1,36 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Página de notificações do usuário em ordem {@code createdAt desc, _id desc} (keyset pagination).
+     *
+     * @param beforeCreatedAt {@code createdAt} do último item da página anterior ({@code null} na primeira página)
+     * @param beforeId        {@code _id} do último item da página anterior (desempate)
+     */
+    List<Notification> findPageByUserId(String userId, LocalDateTime beforeCreatedAt, String beforeId, int limit);
+
+    /**
+     * Marca a notificação do usuário como lida se ainda não estiver
+     *
+     * @return a notificação atualizada, ou {@code null} se não existe, é de outro usuário ou já estava lida
+     */
+    Notification markAsRead(String id, String userId);
+
+    /**
+     * Marca todas as notificações não lidas do usuário com um único {@code updateMany}
+     *
+     * @return quantidade de notificações alteradas
+     */
+    long markAllAsRead(String userId);
+
+    /**
+     * Remove a notificação e devolve o documento removido ({@code null} se não existia)
+     */
+    Notification removeById(String id);
+}
@@ -0,0 +1,69 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset pagination sobre o índice {@code (userId, createdAt -1, _id -1)}: cada página lê apenas
+ * {@code limit} documentos do índice, independente de quantas páginas vieram antes.
+ */
+@RequiredArgsConstructor
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Notification> findPageByUserId(String userId, LocalDateTime beforeCreatedAt, String beforeId, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+
+        if (beforeCreatedAt != null) {
+            Object id = ObjectId.isValid(beforeId) ? new ObjectId(beforeId) : beforeId;
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(beforeCreatedAt),
+                    Criteria.where("createdAt").is(beforeCreatedAt).and("_id").lt(id)
+            );
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit);
+
+        return mongoTemplate.find(query, Notification.class);
+    }
+
+    @Override
+    public Notification markAsRead(String id, String userId) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("userId").is(userId).and("read").ne(true)),
+                readUpdate(),
+                FindAndModifyOptions.options().returnNew(true),
+                Notification.class);
+    }
+
+    @Override
+    public long markAllAsRead(String userId) {
+        return mongoTemplate.updateMulti(
+                Query.query(Criteria.where("userId").is(userId).and("read").ne(true)),
+                readUpdate(),
+                Notification.class).getModifiedCount();
+    }
+
+    @Override
+    public Notification removeById(String id) {
+        return mongoTemplate.findAndRemove(Query.query(Criteria.where("_id").is(id)), Notification.class);
+    }
+
+    private static Update readUpdate() {
+        return new Update().set("read", true).set("readAt", LocalDateTime.now());
+    }
+}
@@ -2,15 +2,42 @@ package com.maisprati.hub.infrastructure.persistence.repository;
 
 import com.maisprati.hub.domain.model.Team;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface TeamRepository extends MongoRepository<Team, String> {
+public interface TeamRepository extends MongoRepository<Team, String>, TeamRepositoryCustom {
 
     Optional<Team> findBySecurityCode(String securityCode);
     List<Team> findByIsActiveTrue();
     boolean existsBySecurityCode(String securityCode);
+
+    /**
+     * Projeção com apenas o nome e os ids dos membros do time (fan-out de notificações)
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'name': 1, 'members.userId': 1 }")
+    Optional<Team> findNameAndMemberIdsById(String id);
+
+    /**
+     * Se o usuário é membro ativo de algum time ativo, resolvido pelo índice
+     * {@code (isActive, members.userId, members.isActive)} sem carregar documentos
+     */
+    @Query(value = "{ 'isActive': true, 'members': { '$elemMatch': { 'userId': ?0, 'isActive': true } } }", exists = true)
+    boolean existsActiveMembership(String userId);
+
+    /**
+     * Nomes dos times ativos em que o usuário é membro (projeção, para as notificações de saída)
+     */
+    @Query(value = "{ 'isActive': true, 'members.userId': ?0 }", fields = "{ 'name': 1 }")
+    List<Team> findActiveTeamNamesByMember(String userId);
+
+    /**
+     * Times ativos que têm algum dos usuários como membro (projeção com os ids dos membros)
+     */
+    @Query(value = "{ 'isActive': true, 'members.userId': { '$in': ?0 } }", fields = "{ 'members.userId': 1 }")
+    List<Team> findActiveMemberIdsByMemberIdIn(Collection<String> userIds);
 }
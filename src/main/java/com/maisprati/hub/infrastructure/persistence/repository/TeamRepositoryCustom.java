@@ -0,0 +1,41 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+
+import java.util.List;
+
+public interface TeamRepositoryCustom {
+
+    /**
+     * Adiciona o membro com um único {@code findAndModify} ({@code $push} + {@code $inc currentMembers}),
+     * aplicado apenas se o time tem vaga ({@code currentMembers < maxMembers}) e o usuário ainda não é membro.
+     * Joins concorrentes nunca ultrapassam a capacidade nem sobrescrevem uns aos outros.
+     *
+     * @return o time atualizado, ou {@code null} se o time não existe, está cheio ou já contém o usuário
+     */
+    Team pushMemberIfCapacity(String teamId, TeamMember member);
+
+    /**
+     * Remove o usuário de todos os times em que é membro, exceto {@code keepTeamId},
+     * com um único {@code updateMany} ({@code $pull}) sobre o índice {@code members.userId}
+     *
+     * @return quantidade de times alterados
+     */
+    long pullMemberFromOtherTeams(String userId, String keepTeamId);
+
+    /**
+     * Remove o usuário de todos os times ativos com um único {@code updateMany} ({@code $pull})
+     *
+     * @return quantidade de times alterados
+     */
+    long pullMemberFromActiveTeams(String userId);
+
+    /**
+     * Insere os times em um único lote não ordenado: um código de segurança repetido (índice único)
+     * recusa só aquele time, os demais são gravados. Os ids são atribuídos antes do envio.
+     *
+     * @return posições (na lista recebida) dos times recusados por código de segurança duplicado
+     */
+    List<Integer> insertAllUnordered(List<Team> teams);
+}
@@ -0,0 +1,71 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TeamRepositoryCustomImpl implements TeamRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Team pushMemberIfCapacity(String teamId, TeamMember member) {
+        Query query = Query.query(Criteria.where("_id").is(teamId)
+                .and("members.userId").ne(member.getUserId())
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf("currentMembers").lessThan("maxMembers"))));
+        Update update = new Update()
+                .push("members", member)
+                .inc("currentMembers", 1);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Team.class);
+    }
+
+    @Override
+    public long pullMemberFromOtherTeams(String userId, String keepTeamId) {
+        Query query = Query.query(Criteria.where("members.userId").is(userId).and("_id").ne(keepTeamId));
+        return mongoTemplate.updateMulti(query, pullMember(userId), Team.class).getModifiedCount();
+    }
+
+    @Override
+    public long pullMemberFromActiveTeams(String userId) {
+        Query query = Query.query(Criteria.where("isActive").is(true).and("members.userId").is(userId));
+        return mongoTemplate.updateMulti(query, pullMember(userId), Team.class).getModifiedCount();
+    }
+
+    @Override
+    public List<Integer> insertAllUnordered(List<Team> teams) {
+        if (teams.isEmpty()) return List.of();
+
+        teams.stream()
+                .filter(team -> team.getId() == null)
+                .forEach(team -> team.setId(new ObjectId().toHexString()));
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Team.class).insert(teams).execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+            return e.getErrors().stream().map(error -> error.getIndex()).toList();
+        }
+    }
+
+    private static Update pullMember(String userId) {
+        return new Update()
+                .pull("members", Query.query(Criteria.where("userId").is(userId)).getQueryObject())
+                .inc("currentMembers", -1);
+    }
+}
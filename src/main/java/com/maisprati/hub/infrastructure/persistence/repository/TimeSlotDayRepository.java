@@ -1,15 +1,23 @@
 package com.maisprati.hub.infrastructure.persistence.repository;
 
 import com.maisprati.hub.domain.model.TimeSlotDay;
+import org.springframework.data.domain.Range;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDate;
 import java.util.Optional;
 import java.util.List;
 
-public interface TimeSlotDayRepository extends MongoRepository<TimeSlotDay, String> {
+public interface TimeSlotDayRepository extends MongoRepository<TimeSlotDay, String>, TimeSlotDayRepositoryCustom {
     Optional<TimeSlotDay> findByDate(LocalDate date);
     Optional<TimeSlotDay> findByAdminIdAndDate(String adminId, LocalDate date);
     List<TimeSlotDay> findByAdminIdAndDateBetween(String adminId, LocalDate start, LocalDate end);
+    List<TimeSlotDay> findByAdminIdAndDateBetween(String adminId, Range<LocalDate> range);
+    boolean existsByAdminIdAndDate(String adminId, LocalDate date);
+
+    /** Só {@code adminId} e {@code date} dos dias gravados entre as datas (inclusivas), pelo índice {@code (date, adminId)} */
+    @Query(value = "{ 'date': { $gte: ?0, $lte: ?1 } }", fields = "{ 'adminId': 1, 'date': 1 }")
+    List<TimeSlotDay> findKeysByDateBetween(LocalDate from, LocalDate to);
 
 }
@@ -0,0 +1,67 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.AvailableSlot;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface TimeSlotDayRepositoryCustom {
+
+    /**
+     * Reserva o horário com um único {@code findAndModify} condicional: o {@code arrayFilter} só casa o slot
+     * {@code time} se ele ainda estiver {@code available = true} e {@code booked = false}.
+     * Reservas simultâneas do mesmo horário têm exatamente um vencedor e o dia não é regravado inteiro.
+     *
+     * @param time horário no formato {@code "HH:mm"}
+     * @return o dia atualizado, ou {@code null} se o dia ou o horário não existem ou o horário já está ocupado
+     */
+    TimeSlotDay bookSlot(String adminId, LocalDate date, String time);
+
+    /**
+     * Libera o horário ({@code booked = false}, {@code available = true}) com um único update posicional
+     *
+     * @param time horário no formato {@code "HH:mm"}
+     * @return {@code false} se o dia não existe ou não tem o horário
+     */
+    boolean releaseSlot(String adminId, LocalDate date, String time);
+
+    /**
+     * Horários livres ({@code available = true}, {@code booked = false}) dos dias no formato lista, de todos os
+     * admins, em ordem de data, horário e admin. Agregação com {@code $match} pelo índice {@code (date, adminId)},
+     * {@code $unwind} dos slots e um segundo {@code $match} que descarta os ocupados antes do {@code $sort}/{@code $limit}.
+     * O cursor é consumido sob demanda: feche o stream.
+     *
+     * @param fromTime início da janela de horário (inclusivo, {@code "HH:mm"}), ou {@code null}
+     * @param toTime   fim da janela de horário (exclusivo, {@code "HH:mm"}), ou {@code null}
+     */
+    Stream<AvailableSlot> streamAvailableSlots(LocalDate from, LocalDate to, String fromTime, String toTime, int limit);
+
+    /**
+     * Dias no formato bitmap entre as datas, em ordem de data (a agregação não enxerga horários dentro dos bitsets)
+     */
+    Stream<TimeSlotDay> streamBitmapDays(LocalDate from, LocalDate to);
+
+    /**
+     * Grava os dias expandidos de regras de disponibilidade que ainda não existem: upsert por {@code (adminId, date)}
+     * com {@code $setOnInsert}, então um dia já gravado nunca é sobrescrito. O {@code _id} de cada dia novo é
+     * determinístico ({@code id} do dia informado), e dois upserts simultâneos da mesma data têm um único vencedor.
+     *
+     * @return quantidade de dias efetivamente criados
+     */
+    int materializeDays(List<TimeSlotDay> days);
+
+    /**
+     * Retira dos dias gravados do admin os horários informados que ainda não foram reservados e apaga os dias que
+     * ficam sem nenhum horário. Usado quando uma regra deixa de valer numa data: os horários que ela materializou
+     * não podem continuar reserváveis. Um {@code $pull} condicional por dia no formato lista e um {@code $bit and}
+     * por horário (só se o bit de reservado estiver zerado) no formato bitmap, no mesmo bulk.
+     *
+     * @param timesByDate horários ({@code "HH:mm"}) a retirar, por data
+     * @return quantidade de dias apagados
+     */
+    long retractFreeSlots(String adminId, Map<LocalDate, Set<String>> timesByDate);
+}
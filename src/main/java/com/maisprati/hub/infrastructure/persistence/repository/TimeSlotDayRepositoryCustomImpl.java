@@ -0,0 +1,213 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.AvailableSlot;
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.config.TimeSlotStorageProperties;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Os dias podem estar gravados como lista ({@code slots}) ou como bitmap ({@code slotBits}, {@code availableBits},
+ * {@code bookedBits}). Cada operação tenta primeiro o formato configurado e só consulta o outro se não casar nada.
+ */
+@RequiredArgsConstructor
+public class TimeSlotDayRepositoryCustomImpl implements TimeSlotDayRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final TimeSlotStorageProperties storageProperties;
+
+    @Override
+    public TimeSlotDay bookSlot(String adminId, LocalDate date, String time) {
+        if (storageProperties.isBitmap()) {
+            TimeSlotDay day = bookBitmapSlot(adminId, date, time);
+            return day != null ? day : bookListSlot(adminId, date, time);
+        }
+        TimeSlotDay day = bookListSlot(adminId, date, time);
+        return day != null ? day : bookBitmapSlot(adminId, date, time);
+    }
+
+    @Override
+    public boolean releaseSlot(String adminId, LocalDate date, String time) {
+        if (storageProperties.isBitmap()) {
+            return releaseBitmapSlot(adminId, date, time) || releaseListSlot(adminId, date, time);
+        }
+        return releaseListSlot(adminId, date, time) || releaseBitmapSlot(adminId, date, time);
+    }
+
+    @Override
+    public Stream<AvailableSlot> streamAvailableSlots(LocalDate from, LocalDate to, String fromTime, String toTime, int limit) {
+        Criteria freeSlot = Criteria.where("available").is(true).and("booked").is(false);
+        Criteria freeUnwoundSlot = Criteria.where("slots.available").is(true).and("slots.booked").is(false);
+        if (fromTime != null || toTime != null) {
+            Criteria window = Criteria.where("time");
+            Criteria unwoundWindow = Criteria.where("slots.time");
+            if (fromTime != null) {
+                window.gte(fromTime);
+                unwoundWindow.gte(fromTime);
+            }
+            if (toTime != null) {
+                window.lt(toTime);
+                unwoundWindow.lt(toTime);
+            }
+            freeSlot.andOperator(window);
+            freeUnwoundSlot.andOperator(unwoundWindow);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("date").gte(from).lte(to).and("slots").elemMatch(freeSlot)),
+                Aggregation.unwind("slots"),
+                Aggregation.match(freeUnwoundSlot),
+                Aggregation.sort(Sort.by("date", "slots.time", "adminId")),
+                Aggregation.limit(limit),
+                Aggregation.project("adminId", "date").and("slots.time").as("time").andExclude("_id")
+        );
+
+        return mongoTemplate.aggregateStream(aggregation, TimeSlotDay.class, AvailableSlot.class);
+    }
+
+    @Override
+    public Stream<TimeSlotDay> streamBitmapDays(LocalDate from, LocalDate to) {
+        Query query = Query.query(Criteria.where("date").gte(from).lte(to).and("slotBits").exists(true))
+                .with(Sort.by("date", "adminId"));
+        return mongoTemplate.stream(query, TimeSlotDay.class);
+    }
+
+    @Override
+    public int materializeDays(List<TimeSlotDay> days) {
+        if (days.isEmpty()) return 0;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlotDay.class);
+        for (TimeSlotDay day : days) {
+            Query query = Query.query(Criteria.where("adminId").is(day.getAdminId()).and("date").is(day.getDate()));
+            Update update = new Update()
+                    .setOnInsert("_id", day.getId())
+                    .setOnInsert("slots", day.getSlots());
+            bulk.upsert(query, update);
+        }
+
+        try {
+            return bulk.execute().getUpserts().size();
+        } catch (BulkOperationException e) {
+            // o mesmo dia foi criado por outra requisição entre o filtro e o insert
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+            return e.getResult().getUpserts().size();
+        }
+    }
+
+    @Override
+    public long retractFreeSlots(String adminId, Map<LocalDate, Set<String>> timesByDate) {
+        if (timesByDate.isEmpty()) return 0;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlotDay.class);
+        for (Map.Entry<LocalDate, Set<String>> entry : timesByDate.entrySet()) {
+            LocalDate date = entry.getKey();
+            bulk.updateOne(
+                    Query.query(Criteria.where("adminId").is(adminId).and("date").is(date).and("slots").exists(true)),
+                    new Update().pull("slots", new Document("time", new Document("$in", List.copyOf(entry.getValue())))
+                            .append("booked", false)));
+
+            for (String time : entry.getValue()) {
+                int bucket = TimeSlotBitmap.bucketOf(time);
+                if (bucket < 0) continue;
+
+                String word = "." + TimeSlotBitmap.word(bucket);
+                long mask = TimeSlotBitmap.mask(bucket);
+                List<Integer> position = List.of(bucket & 63);
+
+                Update update = new Update();
+                update.bitwise("slotBits" + word).and(~mask);
+                update.bitwise("availableBits" + word).and(~mask);
+                bulk.updateOne(Query.query(Criteria.where("adminId").is(adminId).and("date").is(date)
+                        .and("slotBits" + word).bits().allSet(position)
+                        .and("bookedBits" + word).bits().allClear(position)), update);
+            }
+        }
+        bulk.execute();
+
+        // dias sem nenhum horário: as consultas voltam a expandir as regras que ainda valem na data
+        Query emptyDays = Query.query(Criteria.where("adminId").is(adminId).and("date").in(timesByDate.keySet())
+                .orOperator(
+                        Criteria.where("slots").size(0),
+                        Criteria.where("slotBits").exists(true).not().elemMatch(new Criteria().ne(0L))));
+        return mongoTemplate.remove(emptyDays, TimeSlotDay.class).getDeletedCount();
+    }
+
+    private TimeSlotDay bookListSlot(String adminId, LocalDate date, String time) {
+        Query query = Query.query(Criteria.where("adminId").is(adminId).and("date").is(date)
+                .and("slots").elemMatch(Criteria.where("time").is(time).and("available").is(true).and("booked").is(false)));
+        Update update = new Update()
+                .set("slots.$[slot].booked", true)
+                .set("slots.$[slot].available", false)
+                .filterArray(Criteria.where("slot.time").is(time).and("slot.available").is(true).and("slot.booked").is(false));
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), TimeSlotDay.class);
+    }
+
+    private boolean releaseListSlot(String adminId, LocalDate date, String time) {
+        Query query = Query.query(Criteria.where("adminId").is(adminId).and("date").is(date).and("slots.time").is(time));
+        Update update = new Update()
+                .set("slots.$[slot].booked", false)
+                .set("slots.$[slot].available", true)
+                .filterArray(Criteria.where("slot.time").is(time));
+
+        return mongoTemplate.updateFirst(query, update, TimeSlotDay.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Reserva no bitmap: {@code $bitsAllSet}/{@code $bitsAllClear} no long do horário e {@code $bit and/or}
+     * para virar os dois bits no mesmo update
+     */
+    private TimeSlotDay bookBitmapSlot(String adminId, LocalDate date, String time) {
+        int bucket = TimeSlotBitmap.bucketOf(time);
+        if (bucket < 0) return null;
+
+        String word = "." + TimeSlotBitmap.word(bucket);
+        long mask = TimeSlotBitmap.mask(bucket);
+        List<Integer> position = List.of(bucket & 63);
+
+        Query query = Query.query(Criteria.where("adminId").is(adminId).and("date").is(date)
+                .and("slotBits" + word).bits().allSet(position)
+                .and("availableBits" + word).bits().allSet(position)
+                .and("bookedBits" + word).bits().allClear(position));
+        Update update = new Update();
+        update.bitwise("availableBits" + word).and(~mask);
+        update.bitwise("bookedBits" + word).or(mask);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), TimeSlotDay.class);
+    }
+
+    private boolean releaseBitmapSlot(String adminId, LocalDate date, String time) {
+        int bucket = TimeSlotBitmap.bucketOf(time);
+        if (bucket < 0) return false;
+
+        String word = "." + TimeSlotBitmap.word(bucket);
+        long mask = TimeSlotBitmap.mask(bucket);
+        List<Integer> position = List.of(bucket & 63);
+
+        Query query = Query.query(Criteria.where("adminId").is(adminId).and("date").is(date)
+                .and("slotBits" + word).bits().allSet(position));
+        Update update = new Update();
+        update.bitwise("availableBits" + word).or(mask);
+        update.bitwise("bookedBits" + word).and(~mask);
+
+        return mongoTemplate.updateFirst(query, update, TimeSlotDay.class).getMatchedCount() > 0;
+    }
+}
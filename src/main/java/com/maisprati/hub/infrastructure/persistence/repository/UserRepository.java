@@ -3,8 +3,11 @@ package com.maisprati.hub.infrastructure.persistence.repository;
 import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.domain.enums.UserType;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -14,6 +17,29 @@ public interface UserRepository extends MongoRepository<User, String> {
 	Optional<User> findByEmail(String email);
 	Optional<User> findByName(String name);
 	List<User> findByType(UserType type);
+	boolean existsByType(UserType type);
 	boolean existsByEmail(String email);
 	boolean existsByName(String name);
+	
+	/**
+	 * Perfis públicos (sem senha e demais dados sensíveis) de vários usuários numa única consulta {@code $in}
+	 */
+	@Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'name': 1, 'email': 1, 'type': 1, 'codename': 1, 'avatar': 1 }")
+	List<User> findPublicProfilesByIdIn(Collection<String> ids);
+	
+	/**
+	 * Dados necessários para alocar usuários em times, buscados pelo e-mail numa única consulta {@code $in}
+	 */
+	@Query(value = "{ 'email': { '$in': ?0 } }", fields = "{ 'name': 1, 'email': 1, 'type': 1, 'hasGroup': 1, 'isActive': 1 }")
+	List<User> findAllocationProfilesByEmailIn(Collection<String> emails);
+	
+	/**
+	 * Marca os usuários como alocados em um time com um único {@code updateMany}; quem já está com
+	 * {@code hasGroup} não casa o filtro, então o retorno menor que a quantidade de ids indica alocação concorrente
+	 *
+	 * @return quantidade de usuários alterados
+	 */
+	@Query("{ '_id': { '$in': ?0 }, 'hasGroup': { '$ne': true } }")
+	@Update("{ '$set': { 'hasGroup': true } }")
+	long markHasGroupByIdIn(Collection<String> ids);
 }
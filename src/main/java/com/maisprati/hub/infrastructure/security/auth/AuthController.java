@@ -5,6 +5,9 @@ import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.application.service.UserService;
 import com.maisprati.hub.infrastructure.security.jwt.JwtProperties;
 import com.maisprati.hub.infrastructure.security.jwt.JwtService;
+import com.maisprati.hub.infrastructure.security.jwt.RefreshedAccess;
+import com.maisprati.hub.infrastructure.security.jwt.VerifiedToken;
+import com.maisprati.hub.infrastructure.security.password.PasswordHashingBusyException;
 import com.maisprati.hub.presentation.dto.ForgotPasswordRequest;
 import com.maisprati.hub.presentation.dto.LoginRequest;
 import com.maisprati.hub.presentation.dto.RegisterStudentRequest;
@@ -64,7 +67,8 @@ public class AuthController {
 	@SecurityRequirements
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "201", description = "Cadastro realizado com sucesso"),
-			@ApiResponse(responseCode = "400", description = "Erro ao cadastrar aluno")
+			@ApiResponse(responseCode = "400", description = "Erro ao cadastrar aluno"),
+			@ApiResponse(responseCode = "503", description = "Servidor ocupado, tentar novamente após Retry-After")
 	})
 	@PostMapping("/register")
 	public ResponseEntity<?> registerStudent(@RequestBody RegisterStudentRequest request) {
@@ -91,6 +95,8 @@ public class AuthController {
 
 			return ResponseEntity.status(HttpStatus.CREATED)
 					.body(Map.of("message", "Cadastro realizado com sucesso!"));
+		} catch (PasswordHashingBusyException e) {
+			return busy(e);
 		} catch (RuntimeException e) {
 			log.error("Erro ao cadastrar aluno: {}", e.getMessage(), e);
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
@@ -104,7 +110,8 @@ public class AuthController {
 	@SecurityRequirements
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Login realizado com sucesso"),
-			@ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+			@ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+			@ApiResponse(responseCode = "503", description = "Servidor ocupado, tentar novamente após Retry-After")
 	})
 	@PostMapping("/login")
 	public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
@@ -135,6 +142,8 @@ public class AuthController {
 			return ResponseEntity.ok()
 				       .header(HttpHeaders.SET_COOKIE, accessCookie.toString(), refreshCookie.toString())
 				       .body(Map.of("message", "Login realizado com sucesso!"));
+		} catch (PasswordHashingBusyException e) {
+			return busy(e);
 		} catch (RuntimeException e) {
 			log.error("Erro ao fazer login: {}", e.getMessage(), e);
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
@@ -224,6 +233,8 @@ public class AuthController {
 		try {
 			passwordResetService.resetPassword(request.getToken(), request.getNewPassword());
 			return ResponseEntity.ok(Map.of("message", "Senha atualizada com sucesso!"));
+		} catch (PasswordHashingBusyException e) {
+			return busy(e);
 		} catch (RuntimeException e) {
 			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
 		}
@@ -242,18 +253,20 @@ public class AuthController {
 		}
 		
 		try {
-			String email = jwtService.extractUsernameFromRefreshToken(refreshToken);
-			if (email == null) {
+			// verificação única do refresh token (assinatura + expiração + tipo)
+			VerifiedToken verified = jwtService.verify(refreshToken);
+			if (verified == null || !verified.isRefresh()) {
 				return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 					       .body(Map.of("error", "Token inválido ou expirado"));
 			}
 			
-			User user = userService.getUserByEmail(email).orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-			
 			// gera novo access token
-			String newAccessToken = jwtService.generateAccessToken(user);
+			RefreshedAccess refreshed = jwtService.refreshAccessToken(verified);
+			if (refreshed == null) {
+				throw new RuntimeException("Usuário não encontrado");
+			}
 			
-			ResponseCookie newAccessCookie = ResponseCookie.from("access_token", newAccessToken)
+			ResponseCookie newAccessCookie = ResponseCookie.from("access_token", refreshed.accessToken())
 				                                 .httpOnly(true)
 				                                 .secure(jwtProperties.isSecureCookie())
 				                                 .path("/")
@@ -273,4 +286,14 @@ public class AuthController {
 				       .body(Map.of("error", "Falha ao validar refresh token"));
 		}
 	}
+	
+	/**
+	 * Fila de hashing de senhas cheia: 503 com Retry-After para o cliente tentar novamente
+	 */
+	private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+		log.warn("Hashing de senhas saturado: {}", e.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			       .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+			       .body(Map.of("error", e.getMessage()));
+	}
 }
@@ -1,13 +1,15 @@
 package com.maisprati.hub.infrastructure.security.auth;
 
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.security.jwt.JwtService;
 import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.security.password.BoundedPasswordEncoder;
+import com.maisprati.hub.infrastructure.security.password.PasswordHashingBusyException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -18,10 +20,11 @@ import java.util.Optional;
 public class AuthService implements UserDetailsService {
 
 	private final UserRepository userRepository;
+	private final UserCache userCache;
 	/**
 	 * {@link PasswordEncoder} é a interface do Spring Security para codificar e validar senhas.
-	 * O bean {@link BCryptPasswordEncoder} é injetado automaticamente onde
-	 * {@link PasswordEncoder} é usado, garantindo flexibilidade e segurança.
+	 * O bean injetado é um {@link BoundedPasswordEncoder}: o BCrypt roda em um executor limitado, fora das
+	 * threads do Tomcat, e com a fila cheia a verificação falha com {@link PasswordHashingBusyException} (HTTP 503).
 	 */
 	private final PasswordEncoder passwordEncoder;
 	private final JwtService jwtService;
@@ -29,7 +32,7 @@ public class AuthService implements UserDetailsService {
 	/**
 	 * Carrega um usuário pelo e-mail para autenticação no Spring Security.
 	 *
-	 * <p>Busca o usuário no banco de dados usando {@link UserRepository#findByEmail},
+	 * <p>Busca o usuário usando {@link UserCache#findByEmail} (banco apenas em caso de miss),
 	 * que retorna um {@link Optional}. Desembrulha o Optional com {@link Optional#orElseThrow()}
 	 * para fornecer o {@link User} como {@link UserDetails},
 	 * ou lançar {@link UsernameNotFoundException}
@@ -42,7 +45,7 @@ public class AuthService implements UserDetailsService {
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		return userRepository.findByEmail(username)
+		return userCache.findByEmail(username)
 				.orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
 	}
 
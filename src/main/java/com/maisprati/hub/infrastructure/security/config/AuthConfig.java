@@ -1,8 +1,12 @@
 package com.maisprati.hub.infrastructure.security.config;
 
 import com.maisprati.hub.application.service.CustomUserDetailsService;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
 import com.maisprati.hub.infrastructure.security.oauth2.CustomOAuth2UserService;
+import com.maisprati.hub.infrastructure.security.password.BoundedPasswordEncoder;
+import com.maisprati.hub.infrastructure.security.password.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,21 +15,28 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
 public class AuthConfig {
 
 	private final UserRepository userRepository;
+	private final UserCache userCache;
+	private final PasswordHashingProperties passwordHashingProperties;
+	private final MeterRegistry meterRegistry;
 
+	/**
+	 * BCrypt executado em um executor dedicado e limitado, fora das threads do Tomcat.
+	 */
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder() {
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingProperties, meterRegistry);
 	}
 
 	@Bean
 	public UserDetailsService userDetailsService() {
-		return new CustomUserDetailsService(userRepository);
+		return new CustomUserDetailsService(userCache);
 	}
 
 	@Bean
@@ -17,6 +17,7 @@ public class CorsConfig {
 		configuration.setAllowedOrigins(List.of("http://localhost:5173", "https://maisprati-hub.vercel.app"));
 		configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 		configuration.setAllowedHeaders(List.of("*"));
+		configuration.setExposedHeaders(List.of("X-Next-Cursor", "Retry-After")); // legíveis pelo front
 		configuration.setAllowCredentials(true); // cookies cross-origin
 		
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
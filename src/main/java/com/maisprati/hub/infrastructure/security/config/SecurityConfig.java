@@ -57,6 +57,7 @@ public class SecurityConfig {
 			)
 			.sessionManagement(session -> session
 				                              // API sem sessão — cada requisição deve ser autenticada com token
+				                              // (o dispatch assíncrono reusa o contexto que o JwtTokenFilter guarda na requisição)
 				                              .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 			.oauth2Login(oauth -> oauth
 				                      .userInfoEndpoint(userInfo -> userInfo.userService(
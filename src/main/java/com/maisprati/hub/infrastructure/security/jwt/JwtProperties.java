@@ -20,4 +20,19 @@ public class JwtProperties {
 	
 	/** Uso de cookies seguros definido por profile */
 	private boolean secureCookie;
+	
+	/**
+	 * Quando ativo, o filtro JWT monta o principal a partir das claims do access token,
+	 * sem consultar o banco a cada requisição
+	 */
+	private boolean statelessPrincipal;
+	
+	/** Quantidade máxima de tokens verificados mantidos em cache ({@code 0} desliga o cache) */
+	private long verifiedTokenCacheSize;
+	
+	/**
+	 * Janela em milissegundos em que refreshes simultâneos do mesmo refresh token
+	 * compartilham um único resultado ({@code 0} desliga o agrupamento)
+	 */
+	private long refreshCoalesceWindowMs;
 }
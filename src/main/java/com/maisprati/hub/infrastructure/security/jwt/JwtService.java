@@ -1,8 +1,10 @@
 package com.maisprati.hub.infrastructure.security.jwt;
 
+import com.maisprati.hub.domain.enums.UserType;
 import com.maisprati.hub.domain.model.User;
-import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -21,12 +23,16 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class JwtService {
 	
-	private final UserRepository userRepository;
+	private final UserCache userCache;
 	private final JwtProperties jwtProperties;
+	private final VerifiedTokenCache verifiedTokenCache;
 	private Key signingKey;
 	
+	/** Parser imutável e thread-safe, criado uma única vez com a chave de assinatura */
+	private JwtParser jwtParser;
+	
 	/**
-	 * Inicializa o serviço JWT decodificando a chave Base64.
+	 * Inicializa o serviço JWT decodificando a chave Base64 e criando o {@link JwtParser}.
 	 * <p>
 	 * Lança {@code RuntimeException} se a chave for inválida.
 	 */
@@ -35,6 +41,7 @@ public class JwtService {
 		try {
 			byte[] keyBytes = Base64.getDecoder().decode(jwtProperties.getSecret());
 			signingKey = Keys.hmacShaKeyFor(keyBytes);
+			jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
 		} catch (IllegalArgumentException e) {
 			throw new RuntimeException("JWT Secret inválido. Verifique se está em Base64.", e);
 		}
@@ -47,6 +54,8 @@ public class JwtService {
 			       .claim("id", user.getId())
 			       .claim("type", "access")
 			       .claim("role", user.getType().getName())
+			       .claim("active", user.isEnabled())
+			       .claim("codename", user.getCodename())
 			       .setIssuedAt(Date.from(now))
 			       .setExpiration(Date.from(now.plusSeconds(expirationSeconds)))
 			       .signWith(signingKey, SignatureAlgorithm.HS512)
@@ -70,66 +79,92 @@ public class JwtService {
 			       .compact();
 	}
 	
-	public String extractUsernameFromAccessToken(String token) {
+	/**
+	 * Verifica assinatura e expiração do token uma única vez e retorna as claims usadas
+	 * pela aplicação, ou {@code null} se o token for inválido ou estiver expirado.
+	 * <p>
+	 * Tokens já verificados são atendidos pelo {@link VerifiedTokenCache} até o seu {@code exp}.
+	 */
+	public VerifiedToken verify(String token) {
+		if (token == null || token.isBlank()) return null;
+		return verifiedTokenCache.get(token, this::parse);
+	}
+	
+	private VerifiedToken parse(String token) {
 		try {
-			Claims claims = Jwts.parserBuilder()
-				                .setSigningKey(signingKey)
-				                .build()
-				                .parseClaimsJws(token)
-				                .getBody();
-			return "access".equals(claims.get("type")) ? claims.getSubject() : null;
+			Claims claims = jwtParser.parseClaimsJws(token).getBody();
+			return new VerifiedToken(
+				claims.get("type", String.class),
+				claims.getSubject(),
+				claims.get("id", String.class),
+				claims.get("role", String.class),
+				claims.get("active", Boolean.class),
+				claims.get("codename", String.class),
+				claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+			);
 		} catch (Exception e) {
 			return null;
 		}
 	}
 	
-	public String extractUsernameFromRefreshToken(String token) {
-		try {
-			Claims claims = Jwts.parserBuilder()
-				                .setSigningKey(signingKey)
-				                .build()
-				                .parseClaimsJws(token)
-				                .getBody();
-			return "refresh".equals(claims.get("type")) ? claims.getSubject() : null;
-		} catch (Exception e) {
+	/**
+	 * Monta um {@link User} leve a partir de um access token verificado, usado como principal
+	 * no modo {@code jwt.stateless-principal}.
+	 * <p>
+	 * Retorna {@code null} para tokens emitidos antes da inclusão das claims {@code active}
+	 * e {@code codename}, forçando a busca do usuário.
+	 */
+	public User buildPrincipal(VerifiedToken token) {
+		if (token == null || !token.isAccess() || token.id() == null || token.role() == null || token.active() == null) {
 			return null;
 		}
+		return User.builder()
+			       .id(token.id())
+			       .email(token.subject())
+			       .type(UserType.fromString(token.role()))
+			       .isActive(token.active())
+			       .codename(token.codename())
+			       .build();
+	}
+	
+	public String extractUsernameFromAccessToken(String token) {
+		VerifiedToken verified = verify(token);
+		return verified != null && verified.isAccess() ? verified.subject() : null;
+	}
+	
+	public String extractUsernameFromRefreshToken(String token) {
+		VerifiedToken verified = verify(token);
+		return verified != null && verified.isRefresh() ? verified.subject() : null;
 	}
 	
 	public boolean isAccessTokenValid(String token) {
-		try {
-			Claims claims = Jwts.parserBuilder()
-				                .setSigningKey(signingKey)
-				                .build()
-				                .parseClaimsJws(token)
-				                .getBody();
-			return "access".equals(claims.get("type")) && claims.getExpiration().after(new Date());
-		} catch (Exception e) {
-			return false;
-		}
+		VerifiedToken verified = verify(token);
+		return verified != null && verified.isAccess();
 	}
 	
 	public boolean isRefreshTokenValid(String token) {
-		try {
-			Claims claims = Jwts.parserBuilder()
-				                .setSigningKey(signingKey)
-				                .build()
-				                .parseClaimsJws(token)
-				                .getBody();
-			return "refresh".equals(claims.get("type")) && claims.getExpiration().after(new Date());
-		} catch (Exception e) {
-			return false;
-		}
+		VerifiedToken verified = verify(token);
+		return verified != null && verified.isRefresh();
 	}
 	
 	public String refreshAccessToken(String refreshToken) {
-		String username = extractUsernameFromRefreshToken(refreshToken);
-		if (username == null) return null;
+		RefreshedAccess refreshed = refreshAccessToken(verify(refreshToken));
+		return refreshed != null ? refreshed.accessToken() : null;
+	}
+	
+	/**
+	 * Emite um novo access token a partir de um refresh token já verificado,
+	 * sem verificar a assinatura novamente.
+	 *
+	 * @return novo token e usuário, ou {@code null} se o token não for de refresh ou o usuário não existir
+	 */
+	public RefreshedAccess refreshAccessToken(VerifiedToken refreshToken) {
+		if (refreshToken == null || !refreshToken.isRefresh()) return null;
 		
-		var user = userRepository.findByEmail(username).orElse(null);
+		var user = userCache.findByEmail(refreshToken.subject()).orElse(null);
 		if (user == null) return null;
 		
-		return generateAccessToken(user);
+		return new RefreshedAccess(generateAccessToken(user), user);
 	}
 	
 	public void addAccessTokenToResponse(HttpServletResponse response, String accessToken) {
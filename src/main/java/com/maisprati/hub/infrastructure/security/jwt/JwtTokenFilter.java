@@ -1,6 +1,7 @@
 package com.maisprati.hub.infrastructure.security.jwt;
 
-import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -10,7 +11,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -33,10 +37,26 @@ import java.io.IOException;
  * <ul>
  *   <li>Intercepta a requisição</li>
  *   <li>Extrai o token JWT</li>
- *   <li>Valida assinatura e expiração</li>
+ *   <li>Valida assinatura e expiração uma única vez ({@link JwtService#verify})</li>
  *   <li>Define a autenticação no contexto de segurança</li>
  *   <li>Segue para o próximo filtro da cadeia</li>
  * </ul>
+ *
+ * <p>
+ * Com {@code jwt.stateless-principal=true} o principal é montado a partir das claims
+ * do access token (id, role, active, codename), sem consulta ao banco. Caso contrário
+ * o usuário é obtido pelo {@link UserCache}.
+ * </p>
+ *
+ * <p>
+ * Refreshes automáticos simultâneos com o mesmo refresh token são agrupados
+ * pelo {@link RefreshTokenCoalescer}.
+ * </p>
+ *
+ * <p>
+ * A autenticação também é guardada como atributo da requisição (sem sessão): o filtro não roda
+ * no dispatch assíncrono (stream SSE, respostas em streaming), que é autorizado com esse contexto.
+ * </p>
  */
 
 @Component
@@ -45,7 +65,10 @@ import java.io.IOException;
 public class JwtTokenFilter extends OncePerRequestFilter {
 	
 	private final JwtService jwtService;
-	private final UserRepository userRepository;
+	private final UserCache userCache;
+	private final JwtProperties jwtProperties;
+	private final RefreshTokenCoalescer refreshTokenCoalescer;
+	private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 	
 	@Override
 	protected void doFilterInternal(@NotNull HttpServletRequest request,
@@ -58,21 +81,29 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 		String refreshToken = this.getCookie(request, "refresh_token");
 		
 		try {
-			if (accessToken != null && jwtService.isAccessTokenValid(accessToken)) {
-				authenticateUser(accessToken, request);
+			// Cada token é verificado (assinatura + expiração) uma única vez por requisição
+			VerifiedToken access = accessToken != null ? jwtService.verify(accessToken) : null;
+			
+			if (access != null && access.isAccess()) {
+				authenticateUser(access, request, response);
 			}
-			else if (refreshToken != null && jwtService.isRefreshTokenValid(refreshToken)) {
-				log.info("Access token expirado. Realizando refresh automático…");
-				
-				String newAccess = jwtService.refreshAccessToken(refreshToken);
-				
-				if (newAccess != null) {
-					jwtService.addAccessTokenToResponse(response, newAccess);
-					authenticateUser(newAccess, request);
-					log.info("Refresh token OK, usuário autenticado novamente ✨");
-				}
-				else {
-					log.warn("Refresh token inválido ou expirado.");
+			else if (refreshToken != null) {
+				VerifiedToken refresh = jwtService.verify(refreshToken);
+				if (refresh != null && refresh.isRefresh()) {
+					log.info("Access token expirado. Realizando refresh automático…");
+					
+					// requisições paralelas com o mesmo refresh token compartilham um único refresh
+					RefreshedAccess refreshed = refreshTokenCoalescer.refresh(
+						refreshToken, () -> jwtService.refreshAccessToken(refresh));
+					
+					if (refreshed != null) {
+						jwtService.addAccessTokenToResponse(response, refreshed.accessToken());
+						setAuthentication(refreshed.user(), request, response);
+						log.info("Refresh token OK, usuário autenticado novamente ✨");
+					}
+					else {
+						log.warn("Refresh token inválido ou expirado.");
+					}
 				}
 			}
 		} catch (Exception e) {
@@ -82,19 +113,33 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 	
-	private void authenticateUser(String token, HttpServletRequest request) {
-		String username = jwtService.extractUsernameFromAccessToken(token);
-		if (username == null) return;
+	private void authenticateUser(VerifiedToken token, HttpServletRequest request, HttpServletResponse response) {
+		if (jwtProperties.isStatelessPrincipal()) {
+			User principal = jwtService.buildPrincipal(token);
+			if (principal != null) {
+				// usuário inativo no momento da emissão do token não é autenticado
+				if (principal.isEnabled()) setAuthentication(principal, request, response);
+				return;
+			}
+			// token antigo sem as claims do principal: segue para a busca do usuário
+		}
 		
-		userRepository.findByEmail(username).ifPresent(userDetails -> {
-			var auth = new UsernamePasswordAuthenticationToken(
-				userDetails,
-				null,
-				userDetails.getAuthorities()
-			);
-			auth.setDetails(request);
-			SecurityContextHolder.getContext().setAuthentication(auth);
-		});
+		if (token.subject() == null) return;
+		
+		userCache.findByEmail(token.subject()).ifPresent(userDetails -> setAuthentication(userDetails, request, response));
+	}
+	
+	private void setAuthentication(User userDetails, HttpServletRequest request, HttpServletResponse response) {
+		var auth = new UsernamePasswordAuthenticationToken(
+			userDetails,
+			null,
+			userDetails.getAuthorities()
+		);
+		auth.setDetails(request);
+		SecurityContext context = SecurityContextHolder.createEmptyContext();
+		context.setAuthentication(auth);
+		SecurityContextHolder.setContext(context);
+		securityContextRepository.saveContext(context, request, response);
 	}
 	
 	private String getCookie(HttpServletRequest request, String name) {
@@ -0,0 +1,79 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa refreshes simultâneos do mesmo refresh token (single-flight).
+ *
+ * <p>Quando o access token expira, o navegador dispara várias requisições em paralelo
+ * com o mesmo cookie {@code refresh_token}. Apenas a primeira executa o refresh
+ * (busca do usuário + assinatura do novo token); as demais aguardam e reutilizam
+ * o mesmo resultado.</p>
+ *
+ * <ul>
+ *     <li>Chave: SHA-256 do refresh token</li>
+ *     <li>O resultado fica disponível por {@code jwt.refresh-coalesce-window-ms}
+ *     ({@code 0} desliga o agrupamento)</li>
+ *     <li>Falhas e refreshes sem resultado não são reaproveitados</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenCoalescer {
+	
+	private final JwtProperties jwtProperties;
+	
+	private Cache<String, CompletableFuture<RefreshedAccess>> inFlight;
+	
+	@PostConstruct
+	public void init() {
+		if (jwtProperties.getRefreshCoalesceWindowMs() <= 0) return;
+		
+		inFlight = Caffeine.newBuilder()
+			           .expireAfterWrite(Duration.ofMillis(jwtProperties.getRefreshCoalesceWindowMs()))
+			           .maximumSize(10_000)
+			           .build();
+	}
+	
+	/**
+	 * Executa o refresh apenas se não houver outro em andamento (ou recente) para o mesmo token.
+	 *
+	 * @param refreshToken valor do cookie {@code refresh_token}
+	 * @param refresher    refresh efetivo, executado no máximo uma vez por janela
+	 * @return resultado compartilhado do refresh, ou {@code null} se não foi possível renovar
+	 */
+	public RefreshedAccess refresh(String refreshToken, Supplier<RefreshedAccess> refresher) {
+		if (inFlight == null) return refresher.get();
+		
+		String key = TokenDigest.sha256(refreshToken);
+		CompletableFuture<RefreshedAccess> mine = new CompletableFuture<>();
+		CompletableFuture<RefreshedAccess> existing = inFlight.asMap().putIfAbsent(key, mine);
+		
+		if (existing != null) {
+			log.debug("Refresh já em andamento para este token, aguardando resultado compartilhado");
+			return existing.exceptionally(e -> null).join();
+		}
+		
+		// o refresh roda fora de qualquer lock do cache
+		try {
+			RefreshedAccess refreshed = refresher.get();
+			if (refreshed == null) inFlight.asMap().remove(key, mine);
+			mine.complete(refreshed);
+			return refreshed;
+		} catch (RuntimeException e) {
+			inFlight.asMap().remove(key, mine);
+			mine.completeExceptionally(e);
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import com.maisprati.hub.domain.model.User;
+
+/**
+ * Novo access token emitido a partir de um refresh token, junto com o usuário
+ * usado na emissão (já carregado, sem necessidade de verificar o novo token).
+ */
+public record RefreshedAccess(String accessToken, User user) {}
@@ -0,0 +1,25 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Digest SHA-256 de tokens JWT, usado como chave dos caches do pacote
+ * para que o token em si não fique em memória como chave.
+ */
+final class TokenDigest {
+	
+	private TokenDigest() {
+	}
+	
+	static String sha256(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().withoutPadding().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível", e);
+		}
+	}
+}
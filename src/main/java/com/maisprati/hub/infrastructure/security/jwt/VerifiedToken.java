@@ -0,0 +1,40 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Resultado de uma única verificação (assinatura HS512 + expiração) de um JWT.
+ * <p>
+ * Carrega as claims usadas pela aplicação, evitando que o mesmo token seja
+ * decodificado e verificado novamente em cada etapa do filtro ou do refresh.
+ *
+ * @param type      tipo do token ({@code access} ou {@code refresh})
+ * @param subject   e-mail do usuário
+ * @param id        id do usuário
+ * @param role      role do usuário ({@code admin} ou {@code student})
+ * @param active    se o usuário estava ativo na emissão (apenas access tokens; pode ser {@code null})
+ * @param codename  codinome do usuário (apenas access tokens; pode ser {@code null})
+ * @param expiresAt instante de expiração
+ */
+public record VerifiedToken(
+	String type,
+	String subject,
+	String id,
+	String role,
+	Boolean active,
+	String codename,
+	Instant expiresAt
+) {
+	
+	public boolean isAccess() {
+		return "access".equals(type) && !isExpired();
+	}
+	
+	public boolean isRefresh() {
+		return "refresh".equals(type) && !isExpired();
+	}
+	
+	public boolean isExpired() {
+		return expiresAt == null || !expiresAt.isAfter(Instant.now());
+	}
+}
@@ -0,0 +1,92 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Cache de tokens já verificados, na frente do {@link JwtService#verify}.
+ *
+ * <p>O mesmo cookie {@code access_token} chega em dezenas de requisições por página;
+ * com o cache, apenas a primeira paga a verificação HMAC-SHA512 e o parse das claims.</p>
+ *
+ * <ul>
+ *     <li>Chave: SHA-256 do token (o token em si não fica em memória como chave)</li>
+ *     <li>Cada entrada expira no {@code exp} do próprio token</li>
+ *     <li>Tamanho máximo em {@code jwt.verified-token-cache-size} ({@code 0} desliga o cache)</li>
+ *     <li>Tokens inválidos não são armazenados</li>
+ *     <li>Métricas: {@code cache.gets{cache=jwt.verified}} e {@code jwt.verified.cache.hit.ratio}</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+	
+	private final JwtProperties jwtProperties;
+	private final MeterRegistry meterRegistry;
+	
+	private Cache<String, VerifiedToken> cache;
+	
+	@PostConstruct
+	public void init() {
+		if (jwtProperties.getVerifiedTokenCacheSize() <= 0) return;
+		
+		cache = Caffeine.newBuilder()
+			        .maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+			        .expireAfter(new Expiry<String, VerifiedToken>() {
+				        @Override
+				        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+					        return untilExpiration(token);
+				        }
+				        
+				        @Override
+				        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+					        return untilExpiration(token);
+				        }
+				        
+				        @Override
+				        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+					        return currentDuration;
+				        }
+			        })
+			        .recordStats()
+			        .build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+		Gauge.builder("jwt.verified.cache.hit.ratio", cache, c -> c.stats().hitRate())
+			.description("Proporção de verificações de JWT atendidas pelo cache")
+			.register(meterRegistry);
+	}
+	
+	/**
+	 * Retorna o token verificado do cache ou executa a verificação e armazena o resultado válido.
+	 */
+	public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+		if (cache == null) return verifier.apply(token);
+		
+		String key = TokenDigest.sha256(token);
+		VerifiedToken cached = cache.getIfPresent(key);
+		if (cached != null && !cached.isExpired()) return cached;
+		
+		VerifiedToken verified = verifier.apply(token);
+		if (verified != null && !verified.isExpired()) {
+			cache.put(key, verified);
+		}
+		return verified;
+	}
+	
+	private static long untilExpiration(VerifiedToken token) {
+		long nanos = Duration.between(Instant.now(), token.expiresAt()).toNanos();
+		return Math.max(nanos, 0);
+	}
+}
@@ -0,0 +1,135 @@
+package com.maisprati.hub.infrastructure.security.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} que executa o encoder delegado (BCrypt) em um executor dedicado e limitado.
+ *
+ * <p>O BCrypt é intencionalmente caro; em picos de login (início de aula) ele ocupava todas as
+ * threads do Tomcat e atrasava endpoints baratos. Aqui o trabalho de hash fica restrito a
+ * {@code security.password-hashing.threads} threads, com fila de
+ * {@code security.password-hashing.queue-capacity} posições. Com a fila cheia a chamada falha
+ * imediatamente com {@link PasswordHashingBusyException} (HTTP 503 + Retry-After).</p>
+ *
+ * <p><b>Métricas:</b></p>
+ * <ul>
+ *     <li>{@code password.hash} (timer com histograma, tag {@code operation=encode|matches}):
+ *     tempo de execução do BCrypt, para calibrar o fator de custo no hardware real</li>
+ *     <li>{@code password.hash.wait}: tempo na fila até uma thread ficar livre</li>
+ *     <li>{@code password.hash.queue.size} e {@code password.hash.active}: ocupação do executor</li>
+ *     <li>{@code password.hash.rejected}: chamadas rejeitadas por fila cheia</li>
+ * </ul>
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+	
+	private final PasswordEncoder delegate;
+	private final long retryAfterSeconds;
+	private final ThreadPoolExecutor executor;
+	
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Timer waitTimer;
+	private final Counter rejected;
+	
+	public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.retryAfterSeconds = properties.getRetryAfterSeconds();
+		this.executor = new ThreadPoolExecutor(
+			properties.getThreads(), properties.getThreads(),
+			0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+			namedThreadFactory(),
+			new ThreadPoolExecutor.AbortPolicy());
+		
+		this.encodeTimer = hashTimer("encode", meterRegistry);
+		this.matchesTimer = hashTimer("matches", meterRegistry);
+		this.waitTimer = Timer.builder("password.hash.wait")
+			                 .description("Tempo de espera na fila de hashing de senhas")
+			                 .publishPercentileHistogram()
+			                 .register(meterRegistry);
+		this.rejected = Counter.builder("password.hash.rejected")
+			                .description("Operações de hashing rejeitadas por fila cheia")
+			                .register(meterRegistry);
+		Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+			.description("Operações de hashing aguardando na fila")
+			.register(meterRegistry);
+		Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+			.description("Operações de hashing em execução")
+			.register(meterRegistry);
+	}
+	
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(encodeTimer, () -> delegate.encode(rawPassword));
+	}
+	
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+	}
+	
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	/**
+	 * Encerra o executor junto com o contexto do Spring (método {@code shutdown} inferido pelo {@code @Bean}).
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+	
+	private <T> T submit(Timer timer, Supplier<T> work) {
+		long enqueuedAt = System.nanoTime();
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+				return timer.record(work);
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			log.warn("Fila de hashing de senhas cheia ({} aguardando), rejeitando requisição", executor.getQueue().size());
+			throw new PasswordHashingBusyException(retryAfterSeconds);
+		}
+		
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Hashing de senha interrompido", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+			throw new IllegalStateException("Erro no hashing de senha", e.getCause());
+		}
+	}
+	
+	private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+		return Timer.builder("password.hash")
+			       .description("Tempo de execução do hashing de senhas")
+			       .tag("operation", operation)
+			       .publishPercentileHistogram()
+			       .register(meterRegistry);
+	}
+	
+	private static ThreadFactory namedThreadFactory() {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
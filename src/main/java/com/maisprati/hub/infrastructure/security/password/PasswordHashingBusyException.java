@@ -0,0 +1,19 @@
+package com.maisprati.hub.infrastructure.security.password;
+
+/**
+ * Lançada quando a fila de hashing de senhas está cheia.
+ * Os controllers respondem com HTTP 503 e o header {@code Retry-After}.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+	
+	private final long retryAfterSeconds;
+	
+	public PasswordHashingBusyException(long retryAfterSeconds) {
+		super("Servidor ocupado, tente novamente em instantes");
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+	
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,20 @@
+package com.maisprati.hub.infrastructure.security.password;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+	
+	/** Threads dedicadas ao BCrypt (padrão: núcleos disponíveis) */
+	private int threads = Runtime.getRuntime().availableProcessors();
+	
+	/** Tamanho máximo da fila de hashes aguardando uma thread */
+	private int queueCapacity = 64;
+	
+	/** Valor do header Retry-After (segundos) quando a fila está cheia */
+	private long retryAfterSeconds = 2;
+}
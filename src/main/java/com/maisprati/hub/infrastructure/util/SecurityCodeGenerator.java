@@ -0,0 +1,65 @@
+package com.maisprati.hub.infrastructure.util;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+
+/**
+ * Códigos de segurança dos times no alfabeto Base32 de Crockford (sem I, L, O e U, fáceis de confundir)
+ * com um dígito verificador Luhn mod 32 no final.
+ *
+ * <p>7 caracteres aleatórios (35 bits, ~34 bilhões de combinações) + 1 verificador: colisões são raras o
+ * bastante para a inserção ser otimista e um código digitado errado (um caractere trocado ou, salvo o par 0/Z,
+ * dois vizinhos invertidos) é recusado sem consultar o banco.</p>
+ */
+public class SecurityCodeGenerator {
+	private static final SecureRandom secureRandom = new SecureRandom();
+	private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+	private static final int BASE = ALPHABET.length();
+
+	public static final int RANDOM_LENGTH = 7;
+	public static final int CODE_LENGTH = RANDOM_LENGTH + 1;
+
+	public static String generate() {
+		StringBuilder code = new StringBuilder(CODE_LENGTH);
+		for (int i = 0; i < RANDOM_LENGTH; i++) {
+			code.append(ALPHABET.charAt(secureRandom.nextInt(BASE)));
+		}
+		return code.append(checkCharacter(code)).toString();
+	}
+
+	/**
+	 * Normaliza o que o usuário digitou: maiúsculas, sem espaços/hífens e com as trocas comuns de
+	 * Crockford (O → 0, I/L → 1)
+	 */
+	public static String normalize(String code) {
+		if (code == null) return null;
+		return code.trim().toUpperCase(Locale.ROOT)
+			       .replace("-", "").replace(" ", "")
+			       .replace('O', '0').replace('I', '1').replace('L', '1');
+	}
+
+	/**
+	 * Se o código (já normalizado) tem o tamanho esperado, só usa o alfabeto e o verificador confere
+	 */
+	public static boolean isValid(String code) {
+		if (code == null || code.length() != CODE_LENGTH) return false;
+		for (int i = 0; i < CODE_LENGTH; i++) {
+			if (ALPHABET.indexOf(code.charAt(i)) < 0) return false;
+		}
+		return checkCharacter(code.substring(0, RANDOM_LENGTH)) == code.charAt(RANDOM_LENGTH);
+	}
+
+	/**
+	 * Luhn mod N: dobra um caractere sim, outro não, a partir da direita
+	 */
+	private static char checkCharacter(CharSequence payload) {
+		int factor = 2;
+		int sum = 0;
+		for (int i = payload.length() - 1; i >= 0; i--) {
+			int addend = factor * ALPHABET.indexOf(payload.charAt(i));
+			sum += addend / BASE + addend % BASE;
+			factor = factor == 2 ? 1 : 2;
+		}
+		return ALPHABET.charAt((BASE - sum % BASE) % BASE);
+	}
+}
@@ -0,0 +1,70 @@
+package com.maisprati.hub.presentation.controller;
+
+import com.maisprati.hub.application.service.AvailabilityRuleService;
+import com.maisprati.hub.domain.exception.AvailabilityRuleNotFoundException;
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Time Slots")
+@RestController
+@RequestMapping("/api/timeslots/rules")
+@RequiredArgsConstructor
+public class AvailabilityRuleController {
+
+    private final AvailabilityRuleService availabilityRuleService;
+
+    /**
+     * POST /api/timeslots/rules - Cria uma regra de disponibilidade recorrente
+     * <p>
+     * Ex.: {@code {"daysOfWeek": ["TUESDAY", "THURSDAY"], "startTime": "14:00", "endTime": "17:00",
+     * "intervalMinutes": 30, "validFrom": "2025-08-04", "validUntil": "2025-12-19"}}
+     */
+    @PostMapping
+    public ResponseEntity<?> createRule(@RequestParam String adminId, @RequestBody AvailabilityRule rule) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(availabilityRuleService.createRule(adminId, rule));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AvailabilityRule>> getRules(@RequestParam String adminId) {
+        return ResponseEntity.ok(availabilityRuleService.getRules(adminId));
+    }
+
+    /**
+     * POST /api/timeslots/rules/{ruleId}/exceptions - Tira uma data da regra (feriado, ausência)
+     */
+    @PostMapping("/{ruleId}/exceptions")
+    public ResponseEntity<?> addExcludedDate(
+            @PathVariable String ruleId,
+            @RequestParam String adminId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        try {
+            return ResponseEntity.ok(availabilityRuleService.addExcludedDate(adminId, ruleId, date));
+        } catch (AvailabilityRuleNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<?> deleteRule(@PathVariable String ruleId, @RequestParam String adminId) {
+        try {
+            availabilityRuleService.deleteRule(adminId, ruleId);
+            return ResponseEntity.noContent().build();
+        } catch (AvailabilityRuleNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
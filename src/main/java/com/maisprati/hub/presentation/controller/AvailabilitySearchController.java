@@ -0,0 +1,66 @@
+package com.maisprati.hub.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maisprati.hub.application.service.TimeSlotDayService;
+import com.maisprati.hub.domain.model.AvailableSlot;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Tag(name = "Time Slots")
+@RestController
+@RequestMapping("/api/timeslots/available")
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilitySearchController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final TimeSlotDayService timeSlotDayService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * GET /api/timeslots/available - Primeiros horários livres entre duas datas, de todos os admins
+     * <p>
+     * Ex.: {@code ?from=2025-11-03&to=2025-11-14&fromTime=14:00&toTime=18:00&limit=10}.
+     * A resposta é NDJSON ({@code {"adminId", "date", "time"}} por linha), escrita enquanto o cursor é lido.
+     */
+    @GetMapping
+    public ResponseEntity<?> searchAvailableSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime fromTime,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime toTime,
+            @RequestParam(required = false) Integer limit) {
+        Stream<AvailableSlot> slots;
+        try {
+            slots = timeSlotDayService.findAvailableSlots(from, to, fromTime, toTime, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        StreamingResponseBody body = out -> {
+            try (slots) {
+                Iterator<AvailableSlot> iterator = slots.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                    out.flush();
+                }
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
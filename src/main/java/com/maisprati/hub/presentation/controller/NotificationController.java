@@ -1,12 +1,21 @@
 package com.maisprati.hub.presentation.controller;
 
+import com.maisprati.hub.application.dto.NotificationPage;
+import com.maisprati.hub.domain.exception.NotificationNotFoundException;
 import com.maisprati.hub.domain.model.Notification;
 import com.maisprati.hub.application.service.NotificationService;
+import com.maisprati.hub.application.service.NotificationStreamBroker;
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.User;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -19,14 +28,85 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamBroker notificationStreamBroker;
+
+    /** Header com o cursor da próxima página (ausente na última página) */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     /**
-     * GET /api/notifications - Buscar notificações do usuário
+     * GET /api/notifications - Buscar notificações do usuário autenticado, paginadas por cursor
+     * <p>
+     * O corpo continua sendo a lista da página; para a próxima, o cliente repassa o valor de
+     * {@code X-Next-Cursor} no parâmetro {@code before}. Só um admin pode informar {@code userId}
+     * de outro usuário (403 para os demais).
      */
     @GetMapping
-    public ResponseEntity<List<Notification>> getUserNotifications(@RequestParam String userId) {
-        List<Notification> notifications = notificationService.getUserNotifications(userId);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<?> getUserNotifications(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String before) {
+        String ownerId = userId != null ? userId : user.getId();
+        if (!ownerId.equals(user.getId()) && !UserType.ADMIN.equals(user.getType())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return pageResponse(notificationService.getUserNotifications(ownerId, limit, before));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/notifications/stream - Stream SSE com as novas notificações do usuário autenticado
+     * <p>
+     * Substitui o polling da lista: o cliente carrega a lista uma vez e passa a receber apenas
+     * as novas notificações. Ao reconectar, o navegador envia {@code Last-Event-ID} e recebe
+     * o que foi criado nesse intervalo.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationStreamBroker.subscribe(user.getId(), lastEventId);
+    }
+
+    /**
+     * GET /api/notifications/unread-count - Quantidade de não lidas do usuário autenticado (badge)
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("unread", notificationService.getUnreadCount(user.getId())));
+    }
+
+    /**
+     * PATCH /api/notifications/{id}/read - Marcar notificação do usuário autenticado como lida
+     * (404 se a notificação não existe ou é de outro usuário)
+     */
+    @PatchMapping("/{id}/read")
+    public ResponseEntity<Void> markAsRead(@AuthenticationPrincipal User user, @PathVariable String id) {
+        try {
+            notificationService.markAsRead(user.getId(), id);
+            return ResponseEntity.noContent().build();
+        } catch (NotificationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Erro ao marcar notificação como lida: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * PATCH /api/notifications/read-all - Marcar todas as notificações do usuário autenticado como lidas
+     */
+    @PatchMapping("/read-all")
+    public ResponseEntity<Map<String, Long>> markAllAsRead(@AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(user.getId())));
+        } catch (Exception e) {
+            log.error("Erro ao marcar notificações como lidas: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -45,6 +125,8 @@ public class NotificationController {
 
     /**
      * POST /api/notifications/send-to-admin - Enviar mensagem para o admin
+     * <p>
+     * Todos os admins recebem a mensagem; a resposta continua sendo uma notificação (a do primeiro admin).
      */
     @PostMapping("/send-to-admin")
     public ResponseEntity<Notification> sendMessageToAdmin(@RequestBody Map<String, String> request) {
@@ -66,20 +148,31 @@ public class NotificationController {
     }
 
     /**
-     * GET /api/notifications/admin - Buscar notificações do admin (para testes)
+     * GET /api/notifications/admin - Buscar notificações do admin autenticado
      */
     @GetMapping("/admin")
-    public ResponseEntity<List<Notification>> getAdminNotifications() {
+    public ResponseEntity<?> getAdminNotifications(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String before) {
         try {
-            // Buscar ID do admin
-            List<Notification> notifications = notificationService.getAdminNotifications();
-            return ResponseEntity.ok(notifications);
+            return pageResponse(notificationService.getAdminNotifications(user.getId(), limit, before));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Erro ao buscar notificações do admin: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    private ResponseEntity<List<Notification>> pageResponse(NotificationPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
     /**
      * DELETE /api/notifications/{id} - Deletar notificação
      */
@@ -44,6 +44,15 @@ public class TeamController {
         return ResponseEntity.ok(activeTeams);
     }
 
+    /**
+     * GET /api/teams/active/with-members - Buscar times ativos já com os dados públicos dos membros
+     * (evita uma chamada por membro no front)
+     */
+    @GetMapping("/active/with-members")
+    public ResponseEntity<List<Team>> getActiveTeamsWithMembers() {
+        return ResponseEntity.ok(teamService.getActiveTeamsWithMembers());
+    }
+
     /**
      * GET /api/teams/{id} - Buscar time pelo ID
      */
@@ -71,6 +80,34 @@ public class TeamController {
         }
     }
 
+    /**
+     * POST /api/teams/bulk - Criar N times de uma turma de uma vez (apenas ADMIN)
+     * <p>
+     * Body: {@code { "className": "Turma 12", "count": 8, "maxMembers": 6, "description": "..." }}
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createTeamsForClass(
+            @RequestBody Map<String, Object> request,
+            @RequestParam String creatorUserId) {
+        try {
+            String className = (String) request.get("className");
+            Object count = request.get("count");
+            Object maxMembers = request.get("maxMembers");
+            String description = (String) request.get("description");
+
+            if (!(count instanceof Number)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Quantidade de times é obrigatória"));
+            }
+
+            List<Team> teams = teamService.createTeamsForClass(className, ((Number) count).intValue(),
+                    maxMembers instanceof Number number ? number.intValue() : null, description, creatorUserId);
+            return ResponseEntity.ok(teams);
+        } catch (RuntimeException e) {
+            log.error("Erro ao criar times da turma: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * POST /api/teams/{teamId}/validate - Validar código de segurança
      */
@@ -0,0 +1,83 @@
+package com.maisprati.hub.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maisprati.hub.application.dto.TeamProvisioningRow;
+import com.maisprati.hub.application.service.TeamProvisioningService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Tag(name = "Teams")
+@RestController
+@RequestMapping("/api/teams/provision")
+@RequiredArgsConstructor
+@Slf4j
+public class TeamProvisioningController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final TeamProvisioningService teamProvisioningService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * POST /api/teams/provision - Provisionar os times de uma turma a partir de uma lista JSON (apenas ADMIN)
+     * <p>
+     * A resposta é NDJSON: um {@code TeamProvisioningResult} por linha, enviado assim que conhecido.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> provisionTeams(
+            @RequestBody List<TeamProvisioningRow> rows,
+            @RequestParam String creatorUserId) {
+        return provision(() -> rows, creatorUserId);
+    }
+
+    /**
+     * POST /api/teams/provision (text/csv) - Mesmo provisionamento a partir de um CSV
+     * <p>
+     * Colunas: {@code name,description,maxMembers,securityCode,memberEmails} (e-mails separados por {@code ;}).
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<?> provisionTeamsFromCsv(
+            @RequestBody String csv,
+            @RequestParam String creatorUserId) {
+        return provision(() -> teamProvisioningService.parseCsv(csv), creatorUserId);
+    }
+
+    /**
+     * Erros no criador ou no formato da entrada respondem 400 antes do streaming começar
+     */
+    private ResponseEntity<?> provision(Supplier<List<TeamProvisioningRow>> rowsSupplier, String creatorUserId) {
+        List<TeamProvisioningRow> rows;
+        try {
+            teamProvisioningService.requireAdmin(creatorUserId);
+            rows = rowsSupplier.get();
+            teamProvisioningService.checkBatchSize(rows);
+        } catch (RuntimeException e) {
+            log.error("Erro no provisionamento de times: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        StreamingResponseBody body = out -> teamProvisioningService.provision(rows, result -> {
+            try {
+                // writeValueAsBytes: writeValue(out, ...) fecharia a resposta após a primeira linha
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
@@ -3,14 +3,20 @@ package com.maisprati.hub.presentation.controller;
 import com.maisprati.hub.domain.model.TimeSlot;
 import com.maisprati.hub.domain.model.TimeSlotDay;
 import com.maisprati.hub.application.service.TimeSlotDayService;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache.MonthSnapshot;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Collections;
@@ -37,15 +43,24 @@ public class TimeSlotDayController {
     @GetMapping("/days/{date}")
     public ResponseEntity<?> getDaySlots(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam String adminId
+            @RequestParam String adminId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
+        List<TimeSlotDay> days;
         try {
-            TimeSlotDay day = timeSlotDayService.getDayByAdminAndDate(adminId, date);
-
-            return ResponseEntity.ok(Collections.singletonMap("slots", day.getSlots()));
+            days = List.of(timeSlotDayService.getDayByAdminAndDate(adminId, date));
         } catch (Exception e) {
-            return ResponseEntity.ok(Collections.singletonMap("slots", Collections.emptyList()));
+            days = List.of();
         }
+
+        String etag = AvailabilityCalendarCache.etagOf(days);
+        if (matches(ifNoneMatch, etag)) return notModified(etag);
+
+        List<TimeSlot> slots = days.isEmpty() ? Collections.emptyList() : days.get(0).getSlots();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(Collections.singletonMap("slots", slots));
     }
 
     @PatchMapping("/{date}/{time}/book")
@@ -70,13 +85,42 @@ public class TimeSlotDayController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Dias do mês com {@code ETag}: o navegador revalida com {@code If-None-Match} e recebe 304 se nada mudou.
+     */
     @GetMapping("/month")
     public ResponseEntity<List<TimeSlotDay>> getMonthSlots(
             @RequestParam String adminId,
             @RequestParam int year,
-            @RequestParam int month
+            @RequestParam int month,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        List<TimeSlotDay> slots = timeSlotDayService.getSlotsByAdminAndMonth(adminId, year, month);
-        return ResponseEntity.ok(slots);
+        MonthSnapshot snapshot = timeSlotDayService.getMonthSnapshot(adminId, YearMonth.of(year, month));
+        if (matches(ifNoneMatch, snapshot.etag())) return notModified(snapshot.etag());
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(snapshot.days());
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
+
+    /**
+     * {@code If-None-Match} contém o ETag (comparação fraca, como manda a RFC 9110) ou {@code *}
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals("*") || value.equals(etag)) return true;
+        }
+        return false;
     }
 }
@@ -21,7 +21,7 @@ class AppointmentServiceTest {
 	
 	@Mock	private AppointmentRepository appointmentRepository;
 	@Mock private TimeSlotDayService timeSlotDayService;
-	@Mock private NotificationService notificationService;
+	@Mock private NotificationOutboxService notificationOutboxService;
 	@InjectMocks private AppointmentService appointmentService;
 	
 	@Test
@@ -45,7 +45,7 @@ class AppointmentServiceTest {
 		assertNotNull(result);
 		assertEquals(AppointmentStatus.SCHEDULED, result.getStatus());
 		verify(timeSlotDayService).markSlotAsBooked("adm1", date, time); // slot marcado como reservado
-		verify(notificationService).createNotificationForAppointment(any(), eq("SCHEDULED")); // notificação enviada
+		verify(notificationOutboxService).recordAppointmentEvent(any(), eq("SCHEDULED")); // evento registrado na outbox
 	}
 	
 	@Test
@@ -67,7 +67,7 @@ class AppointmentServiceTest {
 		// Assert
 		assertEquals(AppointmentStatus.CANCELLED, result.getStatus()); // status atualizado
 		verify(timeSlotDayService).releaseSlot("adm1", date, time); // slot liberado
-		verify(notificationService).createNotificationForAppointment(any(), eq("CANCELLED")); // notificação enviada
+		verify(notificationOutboxService).recordAppointmentEvent(any(), eq("CANCELLED")); // evento registrado na outbox
 	}
 	
 	@Test
@@ -95,6 +95,6 @@ class AppointmentServiceTest {
 		
 		// Assert
 		assertEquals(AppointmentStatus.COMPLETED, result.getStatus()); // status atualizado
-		verify(notificationService).createNotificationForAppointment(any(), eq("COMPLETED")); // notificação enviada
+		verify(notificationOutboxService).recordAppointmentEvent(any(), eq("COMPLETED")); // evento registrado na outbox
 	}
 }
@@ -0,0 +1,170 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.exception.AvailabilityRuleNotFoundException;
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache;
+import com.maisprati.hub.infrastructure.persistence.repository.AvailabilityRuleRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.TimeSlotDayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AvailabilityRuleServiceTest {
+	
+	@Mock private AvailabilityRuleRepository availabilityRuleRepository;
+	@Mock private AvailabilityCalendarCache availabilityCalendarCache;
+	@Mock private TimeSlotDayRepository timeSlotDayRepository;
+	@InjectMocks private AvailabilityRuleService availabilityRuleService;
+	
+	private final String adminId = "admin1";
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+	
+	private AvailabilityRule semesterRule() {
+		return AvailabilityRule.builder()
+			       .daysOfWeek(Set.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY))
+			       .startTime("14:00").endTime("17:00").intervalMinutes(30)
+			       .validFrom(LocalDate.of(2025, 8, 4)).validUntil(LocalDate.of(2025, 12, 19))
+			       .build();
+	}
+	
+	// TEST 1 — Criar regra: um único documento, meses em cache do admin descartados
+	@Test
+	void shouldCreateRuleAndEvictAdminMonths() {
+		// Arrange
+		when(availabilityRuleRepository.save(any(AvailabilityRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		// Act
+		AvailabilityRule result = availabilityRuleService.createRule(adminId, semesterRule());
+		
+		// Assert
+		assertEquals(adminId, result.getAdminId());
+		assertNotNull(result.getCreatedAt());
+		assertTrue(result.getExcludedDates().isEmpty());
+		verify(availabilityRuleRepository, times(1)).save(any(AvailabilityRule.class));
+		verify(availabilityCalendarCache).evictAdmin(adminId);
+	}
+	
+	// TEST 2 — Regras inválidas são recusadas sem gravar
+	@Test
+	void shouldRejectInvalidRules() {
+		AvailabilityRule noDays = semesterRule();
+		noDays.setDaysOfWeek(Set.of());
+		AvailabilityRule reversedWindow = semesterRule();
+		reversedWindow.setEndTime("13:00");
+		AvailabilityRule offGrid = semesterRule();
+		offGrid.setIntervalMinutes(7);
+		AvailabilityRule tooLong = semesterRule();
+		tooLong.setValidUntil(LocalDate.of(2027, 1, 1));
+		
+		for (AvailabilityRule rule : new AvailabilityRule[]{noDays, reversedWindow, offGrid, tooLong}) {
+			assertThrows(IllegalArgumentException.class, () -> availabilityRuleService.createRule(adminId, rule));
+		}
+		verifyNoInteractions(availabilityRuleRepository, availabilityCalendarCache);
+	}
+	
+	// TEST 3 — Regra de outro admin é tratada como inexistente
+	@Test
+	void shouldNotExposeRulesOfOtherAdmins() {
+		// Arrange
+		AvailabilityRule other = semesterRule();
+		other.setId("rule1");
+		other.setAdminId("admin2");
+		when(availabilityRuleRepository.findById("rule1")).thenReturn(Optional.of(other));
+		
+		// Act + Assert
+		assertThrows(AvailabilityRuleNotFoundException.class, () -> availabilityRuleService.deleteRule(adminId, "rule1"));
+		assertThrows(AvailabilityRuleNotFoundException.class,
+			() -> availabilityRuleService.addExcludedDate(adminId, "rule1", LocalDate.of(2025, 11, 20)));
+		verify(availabilityRuleRepository, never()).delete(any());
+		verify(availabilityRuleRepository, never()).save(any());
+	}
+	
+	// TEST 4 — Excluir uma data da regra
+	@Test
+	void shouldAddExcludedDate() {
+		// Arrange
+		AvailabilityRule rule = semesterRule();
+		rule.setId("rule1");
+		rule.setAdminId(adminId);
+		when(availabilityRuleRepository.findById("rule1")).thenReturn(Optional.of(rule));
+		when(availabilityRuleRepository.save(any(AvailabilityRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		// Act
+		AvailabilityRule result = availabilityRuleService.addExcludedDate(adminId, "rule1", LocalDate.of(2025, 11, 20));
+		
+		// Assert
+		assertEquals(Set.of(LocalDate.of(2025, 11, 20)), result.getExcludedDates());
+		verify(availabilityCalendarCache).evictAdmin(adminId);
+	}
+	
+	// TEST 5 — Data excluída: horários livres da regra saem dos dias gravados, menos os que outra regra ainda oferece
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldRetractExcludedDateSlotsFromStoredDays() {
+		// Arrange
+		LocalDate date = LocalDate.of(2025, 11, 20);
+		AvailabilityRule rule = semesterRule();
+		rule.setId("rule1");
+		rule.setAdminId(adminId);
+		AvailabilityRule evening = semesterRule();
+		evening.setId("rule2");
+		evening.setAdminId(adminId);
+		evening.setStartTime("16:00");
+		evening.setEndTime("18:00");
+		when(availabilityRuleRepository.findById("rule1")).thenReturn(Optional.of(rule));
+		when(availabilityRuleRepository.save(any(AvailabilityRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(availabilityRuleRepository.findActiveByAdminId(adminId, date, date)).thenReturn(List.of(rule, evening));
+		
+		// Act
+		availabilityRuleService.addExcludedDate(adminId, "rule1", date);
+		
+		// Assert
+		ArgumentCaptor<Map<LocalDate, Set<String>>> times = ArgumentCaptor.forClass(Map.class);
+		verify(timeSlotDayRepository).retractFreeSlots(eq(adminId), times.capture());
+		assertEquals(Map.of(date, Set.of("14:00", "14:30", "15:00", "15:30")), times.getValue());
+		verify(availabilityCalendarCache).evictAdmin(adminId);
+	}
+	
+	// TEST 6 — Regra removida: horários livres saem de todas as datas em que ela valia
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldRetractDeletedRuleSlotsFromStoredDays() {
+		// Arrange
+		AvailabilityRule rule = semesterRule();
+		rule.setId("rule1");
+		rule.setAdminId(adminId);
+		rule.setValidFrom(LocalDate.of(2025, 11, 17));
+		rule.setValidUntil(LocalDate.of(2025, 11, 23));
+		when(availabilityRuleRepository.findById("rule1")).thenReturn(Optional.of(rule));
+		when(availabilityRuleRepository.findActiveByAdminId(eq(adminId), any(), any())).thenReturn(List.of());
+		
+		// Act
+		availabilityRuleService.deleteRule(adminId, "rule1");
+		
+		// Assert
+		ArgumentCaptor<Map<LocalDate, Set<String>>> times = ArgumentCaptor.forClass(Map.class);
+		verify(timeSlotDayRepository).retractFreeSlots(eq(adminId), times.capture());
+		assertEquals(Set.of(LocalDate.of(2025, 11, 18), LocalDate.of(2025, 11, 20)), times.getValue().keySet());
+		assertEquals(6, times.getValue().get(LocalDate.of(2025, 11, 18)).size());
+		verify(availabilityRuleRepository).delete(rule);
+	}
+}
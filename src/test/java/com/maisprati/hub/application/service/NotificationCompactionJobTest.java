@@ -0,0 +1,152 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.infrastructure.config.NotificationRetentionProperties;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationCounterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationCompactionJobTest {
+	
+	@Mock private MongoTemplate mongoTemplate;
+	@Mock private NotificationCounterRepository notificationCounterRepository;
+	@Mock private BulkOperations bulkOperations;
+	
+	private NotificationRetentionProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private NotificationCompactionJob job;
+	
+	private final LocalDateTime oldDay = LocalDateTime.now().minusDays(30).withHour(10);
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		properties = new NotificationRetentionProperties();
+		properties.setBatchSize(3);
+		properties.setBatchPauseMs(0);
+		meterRegistry = new SimpleMeterRegistry();
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class)).thenReturn(bulkOperations);
+		job = new NotificationCompactionJob(mongoTemplate, notificationCounterRepository, properties, meterRegistry);
+	}
+	
+	private Notification notification(String id, String userId, String type, boolean read) {
+		return Notification.builder().id(id).userId(userId).type(type).createdAt(oldDay).read(read).build();
+	}
+	
+	// TEST 1 — Notificações antigas viram um resumo por usuário e dia, num único bulk
+	@Test
+	void shouldCollapseOldNotificationsIntoDailyDigests() throws Exception {
+		// Arrange
+		when(mongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(List.of(
+			notification("n1", "u1", "team_join", false),
+			notification("n2", "u1", "team_join", false)
+		));
+		
+		// Act
+		long removed = job.compact();
+		
+		// Assert
+		assertEquals(2, removed);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations, times(1)).upsert(any(Query.class), update.capture());
+		verify(bulkOperations, times(1)).execute();
+		assertEquals(new Document("data.counts.team_join", 2L), update.getValue().getUpdateObject().get("$inc"));
+		
+		verify(mongoTemplate, times(1)).remove(any(Query.class), eq(Notification.class));
+		verify(notificationCounterRepository).decrementUnread("u1", 2L);
+		assertEquals(2.0, meterRegistry.get("notification.retention.reclaimed").tag("reason", "compacted").counter().count());
+		assertEquals(1.0, meterRegistry.get("notification.retention.digests").counter().count());
+	}
+	
+	// TEST 2 — Remoção em lotes: continua enquanto o lote vier cheio
+	@Test
+	void shouldDeleteInBatchesUntilShortBatch() throws Exception {
+		// Arrange
+		when(mongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(
+			List.of(notification("n1", "u1", "team_join", true),
+				notification("n2", "u2", "team_join", true),
+				notification("n3", "u2", "appointment_completed", true)),
+			List.of(notification("n4", "u3", "team_join", true))
+		);
+		
+		// Act
+		long removed = job.compact();
+		
+		// Assert
+		assertEquals(4, removed);
+		verify(mongoTemplate, times(2)).find(argThat((Query query) -> query.getLimit() == 3), eq(Notification.class));
+		verify(mongoTemplate, times(2)).remove(any(Query.class), eq(Notification.class));
+		verify(bulkOperations, times(3)).upsert(any(Query.class), any(Update.class)); // um por usuário/dia: u1, u2, u3
+		verifyNoInteractions(notificationCounterRepository); // todas lidas
+	}
+	
+	// TEST 3 — Não lidas fora da retenção são removidas com ajuste do contador
+	@Test
+	void shouldExpireUnreadNotificationsPerTypeRetention() throws Exception {
+		// Arrange
+		properties.setDaysByType(Map.of("team_join", 30));
+		when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+			.thenReturn(List.of(notification("n1", "u1", "team_join", false)), List.of());
+		
+		// Act
+		long removed = job.expireUnread();
+		
+		// Assert
+		assertEquals(1, removed);
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(2)).find(queries.capture(), eq(Notification.class));
+		assertEquals("team_join", queries.getAllValues().get(0).getQueryObject().get("type"));
+		Document defaultRule = (Document) queries.getAllValues().get(1).getQueryObject().get("type");
+		assertEquals(List.of("team_join"), List.copyOf((Collection<?>) defaultRule.get("$nin")));
+		verify(notificationCounterRepository).decrementUnread("u1", 1L);
+		verifyNoInteractions(bulkOperations);
+		assertEquals(1.0, meterRegistry.get("notification.retention.reclaimed").tag("reason", "expired").counter().count());
+	}
+	
+	// TEST 4 — expireAt calculado pela retenção do tipo (0 = não expira)
+	@Test
+	void shouldComputeExpireAtPerType() {
+		properties.setDaysByType(Map.of("team_join", 30, "student_message", 0));
+		LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+		
+		assertEquals(createdAt.plusDays(30), properties.expireAt("team_join", createdAt));
+		assertEquals(createdAt.plusDays(180), properties.expireAt("appointment_scheduled", createdAt));
+		assertNull(properties.expireAt("student_message", createdAt));
+	}
+	
+	// TEST 5 — Notificação sem usuário no lote: removida sem resumo nem contador, e o lote segue
+	@Test
+	void shouldRemoveUserlessNotificationsWithoutDigest() throws Exception {
+		// Arrange
+		when(mongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(
+			List.of(notification("n1", null, "team_join", false), notification("n2", "u1", "team_join", false)),
+			List.of(notification("n3", null, "team_join", false)), List.of());
+		
+		// Act
+		long compactedCount = job.compact();
+		long expiredCount = job.expireUnread();
+		
+		// Assert
+		assertEquals(2, compactedCount);
+		assertEquals(1, expiredCount);
+		verify(bulkOperations, times(1)).upsert(any(Query.class), any(Update.class)); // só u1
+		verify(mongoTemplate, times(2)).remove(any(Query.class), eq(Notification.class));
+		verify(notificationCounterRepository).decrementUnread("u1", 1L);
+		verifyNoMoreInteractions(notificationCounterRepository);
+	}
+}
@@ -0,0 +1,186 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.enums.NotificationEventType;
+import com.maisprati.hub.domain.enums.OutboxStatus;
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.domain.model.NotificationEvent;
+import com.maisprati.hub.infrastructure.config.NotificationOutboxProperties;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationEventRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationCounterRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxDispatcherTest {
+	
+	@Mock private MongoTemplate mongoTemplate;
+	@Mock private NotificationEventRepository notificationEventRepository;
+	@Mock private NotificationRepository notificationRepository;
+	@Mock private NotificationCounterRepository notificationCounterRepository;
+	@Mock private NotificationService notificationService;
+	
+	private NotificationOutboxProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private NotificationOutboxDispatcher dispatcher;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		properties = new NotificationOutboxProperties();
+		properties.setBatchSize(10);
+		properties.setMaxAttempts(3);
+		meterRegistry = new SimpleMeterRegistry();
+		dispatcher = new NotificationOutboxDispatcher(mongoTemplate, notificationEventRepository,
+			notificationRepository, notificationCounterRepository, notificationService, properties, meterRegistry);
+	}
+	
+	private NotificationEvent appointmentEvent(String id, int attempts) {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("eventType", "SCHEDULED");
+		payload.put("appointmentId", "app-" + id);
+		payload.put("studentId", "stu1");
+		payload.put("adminId", "adm1");
+		payload.put("teamId", null);
+		payload.put("date", LocalDate.now().toString());
+		payload.put("time", LocalTime.NOON.toString());
+		return NotificationEvent.builder()
+			       .id(id).type(NotificationEventType.APPOINTMENT).payload(payload)
+			       .status(OutboxStatus.PROCESSING).attempts(attempts)
+			       .createdAt(Instant.now().minusSeconds(2))
+			       .build();
+	}
+	
+	private void claimReturns(NotificationEvent... events) {
+		List<NotificationEvent> answers = new ArrayList<>(List.of(events));
+		answers.add(null);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+			eq(NotificationEvent.class)))
+			.thenReturn(answers.get(0), answers.subList(1, answers.size()).toArray(new NotificationEvent[0]));
+	}
+	
+	private static Notification notification(String userId) {
+		return Notification.builder().userId(userId).type("appointment_scheduled").title("t").build();
+	}
+	
+	// TEST 1 — Lote de eventos vira um único insert e os eventos são removidos
+	@Test
+	void shouldExpandBatchIntoSingleBulkInsert() {
+		// Arrange
+		claimReturns(appointmentEvent("e1", 1), appointmentEvent("e2", 1));
+		when(notificationService.buildNotificationsForAppointment(any(), eq("SCHEDULED")))
+			.thenReturn(List.of(notification("adm1"), notification("stu1")));
+		
+		// Act
+		dispatcher.dispatch();
+		
+		// Assert
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Iterable<Notification>> captor = ArgumentCaptor.forClass(Iterable.class);
+		verify(notificationRepository, times(1)).saveAll(captor.capture());
+		List<Notification> saved = new ArrayList<>();
+		captor.getValue().forEach(saved::add);
+		assertEquals(4, saved.size());
+		verify(notificationCounterRepository).incrementUnread(saved);
+		
+		verify(mongoTemplate).remove(any(Query.class), eq(NotificationEvent.class));
+		assertEquals(2.0, meterRegistry.get("notification.outbox.dispatched").counter().count());
+		assertEquals(4.0, meterRegistry.get("notification.outbox.notifications").counter().count());
+		assertEquals(2, meterRegistry.get("notification.outbox.lag").timer().count());
+	}
+	
+	// TEST 2 — Falha na gravação reagenda os eventos com backoff (não remove)
+	@Test
+	void shouldScheduleRetryWhenInsertFails() {
+		// Arrange
+		claimReturns(appointmentEvent("e1", 1));
+		when(notificationService.buildNotificationsForAppointment(any(), any()))
+			.thenReturn(List.of(notification("adm1")));
+		when(notificationRepository.saveAll(anyList())).thenThrow(new RuntimeException("Mongo indisponível"));
+		
+		// Act
+		dispatcher.dispatch();
+		
+		// Assert
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(NotificationEvent.class));
+		assertEquals(OutboxStatus.PENDING, update.getValue().getUpdateObject().get("$set", Map.class).get("status"));
+		verify(mongoTemplate, never()).remove(any(Query.class), eq(NotificationEvent.class));
+		assertEquals(1.0, meterRegistry.get("notification.outbox.retries").counter().count());
+	}
+	
+	// TEST 3 — Evento que esgotou as tentativas fica como FAILED
+	@Test
+	void shouldMarkEventAsFailedAfterMaxAttempts() {
+		// Arrange: terceira tentativa (maxAttempts = 3)
+		claimReturns(appointmentEvent("e1", 3));
+		when(notificationService.buildNotificationsForAppointment(any(), any()))
+			.thenThrow(new IllegalStateException("dados inválidos"));
+		
+		// Act
+		dispatcher.dispatch();
+		
+		// Assert
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(NotificationEvent.class));
+		assertEquals(OutboxStatus.FAILED, update.getValue().getUpdateObject().get("$set", Map.class).get("status"));
+		verify(notificationRepository, never()).saveAll(anyList());
+		assertEquals(1.0, meterRegistry.get("notification.outbox.failed").counter().count());
+	}
+	
+	// TEST 4 — Admin ausente em evento de time gera nova tentativa
+	@Test
+	void shouldRetryTeamJoinWhenAdminMissing() {
+		NotificationEvent event = NotificationEvent.builder()
+			                          .id("e1").type(NotificationEventType.TEAM_JOIN)
+			                          .payload(Map.of("studentName", "Alice", "teamName", "Dev Team"))
+			                          .attempts(1).createdAt(Instant.now())
+			                          .build();
+		claimReturns(event);
+		when(notificationService.buildTeamJoinNotification("Alice", "Dev Team")).thenReturn(List.of());
+		
+		dispatcher.dispatch();
+		
+		verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(NotificationEvent.class));
+		verify(notificationRepository, never()).saveAll(anyList());
+	}
+	
+	// TEST 5 — Profundidade da fila atualizada ao fim do ciclo
+	@Test
+	void shouldPublishQueueDepth() {
+		claimReturns();
+		when(notificationEventRepository.countByStatusIn(any())).thenReturn(42L);
+		
+		dispatcher.dispatch();
+		
+		assertEquals(42.0, meterRegistry.get("notification.outbox.depth").gauge().value());
+	}
+	
+	// TEST 6 — Backoff exponencial limitado
+	@Test
+	void shouldCapExponentialBackoff() {
+		properties.setInitialBackoffMs(1000);
+		properties.setMaxBackoffMs(10_000);
+		
+		assertEquals(1000, dispatcher.backoff(1));
+		assertEquals(2000, dispatcher.backoff(2));
+		assertEquals(8000, dispatcher.backoff(4));
+		assertEquals(10_000, dispatcher.backoff(10));
+	}
+}
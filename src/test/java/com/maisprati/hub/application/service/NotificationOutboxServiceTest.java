@@ -0,0 +1,79 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.enums.NotificationEventType;
+import com.maisprati.hub.domain.enums.OutboxStatus;
+import com.maisprati.hub.domain.model.Appointment;
+import com.maisprati.hub.domain.model.NotificationEvent;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTest {
+	
+	@Mock private NotificationEventRepository notificationEventRepository;
+	@InjectMocks private NotificationOutboxService notificationOutboxService;
+	
+	// TEST 1 — Agendamento grava um único evento compacto e pendente
+	@Test
+	void shouldRecordSingleAppointmentEvent() {
+		// Arrange
+		Appointment appointment = Appointment.builder()
+			                          .id("app1").studentId("stu1").adminId("adm1").teamId("team1")
+			                          .date(LocalDate.of(2025, 3, 10)).time(LocalTime.of(14, 30))
+			                          .build();
+		
+		// Act
+		notificationOutboxService.recordAppointmentEvent(appointment, "SCHEDULED");
+		
+		// Assert
+		ArgumentCaptor<NotificationEvent> captor = ArgumentCaptor.forClass(NotificationEvent.class);
+		verify(notificationEventRepository, times(1)).insert(captor.capture());
+		NotificationEvent event = captor.getValue();
+		assertEquals(NotificationEventType.APPOINTMENT, event.getType());
+		assertEquals(OutboxStatus.PENDING, event.getStatus());
+		assertEquals(0, event.getAttempts());
+		assertNotNull(event.getNextAttemptAt());
+		assertEquals("SCHEDULED", event.getPayload().get("eventType"));
+		
+		// O payload reconstrói o agendamento usado na expansão
+		Appointment rebuilt = NotificationOutboxService.appointmentFrom(event.getPayload());
+		assertEquals("app1", rebuilt.getId());
+		assertEquals("team1", rebuilt.getTeamId());
+		assertEquals(LocalDate.of(2025, 3, 10), rebuilt.getDate());
+		assertEquals(LocalTime.of(14, 30), rebuilt.getTime());
+	}
+	
+	// TEST 2 — Agendamento individual (sem time) aceita teamId nulo
+	@Test
+	void shouldRecordAppointmentWithoutTeam() {
+		Appointment appointment = Appointment.builder()
+			                          .id("app2").studentId("stu1").adminId("adm1")
+			                          .date(LocalDate.now()).time(LocalTime.NOON)
+			                          .build();
+		
+		notificationOutboxService.recordAppointmentEvent(appointment, "CANCELLED");
+		
+		ArgumentCaptor<NotificationEvent> captor = ArgumentCaptor.forClass(NotificationEvent.class);
+		verify(notificationEventRepository).insert(captor.capture());
+		assertNull(NotificationOutboxService.appointmentFrom(captor.getValue().getPayload()).getTeamId());
+	}
+	
+	// TEST 3 — Saída do time registra o motivo
+	@Test
+	void shouldRecordTeamExit() {
+		notificationOutboxService.recordTeamExit("Bob", "Dev Team", "Motivo pessoal");
+		
+		verify(notificationEventRepository).insert(argThat((NotificationEvent event) ->
+			                                                   event.getType() == NotificationEventType.TEAM_EXIT &&
+				                                                   "Motivo pessoal".equals(event.getPayload().get("reason"))));
+	}
+}
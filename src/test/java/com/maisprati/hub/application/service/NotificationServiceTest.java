@@ -1,6 +1,10 @@
 package com.maisprati.hub.application.service;
 
+import com.maisprati.hub.application.dto.NotificationPage;
+import com.maisprati.hub.domain.exception.NotificationNotFoundException;
 import com.maisprati.hub.domain.model.*;
+import com.maisprati.hub.infrastructure.cache.AdminRecipientRegistry;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationCounterRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.NotificationRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
@@ -8,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 
@@ -18,8 +23,10 @@ import static org.mockito.Mockito.*;
 class NotificationServiceTest {
 	
 	@Mock private NotificationRepository notificationRepository;
+	@Mock private NotificationCounterRepository notificationCounterRepository;
 	@Mock private UserRepository userRepository;
 	@Mock private TeamRepository teamRepository;
+	@Mock private AdminRecipientRegistry adminRecipientRegistry;
 	@InjectMocks private NotificationService notificationService;
 	
 	@BeforeEach
@@ -28,52 +35,50 @@ class NotificationServiceTest {
 		MockitoAnnotations.openMocks(this);
 	}
 	
-	// TEST 1 — Obter notificações de um usuário existente
+	// TEST 1 — Obter notificações de um usuário existente (primeira página, sem próxima)
 	@Test
 	void shouldReturnUserNotifications_WhenUserExists() {
 		// Arrange
-		List<Notification> expected = List.of(new Notification());
-		when(notificationRepository.findByUserIdOrderByCreatedAtDesc("user123"))
-			.thenReturn(expected);
+		when(notificationRepository.findPageByUserId("user123", null, null, 51))
+			.thenReturn(List.of(new Notification()));
 		
 		// Act
-		List<Notification> result = notificationService.getUserNotifications("user123");
+		NotificationPage result = notificationService.getUserNotifications("user123", null, null);
 		
 		// Assert
-		assertEquals(1, result.size());
-		verify(notificationRepository).findByUserIdOrderByCreatedAtDesc("user123");
+		assertEquals(1, result.items().size());
+		assertNull(result.nextCursor());
+		verify(notificationRepository).findPageByUserId("user123", null, null, 51);
 	}
 	
-	// TEST 2 — Obter notificações de admin inexistente retorna lista vazia
+	// TEST 2 — Obter notificações de admin com usuário que não é admin retorna página vazia
 	@Test
 	void shouldReturnEmptyList_WhenAdminDoesNotExist() {
 		// Arrange
-		when(userRepository.findByEmail("admin@admin.com")).thenReturn(Optional.empty());
+		when(adminRecipientRegistry.isAdmin("student1")).thenReturn(false);
 		
 		// Act
-		List<Notification> result = notificationService.getAdminNotifications();
+		NotificationPage result = notificationService.getAdminNotifications("student1", null, null);
 		
 		// Assert
-		assertTrue(result.isEmpty());
-		verify(notificationRepository, never()).findByUserIdOrderByCreatedAtDesc(any());
+		assertTrue(result.items().isEmpty());
+		verify(notificationRepository, never()).findPageByUserId(any(), any(), any(), anyInt());
 	}
 	
 	// TEST 3 — Obter notificações de admin existente
 	@Test
 	void shouldReturnAdminNotifications_WhenAdminExists() {
 		// Arrange
-		User admin = new User();
-		admin.setId("admin123");
-		when(userRepository.findByEmail("admin@admin.com")).thenReturn(Optional.of(admin));
-		when(notificationRepository.findByUserIdOrderByCreatedAtDesc("admin123"))
+		when(adminRecipientRegistry.isAdmin("admin123")).thenReturn(true);
+		when(notificationRepository.findPageByUserId("admin123", null, null, 21))
 			.thenReturn(List.of(new Notification()));
 		
 		// Act
-		List<Notification> result = notificationService.getAdminNotifications();
+		NotificationPage result = notificationService.getAdminNotifications("admin123", 20, null);
 		
 		// Assert
-		assertEquals(1, result.size());
-		verify(notificationRepository).findByUserIdOrderByCreatedAtDesc("admin123");
+		assertEquals(1, result.items().size());
+		verify(notificationRepository).findPageByUserId("admin123", null, null, 21);
 	}
 	
 	// TEST 4 — Criar notificação com sucesso
@@ -97,42 +102,41 @@ class NotificationServiceTest {
 		verify(notificationRepository).save(any(Notification.class));
 	}
 	
-	// TEST 5 — Deletar notificação por ID
+	// TEST 5 — Deletar notificação não lida decrementa o contador do dono
 	@Test
 	void shouldDeleteNotificationById() {
 		// Arrange
 		String notificationId = "n1";
+		Notification removed = Notification.builder().id(notificationId).userId("u1").build();
+		when(notificationRepository.removeById(notificationId)).thenReturn(removed);
 		
 		// Act
 		notificationService.deleteNotification(notificationId);
 		
 		// Assert
-		verify(notificationRepository).deleteById(notificationId);
+		verify(notificationRepository).removeById(notificationId);
+		verify(notificationCounterRepository).decrementUnread("u1", 1);
 	}
 	
 	// TEST 6 — Enviar notificação para admin existente
 	@Test
 	void shouldSendMessageToAdmin_WhenAdminExists() {
 		// Arrange
-		User admin = new User();
-		admin.setId("admin123");
-		when(userRepository.findByEmail("admin@admin.com")).thenReturn(Optional.of(admin));
-		when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		when(adminRecipientRegistry.getAdminIds()).thenReturn(List.of("admin123"));
 		
 		// Act
 		Notification result = notificationService.sendNotificationToAdmin("Alice", "Hello Admin!");
 		
 		// Assert
-		assertNotNull(result);
 		assertEquals("admin123", result.getUserId());
-		verify(notificationRepository).save(any(Notification.class));
+		assertSingleBulkInsert(1);
 	}
 	
-	// TEST 7 — Enviar notificação quando admin não encontrado retorna null
+	// TEST 7 — Enviar notificação sem admin registrado não grava nada
 	@Test
 	void shouldReturnNull_WhenSendingMessageAndAdminNotFound() {
 		// Arrange
-		when(userRepository.findByEmail("admin@admin.com")).thenReturn(Optional.empty());
+		when(adminRecipientRegistry.getAdminIds()).thenReturn(List.of());
 		
 		// Act
 		Notification result = notificationService.sendNotificationToAdmin("Bob", "Hi!");
@@ -140,6 +144,7 @@ class NotificationServiceTest {
 		// Assert
 		assertNull(result);
 		verify(notificationRepository, never()).save(any());
+		verify(notificationRepository, never()).saveAll(anyList());
 	}
 	
 	// TEST 8 — Criar notificações para agendamento individual
@@ -157,13 +162,12 @@ class NotificationServiceTest {
 		student.setId("student1");
 		student.setName("Alice");
 		when(userRepository.findById("student1")).thenReturn(Optional.of(student));
-		when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 		
 		// Act
 		notificationService.createNotificationForAppointment(appointment, "SCHEDULED");
 		
 		// Assert
-		verify(notificationRepository, atLeast(2)).save(any(Notification.class));
+		assertSingleBulkInsert(2); // admin + aluno
 	}
 	
 	// TEST 9 — Criar notificações para agendamento de time
@@ -189,53 +193,46 @@ class NotificationServiceTest {
 		
 		team.setMembers(List.of(member1, member2));
 		
-		when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
-		when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		when(teamRepository.findNameAndMemberIdsById("team1")).thenReturn(Optional.of(team));
 		
 		// Act
 		notificationService.createNotificationForAppointment(appointment, "SCHEDULED");
 		
 		// Assert
-		verify(notificationRepository, atLeast(3)).save(any(Notification.class));
+		assertSingleBulkInsert(3); // admin + outro membro + quem agendou
 	}
 	
 	// TEST 10 — Notificar admin quando usuário entra no time
 	@Test
 	void shouldNotifyAdminWhenUserJoinsTeam() {
 		// Arrange
-		User admin = User.builder().id("admin123").name("Admin").build();
-		when(userRepository.findByEmail("admin@admin.com")).thenReturn(Optional.of(admin));
-		when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		when(adminRecipientRegistry.getAdminIds()).thenReturn(List.of("admin123"));
 		
 		// Act
 		notificationService.notifyAdminTeamJoin("Alice", "Dev Team");
 		
 		// Assert
-		verify(notificationRepository).save(argThat(notification ->
-			                                            notification.getTitle().contains("Novo membro no time") &&
-				                                            notification.getMessage().contains("Alice") &&
-				                                            notification.getMessage().contains("Dev Team")
-		));
+		Notification notification = assertSingleBulkInsert(1).get(0);
+		assertTrue(notification.getTitle().contains("Novo membro no time") &&
+			           notification.getMessage().contains("Alice") &&
+			           notification.getMessage().contains("Dev Team"));
 	}
 	
 	// TEST 11 — Notificar admin quando usuário sai do time
 	@Test
 	void shouldNotifyAdminWhenUserExitsTeam() {
 		// Arrange
-		User admin = User.builder().id("admin123").name("Admin").build();
-		when(userRepository.findByEmail("admin@admin.com")).thenReturn(Optional.of(admin));
-		when(notificationRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		when(adminRecipientRegistry.getAdminIds()).thenReturn(List.of("admin123"));
 		
 		// Act
 		notificationService.notifyAdminTeamExit("Bob", "Dev Team", "Motivo pessoal");
 		
 		// Assert
-		verify(notificationRepository).save(argThat(notification ->
-			                                            notification.getTitle().contains("Membro saiu do time") &&
-				                                            notification.getMessage().contains("Bob") &&
-				                                            notification.getMessage().contains("Dev Team") &&
-				                                            notification.getMessage().contains("Motivo pessoal")
-		));
+		Notification notification = assertSingleBulkInsert(1).get(0);
+		assertTrue(notification.getTitle().contains("Membro saiu do time") &&
+			           notification.getMessage().contains("Bob") &&
+			           notification.getMessage().contains("Dev Team") &&
+			           notification.getMessage().contains("Motivo pessoal"));
 	}
 	
 	// TEST 12 — Notificações de agendamento individual cancelado
@@ -258,7 +255,7 @@ class NotificationServiceTest {
 		notificationService.createNotificationForAppointment(appointment, "CANCELLED");
 		
 		// Assert
-		verify(notificationRepository, times(2)).save(any(Notification.class));
+		assertSingleBulkInsert(2);
 	}
 	
 	// TEST 13 — Notificações de agendamento individual concluído
@@ -281,7 +278,7 @@ class NotificationServiceTest {
 		notificationService.createNotificationForAppointment(appointment, "COMPLETED");
 		
 		// Assert
-		verify(notificationRepository, times(2)).save(any(Notification.class));
+		assertSingleBulkInsert(2);
 	}
 	
 	// TEST 14 — Notificações de agendamento de time cancelado
@@ -302,13 +299,13 @@ class NotificationServiceTest {
 		TeamMember member2 = new TeamMember(); member2.setUserId("user2");
 		team.setMembers(List.of(member1, member2));
 		
-		when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
+		when(teamRepository.findNameAndMemberIdsById("team1")).thenReturn(Optional.of(team));
 		
 		// Act
 		notificationService.createNotificationForAppointment(appointment, "CANCELLED");
 		
 		// Assert
-		verify(notificationRepository, times(3)).save(any(Notification.class)); // Admin + 2 membros
+		assertSingleBulkInsert(3); // Admin + 2 membros
 	}
 	
 	// TEST 15 — Notificações de agendamento de time concluído
@@ -329,12 +326,183 @@ class NotificationServiceTest {
 		TeamMember member2 = new TeamMember(); member2.setUserId("user2");
 		team.setMembers(List.of(member1, member2));
 		
-		when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
+		when(teamRepository.findNameAndMemberIdsById("team1")).thenReturn(Optional.of(team));
 		
 		// Act
 		notificationService.createNotificationForAppointment(appointment, "COMPLETED");
 		
 		// Assert
-		verify(notificationRepository, times(3)).save(any(Notification.class)); // Admin + 2 membros
+		assertSingleBulkInsert(3); // Admin + 2 membros
+	}
+	
+	// TEST 16 — Time busca apenas a projeção (nome + ids dos membros), nunca o documento completo
+	@Test
+	void shouldUseTeamProjectionForFanOut() {
+		// Arrange
+		Appointment appointment = new Appointment();
+		appointment.setId("teamApp");
+		appointment.setDate(LocalDate.now());
+		appointment.setTime(LocalTime.now());
+		appointment.setTeamId("team1");
+		appointment.setStudentId("user1");
+		appointment.setAdminId("admin1");
+		
+		Team team = new Team();
+		team.setName("Dev Team");
+		TeamMember member1 = new TeamMember(); member1.setUserId("user1");
+		TeamMember member2 = new TeamMember(); member2.setUserId("user2");
+		team.setMembers(List.of(member1, member2));
+		when(teamRepository.findNameAndMemberIdsById("team1")).thenReturn(Optional.of(team));
+		
+		// Act
+		notificationService.createNotificationForAppointment(appointment, "SCHEDULED");
+		
+		// Assert
+		verify(teamRepository, never()).findById(any());
+		List<Notification> saved = assertSingleBulkInsert(3);
+		assertEquals(List.of("admin1", "user2", "user1"), saved.stream().map(Notification::getUserId).toList());
+		assertEquals("appointment_scheduled", saved.get(2).getType());
+	}
+	
+	// TEST 17 — Página cheia devolve cursor do último item, que vira o ponto de partida da próxima
+	@Test
+	void shouldReturnNextCursor_WhenMoreNotificationsExist() {
+		// Arrange
+		LocalDateTime base = LocalDateTime.of(2025, 1, 10, 12, 0);
+		List<Notification> fetched = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Notification n = new Notification();
+			n.setId("n" + i);
+			n.setCreatedAt(base.minusMinutes(i));
+			fetched.add(n);
+		}
+		when(notificationRepository.findPageByUserId("user1", null, null, 3)).thenReturn(fetched);
+		
+		// Act
+		NotificationPage first = notificationService.getUserNotifications("user1", 2, null);
+		notificationService.getUserNotifications("user1", 2, first.nextCursor());
+		
+		// Assert
+		assertEquals(2, first.items().size());
+		assertNotNull(first.nextCursor());
+		verify(notificationRepository).findPageByUserId("user1", base.minusMinutes(1), "n1", 3);
+	}
+	
+	// TEST 18 — limit é limitado ao máximo e cursor inválido é rejeitado
+	@Test
+	void shouldClampLimitAndRejectInvalidCursor() {
+		// Act
+		notificationService.getUserNotifications("user1", 10_000, null);
+		
+		// Assert
+		verify(notificationRepository).findPageByUserId("user1", null, null, 101);
+		assertThrows(IllegalArgumentException.class,
+			() -> notificationService.getUserNotifications("user1", 10, "nao-e-um-cursor"));
+	}
+	
+	// TEST 19 — Contagem de não lidas vem só do contador
+	@Test
+	void shouldReadUnreadCountFromCounterOnly() {
+		// Arrange
+		when(notificationCounterRepository.findById("u1")).thenReturn(Optional.of(new NotificationCounter("u1", 7)));
+		
+		// Act
+		long unread = notificationService.getUnreadCount("u1");
+		long missing = notificationService.getUnreadCount("u2");
+		
+		// Assert
+		assertEquals(7, unread);
+		assertEquals(0, missing);
+		verifyNoInteractions(notificationRepository);
+	}
+	
+	// TEST 20 — Marcar como lida decrementa apenas quando a notificação mudou de estado
+	@Test
+	void shouldDecrementCounterOnlyWhenNotificationBecomesRead() {
+		// Arrange
+		when(notificationRepository.markAsRead("n1", "u1")).thenReturn(Notification.builder().id("n1").userId("u1").read(true).build());
+		when(notificationRepository.markAsRead("n2", "u1")).thenReturn(null);
+		when(notificationRepository.existsByIdAndUserId("n2", "u1")).thenReturn(true);
+		
+		// Act
+		boolean changed = notificationService.markAsRead("u1", "n1");
+		boolean alreadyRead = notificationService.markAsRead("u1", "n2");
+		
+		// Assert
+		assertTrue(changed);
+		assertFalse(alreadyRead);
+		verify(notificationCounterRepository, times(1)).decrementUnread("u1", 1);
+	}
+	
+	// TEST 21 — Marcar todas como lidas é um único update e desconta o total alterado
+	@Test
+	void shouldMarkAllAsReadWithSingleUpdate() {
+		// Arrange
+		when(notificationRepository.markAllAsRead("u1")).thenReturn(12L);
+		
+		// Act
+		long updated = notificationService.markAllAsRead("u1");
+		
+		// Assert
+		assertEquals(12, updated);
+		verify(notificationRepository, times(1)).markAllAsRead("u1");
+		verify(notificationRepository, never()).save(any(Notification.class));
+		verify(notificationCounterRepository).decrementUnread("u1", 12);
+	}
+	
+	// TEST 22 — Vários admins: uma notificação por admin, num único insert e sem consultar usuários
+	@Test
+	void shouldNotifyEveryAdminWithSingleBulkWrite() {
+		// Arrange
+		when(adminRecipientRegistry.getAdminIds()).thenReturn(List.of("admin1", "admin2", "admin3"));
+		
+		// Act
+		Notification result = notificationService.sendMessageToAdmin("Alice", "Preciso de ajuda");
+		
+		// Assert: a resposta mantém o formato de uma notificação
+		List<Notification> saved = assertSingleBulkInsert(3);
+		assertEquals("admin1", result.getUserId());
+		assertEquals(List.of("admin1", "admin2", "admin3"), saved.stream().map(Notification::getUserId).toList());
+		verifyNoInteractions(userRepository);
+	}
+	
+	/**
+	 * Verifica que o fan-out foi gravado com um único saveAll (insertMany) e nenhum save individual
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Notification> assertSingleBulkInsert(int expectedSize) {
+		ArgumentCaptor<Iterable<Notification>> captor = ArgumentCaptor.forClass(Iterable.class);
+		verify(notificationRepository, times(1)).saveAll(captor.capture());
+		verify(notificationRepository, never()).save(any(Notification.class));
+		
+		List<Notification> saved = new ArrayList<>();
+		captor.getValue().forEach(saved::add);
+		assertEquals(expectedSize, saved.size());
+		verify(notificationCounterRepository, times(1)).incrementUnread(saved);
+		return saved;
+	}
+	
+	// TEST 23 — Notificação de outro usuário: não é alterada e o contador dele não muda
+	@Test
+	void shouldNotMarkNotificationOfAnotherUser() {
+		// Arrange: o filtro inclui o userId, então a notificação de u2 não casa
+		when(notificationRepository.markAsRead("n1", "u1")).thenReturn(null);
+		when(notificationRepository.existsByIdAndUserId("n1", "u1")).thenReturn(false);
+		
+		// Act + Assert
+		assertThrows(NotificationNotFoundException.class, () -> notificationService.markAsRead("u1", "n1"));
+		verify(notificationCounterRepository, never()).decrementUnread(anyString(), anyLong());
+	}
+	
+	// TEST 24 — Notificação sem usuário é recusada antes de gravar
+	@Test
+	void shouldRejectNotificationWithoutUser() {
+		// Arrange
+		Notification input = Notification.builder().type("info").title("Sem dono").build();
+		
+		// Act + Assert
+		assertThrows(IllegalArgumentException.class, () -> notificationService.createNotification(input));
+		verify(notificationRepository, never()).save(any());
+		verifyNoInteractions(notificationCounterRepository);
 	}
 }
@@ -0,0 +1,235 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.infrastructure.config.NotificationStreamProperties;
+import com.maisprati.hub.infrastructure.persistence.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationStreamBrokerTest {
+	
+	@Mock private NotificationRepository notificationRepository;
+	
+	private NotificationStreamProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private NotificationStreamBroker broker;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		properties = new NotificationStreamProperties();
+		properties.setBufferSize(10);
+		meterRegistry = new SimpleMeterRegistry();
+		broker = new NotificationStreamBroker(notificationRepository, properties, meterRegistry);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		broker.shutdown();
+	}
+	
+	/**
+	 * SseEmitter sem resposta HTTP que registra os eventos enviados
+	 */
+	static class RecordingEmitter extends SseEmitter {
+		final List<String> notificationIds = new CopyOnWriteArrayList<>();
+		final List<String> comments = new CopyOnWriteArrayList<>();
+		final CountDownLatch received;
+		volatile boolean completed;
+		
+		RecordingEmitter(int expectedEvents) {
+			this.received = new CountDownLatch(expectedEvents);
+		}
+		
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			builder.build().forEach(part -> {
+				if (part.getData() instanceof Notification notification) {
+					notificationIds.add(notification.getId());
+					received.countDown();
+				} else if (part.getData().toString().contains(":heartbeat")) {
+					comments.add("heartbeat");
+					received.countDown();
+				}
+			});
+		}
+		
+		@Override
+		public void complete() {
+			completed = true;
+		}
+	}
+	
+	private static Notification notification(String userId) {
+		return Notification.builder().id(new ObjectId().toHexString()).userId(userId).type("t").title("t").build();
+	}
+	
+	// TEST 1 — 1000 conexões simultâneas recebem apenas as próprias notificações
+	@Test
+	void shouldDeliverToThousandConcurrentSubscribers() throws Exception {
+		// Arrange: 1000 conexões de 500 usuários (duas abas por usuário)
+		int subscribers = 1000;
+		List<RecordingEmitter> emitters = new ArrayList<>();
+		for (int i = 0; i < subscribers; i++) {
+			RecordingEmitter emitter = new RecordingEmitter(2);
+			broker.subscribe("user" + (i % 500), null, emitter);
+			emitters.add(emitter);
+		}
+		assertEquals(subscribers, broker.subscriberCount());
+		
+		// Act: duas notificações por usuário, publicadas de várias threads
+		List<Notification> all = new ArrayList<>();
+		for (int u = 0; u < 500; u++) {
+			all.add(notification("user" + u));
+			all.add(notification("user" + u));
+		}
+		Thread[] publishers = new Thread[4];
+		for (int t = 0; t < publishers.length; t++) {
+			List<Notification> slice = all.subList(t * 250, (t + 1) * 250);
+			publishers[t] = Thread.startVirtualThread(() -> broker.publish(slice));
+		}
+		for (Thread publisher : publishers) publisher.join();
+		
+		// Assert: cada conexão recebe exatamente as 2 notificações do seu usuário, em ordem
+		for (int i = 0; i < subscribers; i++) {
+			RecordingEmitter emitter = emitters.get(i);
+			assertTrue(emitter.received.await(10, TimeUnit.SECONDS), "conexão " + i + " não recebeu tudo");
+			int user = i % 500;
+			assertEquals(List.of(all.get(user * 2).getId(), all.get(user * 2 + 1).getId()), emitter.notificationIds);
+		}
+		assertEquals(1000.0, meterRegistry.get("notification.stream.subscribers").gauge().value());
+	}
+	
+	// TEST 2 — Buffer estourado encerra a conexão do cliente lento
+	@Test
+	void shouldDisconnectSlowSubscriberWhenBufferOverflows() throws Exception {
+		// Arrange: conexão cujo envio fica bloqueado
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch sending = new CountDownLatch(1);
+		RecordingEmitter slow = new RecordingEmitter(0) {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				sending.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		broker.subscribe("user1", null, slow);
+		
+		// Act: 1 em envio + 10 no buffer + 1 excedente
+		broker.publish(List.of(notification("user1")));
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 11; i++) {
+			broker.publish(List.of(notification("user1")));
+		}
+		
+		// Assert
+		assertTrue(slow.completed);
+		assertEquals(0, broker.subscriberCount());
+		assertEquals(1.0, meterRegistry.get("notification.stream.overflows").counter().count());
+		release.countDown();
+	}
+	
+	// TEST 3 — Last-Event-ID reenvia o que foi perdido antes dos eventos novos
+	@Test
+	void shouldResumeFromLastEventId() throws Exception {
+		// Arrange
+		String lastEventId = new ObjectId().toHexString();
+		Notification missed = notification("user1");
+		when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc("user1", lastEventId, Limit.of(100)))
+			.thenReturn(List.of(missed));
+		RecordingEmitter emitter = new RecordingEmitter(2);
+		
+		// Act
+		broker.subscribe("user1", lastEventId, emitter);
+		Notification live = notification("user1");
+		broker.publish(List.of(live));
+		
+		// Assert
+		assertTrue(emitter.received.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(missed.getId(), live.getId()), emitter.notificationIds);
+	}
+	
+	// TEST 4 — Last-Event-ID inválido não consulta o banco
+	@Test
+	void shouldIgnoreInvalidLastEventId() {
+		broker.subscribe("user1", "nao-e-objectid", new RecordingEmitter(0));
+		
+		verifyNoInteractions(notificationRepository);
+	}
+	
+	// TEST 5 — Heartbeat enviado às conexões ociosas
+	@Test
+	void shouldSendHeartbeat() throws Exception {
+		RecordingEmitter emitter = new RecordingEmitter(1);
+		broker.subscribe("user1", null, emitter);
+		
+		broker.heartbeat();
+		
+		assertTrue(emitter.received.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("heartbeat"), emitter.comments);
+	}
+	
+	// TEST 6 — Falha de envio remove a conexão
+	@Test
+	void shouldRemoveSubscriberWhenSendFails() throws Exception {
+		CountDownLatch failed = new CountDownLatch(1);
+		RecordingEmitter broken = new RecordingEmitter(0) {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				failed.countDown();
+				throw new IOException("Broken pipe");
+			}
+		};
+		broker.subscribe("user1", null, broken);
+		
+		broker.publish(List.of(notification("user1")));
+		
+		assertTrue(failed.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 100 && broker.subscriberCount() > 0; i++) Thread.sleep(10);
+		assertEquals(0, broker.subscriberCount());
+	}
+	
+	// TEST 7 — Publicações durante a consulta do reenvio: entram depois dele, sem repetir o que ele já trouxe
+	@Test
+	void shouldDeliverLiveEventsAfterReplayWithoutDuplicates() throws Exception {
+		// Arrange
+		String lastEventId = new ObjectId().toHexString();
+		Notification missed = notification("user1");
+		Notification live = notification("user1");
+		when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc("user1", lastEventId, Limit.of(100)))
+			.thenAnswer(i -> {
+				// criada antes da consulta terminar: chega ao vivo e também no resultado
+				broker.publish(List.of(missed, live));
+				return List.of(missed);
+			});
+		RecordingEmitter emitter = new RecordingEmitter(2);
+		
+		// Act
+		broker.subscribe("user1", lastEventId, emitter);
+		
+		// Assert
+		assertTrue(emitter.received.await(5, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertEquals(List.of(missed.getId(), live.getId()), emitter.notificationIds);
+	}
+}
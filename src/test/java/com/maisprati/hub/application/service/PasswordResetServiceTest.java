@@ -2,6 +2,7 @@ package com.maisprati.hub.application.service;
 
 import com.maisprati.hub.domain.model.PasswordResetToken;
 import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.email.SmtpEmailService;
 import com.maisprati.hub.infrastructure.persistence.repository.PasswordResetTokenRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
@@ -27,6 +28,7 @@ class PasswordResetServiceTest {
 	@Mock private PasswordResetTokenRepository resetTokenRepository;
 	@Mock private SmtpEmailService smtpEmailService;
 	@Mock private PasswordEncoder passwordEncoder;
+	@Mock private UserCache userCache;
 	@InjectMocks private PasswordResetService passwordResetService;
 	
 	private final String email = "user@test.com";
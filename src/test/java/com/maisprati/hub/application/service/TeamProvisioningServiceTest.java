@@ -0,0 +1,224 @@
+package com.maisprati.hub.application.service;
+
+import com.maisprati.hub.application.dto.TeamProvisioningResult;
+import com.maisprati.hub.application.dto.TeamProvisioningRow;
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
+import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.util.SecurityCodeGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TeamProvisioningServiceTest {
+	
+	@Mock private TeamRepository teamRepository;
+	@Mock private UserRepository userRepository;
+	@Mock private UserCache userCache;
+	private TeamProvisioningService service;
+	
+	private final List<TeamProvisioningResult> results = new ArrayList<>();
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		service = new TeamProvisioningService(teamRepository, userRepository, userCache,
+			new TeamAllocator(teamRepository, userRepository));
+		when(userRepository.markHasGroupByIdIn(anyCollection()))
+			.thenAnswer(i -> (long) i.<Collection<String>>getArgument(0).size());
+		when(teamRepository.insertAllUnordered(anyList())).thenAnswer(i -> {
+			List<Team> teams = i.getArgument(0);
+			teams.forEach(team -> team.setId("id-" + team.getName()));
+			return List.of();
+		});
+	}
+	
+	private static User student(int n) {
+		return User.builder().id("u" + n).email("aluno" + n + "@hub.com").name("Aluno " + n)
+			       .type(UserType.STUDENT).hasGroup(false).build();
+	}
+	
+	private static List<String> emails(int from, int to) {
+		List<String> emails = new ArrayList<>();
+		for (int n = from; n <= to; n++) emails.add("aluno" + n + "@hub.com");
+		return emails;
+	}
+	
+	// TEST 1 — Cohort de 500 alunos em 100 times: um $in de usuários, um lote de times e um updateMany
+	@Test
+	void shouldProvisionCohortWithConstantRoundTrips() {
+		// Arrange
+		List<User> students = new ArrayList<>();
+		for (int n = 1; n <= 500; n++) students.add(student(n));
+		when(userRepository.findAllocationProfilesByEmailIn(anyCollection())).thenReturn(students);
+		
+		List<TeamProvisioningRow> rows = new ArrayList<>();
+		for (int t = 0; t < 100; t++) {
+			rows.add(new TeamProvisioningRow("Time " + t, null, 6, null, emails(t * 5 + 1, t * 5 + 5)));
+		}
+		
+		// Act
+		service.provision(rows, results::add);
+		
+		// Assert
+		verify(userRepository, times(1)).findAllocationProfilesByEmailIn(anyCollection());
+		verify(teamRepository, times(1)).insertAllUnordered(anyList());
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+		verify(userRepository, times(1)).markHasGroupByIdIn(ids.capture());
+		assertEquals(500, ids.getValue().size());
+		verify(teamRepository, never()).findActiveMemberIdsByMemberIdIn(anyCollection());
+		
+		assertEquals(100, results.size());
+		assertTrue(results.stream().allMatch(r -> r.status() == TeamProvisioningResult.Status.CREATED));
+		assertTrue(results.stream().allMatch(r -> SecurityCodeGenerator.isValid(r.securityCode())));
+		assertEquals("id-Time 0", results.get(0).teamId());
+	}
+	
+	// TEST 2 — Linhas inválidas são recusadas antes das escritas, com todos os motivos; as válidas seguem
+	@Test
+	void shouldRejectInvalidRowsUpFront() {
+		// Arrange
+		User admin = User.builder().id("a1").email("admin@hub.com").type(UserType.ADMIN).build();
+		User grouped = student(3);
+		grouped.setHasGroup(true);
+		when(userRepository.findAllocationProfilesByEmailIn(anyCollection()))
+			.thenReturn(List.of(student(1), student(2), grouped, admin));
+		
+		List<TeamProvisioningRow> rows = List.of(
+			new TeamProvisioningRow("Time A", null, 2, null, List.of("aluno1@hub.com")),
+			new TeamProvisioningRow("time a", null, 1, null, List.of("aluno1@hub.com", "naoexiste@hub.com")),
+			new TeamProvisioningRow(" ", null, null, null, List.of("aluno3@hub.com", "admin@hub.com")),
+			new TeamProvisioningRow("Time B", null, 0, null, List.of()),
+			new TeamProvisioningRow("Time C", null, null, null, List.of("aluno2@hub.com")));
+		
+		// Act
+		service.provision(rows, results::add);
+		
+		// Assert: recusas saem primeiro, na ordem das linhas
+		assertEquals(List.of(2, 3, 4, 1, 5), results.stream().map(TeamProvisioningResult::row).toList());
+		assertEquals(List.of("Nome repetido (linha 1)", "Aluno também listado na linha 1: aluno1@hub.com",
+			"E-mail não cadastrado: naoexiste@hub.com", "Mais membros (2) que vagas (1)"), results.get(0).errors());
+		assertEquals(List.of("Nome do time é obrigatório", "Usuário já está em um time: aluno3@hub.com",
+			"Apenas alunos podem ser membros: admin@hub.com"), results.get(1).errors());
+		assertEquals(List.of("maxMembers deve ser maior que zero"), results.get(2).errors());
+		
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Team>> teams = ArgumentCaptor.forClass(List.class);
+		verify(teamRepository).insertAllUnordered(teams.capture());
+		assertEquals(List.of("Time A", "Time C"), teams.getValue().stream().map(Team::getName).toList());
+		verify(userRepository).markHasGroupByIdIn(List.of("u1", "u2"));
+	}
+	
+	// TEST 3 — Código informado que já existe recusa a linha; código gerado que colide é trocado e reenviado
+	@Test
+	void shouldRetryGeneratedCodesAndRejectFixedOnes() {
+		// Arrange
+		when(userRepository.findAllocationProfilesByEmailIn(anyCollection())).thenReturn(List.of(student(1), student(2)));
+		List<Integer> batchSizes = new ArrayList<>();
+		when(teamRepository.insertAllUnordered(anyList())).thenAnswer(i -> {
+			List<Team> batch = i.getArgument(0);
+			batchSizes.add(batch.size());
+			batch.forEach(team -> team.setId("id-" + team.getName()));
+			return batchSizes.size() == 1 ? List.of(0, 1) : List.of();
+		});
+		List<TeamProvisioningRow> rows = List.of(
+			new TeamProvisioningRow("Time A", null, null, "FIXO123", List.of("aluno1@hub.com")),
+			new TeamProvisioningRow("Time B", null, null, null, List.of("aluno2@hub.com")));
+		
+		// Act
+		service.provision(rows, results::add);
+		
+		// Assert
+		assertEquals(List.of(2, 1), batchSizes);
+		assertEquals(TeamProvisioningResult.Status.REJECTED, results.get(0).status());
+		assertEquals(List.of("Código de segurança já existe"), results.get(0).errors());
+		assertEquals(TeamProvisioningResult.Status.CREATED, results.get(1).status());
+		verify(userRepository).markHasGroupByIdIn(List.of("u2"));
+		verify(userCache).evictById("u2");
+	}
+	
+	// TEST 4 — CSV com cabeçalho, aspas, BOM e e-mails separados por ';'
+	@Test
+	void shouldParseCsv() {
+		String csv = "\uFEFFname,maxMembers,memberEmails,description\r\n"
+			             + "Time A,5,aluno1@hub.com;aluno2@hub.com,\"Projeto \"\"X\"\", turma 1\"\r\n"
+			             + "\n"
+			             + "Time B,,,\n";
+		
+		List<TeamProvisioningRow> rows = service.parseCsv(csv);
+		
+		assertEquals(2, rows.size());
+		assertEquals(new TeamProvisioningRow("Time A", "Projeto \"X\", turma 1", 5, null,
+			List.of("aluno1@hub.com", "aluno2@hub.com")), rows.get(0));
+		assertEquals(new TeamProvisioningRow("Time B", null, null, null, List.of()), rows.get(1));
+	}
+	
+	// TEST 5 — CSV sem a coluna name ou com valor numérico inválido é recusado inteiro
+	@Test
+	void shouldRejectMalformedCsv() {
+		assertThrows(IllegalArgumentException.class, () -> service.parseCsv("team,emails\nA,b"));
+		assertThrows(IllegalArgumentException.class, () -> service.parseCsv("name,maxMembers\nA,cinco"));
+		assertThrows(IllegalArgumentException.class, () -> service.parseCsv("name\n\"A"));
+	}
+	
+	// TEST 6 — Aluno que entrou em outro time entre a validação e a gravação: o updateMany altera menos
+	// usuários e só a linha do time com esse aluno é reportada como conflito
+	@Test
+	void shouldReportMembersGroupedConcurrently() {
+		// Arrange
+		when(userRepository.findAllocationProfilesByEmailIn(anyCollection())).thenReturn(List.of(student(1), student(2)));
+		when(userRepository.markHasGroupByIdIn(anyCollection())).thenReturn(1L);
+		Team other = Team.builder().id("outro").members(List.of(TeamMember.builder().userId("u2").build())).build();
+		Team own = Team.builder().id("id-Time B").members(List.of(TeamMember.builder().userId("u2").build())).build();
+		when(teamRepository.findActiveMemberIdsByMemberIdIn(List.of("u1", "u2"))).thenReturn(List.of(other, own));
+		List<TeamProvisioningRow> rows = List.of(
+			new TeamProvisioningRow("Time A", null, null, null, List.of("aluno1@hub.com")),
+			new TeamProvisioningRow("Time B", null, null, null, List.of("aluno2@hub.com")));
+		
+		// Act
+		service.provision(rows, results::add);
+		
+		// Assert
+		assertEquals(TeamProvisioningResult.Status.CREATED, results.get(0).status());
+		assertEquals(TeamProvisioningResult.Status.CONFLICT, results.get(1).status());
+		assertEquals("id-Time B", results.get(1).teamId());
+		assertEquals(List.of("Aluno entrou em outro time durante o provisionamento: aluno2@hub.com"), results.get(1).errors());
+	}
+	
+	// TEST 7 — Falha ao entregar um resultado pós-escrita (cliente desconectado) não impede o hasGroup
+	@Test
+	void shouldMarkMembersBeforeEmittingWriteResults() {
+		// Arrange
+		when(userRepository.findAllocationProfilesByEmailIn(anyCollection())).thenReturn(List.of(student(1), student(2)));
+		when(teamRepository.insertAllUnordered(anyList())).thenAnswer(i -> {
+			List<Team> batch = i.getArgument(0);
+			batch.forEach(team -> team.setId("id-" + team.getName()));
+			return List.of(0);
+		});
+		List<TeamProvisioningRow> rows = List.of(
+			new TeamProvisioningRow("Time A", null, null, "FIXO123", List.of("aluno1@hub.com")),
+			new TeamProvisioningRow("Time B", null, null, null, List.of("aluno2@hub.com")));
+		
+		// Act
+		assertThrows(UncheckedIOException.class, () -> service.provision(rows, result -> {
+			throw new UncheckedIOException(new IOException("Broken pipe"));
+		}));
+		
+		// Assert
+		verify(userRepository).markHasGroupByIdIn(List.of("u2"));
+		verify(userCache).evictById("u2");
+	}
+}
@@ -5,15 +5,17 @@ import com.maisprati.hub.domain.enums.UserType;
 import com.maisprati.hub.domain.model.Team;
 import com.maisprati.hub.domain.model.TeamMember;
 import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.persistence.repository.TeamRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.util.SecurityCodeGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.util.*;
 
@@ -26,8 +28,9 @@ class TeamServiceTest {
 	
 	@Mock private TeamRepository teamRepository;
 	@Mock private UserRepository userRepository;
-	@Mock private NotificationService notificationService;
-	@InjectMocks private TeamService teamService;
+	@Mock private NotificationOutboxService notificationOutboxService;
+	@Mock private UserCache userCache;
+	private TeamService teamService;
 	
 	private User adminUser;
 	private User normalUser;
@@ -35,6 +38,9 @@ class TeamServiceTest {
 	
 	@BeforeEach
 	void setUp() {
+		teamService = new TeamService(teamRepository, userRepository, notificationOutboxService,
+			new TeamAllocator(teamRepository, userRepository), userCache);
+		
 		// Arrange geral: cria usuário admin, usuário normal e time inicial
 		adminUser = User.builder().id("admin1").name("Admin User").type(UserType.ADMIN).build();
 		normalUser = User.builder().id("user1").name("Student One").type(UserType.STUDENT).build();
@@ -55,17 +61,17 @@ class TeamServiceTest {
 			                 .build();
 		
 		when(userRepository.findById("admin1")).thenReturn(Optional.of(adminUser));
-		when(teamRepository.existsBySecurityCode(anyString())).thenReturn(false);
-		when(teamRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		when(teamRepository.insert(any(Team.class))).thenAnswer(i -> i.getArgument(0));
 		
 		// Act: criar time
 		Team result = teamService.createTeam(inputTeam, "admin1");
 		
-		// Assert: verificar se o time foi criado corretamente
+		// Assert: verificar se o time foi criado corretamente (uma única escrita, sem consulta prévia do código)
 		assertNotNull(result);
 		assertTrue(result.getIsActive());
-		assertNotNull(result.getSecurityCode());
-		verify(teamRepository).save(any(Team.class));
+		assertTrue(SecurityCodeGenerator.isValid(result.getSecurityCode()));
+		verify(teamRepository, times(1)).insert(any(Team.class));
+		verify(teamRepository, never()).existsBySecurityCode(anyString());
 	}
 	
 	// TEST 2 — Criar time com usuário não admin (lança exceção)
@@ -85,9 +91,12 @@ class TeamServiceTest {
 	@Test
 	void shouldAddMemberToTeam_WhenUserAndTeamExist() {
 		// Arrange
-		when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
 		when(userRepository.findById("user1")).thenReturn(Optional.of(normalUser));
-		when(teamRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		when(teamRepository.pushMemberIfCapacity(eq("team1"), any())).thenAnswer(i -> {
+			team.getMembers().add(i.getArgument(1));
+			team.setCurrentMembers(team.getMembers().size());
+			return team;
+		});
 		when(userRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 		
 		// Act
@@ -96,7 +105,12 @@ class TeamServiceTest {
 		// Assert
 		assertEquals(1, result.getMembers().size());
 		assertTrue(result.getMembers().get(0).getIsActive());
-		verify(notificationService).notifyAdminTeamJoin("Student One", "Dev Team");
+		verify(notificationOutboxService).recordTeamJoin("Student One", "Dev Team");
+		verify(teamRepository).pullMemberFromOtherTeams("user1", "team1");
+		verify(userCache).evict(normalUser); // hasGroup mudou: o filtro JWT não pode ver o valor antigo
+		verify(teamRepository, never()).findAll();
+		verify(teamRepository, never()).findById("team1"); // sem leitura prévia nem releitura do time
+		verify(teamRepository, never()).save(any()); // sem regravar o documento inteiro
 	}
 	
 	// TEST 4 — Adicionar membro duplicado (lança exceção)
@@ -107,13 +121,15 @@ class TeamServiceTest {
 		team.getMembers().add(existingMember);
 		team.setCurrentMembers(1);
 		
+		when(teamRepository.pushMemberIfCapacity(eq("team1"), any())).thenReturn(null);
 		when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
 		when(userRepository.findById("user1")).thenReturn(Optional.of(normalUser));
 		
 		// Act & Assert
-		assertThrows(RuntimeException.class,
-			() -> teamService.addMemberToTeam("team1", "user1", TeamMemberRole.MEMBER, null),
-			"User is already a member of this team");
+		RuntimeException exception = assertThrows(RuntimeException.class,
+			() -> teamService.addMemberToTeam("team1", "user1", TeamMemberRole.MEMBER, null));
+		assertEquals("Usuário já é membro deste time", exception.getMessage());
+		verify(teamRepository, never()).pullMemberFromOtherTeams(any(), any());
 	}
 	
 	// TEST 5 — Alternar status do time (ativo/inativo)
@@ -154,7 +170,7 @@ class TeamServiceTest {
 			// Assert
 			assertEquals(0, result.getMembers().size());
 			assertFalse(normalUser.getHasGroup());
-			verify(notificationService).notifyAdminTeamExit("Student One", "Dev Team", "Personal reasons");
+			verify(notificationOutboxService).recordTeamExit("Student One", "Dev Team", "Personal reasons");
 		}
 		
 		// TEST 7 — Remover membro sem motivo
@@ -175,7 +191,7 @@ class TeamServiceTest {
 			
 			// Assert
 			assertEquals(0, result.getMembers().size());
-			verify(notificationService).notifyAdminTeamExit("Student One", "Dev Team", "Motivo não informado");
+			verify(notificationOutboxService).recordTeamExit("Student One", "Dev Team", "Motivo não informado");
 		}
 		
 		// TEST 8 — Atualizar papel de membro
@@ -205,7 +221,7 @@ class TeamServiceTest {
 			team.getMembers().add(member);
 			
 			when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
-			when(userRepository.findById("user1")).thenReturn(Optional.of(normalUser));
+			when(userRepository.findPublicProfilesByIdIn(Set.of("user1"))).thenReturn(List.of(normalUser));
 			
 			// Act
 			Optional<Team> resultOpt = teamService.getTeamByIdWithUserData("team1");
@@ -216,6 +232,7 @@ class TeamServiceTest {
 			assertNotNull(resultMember.getUser());
 			assertEquals("Student One", resultMember.getUser().getName());
 			assertEquals("user1", resultMember.getUser().getId());
+			verify(userRepository, never()).findById(any());
 		}
 		
 		// TEST 10 — Atualizar nome e descrição do time
@@ -269,5 +286,166 @@ class TeamServiceTest {
 				() -> teamService.validateTeamCode("team1", "ANYCODE"),
 				"Time não encontrado");
 		}
+		
+		// TEST 12 — Time cheio: o update condicional não casa, o join é recusado e o usuário continua nos times atuais
+		@Test
+		void shouldRejectJoinAndKeepCurrentTeams_WhenTeamIsFull() {
+			// Arrange
+			team.setMaxMembers(1);
+			team.setCurrentMembers(1);
+			team.getMembers().add(TeamMember.builder().userId("user2").build());
+			when(userRepository.findById("user1")).thenReturn(Optional.of(normalUser));
+			when(teamRepository.pushMemberIfCapacity(eq("team1"), any())).thenReturn(null);
+			when(teamRepository.findById("team1")).thenReturn(Optional.of(team));
+			
+			// Act
+			RuntimeException ex = assertThrows(RuntimeException.class,
+				() -> teamService.addMemberToTeam("team1", "user1", TeamMemberRole.MEMBER, null));
+			
+			// Assert
+			assertEquals("Time já está cheio", ex.getMessage());
+			verify(teamRepository, never()).pullMemberFromOtherTeams(anyString(), anyString());
+			verify(teamRepository, never()).save(any());
+		}
+		
+		// TEST 13 — Times ativos com membros: duas consultas no total, independente da quantidade de times
+		@Test
+		void shouldEnrichActiveTeamsWithTwoQueries() {
+			// Arrange
+			List<Team> teams = new ArrayList<>();
+			Set<String> userIds = new HashSet<>();
+			List<User> users = new ArrayList<>();
+			for (int t = 0; t < 50; t++) {
+				List<TeamMember> members = new ArrayList<>();
+				for (int m = 0; m < 6; m++) {
+					String userId = "u" + t + "-" + m;
+					members.add(TeamMember.builder().userId(userId).build());
+					userIds.add(userId);
+					users.add(User.builder().id(userId).name("Aluno " + userId).build());
+				}
+				teams.add(Team.builder().id("t" + t).members(members).isActive(true).build());
+			}
+			teams.add(Team.builder().id("vazio").members(null).isActive(true).build());
+			
+			when(teamRepository.findByIsActiveTrue()).thenReturn(teams);
+			when(userRepository.findPublicProfilesByIdIn(userIds)).thenReturn(users);
+			
+			// Act
+			List<Team> result = teamService.getActiveTeamsWithMembers();
+			
+			// Assert
+			assertEquals(51, result.size());
+			assertEquals("Aluno u7-3", result.get(7).getMembers().get(3).getUser().getName());
+			verify(teamRepository, times(1)).findByIsActiveTrue();
+			verify(userRepository, times(1)).findPublicProfilesByIdIn(any());
+			verifyNoMoreInteractions(userRepository);
+		}
+		
+		// TEST 14 — "Está em time ativo" é uma consulta de existência, sem carregar os times
+		@Test
+		void shouldCheckActiveMembershipWithExistsQuery() {
+			// Arrange
+			when(teamRepository.existsActiveMembership("user1")).thenReturn(true);
+			
+			// Act & Assert
+			assertTrue(teamService.isUserInActiveTeam("user1"));
+			verify(teamRepository, never()).findByIsActiveTrue();
+		}
+		
+		// TEST 15 — Remoção de todos os times ativos: um $pull, uma gravação do usuário e uma notificação por time
+		@Test
+		void shouldRemoveUserFromAllActiveTeamsWithSinglePull() {
+			// Arrange
+			when(teamRepository.findActiveTeamNamesByMember("user1")).thenReturn(List.of(
+				Team.builder().id("t1").name("Time A").build(),
+				Team.builder().id("t2").name("Time B").build()));
+			when(teamRepository.pullMemberFromActiveTeams("user1")).thenReturn(2L);
+			when(userRepository.findById("user1")).thenReturn(Optional.of(normalUser));
+			
+			// Act
+			teamService.removeUserFromAllActiveTeams("user1", "Usuário inativado");
+			
+			// Assert
+			verify(teamRepository, times(1)).pullMemberFromActiveTeams("user1");
+			verify(teamRepository, never()).save(any());
+			verify(userRepository, times(1)).save(normalUser);
+			assertFalse(normalUser.getHasGroup());
+			verify(userCache).evict(normalUser);
+			verify(notificationOutboxService).recordTeamExit("Student One", "Time A", "Usuário inativado");
+			verify(notificationOutboxService).recordTeamExit("Student One", "Time B", "Usuário inativado");
+		}
+		
+		// TEST 16 — Código gerado que colide no índice único é trocado e a inserção repetida
+		@Test
+		void shouldRetryWithNewCodeOnDuplicateKey() {
+			// Arrange
+			List<String> attemptedCodes = new ArrayList<>();
+			when(userRepository.findById("admin1")).thenReturn(Optional.of(adminUser));
+			when(teamRepository.insert(any(Team.class))).thenAnswer(i -> {
+				Team toInsert = i.getArgument(0);
+				attemptedCodes.add(toInsert.getSecurityCode());
+				if (attemptedCodes.size() == 1) throw new DuplicateKeyException("E11000 securityCode");
+				return toInsert;
+			});
+			
+			// Act
+			Team result = teamService.createTeam(Team.builder().name("Time X").build(), "admin1");
+			
+			// Assert
+			assertEquals(2, attemptedCodes.size());
+			assertNotEquals(attemptedCodes.get(0), attemptedCodes.get(1));
+			assertEquals(attemptedCodes.get(1), result.getSecurityCode());
+		}
+		
+		// TEST 17 — Código informado pelo admin que já existe não é trocado: erro
+		@Test
+		void shouldRejectDuplicateRequestedCode() {
+			// Arrange
+			when(userRepository.findById("admin1")).thenReturn(Optional.of(adminUser));
+			when(teamRepository.insert(any(Team.class))).thenThrow(new DuplicateKeyException("E11000 securityCode"));
+			Team teamData = Team.builder().name("Time X").securityCode("MEUCODIGO").build();
+			
+			// Act & Assert
+			RuntimeException exception = assertThrows(RuntimeException.class, () -> teamService.createTeam(teamData, "admin1"));
+			assertEquals("Código de segurança já existe. Gere um novo código.", exception.getMessage());
+			verify(teamRepository, times(1)).insert(any(Team.class));
+		}
+		
+		// TEST 18 — Times da turma em um lote; só os que colidiram são reenviados com código novo
+		@Test
+		void shouldCreateTeamsForClassInOneBatch() {
+			// Arrange
+			when(userRepository.findById("admin1")).thenReturn(Optional.of(adminUser));
+			List<Integer> batchSizes = new ArrayList<>();
+			when(teamRepository.insertAllUnordered(anyList())).thenAnswer(i -> {
+				List<Team> batch = i.getArgument(0);
+				batchSizes.add(batch.size());
+				return batchSizes.size() == 1 ? List.of(3) : List.of();
+			});
+			
+			// Act
+			List<Team> teams = teamService.createTeamsForClass("Turma 12", 8, 6, null, "admin1");
+			
+			// Assert
+			assertEquals(List.of(8, 1), batchSizes);
+			assertEquals(8, teams.size());
+			assertEquals("Turma 12 - Time 1", teams.get(0).getName());
+			assertEquals("Turma 12 - Time 8", teams.get(7).getName());
+			assertTrue(teams.stream().allMatch(t -> t.getMaxMembers() == 6 && SecurityCodeGenerator.isValid(t.getSecurityCode())));
+			assertEquals(8, teams.stream().map(Team::getSecurityCode).distinct().count());
+		}
+		
+		// TEST 19 — Código digitado com minúsculas/hífen e O no lugar de 0 ainda encontra o time
+		@Test
+		void shouldFindTeamByNormalizedSecurityCode() {
+			// Arrange
+			String code = SecurityCodeGenerator.generate();
+			String typed = code.substring(0, 4).toLowerCase() + "-" + code.substring(4);
+			when(teamRepository.findBySecurityCode(typed)).thenReturn(Optional.empty());
+			when(teamRepository.findBySecurityCode(code)).thenReturn(Optional.of(team));
+			
+			// Act & Assert
+			assertEquals(Optional.of(team), teamService.getTeamBySecurityCode(typed));
+		}
 	}
 }
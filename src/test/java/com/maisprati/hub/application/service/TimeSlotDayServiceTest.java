@@ -2,20 +2,31 @@ package com.maisprati.hub.application.service;
 
 import com.maisprati.hub.domain.exception.DayNotFoundException;
 import com.maisprati.hub.domain.exception.SlotUnavailableException;
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import com.maisprati.hub.domain.model.AvailableSlot;
 import com.maisprati.hub.domain.model.TimeSlot;
 import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCacheProperties;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache;
+import com.maisprati.hub.infrastructure.persistence.repository.AvailabilityRuleRepository;
 import com.maisprati.hub.infrastructure.persistence.repository.TimeSlotDayRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.springframework.data.domain.Range;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,7 +35,9 @@ import static org.mockito.Mockito.*;
 class TimeSlotDayServiceTest {
 	
 	@Mock private TimeSlotDayRepository timeSlotDayRepository;
-	@InjectMocks private TimeSlotDayService timeSlotDayService;
+	@Mock private AvailabilityRuleRepository availabilityRuleRepository;
+	private AvailabilityCalendarCache availabilityCalendarCache;
+	private TimeSlotDayService timeSlotDayService;
 	
 	private final LocalDate date = LocalDate.of(2025, 11, 1);
 	private final String adminId = "admin1";
@@ -33,6 +46,23 @@ class TimeSlotDayServiceTest {
 	void setUp() {
 		// Inicializa os mocks antes de cada teste
 		MockitoAnnotations.openMocks(this);
+		availabilityCalendarCache = new AvailabilityCalendarCache(new AvailabilityCacheProperties(), new SimpleMeterRegistry());
+		availabilityCalendarCache.init();
+		timeSlotDayService = new TimeSlotDayService(timeSlotDayRepository, availabilityCalendarCache, availabilityRuleRepository);
+	}
+	
+	// Terças e quintas de novembro, 14:00–15:00 a cada 30 min; 13/11 excluído
+	private AvailabilityRule tuesdayThursdayRule() {
+		return AvailabilityRule.builder().id("rule1").adminId(adminId)
+			       .daysOfWeek(Set.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY))
+			       .startTime("14:00").endTime("15:00").intervalMinutes(30)
+			       .validFrom(date).validUntil(LocalDate.of(2025, 11, 30))
+			       .excludedDates(Set.of(LocalDate.of(2025, 11, 13)))
+			       .build();
+	}
+	
+	private Range<LocalDate> november() {
+		return Range.rightOpen(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 12, 1));
 	}
 	
 	// TEST 1 — Preservar slots já reservados ao atualizar o dia
@@ -76,23 +106,27 @@ class TimeSlotDayServiceTest {
 			                  .slots(List.of(available))
 			                  .build();
 		
-		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date)).thenReturn(Optional.of(day));
-		when(timeSlotDayRepository.save(any(TimeSlotDay.class))).thenAnswer(i -> i.getArgument(0));
+		available.setBooked(true);
+		available.setAvailable(false);
+		when(timeSlotDayRepository.bookSlot(adminId, date, "10:00")).thenReturn(day);
 		
 		// Act
 		TimeSlotDay result = timeSlotDayService.markSlotAsBooked(adminId, date, LocalTime.of(10, 0));
 		
-		// Assert
+		// Assert: uma única atualização condicional, sem leitura prévia nem regravação do dia
 		TimeSlot slot = result.getSlots().get(0);
 		assertTrue(slot.isBooked());
 		assertFalse(slot.isAvailable());
-		verify(timeSlotDayRepository, times(1)).save(result);
+		verify(timeSlotDayRepository, times(1)).bookSlot(adminId, date, "10:00");
+		verify(timeSlotDayRepository, never()).findByAdminIdAndDate(any(), any());
+		verify(timeSlotDayRepository, never()).save(any());
 	}
 	
 	// TEST 3 — Marcar slot em dia inexistente lança exceção
 	@Test
 	void shouldThrowExceptionWhenDayNotFound() {
 		// Arrange
+		when(timeSlotDayRepository.bookSlot(adminId, date, "09:00")).thenReturn(null);
 		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date)).thenReturn(Optional.empty());
 		
 		// Act + Assert
@@ -111,34 +145,28 @@ class TimeSlotDayServiceTest {
 			                  .slots(List.of(booked))
 			                  .build();
 		
+		when(timeSlotDayRepository.bookSlot(adminId, date, "09:00")).thenReturn(null);
 		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date)).thenReturn(Optional.of(day));
 		
 		// Act + Assert
-		assertThrows(SlotUnavailableException.class,
+		SlotUnavailableException exception = assertThrows(SlotUnavailableException.class,
 			() -> timeSlotDayService.markSlotAsBooked(adminId, date, LocalTime.of(9, 0)));
+		assertEquals("Horário indisponível", exception.getMessage());
 	}
 	
 	// TEST 5 — Liberar slot reservado com sucesso
 	@Test
 	void shouldReleaseBookedSlotSuccessfully() {
 		// Arrange
-		TimeSlot booked = new TimeSlot("09:00", false, true);
-		TimeSlotDay day = TimeSlotDay.builder()
-			                  .adminId(adminId)
-			                  .date(date)
-			                  .slots(List.of(booked))
-			                  .build();
-		
-		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date)).thenReturn(Optional.of(day));
+		when(timeSlotDayRepository.releaseSlot(adminId, date, "09:00")).thenReturn(true);
 		
 		// Act
 		timeSlotDayService.releaseSlot(adminId, date, LocalTime.of(9, 0));
 		
-		// Assert
-		TimeSlot slot = day.getSlots().get(0);
-		assertFalse(slot.isBooked());
-		assertTrue(slot.isAvailable());
-		verify(timeSlotDayRepository, times(1)).save(day);
+		// Assert: atualização posicional, sem carregar nem regravar o dia
+		verify(timeSlotDayRepository, times(1)).releaseSlot(adminId, date, "09:00");
+		verify(timeSlotDayRepository, never()).findByAdminIdAndDate(any(), any());
+		verify(timeSlotDayRepository, never()).save(any());
 	}
 	
 	// TEST 6 — Obter dia existente
@@ -151,12 +179,12 @@ class TimeSlotDayServiceTest {
 			                  .slots(List.of())
 			                  .build();
 		
-		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date)).thenReturn(Optional.of(day));
+		when(timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, november())).thenReturn(List.of(day));
 		
 		// Act
 		TimeSlotDay result = timeSlotDayService.getDayByAdminAndDate(adminId, date);
 		
-		// Assert
+		// Assert: lido do mês em cache
 		assertEquals(day, result);
 	}
 	
@@ -164,7 +192,7 @@ class TimeSlotDayServiceTest {
 	@Test
 	void shouldThrowExceptionWhenDayNotFoundInGetDayByAdminAndDate() {
 		// Arrange
-		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date)).thenReturn(Optional.empty());
+		when(timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, november())).thenReturn(List.of());
 		
 		// Act + Assert
 		assertThrows(DayNotFoundException.class,
@@ -174,12 +202,9 @@ class TimeSlotDayServiceTest {
 	// TEST 8 — Obter slots de um mês específico
 	@Test
 	void shouldReturnSlotsWithinMonthRange() {
-		// Arrange
-		LocalDate start = LocalDate.of(2025, 11, 1);
-		LocalDate end = start.plusMonths(1);
-		
-		List<TimeSlotDay> expected = List.of(new TimeSlotDay());
-		when(timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, start, end))
+		// Arrange: do dia 1 (inclusive) ao dia 1 do mês seguinte (exclusive)
+		List<TimeSlotDay> expected = List.of(TimeSlotDay.builder().adminId(adminId).date(date).slots(List.of()).build());
+		when(timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, november()))
 			.thenReturn(expected);
 		
 		// Act
@@ -187,6 +212,201 @@ class TimeSlotDayServiceTest {
 		
 		// Assert
 		assertEquals(expected, result);
-		verify(timeSlotDayRepository).findByAdminIdAndDateBetween(adminId, start, end);
+		verify(timeSlotDayRepository).findByAdminIdAndDateBetween(adminId, november());
+	}
+	
+	// TEST 9 — Busca de horários livres: dias em bitmap intercalados na ordem da agregação, limitado a N
+	@Test
+	void shouldMergeBitmapDaysIntoAvailabilitySearch() {
+		// Arrange
+		LocalDate to = date.plusDays(7);
+		TimeSlotDay bitmapDay = TimeSlotDay.builder().adminId("admin2").date(date).slots(List.of(
+			new TimeSlot("09:30", true, false),
+			new TimeSlot("10:00", false, true))).build();
+		when(timeSlotDayRepository.streamBitmapDays(date, to)).thenReturn(Stream.of(bitmapDay));
+		when(timeSlotDayRepository.streamAvailableSlots(date, to, "09:00", null, 3)).thenReturn(Stream.of(
+			new AvailableSlot("admin1", date, "09:00"),
+			new AvailableSlot("admin1", date, "11:00"),
+			new AvailableSlot("admin1", date.plusDays(1), "09:00")));
+		
+		// Act
+		List<AvailableSlot> result;
+		try (Stream<AvailableSlot> slots = timeSlotDayService.findAvailableSlots(date, to, LocalTime.of(9, 0), null, 3)) {
+			result = slots.toList();
+		}
+		
+		// Assert
+		assertEquals(List.of(
+			new AvailableSlot("admin1", date, "09:00"),
+			new AvailableSlot("admin2", date, "09:30"),
+			new AvailableSlot("admin1", date, "11:00")), result);
+	}
+	
+	// TEST 10 — Intervalos inválidos são recusados antes de consultar o banco
+	@Test
+	void shouldRejectInvalidSearchRanges() {
+		assertThrows(IllegalArgumentException.class,
+			() -> timeSlotDayService.findAvailableSlots(date, date.minusDays(1), null, null, null));
+		assertThrows(IllegalArgumentException.class,
+			() -> timeSlotDayService.findAvailableSlots(date, date.plusYears(1), null, null, null));
+		assertThrows(IllegalArgumentException.class,
+			() -> timeSlotDayService.findAvailableSlots(date, date, LocalTime.of(18, 0), LocalTime.of(9, 0), null));
+		verifyNoInteractions(timeSlotDayRepository);
+	}
+	
+	// TEST 11 — Liberar horário em dia inexistente lança exceção
+	@Test
+	void shouldThrowExceptionWhenReleasingSlotOfMissingDay() {
+		// Arrange
+		when(timeSlotDayRepository.releaseSlot(adminId, date, "09:00")).thenReturn(false);
+		when(timeSlotDayRepository.existsByAdminIdAndDate(adminId, date)).thenReturn(false);
+		
+		// Act + Assert
+		assertThrows(DayNotFoundException.class,
+			() -> timeSlotDayService.releaseSlot(adminId, date, LocalTime.of(9, 0)));
+	}
+	
+	// TEST 12 — Calendário em cache: reserva, liberação e edição do dia atualizam o mês sem reler o banco
+	@Test
+	void shouldKeepCachedMonthInSyncWithWrites() {
+		// Arrange
+		TimeSlotDay day = TimeSlotDay.builder().adminId(adminId).date(date).slots(List.of(
+			new TimeSlot("09:00", true, false))).build();
+		when(timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, november())).thenReturn(List.of(day));
+		String initialEtag = timeSlotDayService.getMonthSnapshot(adminId, YearMonth.of(2025, 11)).etag();
+		
+		TimeSlotDay booked = TimeSlotDay.builder().adminId(adminId).date(date).slots(List.of(
+			new TimeSlot("09:00", false, true))).build();
+		when(timeSlotDayRepository.bookSlot(adminId, date, "09:00")).thenReturn(booked);
+		when(timeSlotDayRepository.releaseSlot(adminId, date, "09:00")).thenReturn(true);
+		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, date.plusDays(1))).thenReturn(Optional.empty());
+		when(timeSlotDayRepository.save(any(TimeSlotDay.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		// Act + Assert: reserva
+		timeSlotDayService.markSlotAsBooked(adminId, date, LocalTime.of(9, 0));
+		TimeSlot slot = timeSlotDayService.getDayByAdminAndDate(adminId, date).getSlots().get(0);
+		assertTrue(slot.isBooked());
+		String bookedEtag = timeSlotDayService.getMonthSnapshot(adminId, YearMonth.of(2025, 11)).etag();
+		assertNotEquals(initialEtag, bookedEtag);
+		
+		// Act + Assert: liberação volta ao conteúdo (e ao ETag) inicial
+		timeSlotDayService.releaseSlot(adminId, date, LocalTime.of(9, 0));
+		assertFalse(timeSlotDayService.getDayByAdminAndDate(adminId, date).getSlots().get(0).isBooked());
+		assertEquals(initialEtag, timeSlotDayService.getMonthSnapshot(adminId, YearMonth.of(2025, 11)).etag());
+		
+		// Act + Assert: novo dia entra no mês em ordem de data
+		timeSlotDayService.createOrUpdateDay(adminId, date.plusDays(1), List.of(new TimeSlot("10:00", true, false)));
+		List<TimeSlotDay> month = timeSlotDayService.getSlotsByAdminAndMonth(adminId, 2025, 11);
+		assertEquals(List.of(date, date.plusDays(1)), month.stream().map(TimeSlotDay::getDate).toList());
+		
+		verify(timeSlotDayRepository, times(1)).findByAdminIdAndDateBetween(adminId, november());
+	}
+	
+	// TEST 13 — Mês com regra: dias da regra expandidos em memória, dia gravado prevalece, data excluída fica de fora
+	@Test
+	void shouldMergeRuleDaysIntoMonth() {
+		// Arrange
+		LocalDate tuesday = LocalDate.of(2025, 11, 4);
+		TimeSlotDay stored = TimeSlotDay.builder().id("d1").adminId(adminId).date(tuesday)
+			                     .slots(List.of(new TimeSlot("10:00", true, false))).build();
+		when(timeSlotDayRepository.findByAdminIdAndDateBetween(adminId, november())).thenReturn(List.of(stored));
+		when(availabilityRuleRepository.findActiveByAdminId(adminId, date, LocalDate.of(2025, 11, 30)))
+			.thenReturn(List.of(tuesdayThursdayRule()));
+		
+		// Act
+		List<TimeSlotDay> month = timeSlotDayService.getSlotsByAdminAndMonth(adminId, 2025, 11);
+		
+		// Assert: 8 terças/quintas, 13/11 excluída
+		assertEquals(List.of(4, 6, 11, 18, 20, 25, 27), month.stream().map(day -> day.getDate().getDayOfMonth()).toList());
+		assertEquals(List.of("10:00"), month.get(0).getSlots().stream().map(TimeSlot::getTime).toList());
+		assertEquals(List.of("14:00", "14:30"), month.get(1).getSlots().stream().map(TimeSlot::getTime).toList());
+		assertNull(month.get(1).getId());
+		verify(timeSlotDayRepository, never()).save(any());
+		verify(timeSlotDayRepository, never()).materializeDays(any());
+	}
+	
+	// TEST 14 — Reservar horário de regra: o dia é materializado (uma vez) e a reserva refeita sobre ele
+	@Test
+	void shouldMaterializeRuleDayOnFirstBooking() {
+		// Arrange
+		LocalDate thursday = LocalDate.of(2025, 11, 6);
+		TimeSlotDay booked = TimeSlotDay.builder().id("admin1:2025-11-06").adminId(adminId).date(thursday).slots(List.of(
+			new TimeSlot("14:00", true, false), new TimeSlot("14:30", false, true))).build();
+		when(timeSlotDayRepository.bookSlot(adminId, thursday, "14:30")).thenReturn(null, booked);
+		when(timeSlotDayRepository.existsByAdminIdAndDate(adminId, thursday)).thenReturn(false);
+		when(availabilityRuleRepository.findActiveByAdminId(adminId, thursday, thursday)).thenReturn(List.of(tuesdayThursdayRule()));
+		
+		// Act
+		TimeSlotDay result = timeSlotDayService.markSlotAsBooked(adminId, thursday, LocalTime.of(14, 30));
+		
+		// Assert
+		assertEquals(booked, result);
+		verify(timeSlotDayRepository, times(1)).materializeDays(List.of(TimeSlotDay.builder()
+			.id("admin1:2025-11-06").adminId(adminId).date(thursday)
+			.slots(List.of(new TimeSlot("14:00", true, false), new TimeSlot("14:30", true, false))).build()));
+		verify(timeSlotDayRepository, times(2)).bookSlot(adminId, thursday, "14:30");
+	}
+	
+	// TEST 15 — Horário que a regra não oferece: nada é gravado e a reserva é recusada
+	@Test
+	void shouldNotMaterializeWhenRuleDoesNotOfferTime() {
+		// Arrange
+		LocalDate thursday = LocalDate.of(2025, 11, 6);
+		when(timeSlotDayRepository.bookSlot(adminId, thursday, "09:00")).thenReturn(null);
+		when(timeSlotDayRepository.findByAdminIdAndDate(adminId, thursday)).thenReturn(Optional.empty());
+		when(availabilityRuleRepository.findActiveByAdminId(adminId, thursday, thursday)).thenReturn(List.of(tuesdayThursdayRule()));
+		
+		// Act + Assert
+		SlotUnavailableException exception = assertThrows(SlotUnavailableException.class,
+			() -> timeSlotDayService.markSlotAsBooked(adminId, thursday, LocalTime.of(9, 0)));
+		assertEquals("Horário não encontrado", exception.getMessage());
+		verify(timeSlotDayRepository, never()).materializeDays(any());
+	}
+	
+	// TEST 16 — Busca de horários livres inclui os dias de regra ainda não gravados
+	@Test
+	void shouldIncludeRuleSlotsInAvailabilitySearch() {
+		// Arrange
+		LocalDate tuesday = LocalDate.of(2025, 11, 4);
+		LocalDate to = LocalDate.of(2025, 11, 7);
+		when(availabilityRuleRepository.findActive(date, to)).thenReturn(List.of(tuesdayThursdayRule()));
+		when(timeSlotDayRepository.findKeysByDateBetween(date, to))
+			.thenReturn(List.of(TimeSlotDay.builder().adminId(adminId).date(tuesday).build()));
+		when(timeSlotDayRepository.streamBitmapDays(date, to)).thenReturn(Stream.empty());
+		when(timeSlotDayRepository.streamAvailableSlots(date, to, null, null, 3))
+			.thenReturn(Stream.of(new AvailableSlot(adminId, tuesday, "16:00")));
+		
+		// Act
+		List<AvailableSlot> result;
+		try (Stream<AvailableSlot> slots = timeSlotDayService.findAvailableSlots(date, to, null, null, 3)) {
+			result = slots.toList();
+		}
+		
+		// Assert: terça já gravada vem da agregação; quinta vem da regra
+		LocalDate thursday = LocalDate.of(2025, 11, 6);
+		assertEquals(List.of(
+			new AvailableSlot(adminId, tuesday, "16:00"),
+			new AvailableSlot(adminId, thursday, "14:00"),
+			new AvailableSlot(adminId, thursday, "14:30")), result);
+	}
+	
+	// TEST 17 — Job de materialização grava só os dias de regra que ainda não existem
+	@Test
+	void shouldMaterializeOnlyMissingRuleDays() {
+		// Arrange
+		LocalDate to = LocalDate.of(2025, 11, 7);
+		when(availabilityRuleRepository.findActive(date, to)).thenReturn(List.of(tuesdayThursdayRule()));
+		when(timeSlotDayRepository.findKeysByDateBetween(date, to))
+			.thenReturn(List.of(TimeSlotDay.builder().adminId(adminId).date(LocalDate.of(2025, 11, 4)).build()));
+		when(timeSlotDayRepository.materializeDays(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+		
+		// Act
+		int created = timeSlotDayService.materializeRuleDays(date, to);
+		
+		// Assert
+		assertEquals(1, created);
+		ArgumentCaptor<List<TimeSlotDay>> days = ArgumentCaptor.forClass(List.class);
+		verify(timeSlotDayRepository).materializeDays(days.capture());
+		assertEquals(List.of("admin1:2025-11-06"), days.getValue().stream().map(TimeSlotDay::getId).toList());
 	}
 }
@@ -2,6 +2,7 @@ package com.maisprati.hub.application.service;
 
 import com.maisprati.hub.domain.enums.UserType;
 import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,7 @@ class UserServiceTest {
 	
 	@Mock private UserRepository userRepository;
 	@Mock private PasswordEncoder passwordEncoder;
+	@Mock private UserCache userCache;
 	@InjectMocks private UserService userService;
 	
 	@BeforeEach
@@ -214,7 +217,48 @@ class UserServiceTest {
 		verify(userRepository).save(existing);
 	}
 	
-	// TEST 13 - Deve retornar todos os usuários
+	// TEST 13 - Inativar usuário deve invalidar o cache de autenticação
+	@Test
+	void shouldEvictUserCacheWhenDeactivatingUser() {
+		User existing = User.builder().id("1").email("a@mail.com").isActive(true).build();
+		
+		when(userRepository.findById("1")).thenReturn(Optional.of(existing));
+		when(userRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		
+		User result = userService.deactivateUser("1");
+		
+		assertFalse(result.getIsActive());
+		verify(userCache).evict(existing);
+	}
+	
+	// TEST 14 - Alterar e-mail deve invalidar o e-mail antigo e o novo
+	@Test
+	void shouldEvictPreviousAndNewEmailWhenUpdatingUser() {
+		User existing = User.builder().id("1").email("old@mail.com").type(UserType.ADMIN).build();
+		User updated = User.builder().id("1").email("new@mail.com").build();
+		
+		// Registra o e-mail no momento de cada invalidação (o objeto é alterado depois)
+		List<String> evictedEmails = new ArrayList<>();
+		doAnswer(i -> evictedEmails.add(((User) i.getArgument(0)).getEmail()))
+			.when(userCache).evict(any(User.class));
+		when(userRepository.findById("1")).thenReturn(Optional.of(existing));
+		when(userRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+		
+		userService.updateUser(updated);
+		
+		assertEquals(List.of("old@mail.com", "new@mail.com"), evictedEmails);
+	}
+	
+	// TEST 15 - Remover usuário deve invalidar o cache
+	@Test
+	void shouldEvictUserCacheWhenDeletingUser() {
+		userService.deleteUser("1");
+		
+		verify(userRepository).deleteById("1");
+		verify(userCache).evictById("1");
+	}
+	
+	// TEST 16 - Deve retornar todos os usuários
 	@Test
 	void shouldReturnAllUsers() {
 		when(userRepository.findAll()).thenReturn(List.of(new User(), new User()));
@@ -0,0 +1,65 @@
+package com.maisprati.hub.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityRuleTest {
+	
+	private final LocalDate tuesday = LocalDate.of(2025, 11, 4);
+	
+	private AvailabilityRule rule(String start, String end, int interval) {
+		return AvailabilityRule.builder()
+			       .adminId("admin1")
+			       .daysOfWeek(Set.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY))
+			       .startTime(start)
+			       .endTime(end)
+			       .intervalMinutes(interval)
+			       .validFrom(LocalDate.of(2025, 8, 4))
+			       .validUntil(LocalDate.of(2025, 12, 19))
+			       .excludedDates(Set.of(LocalDate.of(2025, 11, 20)))
+			       .build();
+	}
+	
+	// TEST 1 — "Ter/Qui 14:00–17:00 a cada 30 min": seis horários livres, fim exclusivo
+	@Test
+	void shouldExpandSlotsEveryIntervalUntilEndExclusive() {
+		List<TimeSlot> slots = rule("14:00", "17:00", 30).slotsOn(tuesday);
+		
+		assertEquals(List.of("14:00", "14:30", "15:00", "15:30", "16:00", "16:30"),
+			slots.stream().map(TimeSlot::getTime).toList());
+		assertTrue(slots.stream().allMatch(slot -> slot.isAvailable() && !slot.isBooked()));
+	}
+	
+	// TEST 2 — Fora dos dias da semana, da validade ou numa data excluída: nenhum horário
+	@Test
+	void shouldNotApplyOutsideDaysValidityOrExcludedDates() {
+		AvailabilityRule rule = rule("14:00", "17:00", 30);
+		
+		assertTrue(rule.slotsOn(tuesday.plusDays(1)).isEmpty()); // quarta
+		assertTrue(rule.slotsOn(LocalDate.of(2025, 12, 23)).isEmpty()); // depois da validade
+		assertTrue(rule.slotsOn(LocalDate.of(2025, 11, 20)).isEmpty()); // quinta excluída
+		assertFalse(rule.slotsOn(LocalDate.of(2025, 11, 13)).isEmpty());
+	}
+	
+	// TEST 3 — Regras sobrepostas: união dos horários em ordem cronológica, sem repetição
+	@Test
+	void shouldMergeOverlappingRulesChronologically() {
+		List<TimeSlot> slots = AvailabilityRule.expand(List.of(rule("15:00", "16:00", 30), rule("09:00", "15:31", 180)), tuesday);
+		
+		assertEquals(List.of("09:00", "12:00", "15:00", "15:30"), slots.stream().map(TimeSlot::getTime).toList());
+	}
+	
+	// TEST 4 — Janela até o fim do dia não dá a volta na meia-noite
+	@Test
+	void shouldStopAtMidnight() {
+		List<TimeSlot> slots = rule("23:00", "23:59", 30).slotsOn(tuesday);
+		
+		assertEquals(List.of("23:00", "23:30"), slots.stream().map(TimeSlot::getTime).toList());
+	}
+}
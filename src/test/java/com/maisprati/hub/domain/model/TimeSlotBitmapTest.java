@@ -0,0 +1,56 @@
+package com.maisprati.hub.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSlotBitmapTest {
+	
+	// TEST 1 — Ida e volta: lista → bitmap → lista (em ordem cronológica)
+	@Test
+	void shouldRoundTripSlots() {
+		List<TimeSlot> slots = List.of(
+			new TimeSlot("23:55", true, false),
+			new TimeSlot("09:00", false, true),
+			new TimeSlot("00:00", true, false),
+			new TimeSlot("14:30", false, false));
+		
+		TimeSlotBitmap bitmap = TimeSlotBitmap.of(slots);
+		
+		assertNotNull(bitmap);
+		assertEquals(List.of(
+			new TimeSlot("00:00", true, false),
+			new TimeSlot("09:00", false, true),
+			new TimeSlot("14:30", false, false),
+			new TimeSlot("23:55", true, false)), bitmap.toSlots());
+	}
+	
+	// TEST 2 — Horário fora da granularidade ou mal formatado não é representável
+	@Test
+	void shouldRejectUnrepresentableTimes() {
+		assertNull(TimeSlotBitmap.of(List.of(new TimeSlot("09:07", true, false))));
+		assertEquals(-1, TimeSlotBitmap.bucketOf("9:00"));
+		assertEquals(-1, TimeSlotBitmap.bucketOf("24:00"));
+		assertEquals(-1, TimeSlotBitmap.bucketOf("ab:cd"));
+		assertEquals(168, TimeSlotBitmap.bucketOf("14:00"));
+	}
+	
+	// TEST 3 — Merge: reservados são mantidos como estão, os demais horários vêm da nova grade
+	@Test
+	void shouldMergeKeepingBookedSlots() {
+		TimeSlotBitmap current = TimeSlotBitmap.of(List.of(
+			new TimeSlot("09:00", false, true),
+			new TimeSlot("10:00", true, false)));
+		TimeSlotBitmap incoming = TimeSlotBitmap.of(List.of(
+			new TimeSlot("09:00", true, false),
+			new TimeSlot("11:00", true, false)));
+		
+		List<TimeSlot> merged = current.mergeKeepingBooked(incoming).toSlots();
+		
+		assertEquals(List.of(
+			new TimeSlot("09:00", false, true),
+			new TimeSlot("11:00", true, false)), merged);
+	}
+}
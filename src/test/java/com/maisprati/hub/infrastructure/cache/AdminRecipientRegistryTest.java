@@ -0,0 +1,65 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdminRecipientRegistryTest {
+	
+	private UserRepository userRepository;
+	private AdminRecipientRegistry registry;
+	
+	@BeforeEach
+	void setup() {
+		userRepository = mock(UserRepository.class);
+		registry = new AdminRecipientRegistry(userRepository);
+		when(userRepository.findByType(UserType.ADMIN)).thenReturn(List.of(
+			User.builder().id("a1").type(UserType.ADMIN).build(),
+			User.builder().id("a2").type(UserType.ADMIN).isActive(false).build()
+		));
+	}
+	
+	// TEST 1 — Admins resolvidos uma única vez, ignorando os desativados
+	@Test
+	void shouldLoadActiveAdminsOnce() {
+		registry.getAdminIds();
+		List<String> ids = registry.getAdminIds();
+		
+		assertEquals(List.of("a1"), ids);
+		verify(userRepository, times(1)).findByType(UserType.ADMIN);
+	}
+	
+	// TEST 2 — Novo admin salvo entra sem nova consulta
+	@Test
+	void shouldAddAdminOnSave() {
+		registry.getAdminIds();
+		
+		registry.onUserSaved(User.builder().id("a3").type(UserType.ADMIN).build());
+		
+		assertEquals(List.of("a1", "a3"), registry.getAdminIds());
+		verify(userRepository, times(1)).findByType(UserType.ADMIN);
+	}
+	
+	// TEST 3 — Admin rebaixado, desativado ou removido sai da lista
+	@Test
+	void shouldRemoveAdminOnDemotionDeactivationOrDelete() {
+		registry.onUserSaved(User.builder().id("a3").type(UserType.ADMIN).build()); // antes do carregamento: ignorado
+		registry.getAdminIds();
+		registry.onUserSaved(User.builder().id("a3").type(UserType.ADMIN).build());
+		registry.onUserSaved(User.builder().id("a4").type(UserType.ADMIN).build());
+		
+		registry.onUserSaved(User.builder().id("a1").type(UserType.STUDENT).build());
+		registry.onUserSaved(User.builder().id("a3").type(UserType.ADMIN).isActive(false).build());
+		registry.onUserDeleted("a4");
+		
+		assertTrue(registry.getAdminIds().isEmpty());
+		assertFalse(registry.isAdmin("a1"));
+	}
+}
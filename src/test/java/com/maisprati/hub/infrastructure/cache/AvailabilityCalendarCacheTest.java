@@ -0,0 +1,149 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache.MonthSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCalendarCacheTest {
+	
+	private AvailabilityCacheProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private AvailabilityCalendarCache cache;
+	
+	private final YearMonth november = YearMonth.of(2025, 11);
+	private final LocalDate date = LocalDate.of(2025, 11, 3);
+	private final AtomicInteger loads = new AtomicInteger();
+	
+	@BeforeEach
+	void setup() {
+		properties = new AvailabilityCacheProperties();
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new AvailabilityCalendarCache(properties, meterRegistry);
+		cache.init();
+	}
+	
+	private List<TimeSlotDay> load() {
+		loads.incrementAndGet();
+		return List.of(day(date, new TimeSlot("09:00", true, false)));
+	}
+	
+	private static TimeSlotDay day(LocalDate date, TimeSlot... slots) {
+		return TimeSlotDay.builder().adminId("admin1").date(date).slots(List.of(slots)).build();
+	}
+	
+	// TEST 1 — Segunda leitura do mês não consulta o banco e as métricas refletem o hit
+	@Test
+	void shouldHitCacheOnSecondRead() {
+		cache.getMonth("admin1", november, this::load);
+		MonthSnapshot snapshot = cache.getMonth("admin1", november, this::load);
+		
+		assertEquals(1, loads.get());
+		assertEquals(1, snapshot.days().size());
+		assertEquals(0.5, meterRegistry.get("availability.cache.hit.ratio").gauge().value());
+		assertTrue(meterRegistry.get("availability.cache.staleness").gauge().value() >= 0);
+	}
+	
+	// TEST 2 — Dia salvo substitui o dia em memória e muda o ETag; mesmo conteúdo, mesmo ETag
+	@Test
+	void shouldApplySavedDayAndRecomputeEtag() {
+		String before = cache.getMonth("admin1", november, this::load).etag();
+		
+		cache.onDaySaved(day(date, new TimeSlot("09:00", false, true)));
+		MonthSnapshot booked = cache.getMonth("admin1", november, this::load);
+		cache.onSlotReleased("admin1", date, "09:00");
+		MonthSnapshot released = cache.getMonth("admin1", november, this::load);
+		
+		assertTrue(booked.days().get(0).getSlots().get(0).isBooked());
+		assertNotEquals(before, booked.etag());
+		assertEquals(before, released.etag());
+		assertEquals(1, loads.get());
+		assertEquals(2.0, meterRegistry.get("availability.cache.write.through").counter().count());
+	}
+	
+	// TEST 3 — Alteração de mês fora do cache é ignorada (o mês será lido do banco quando pedido)
+	@Test
+	void shouldIgnoreWritesForMonthsNotInCache() {
+		cache.onDaySaved(day(date.plusMonths(1), new TimeSlot("09:00", true, false)));
+		
+		assertEquals(0.0, meterRegistry.get("availability.cache.write.through").counter().count());
+		assertEquals(0.0, meterRegistry.get("availability.cache.staleness").gauge().value());
+	}
+	
+	// TEST 4 — O dia em memória não muda quando quem chamou altera o objeto salvo
+	@Test
+	void shouldNotShareMutableDaysWithCallers() {
+		cache.getMonth("admin1", november, this::load);
+		TimeSlotDay saved = day(date.plusDays(1), new TimeSlot("10:00", true, false));
+		cache.onDaySaved(saved);
+		
+		saved.getSlots().get(0).setBooked(true);
+		
+		MonthSnapshot snapshot = cache.getMonth("admin1", november, this::load);
+		assertEquals(List.of(date, date.plusDays(1)), snapshot.days().stream().map(TimeSlotDay::getDate).toList());
+		assertFalse(snapshot.day(date.plusDays(1)).orElseThrow().getSlots().get(0).isBooked());
+	}
+	
+	// TEST 5 — Cache desligado: toda leitura consulta o banco
+	@Test
+	void shouldAlwaysLoadWhenDisabled() {
+		properties.setEnabled(false);
+		
+		cache.getMonth("admin1", november, this::load);
+		cache.getMonth("admin1", november, this::load);
+		
+		assertEquals(2, loads.get());
+	}
+	
+	// TEST 6 — Reserva aplicada como delta: não desfaz a liberação de outro horário do mesmo dia aplicada antes dela
+	@Test
+	void shouldApplyBookingOnlyToBookedSlot() {
+		cache.getMonth("admin1", november, () -> List.of(day(date,
+			new TimeSlot("09:00", false, true), new TimeSlot("10:00", true, false))));
+		
+		// a reserva das 10:00 foi gravada antes da liberação das 09:00, mas chega ao cache depois dela
+		cache.onSlotReleased("admin1", date, "09:00");
+		cache.onSlotBooked("admin1", date, "10:00");
+		
+		List<TimeSlot> slots = cache.getMonth("admin1", november, this::load).day(date).orElseThrow().getSlots();
+		assertFalse(slots.get(0).isBooked());
+		assertTrue(slots.get(1).isBooked());
+		assertFalse(slots.get(1).isAvailable());
+	}
+	
+	// TEST 7 — Reserva de um dia ou horário que o mês em memória não tem: o mês é descartado e relido
+	@Test
+	void shouldEvictMonthWhenBookedDayIsMissing() {
+		cache.getMonth("admin1", november, this::load);
+		
+		cache.onSlotBooked("admin1", date.plusDays(1), "14:00");
+		cache.getMonth("admin1", november, this::load);
+		
+		assertEquals(2, loads.get());
+	}
+	
+	// TEST 8 — Reserva aplicada enquanto o mês era lido do banco: a leitura é devolvida, mas não fica em memória
+	@Test
+	void shouldNotCacheMonthLoadedConcurrentlyWithChange() {
+		MonthSnapshot first = cache.getMonth("admin1", november, () -> {
+			List<TimeSlotDay> days = load();
+			cache.onSlotBooked("admin1", date, "09:00"); // outra requisição, no meio da consulta
+			return days;
+		});
+		MonthSnapshot second = cache.getMonth("admin1", november, this::load);
+		cache.getMonth("admin1", november, this::load);
+		
+		assertTrue(first.day(date).isPresent());
+		assertTrue(second.day(date).isPresent());
+		assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,118 @@
+package com.maisprati.hub.infrastructure.cache;
+
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheTest {
+	
+	private UserRepository userRepository;
+	private UserCacheProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private UserCache userCache;
+	
+	private final User user = User.builder().id("u1").email("user@mail.com").build();
+	
+	@BeforeEach
+	void setup() {
+		userRepository = mock(UserRepository.class);
+		properties = new UserCacheProperties();
+		meterRegistry = new SimpleMeterRegistry();
+		userCache = new UserCache(userRepository, properties, meterRegistry);
+		userCache.init();
+	}
+	
+	// TEST 1 — Segunda busca pelo e-mail não consulta o banco
+	@Test
+	void shouldHitCacheOnSecondLookupByEmail() {
+		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+		
+		userCache.findByEmail("user@mail.com");
+		Optional<User> result = userCache.findByEmail("user@mail.com");
+		
+		assertEquals(user, result.orElseThrow());
+		verify(userRepository, times(1)).findByEmail("user@mail.com");
+	}
+	
+	// TEST 2 — Busca pelo e-mail popula também a chave por id
+	@Test
+	void shouldPopulateIdKeyWhenLoadingByEmail() {
+		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+		
+		userCache.findByEmail("user@mail.com");
+		Optional<User> result = userCache.findById("u1");
+		
+		assertTrue(result.isPresent());
+		verify(userRepository, never()).findById(any());
+	}
+	
+	// TEST 3 — Invalidação por id remove também a entrada por e-mail
+	@Test
+	void shouldEvictBothKeysById() {
+		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+		
+		userCache.findByEmail("user@mail.com");
+		userCache.evictById("u1");
+		userCache.findByEmail("user@mail.com");
+		
+		verify(userRepository, times(2)).findByEmail("user@mail.com");
+	}
+	
+	// TEST 4 — Usuário inexistente não é armazenado
+	@Test
+	void shouldNotCacheMissingUser() {
+		when(userRepository.findByEmail("none@mail.com")).thenReturn(Optional.empty());
+		
+		assertTrue(userCache.findByEmail("none@mail.com").isEmpty());
+		assertTrue(userCache.findByEmail("none@mail.com").isEmpty());
+		
+		verify(userRepository, times(2)).findByEmail("none@mail.com");
+	}
+	
+	// TEST 5 — Cache desligado sempre consulta o banco
+	@Test
+	void shouldBypassCacheWhenDisabled() {
+		properties.setEnabled(false);
+		when(userRepository.findById("u1")).thenReturn(Optional.of(user));
+		
+		userCache.findById("u1");
+		userCache.findById("u1");
+		
+		verify(userRepository, times(2)).findById("u1");
+	}
+	
+	// TEST 6 — Hit e miss são publicados como métricas
+	@Test
+	void shouldPublishHitAndMissMetrics() {
+		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+		
+		userCache.findByEmail("user@mail.com");
+		userCache.findByEmail("user@mail.com");
+		
+		double hits = meterRegistry.get("cache.gets").tag("cache", "users.by-email").tag("result", "hit")
+			              .functionCounter().count();
+		double misses = meterRegistry.get("cache.gets").tag("cache", "users.by-email").tag("result", "miss")
+			                .functionCounter().count();
+		assertEquals(1, hits);
+		assertEquals(1, misses);
+	}
+	
+	// TEST 7 — Alterar o usuário devolvido não muda a entrada em cache
+	@Test
+	void shouldReturnCopiesSoCallersCannotMutateCachedUser() {
+		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+		
+		userCache.findByEmail("user@mail.com").orElseThrow().setHasGroup(true);
+		userCache.findById("u1").orElseThrow().setHasGroup(true);
+		
+		assertNull(userCache.findByEmail("user@mail.com").orElseThrow().getHasGroup());
+		assertNull(userCache.findById("u1").orElseThrow().getHasGroup());
+	}
+}
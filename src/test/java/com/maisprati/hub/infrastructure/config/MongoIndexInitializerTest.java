@@ -0,0 +1,75 @@
+package com.maisprati.hub.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MongoIndexInitializerTest {
+
+	private IndexOperations indexOps;
+	private MongoIndexInitializer initializer;
+
+	@BeforeEach
+	void setup() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		indexOps = mock(IndexOperations.class);
+		when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+		initializer = new MongoIndexInitializer(mongoTemplate, mappingContext);
+	}
+
+	private static IndexInfo securityCodeIndex(boolean unique) {
+		return new IndexInfo(List.of(IndexField.create("securityCode", Sort.Direction.ASC)), "securityCode", unique, false, null);
+	}
+
+	// TEST 1 — Falha num índice de consulta só é registrada; o índice único de securityCode existe: a aplicação sobe
+	@Test
+	void shouldStartWhenOnlyQueryIndexFails() {
+		when(indexOps.createIndex(any())).thenAnswer(i -> {
+			if (!((IndexDefinition) i.getArgument(0)).getIndexOptions().getBoolean("unique", false)) {
+				throw new RuntimeException("timeout");
+			}
+			return "ok";
+		});
+		when(indexOps.getIndexInfo()).thenReturn(List.of(securityCodeIndex(true)));
+
+		assertDoesNotThrow(() -> initializer.run());
+	}
+
+	// TEST 2 — Falha ao criar um índice único impede a inicialização
+	@Test
+	void shouldFailStartupWhenUniqueIndexCannotBeCreated() {
+		when(indexOps.createIndex(any())).thenAnswer(i -> {
+			if (((IndexDefinition) i.getArgument(0)).getIndexOptions().getBoolean("unique", false)) {
+				throw new RuntimeException("E11000 duplicate key");
+			}
+			return "ok";
+		});
+
+		IllegalStateException exception = assertThrows(IllegalStateException.class, () -> initializer.run());
+		assertTrue(exception.getMessage().contains("securityCode"));
+	}
+
+	// TEST 3 — Índice de securityCode presente mas não único (criado à mão antes): a inicialização falha
+	@Test
+	void shouldFailStartupWhenSecurityCodeIndexIsNotUnique() {
+		when(indexOps.createIndex(any())).thenReturn("ok");
+		when(indexOps.getIndexInfo()).thenReturn(List.of(securityCodeIndex(false)));
+
+		assertThrows(IllegalStateException.class, () -> initializer.run());
+	}
+}
@@ -0,0 +1,83 @@
+package com.maisprati.hub.infrastructure.persistence.listener;
+
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.config.TimeSlotStorageProperties;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSlotDayStorageListenerTest {
+	
+	private TimeSlotStorageProperties properties;
+	private TimeSlotDayStorageListener listener;
+	
+	@BeforeEach
+	void setUp() {
+		properties = new TimeSlotStorageProperties();
+		listener = new TimeSlotDayStorageListener(properties);
+	}
+	
+	private static TimeSlotDay day(String... times) {
+		return TimeSlotDay.builder()
+			       .adminId("admin1")
+			       .slots(Arrays.stream(times).map(t -> new TimeSlot(t, true, false)).toList())
+			       .build();
+	}
+	
+	// TEST 1 — Formato bitmap: o documento guarda só os bitsets
+	@Test
+	void shouldStoreBitmapInsteadOfList() {
+		// Arrange
+		properties.setFormat(TimeSlotStorageProperties.Format.BITMAP);
+		TimeSlotDay day = day("09:00", "10:00");
+		Document document = new Document("slots", List.of());
+		
+		// Act
+		listener.onBeforeSave(new BeforeSaveEvent<>(day, document, "time_slots"));
+		
+		// Assert
+		assertFalse(document.containsKey("slots"));
+		assertEquals(5, document.getList("slotBits", Long.class).size());
+		assertEquals(2, Long.bitCount(document.getList("availableBits", Long.class).get(1)));
+		assertEquals(2, day.getSlots().size(), "a entidade devolvida continua com a lista");
+	}
+	
+	// TEST 2 — Horário fora da granularidade ou formato lista: documento fica como lista, sem bitsets antigos
+	@Test
+	void shouldKeepListWhenNotRepresentableOrListFormat() {
+		properties.setFormat(TimeSlotStorageProperties.Format.BITMAP);
+		Document unaligned = new Document("slots", List.of()).append("slotBits", List.of(1L));
+		listener.onBeforeSave(new BeforeSaveEvent<>(day("09:07"), unaligned, "time_slots"));
+		assertTrue(unaligned.containsKey("slots"));
+		assertFalse(unaligned.containsKey("slotBits"));
+		
+		properties.setFormat(TimeSlotStorageProperties.Format.LIST);
+		Document list = new Document("slots", List.of()).append("bookedBits", List.of(1L));
+		listener.onBeforeSave(new BeforeSaveEvent<>(day("09:00"), list, "time_slots"));
+		assertTrue(list.containsKey("slots"));
+		assertFalse(list.containsKey("bookedBits"));
+	}
+	
+	// TEST 3 — Leitura de documento bitmap reconstrói a lista exposta pela API
+	@Test
+	void shouldRebuildSlotsAfterConvert() {
+		// Arrange: 09:00 → bucket 108 → long 1, bit 44
+		long[] bits = new long[5];
+		bits[1] = 1L << 44;
+		TimeSlotDay day = TimeSlotDay.builder().slotBits(bits).availableBits(bits.clone()).bookedBits(new long[5]).build();
+		
+		// Act
+		listener.onAfterConvert(new AfterConvertEvent<>(new Document(), day, "time_slots"));
+		
+		// Assert
+		assertEquals(List.of(new TimeSlot("09:00", true, false)), day.getSlots());
+	}
+}
@@ -0,0 +1,80 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga sobre a verificação "usuário está em time ativo" ({@code GET /api/teams/user/{userId}/status}).
+ *
+ * <ul>
+ *     <li>{@code legacyInMemory}: {@code findByIsActiveTrue()} + busca em memória (latência cresce com os times)</li>
+ *     <li>{@code existsQuery}: {@link TeamRepository#existsActiveMembership} pelo índice
+ *     {@code (isActive, members.userId, members.isActive)} (latência constante)</li>
+ * </ul>
+ *
+ * <p>Roda com 8 threads concorrentes e usuários sorteados entre membros e não membros.</p>
+ *
+ * <p>Precisa de um MongoDB local; o banco {@code hub_benchmark} é apagado ao final:</p>
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.infrastructure.persistence.repository.ActiveMembershipBenchmark \
+ *     -Dmongo.uri=mongodb://localhost:27017
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActiveMembershipBenchmark {
+	
+	@Param({"100", "1000", "10000"})
+	private int teamCount;
+	
+	private TeamBenchmarkFixture fixture;
+	private TeamRepository teamRepository;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		fixture = new TeamBenchmarkFixture();
+		fixture.seedTeams(teamCount, i -> i % 10 != 0); // 10% dos times inativos
+		teamRepository = fixture.teamRepository();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fixture.close();
+	}
+	
+	/** Metade dos sorteios é de usuários que não estão em nenhum time (pior caso do scan em memória) */
+	private String randomUserId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return random.nextBoolean()
+			       ? "user-" + random.nextInt(teamCount) + "-" + random.nextInt(TeamBenchmarkFixture.MEMBERS_PER_TEAM)
+			       : "sem-time-" + random.nextInt(1_000_000);
+	}
+	
+	@Benchmark
+	public boolean legacyInMemory() {
+		String userId = randomUserId();
+		return teamRepository.findByIsActiveTrue().stream()
+			       .anyMatch(team -> team.getMembers().stream()
+				                         .anyMatch(member -> member.getUserId().equals(userId) && member.getIsActive()));
+	}
+	
+	@Benchmark
+	public boolean existsQuery() {
+		return teamRepository.existsActiveMembership(randomUserId());
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ActiveMembershipBenchmark.class.getSimpleName()).build()).run();
+	}
+}
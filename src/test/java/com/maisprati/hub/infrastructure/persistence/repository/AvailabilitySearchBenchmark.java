@@ -0,0 +1,135 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.AvailableSlot;
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.config.TimeSlotStorageProperties;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Busca dos primeiros horários livres num semestre (20 admins, dias úteis, 16 horários por dia,
+ * ~70% já reservados).
+ *
+ * <ul>
+ *     <li>{@code perAdminMonths}: o que o front faz hoje, {@code findByAdminIdAndDateBetween} mês a mês para
+ *     cada admin, trazendo todos os slots, e o filtro dos livres em memória</li>
+ *     <li>{@code aggregationSearch}: {@link TimeSlotDayRepositoryCustom#streamAvailableSlots} com o índice
+ *     {@code (date, adminId)}, só os N primeiros livres saem do banco</li>
+ * </ul>
+ *
+ * <p>Precisa de um MongoDB local; o banco {@code hub_benchmark} é apagado ao final:</p>
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.infrastructure.persistence.repository.AvailabilitySearchBenchmark \
+ *     -Dmongo.uri=mongodb://localhost:27017
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilitySearchBenchmark {
+	
+	private static final int ADMINS = 20;
+	private static final int RESULT_SIZE = 20;
+	private static final LocalDate SEMESTER_START = LocalDate.of(2025, 8, 1);
+	private static final LocalDate SEMESTER_END = SEMESTER_START.plusMonths(6).minusDays(1);
+	
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private TimeSlotDayRepository repository;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		client = MongoClients.create(System.getProperty("mongo.uri", "mongodb://localhost:27017"));
+		mongoTemplate = new MongoTemplate(client, "hub_benchmark");
+		mongoTemplate.dropCollection(TimeSlotDay.class);
+		
+		IndexOperations indexOps = mongoTemplate.indexOps(TimeSlotDay.class);
+		IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+		resolver.resolveIndexFor(TimeSlotDay.class).forEach(indexOps::createIndex);
+		
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<TimeSlotDay> days = new ArrayList<>();
+		for (LocalDate date = SEMESTER_START; !date.isAfter(SEMESTER_END); date = date.plusDays(1)) {
+			if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) continue;
+			for (int admin = 0; admin < ADMINS; admin++) {
+				List<TimeSlot> slots = new ArrayList<>();
+				for (int hour = 9; hour < 17; hour++) {
+					for (String minutes : List.of("00", "30")) {
+						boolean booked = random.nextDouble() < 0.7;
+						slots.add(new TimeSlot(String.format("%02d:%s", hour, minutes), !booked, booked));
+					}
+				}
+				days.add(TimeSlotDay.builder().adminId("admin-" + admin).date(date).slots(slots).build());
+			}
+		}
+		mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlotDay.class).insert(days).execute();
+		
+		repository = new MongoRepositoryFactory(mongoTemplate).getRepository(TimeSlotDayRepository.class,
+			RepositoryFragments.just(new TimeSlotDayRepositoryCustomImpl(mongoTemplate, new TimeSlotStorageProperties())));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		mongoTemplate.getDb().drop();
+		client.close();
+	}
+	
+	@Benchmark
+	public List<AvailableSlot> perAdminMonths() {
+		List<AvailableSlot> free = new ArrayList<>();
+		for (int admin = 0; admin < ADMINS; admin++) {
+			for (LocalDate month = SEMESTER_START; month.isBefore(SEMESTER_END); month = month.plusMonths(1)) {
+				for (TimeSlotDay day : repository.findByAdminIdAndDateBetween("admin-" + admin, month, month.plusMonths(1))) {
+					day.getSlots().stream()
+						.filter(slot -> slot.isAvailable() && !slot.isBooked())
+						.forEach(slot -> free.add(new AvailableSlot(day.getAdminId(), day.getDate(), slot.getTime())));
+				}
+			}
+		}
+		return free.stream().sorted(Comparator.comparing(AvailableSlot::date).thenComparing(AvailableSlot::time))
+			       .limit(RESULT_SIZE).toList();
+	}
+	
+	@Benchmark
+	public List<AvailableSlot> aggregationSearch() {
+		try (Stream<AvailableSlot> slots = repository.streamAvailableSlots(SEMESTER_START, SEMESTER_END, null, null, RESULT_SIZE)) {
+			return slots.toList();
+		}
+	}
+	
+	@Benchmark
+	public List<AvailableSlot> aggregationSearchAfternoon() {
+		try (Stream<AvailableSlot> slots = repository.streamAvailableSlots(SEMESTER_START, SEMESTER_END, "14:00", "17:00", RESULT_SIZE)) {
+			return slots.toList();
+		}
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AvailabilitySearchBenchmark.class.getSimpleName()).build()).run();
+	}
+}
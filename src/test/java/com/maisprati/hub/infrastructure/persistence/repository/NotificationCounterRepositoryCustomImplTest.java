@@ -0,0 +1,87 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.maisprati.hub.domain.model.NotificationCounter;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationCounterRepositoryCustomImplTest {
+	
+	@Mock private MongoTemplate mongoTemplate;
+	@Mock private BulkOperations bulkOperations;
+	@InjectMocks private NotificationCounterRepositoryCustomImpl repository;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationCounter.class)).thenReturn(bulkOperations);
+	}
+	
+	// TEST 1 — Um upsert $inc por destinatário, num único bulk, ignorando as já lidas
+	@Test
+	void shouldIncrementOncePerUserInSingleBulk() {
+		// Arrange
+		List<Notification> notifications = List.of(
+			Notification.builder().userId("u1").build(),
+			Notification.builder().userId("u1").build(),
+			Notification.builder().userId("u2").build(),
+			Notification.builder().userId("u2").read(true).build()
+		);
+		
+		// Act
+		repository.incrementUnread(notifications);
+		
+		// Assert
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations, times(2)).upsert(queries.capture(), updates.capture());
+		verify(bulkOperations, times(1)).execute();
+		
+		for (int i = 0; i < 2; i++) {
+			String userId = (String) queries.getAllValues().get(i).getQueryObject().get("_id");
+			long expected = "u1".equals(userId) ? 2L : 1L;
+			assertEquals(new Document("unread", expected), updates.getAllValues().get(i).getUpdateObject().get("$inc"));
+		}
+	}
+	
+	// TEST 2 — Nada a somar não gera escrita
+	@Test
+	void shouldSkipWriteWhenNothingIsUnread() {
+		// Act
+		repository.incrementUnread(List.of(Notification.builder().userId("u1").read(true).build()));
+		
+		// Assert
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(NotificationCounter.class));
+	}
+	
+	// TEST 3 — Contador menor que o decremento é zerado em vez de ficar negativo
+	@Test
+	void shouldClampAtZeroWhenCounterIsBehind() {
+		// Arrange
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(NotificationCounter.class)))
+			.thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+		
+		// Act
+		repository.decrementUnread("u1", 5);
+		
+		// Assert
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(2)).updateFirst(any(Query.class), updates.capture(), eq(NotificationCounter.class));
+		assertEquals(new Document("unread", -5L), updates.getAllValues().get(0).getUpdateObject().get("$inc"));
+		assertEquals(new Document("unread", 0L), updates.getAllValues().get(1).getUpdateObject().get("$set"));
+	}
+}
@@ -0,0 +1,126 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o inbox de notificações antes e depois da paginação por cursor, com 1M de notificações
+ * para um único usuário.
+ *
+ * <ul>
+ *     <li>{@code fullList}: {@code findByUserIdOrderByCreatedAtDesc} (comportamento antigo, carrega tudo)</li>
+ *     <li>{@code keysetFirstPage}: primeira página de 50</li>
+ *     <li>{@code keysetDeepPage}: página de 50 a partir de um cursor no meio da coleção</li>
+ *     <li>{@code offsetDeepPage}: mesma página com {@code skip}, para mostrar o custo que o cursor evita</li>
+ * </ul>
+ *
+ * <p>Precisa de um MongoDB local (a carga inicial demora); o banco {@code hub_benchmark} é apagado ao final:</p>
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.infrastructure.persistence.repository.NotificationPaginationBenchmark \
+ *     -Dmongo.uri=mongodb://localhost:27017
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class NotificationPaginationBenchmark {
+	
+	private static final String USER_ID = "bench-user";
+	private static final int TOTAL = 1_000_000;
+	private static final int PAGE_SIZE = 50;
+	private static final int BATCH = 10_000;
+	
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private NotificationRepositoryCustomImpl repository;
+	private LocalDateTime deepCreatedAt;
+	private String deepId;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		client = MongoClients.create(System.getProperty("mongo.uri", "mongodb://localhost:27017"));
+		mongoTemplate = new MongoTemplate(client, "hub_benchmark");
+		mongoTemplate.dropCollection(Notification.class);
+		
+		IndexOperations indexOps = mongoTemplate.indexOps(Notification.class);
+		IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+		resolver.resolveIndexFor(Notification.class).forEach(indexOps::createIndex);
+		
+		LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+		for (int offset = 0; offset < TOTAL; offset += BATCH) {
+			List<Notification> batch = new ArrayList<>(BATCH);
+			for (int i = offset; i < offset + BATCH; i++) {
+				batch.add(Notification.builder()
+					.userId(USER_ID)
+					.type("appointment_scheduled")
+					.title("Notificação " + i)
+					.message("Mensagem de benchmark " + i)
+					.createdAt(base.plusSeconds(i))
+					.build());
+			}
+			mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class).insert(batch).execute();
+		}
+		
+		repository = new NotificationRepositoryCustomImpl(mongoTemplate);
+		Notification middle = mongoTemplate.findOne(Query.query(Criteria.where("userId").is(USER_ID))
+			.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+			.skip(TOTAL / 2), Notification.class);
+		deepCreatedAt = middle.getCreatedAt();
+		deepId = middle.getId();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		mongoTemplate.getDb().drop();
+		client.close();
+	}
+	
+	@Benchmark
+	public int fullList() {
+		return mongoTemplate.find(Query.query(Criteria.where("userId").is(USER_ID))
+			.with(Sort.by(Sort.Direction.DESC, "createdAt")), Notification.class).size();
+	}
+	
+	@Benchmark
+	public int keysetFirstPage() {
+		return repository.findPageByUserId(USER_ID, null, null, PAGE_SIZE + 1).size();
+	}
+	
+	@Benchmark
+	public int keysetDeepPage() {
+		return repository.findPageByUserId(USER_ID, deepCreatedAt, deepId, PAGE_SIZE + 1).size();
+	}
+	
+	@Benchmark
+	public int offsetDeepPage() {
+		return mongoTemplate.find(Query.query(Criteria.where("userId").is(USER_ID))
+			.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+			.skip(TOTAL / 2).limit(PAGE_SIZE + 1), Notification.class).size();
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(NotificationPaginationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
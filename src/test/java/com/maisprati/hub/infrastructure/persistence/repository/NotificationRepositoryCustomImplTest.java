@@ -0,0 +1,67 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Notification;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+class NotificationRepositoryCustomImplTest {
+	
+	@Mock private MongoTemplate mongoTemplate;
+	@InjectMocks private NotificationRepositoryCustomImpl repository;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+	
+	// TEST 1 — Primeira página: filtra só pelo usuário, ordenada por (createdAt, _id) desc
+	@Test
+	void shouldQueryFirstPageByUserOnly() {
+		// Act
+		repository.findPageByUserId("user1", null, null, 51);
+		
+		// Assert
+		Query query = captureQuery();
+		assertEquals(new Document("userId", "user1"), query.getQueryObject());
+		assertEquals(new Document("createdAt", -1).append("_id", -1), query.getSortObject());
+		assertEquals(51, query.getLimit());
+	}
+	
+	// TEST 2 — Próximas páginas: começa estritamente depois do cursor, com _id como desempate
+	@Test
+	void shouldQueryAfterCursor() {
+		// Arrange
+		LocalDateTime createdAt = LocalDateTime.of(2025, 1, 10, 12, 0);
+		String id = new ObjectId().toHexString();
+		
+		// Act
+		repository.findPageByUserId("user1", createdAt, id, 21);
+		
+		// Assert
+		Document filter = captureQuery().getQueryObject();
+		assertEquals("user1", filter.get("userId"));
+		assertEquals(List.of(
+			new Document("createdAt", new Document("$lt", createdAt)),
+			new Document("createdAt", createdAt).append("_id", new Document("$lt", new ObjectId(id)))
+		), filter.get("$or"));
+	}
+	
+	private Query captureQuery() {
+		ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(captor.capture(), eq(Notification.class));
+		return captor.getValue();
+	}
+}
@@ -0,0 +1,87 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.enums.TeamMemberRole;
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Base compartilhada pelos benchmarks de {@code teams}: conecta em {@code -Dmongo.uri} (banco {@code hub_benchmark}),
+ * recria a coleção com os índices da entidade e grava os times de uma vez. O banco é apagado no {@link #close()}.
+ */
+final class TeamBenchmarkFixture implements AutoCloseable {
+
+	static final int MEMBERS_PER_TEAM = 6;
+
+	private final MongoClient client;
+	final MongoTemplate mongoTemplate;
+
+	TeamBenchmarkFixture() {
+		client = MongoClients.create(System.getProperty("mongo.uri", "mongodb://localhost:27017"));
+		mongoTemplate = new MongoTemplate(client, "hub_benchmark");
+		mongoTemplate.dropCollection(Team.class);
+
+		IndexOperations indexOps = mongoTemplate.indexOps(Team.class);
+		IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+		resolver.resolveIndexFor(Team.class).forEach(indexOps::createIndex);
+	}
+
+	/**
+	 * Grava {@code teamCount} times com {@value #MEMBERS_PER_TEAM} membros cada ({@code user-<time>-<n>})
+	 *
+	 * @param active quais times (pela posição) ficam ativos
+	 */
+	void seedTeams(int teamCount, IntPredicate active) {
+		List<Team> teams = new ArrayList<>(teamCount);
+		for (int i = 0; i < teamCount; i++) {
+			List<TeamMember> members = new ArrayList<>(MEMBERS_PER_TEAM);
+			for (int m = 0; m < MEMBERS_PER_TEAM; m++) {
+				members.add(member("user-" + i + "-" + m));
+			}
+			teams.add(Team.builder()
+				          .name("Time " + i)
+				          .securityCode("CODE" + i)
+				          .maxMembers(12)
+				          .currentMembers(members.size())
+				          .members(members)
+				          .isActive(active.test(i))
+				          .createdAt(LocalDateTime.now())
+				          .build());
+		}
+		mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Team.class).insert(teams).execute();
+	}
+
+	/** {@link TeamRepository} completo (consultas derivadas e fragmento customizado) sobre o banco do benchmark */
+	TeamRepository teamRepository() {
+		return new MongoRepositoryFactory(mongoTemplate)
+			       .getRepository(TeamRepository.class, RepositoryFragments.just(new TeamRepositoryCustomImpl(mongoTemplate)));
+	}
+
+	static TeamMember member(String userId) {
+		return TeamMember.builder()
+			       .userId(userId)
+			       .role(TeamMemberRole.MEMBER)
+			       .joinedAt(LocalDateTime.now())
+			       .isActive(true)
+			       .build();
+	}
+
+	@Override
+	public void close() {
+		mongoTemplate.getDb().drop();
+		client.close();
+	}
+}
@@ -0,0 +1,104 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Team;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a limpeza de times anteriores feita em {@code TeamService.addMemberToTeam}.
+ *
+ * <ul>
+ *     <li>{@code legacyScan}: {@code findAll()} + {@code removeIf} + {@code save} dos times alterados
+ *     (custo proporcional ao total de times)</li>
+ *     <li>{@code pullByMemberIndex}: {@link TeamRepositoryCustom#pullMemberFromOtherTeams} ({@code $pull}
+ *     sobre o índice {@code members.userId}; custo proporcional aos times do usuário)</li>
+ * </ul>
+ *
+ * <p>Cada invocação move o mesmo usuário entre dois times, como em trocas sucessivas de time.
+ * Com {@code teamCount} 500 e 5000, o tempo de {@code pullByMemberIndex} deve ficar estável.</p>
+ *
+ * <p>Precisa de um MongoDB local; o banco {@code hub_benchmark} é apagado ao final:</p>
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.infrastructure.persistence.repository.TeamMembershipBenchmark \
+ *     -Dmongo.uri=mongodb://localhost:27017
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamMembershipBenchmark {
+	
+	private static final String USER_ID = "bench-user";
+	
+	@Param({"500", "5000"})
+	private int teamCount;
+	
+	private TeamBenchmarkFixture fixture;
+	private MongoTemplate mongoTemplate;
+	private TeamRepositoryCustomImpl repository;
+	private List<String> teamIds;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		fixture = new TeamBenchmarkFixture();
+		fixture.seedTeams(teamCount, i -> true);
+		mongoTemplate = fixture.mongoTemplate;
+		
+		teamIds = mongoTemplate.findAll(Team.class).stream().map(Team::getId).limit(2).toList();
+		repository = new TeamRepositoryCustomImpl(mongoTemplate);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fixture.close();
+	}
+	
+	/** Coloca o usuário no próximo time (via $push), como o join faria depois da limpeza */
+	private String joinNextTeam() {
+		String target = teamIds.get(next++ % 2);
+		mongoTemplate.updateFirst(
+			Query.query(Criteria.where("_id").is(target)),
+			new Update().push("members", TeamBenchmarkFixture.member(USER_ID)).inc("currentMembers", 1),
+			Team.class);
+		return target;
+	}
+	
+	@Benchmark
+	public int legacyScan() {
+		String target = joinNextTeam();
+		int touched = 0;
+		for (Team team : mongoTemplate.findAll(Team.class)) {
+			if (team.getId().equals(target)) continue;
+			if (team.getMembers().removeIf(member -> member.getUserId().equals(USER_ID))) {
+				team.setCurrentMembers(team.getMembers().size());
+				mongoTemplate.save(team);
+				touched++;
+			}
+		}
+		return touched;
+	}
+	
+	@Benchmark
+	public long pullByMemberIndex() {
+		String target = joinNextTeam();
+		return repository.pullMemberFromOtherTeams(USER_ID, target);
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TeamMembershipBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,137 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contenção real do join condicional contra um MongoDB em container (pulado sem Docker; {@code -Dgroups='!mongo'}
+ * exclui explicitamente). Os testes com mock do {@link MongoTemplate} só verificam o filtro montado, não a atomicidade.
+ */
+@Tag("mongo")
+@Testcontainers(disabledWithoutDocker = true)
+class TeamRepositoryConcurrencyTest {
+
+	private static final int JOINS = 200;
+	private static final int CAPACITY = 10;
+
+	@Container
+	private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private TeamRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		client = MongoClients.create(MONGO.getReplicaSetUrl());
+		mongoTemplate = new MongoTemplate(client, "hub_concurrency");
+		repository = new TeamRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.getDb().drop();
+		client.close();
+	}
+
+	// TEST 1 — 200 joins simultâneos num time de 10 vagas: exatamente 10 entram e nenhum membro se repete
+	@Test
+	void shouldNeverExceedCapacityUnderConcurrentJoins() throws Exception {
+		// Arrange
+		Team team = mongoTemplate.insert(Team.builder()
+			                                 .name("Time concorrido")
+			                                 .securityCode("CONC01")
+			                                 .maxMembers(CAPACITY)
+			                                 .currentMembers(0)
+			                                 .members(new ArrayList<>())
+			                                 .isActive(true)
+			                                 .createdAt(LocalDateTime.now())
+			                                 .build());
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Team>> joins = new ArrayList<>(JOINS);
+
+		// Act
+		try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+			for (int i = 0; i < JOINS; i++) {
+				String userId = "user-" + i;
+				joins.add(executor.submit(() -> {
+					start.await();
+					return repository.pushMemberIfCapacity(team.getId(), TeamBenchmarkFixture.member(userId));
+				}));
+			}
+			start.countDown();
+		}
+
+		// Assert
+		int accepted = 0;
+		for (Future<Team> join : joins) {
+			if (join.get() != null) accepted++;
+		}
+		Team stored = mongoTemplate.findById(team.getId(), Team.class);
+		assertNotNull(stored);
+		assertEquals(CAPACITY, accepted);
+		assertEquals(CAPACITY, stored.getCurrentMembers());
+		assertEquals(CAPACITY, stored.getMembers().size());
+		assertEquals(CAPACITY, new HashSet<>(stored.getMembers().stream().map(TeamMember::getUserId).toList()).size());
+	}
+
+	// TEST 2 — O mesmo usuário entrando 200 vezes ao mesmo tempo é gravado uma única vez
+	@Test
+	void shouldAddSameUserOnlyOnceUnderConcurrentJoins() throws Exception {
+		// Arrange
+		Team team = mongoTemplate.insert(Team.builder()
+			                                 .name("Time repetido")
+			                                 .securityCode("CONC02")
+			                                 .maxMembers(CAPACITY)
+			                                 .currentMembers(0)
+			                                 .members(new ArrayList<>())
+			                                 .isActive(true)
+			                                 .createdAt(LocalDateTime.now())
+			                                 .build());
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Team>> joins = new ArrayList<>(JOINS);
+
+		// Act
+		try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+			for (int i = 0; i < JOINS; i++) {
+				joins.add(executor.submit(() -> {
+					start.await();
+					return repository.pushMemberIfCapacity(team.getId(), TeamBenchmarkFixture.member("user-dup"));
+				}));
+			}
+			start.countDown();
+		}
+
+		// Assert
+		int accepted = 0;
+		for (Future<Team> join : joins) {
+			if (join.get() != null) accepted++;
+		}
+		Team stored = mongoTemplate.findById(team.getId(), Team.class);
+		assertNotNull(stored);
+		assertEquals(1, accepted);
+		assertEquals(1, stored.getCurrentMembers());
+		assertEquals(1, stored.getMembers().size());
+	}
+}
@@ -0,0 +1,97 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.domain.model.TeamMember;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TeamRepositoryCustomImplTest {
+	
+	@Mock private MongoTemplate mongoTemplate;
+	@InjectMocks private TeamRepositoryCustomImpl repository;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+	
+	// TEST 1 — Join condicional: vaga via $expr e usuário ainda ausente, com $push + $inc num só findAndModify
+	@Test
+	void shouldPushMemberOnlyWhenThereIsCapacityAndUserIsAbsent() {
+		// Arrange
+		TeamMember member = TeamMember.builder().userId("user1").build();
+		
+		// Act
+		repository.pushMemberIfCapacity("team1", member);
+		
+		// Assert
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(1)).findAndModify(query.capture(), update.capture(),
+			any(FindAndModifyOptions.class), eq(Team.class));
+		
+		Document filter = query.getValue().getQueryObject();
+		assertEquals("team1", filter.get("_id"));
+		assertEquals(new Document("$ne", "user1"), filter.get("members.userId"));
+		Object expr = ((Document) ((List<?>) filter.get("$and")).get(0)).get("$expr");
+		assertEquals(new Document("$lt", List.of("$currentMembers", "$maxMembers")),
+			((AggregationExpression) expr).toDocument(Aggregation.DEFAULT_CONTEXT));
+		assertEquals(new Document("members", member), update.getValue().getUpdateObject().get("$push"));
+		assertEquals(new Document("currentMembers", 1), update.getValue().getUpdateObject().get("$inc"));
+	}
+	
+	// TEST 3 — Remoção dos times ativos: filtro pelo prefixo (isActive, members.userId) do índice
+	@Test
+	void shouldPullMemberFromActiveTeamsWithSingleUpdate() {
+		// Arrange
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Team.class)))
+			.thenReturn(UpdateResult.acknowledged(3, 3L, null));
+		
+		// Act
+		long modified = repository.pullMemberFromActiveTeams("user1");
+		
+		// Assert
+		assertEquals(3, modified);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(1)).updateMulti(query.capture(), any(Update.class), eq(Team.class));
+		assertEquals(new Document("isActive", true).append("members.userId", "user1"), query.getValue().getQueryObject());
+	}
+	
+	// TEST 2 — Um único updateMany: filtra pelo índice members.userId e aplica $pull + $inc
+	@Test
+	void shouldPullMemberFromOtherTeamsWithSingleUpdate() {
+		// Arrange
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Team.class)))
+			.thenReturn(UpdateResult.acknowledged(2, 2L, null));
+		
+		// Act
+		long modified = repository.pullMemberFromOtherTeams("user1", "team1");
+		
+		// Assert
+		assertEquals(2, modified);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(1)).updateMulti(query.capture(), update.capture(), eq(Team.class));
+		
+		assertEquals("user1", query.getValue().getQueryObject().get("members.userId"));
+		assertEquals(new Document("$ne", "team1"), query.getValue().getQueryObject().get("_id"));
+		assertEquals(new Document("members", new Document("userId", "user1")), update.getValue().getUpdateObject().get("$pull"));
+		assertEquals(new Document("currentMembers", -1), update.getValue().getUpdateObject().get("$inc"));
+	}
+}
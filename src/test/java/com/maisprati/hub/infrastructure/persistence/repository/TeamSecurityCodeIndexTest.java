@@ -0,0 +1,86 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.application.service.TeamAllocator;
+import com.maisprati.hub.domain.model.Team;
+import com.maisprati.hub.infrastructure.config.MongoIndexInitializer;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Inserção otimista de times contra o índice único de {@code securityCode} criado pelo {@link MongoIndexInitializer},
+ * num MongoDB em container (pulado sem Docker; {@code -Dgroups='!mongo'} exclui explicitamente).
+ */
+@Tag("mongo")
+@Testcontainers(disabledWithoutDocker = true)
+class TeamSecurityCodeIndexTest {
+
+	@Container
+	private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private TeamAllocator teamAllocator;
+
+	@BeforeEach
+	void setUp() {
+		client = MongoClients.create(MONGO.getReplicaSetUrl());
+		mongoTemplate = new MongoTemplate(client, "hub_indexes");
+		new MongoIndexInitializer(mongoTemplate, (MongoMappingContext) mongoTemplate.getConverter().getMappingContext()).run();
+
+		TeamRepository teamRepository = new MongoRepositoryFactory(mongoTemplate)
+			                                 .getRepository(TeamRepository.class, RepositoryFragments.just(new TeamRepositoryCustomImpl(mongoTemplate)));
+		teamAllocator = new TeamAllocator(teamRepository, mock(UserRepository.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.getDb().drop();
+		client.close();
+	}
+
+	// TEST 1 — Código gerado que colide com um time gravado: o índice recusa e a inserção repete com outro código
+	@Test
+	void shouldRetryWithNewCodeWhenGeneratedCodeCollides() {
+		// Arrange
+		Team existing = teamAllocator.insert(teamAllocator.newTeam("Time A", null, null, null, List.of()), false);
+		Team colliding = teamAllocator.newTeam("Time B", null, null, existing.getSecurityCode(), List.of());
+
+		// Act
+		Team inserted = teamAllocator.insert(colliding, false);
+
+		// Assert
+		assertNotEquals(existing.getSecurityCode(), inserted.getSecurityCode());
+		assertEquals(2, mongoTemplate.count(new Query(), Team.class));
+		assertEquals(1, mongoTemplate.count(Query.query(Criteria.where("securityCode").is(existing.getSecurityCode())), Team.class));
+	}
+
+	// TEST 2 — Código informado pelo admin que já existe: recusado sem troca
+	@Test
+	void shouldRejectRequestedCodeThatCollides() {
+		// Arrange
+		Team existing = teamAllocator.insert(teamAllocator.newTeam("Time A", null, null, null, List.of()), false);
+		Team colliding = teamAllocator.newTeam("Time B", null, null, existing.getSecurityCode(), List.of());
+
+		// Act & Assert
+		assertThrows(RuntimeException.class, () -> teamAllocator.insert(colliding, true));
+		assertEquals(1, mongoTemplate.count(new Query(), Team.class));
+	}
+}
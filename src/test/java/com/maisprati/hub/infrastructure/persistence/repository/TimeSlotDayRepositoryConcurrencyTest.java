@@ -0,0 +1,109 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.config.TimeSlotStorageProperties;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contenção real da reserva condicional contra um MongoDB em container, nos dois formatos de gravação (pulado sem
+ * Docker; {@code -Dgroups='!mongo'} exclui explicitamente). Os testes com mock só verificam o filtro montado.
+ */
+@Tag("mongo")
+@Testcontainers(disabledWithoutDocker = true)
+class TimeSlotDayRepositoryConcurrencyTest {
+
+	private static final int BOOKINGS = 100;
+	private static final String ADMIN = "admin1";
+	private static final LocalDate DATE = LocalDate.of(2025, 3, 10);
+	private static final String TIME = "09:00";
+
+	@Container
+	private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		client = MongoClients.create(MONGO.getReplicaSetUrl());
+		mongoTemplate = new MongoTemplate(client, "hub_concurrency");
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.getDb().drop();
+		client.close();
+	}
+
+	// TEST 1 — 100 reservas simultâneas do mesmo horário: exatamente uma vence, em lista e em bitmap
+	@ParameterizedTest
+	@EnumSource(TimeSlotStorageProperties.Format.class)
+	void shouldBookSameSlotExactlyOnceUnderConcurrency(TimeSlotStorageProperties.Format format) throws Exception {
+		// Arrange
+		TimeSlotStorageProperties properties = new TimeSlotStorageProperties();
+		properties.setFormat(format);
+		TimeSlotDayRepositoryCustomImpl repository = new TimeSlotDayRepositoryCustomImpl(mongoTemplate, properties);
+		mongoTemplate.insert(day(format));
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<TimeSlotDay>> bookings = new ArrayList<>(BOOKINGS);
+
+		// Act
+		try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+			for (int i = 0; i < BOOKINGS; i++) {
+				bookings.add(executor.submit(() -> {
+					start.await();
+					return repository.bookSlot(ADMIN, DATE, TIME);
+				}));
+			}
+			start.countDown();
+		}
+
+		// Assert
+		int winners = 0;
+		for (Future<TimeSlotDay> booking : bookings) {
+			if (booking.get() != null) winners++;
+		}
+		assertEquals(1, winners);
+		assertEquals(1, mongoTemplate.count(new Query(), TimeSlotDay.class));
+		assertEquals(format == TimeSlotStorageProperties.Format.BITMAP,
+			mongoTemplate.exists(Query.query(Criteria.where("slotBits").exists(true)), TimeSlotDay.class));
+	}
+
+	/** Dia com dois horários livres, gravado direto no formato pedido (sem o listener de conversão) */
+	private static TimeSlotDay day(TimeSlotStorageProperties.Format format) {
+		List<TimeSlot> slots = List.of(new TimeSlot(TIME, true, false), new TimeSlot("09:30", true, false));
+		TimeSlotDay.TimeSlotDayBuilder day = TimeSlotDay.builder().adminId(ADMIN).date(DATE);
+		if (format == TimeSlotStorageProperties.Format.LIST) {
+			return day.slots(slots).build();
+		}
+		TimeSlotBitmap bitmap = TimeSlotBitmap.of(slots);
+		return day.slotBits(bitmap.getSlots())
+			       .availableBits(bitmap.getAvailable())
+			       .bookedBits(bitmap.getBooked())
+			       .build();
+	}
+}
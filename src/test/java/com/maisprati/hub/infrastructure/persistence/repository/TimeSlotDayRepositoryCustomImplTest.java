@@ -0,0 +1,234 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.AvailableSlot;
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.config.TimeSlotStorageProperties;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TimeSlotDayRepositoryCustomImplTest {
+	
+	@Mock private MongoTemplate mongoTemplate;
+	private TimeSlotStorageProperties properties;
+	private TimeSlotDayRepositoryCustomImpl repository;
+	
+	private final LocalDate date = LocalDate.of(2025, 11, 1);
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		properties = new TimeSlotStorageProperties();
+		repository = new TimeSlotDayRepositoryCustomImpl(mongoTemplate, properties);
+	}
+	
+	// TEST 1 — Reserva: filtro e arrayFilter exigem o horário livre, num único findAndModify
+	@Test
+	void shouldBookOnlyFreeSlotWithArrayFilter() {
+		// Arrange
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TimeSlotDay.class)))
+			.thenReturn(new TimeSlotDay());
+		
+		// Act
+		repository.bookSlot("admin1", date, "10:00");
+		
+		// Assert
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+		verify(mongoTemplate, times(1)).findAndModify(query.capture(), update.capture(), options.capture(), eq(TimeSlotDay.class));
+		
+		Document free = new Document("time", "10:00").append("available", true).append("booked", false);
+		assertEquals(new Document("adminId", "admin1").append("date", date)
+			             .append("slots", new Document("$elemMatch", free)), query.getValue().getQueryObject());
+		assertEquals(new Document("slots.$[slot].booked", true).append("slots.$[slot].available", false),
+			update.getValue().getUpdateObject().get("$set"));
+		assertEquals(List.of(new Document("slot.time", "10:00").append("slot.available", true).append("slot.booked", false)),
+			update.getValue().getArrayFilters().stream().map(filter -> filter.asDocument()).toList());
+		assertTrue(options.getValue().isReturnNew());
+	}
+	
+	// TEST 2 — Liberação: update posicional pelo horário, sem regravar o dia
+	@Test
+	void shouldReleaseSlotWithPositionalUpdate() {
+		// Arrange
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TimeSlotDay.class)))
+			.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		
+		// Act
+		boolean released = repository.releaseSlot("admin1", date, "10:00");
+		
+		// Assert
+		assertTrue(released);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(TimeSlotDay.class));
+		assertEquals(new Document("slots.$[slot].booked", false).append("slots.$[slot].available", true),
+			update.getValue().getUpdateObject().get("$set"));
+	}
+	
+	// TEST 3 — Formato bitmap: $bitsAllSet/$bitsAllClear no long do horário e $bit and/or no update
+	@Test
+	void shouldBookBitmapSlotWithBitwiseUpdate() {
+		// Arrange: 14:00 → bucket 168 → long 2, bit 40
+		properties.setFormat(TimeSlotStorageProperties.Format.BITMAP);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TimeSlotDay.class)))
+			.thenReturn(new TimeSlotDay());
+		
+		// Act
+		repository.bookSlot("admin1", date, "14:00");
+		
+		// Assert
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(1)).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(TimeSlotDay.class));
+		
+		Document filter = query.getValue().getQueryObject();
+		assertEquals(new Document("$bitsAllSet", List.of(40)), filter.get("slotBits.2"));
+		assertEquals(new Document("$bitsAllSet", List.of(40)), filter.get("availableBits.2"));
+		assertEquals(new Document("$bitsAllClear", List.of(40)), filter.get("bookedBits.2"));
+		long mask = 1L << 40;
+		assertEquals(new Document("availableBits.2", new Document("and", ~mask)).append("bookedBits.2", new Document("or", mask)),
+			update.getValue().getUpdateObject().get("$bit"));
+	}
+	
+	// TEST 4 — Dia ainda no outro formato: só então o segundo findAndModify é feito
+	@Test
+	void shouldFallBackToOtherFormatWhenFirstDoesNotMatch() {
+		// Arrange
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TimeSlotDay.class)))
+			.thenReturn(null, new TimeSlotDay());
+		
+		// Act
+		TimeSlotDay day = repository.bookSlot("admin1", date, "14:00");
+		
+		// Assert
+		assertNotNull(day);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(2)).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(TimeSlotDay.class));
+		assertTrue(query.getAllValues().get(0).getQueryObject().containsKey("slots"));
+		assertTrue(query.getAllValues().get(1).getQueryObject().containsKey("slotBits.2"));
+	}
+	
+	// TEST 6 — Busca de horários livres: $match pelo intervalo de datas, $unwind, filtro dos livres na janela, sort e limit
+	@Test
+	void shouldBuildAvailabilityAggregation() {
+		// Act
+		repository.streamAvailableSlots(date, date.plusDays(14), "14:00", "18:00", 10);
+		
+		// Assert
+		ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+		verify(mongoTemplate).aggregateStream(aggregation.capture(), eq(TimeSlotDay.class), eq(AvailableSlot.class));
+		List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+		
+		assertEquals(List.of("$match", "$unwind", "$match", "$sort", "$limit", "$project"),
+			pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList());
+		
+		Document firstMatch = pipeline.get(0).get("$match", Document.class);
+		assertEquals(new Document("$gte", date).append("$lte", date.plusDays(14)), firstMatch.get("date"));
+		Document window = new Document("$gte", "14:00").append("$lt", "18:00");
+		assertEquals(new Document("$elemMatch", new Document("available", true).append("booked", false)
+			                                        .append("$and", List.of(new Document("time", window)))), firstMatch.get("slots"));
+		assertEquals(new Document("slots.available", true).append("slots.booked", false)
+			             .append("$and", List.of(new Document("slots.time", window))), pipeline.get(2).get("$match"));
+		assertEquals(new Document("date", 1).append("slots.time", 1).append("adminId", 1), pipeline.get(3).get("$sort"));
+		assertEquals(10L, ((Number) pipeline.get(4).get("$limit")).longValue());
+	}
+	
+	// TEST 5 — Horário fora da granularidade não tem representação no bitmap: nenhuma consulta extra
+	@Test
+	void shouldSkipBitmapForUnalignedTime() {
+		// Act
+		TimeSlotDay day = repository.bookSlot("admin1", date, "14:07");
+		
+		// Assert
+		assertNull(day);
+		verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TimeSlotDay.class));
+	}
+	
+	// TEST 7 — Materialização: upsert com $setOnInsert (nunca sobrescreve); dia criado em paralelo não é erro
+	@Test
+	void shouldMaterializeDaysWithSetOnInsertAndIgnoreConcurrentInserts() {
+		// Arrange
+		BulkOperations bulk = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlotDay.class)).thenReturn(bulk);
+		BulkWriteResult partial = BulkWriteResult.acknowledged(0, 0, 0, 0,
+			List.of(new BulkWriteUpsert(0, new BsonString("admin1:2025-11-04"))), List.of());
+		when(bulk.execute()).thenThrow(new BulkOperationException("E11000", new MongoBulkWriteException(partial,
+			List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)), null, new ServerAddress(), Set.of())));
+		List<TimeSlot> slots = List.of(new TimeSlot("14:00", true, false));
+		
+		// Act
+		int created = repository.materializeDays(List.of(
+			TimeSlotDay.builder().id("admin1:2025-11-04").adminId("admin1").date(date.plusDays(3)).slots(slots).build(),
+			TimeSlotDay.builder().id("admin1:2025-11-06").adminId("admin1").date(date.plusDays(5)).slots(slots).build()));
+		
+		// Assert
+		assertEquals(1, created);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(2)).upsert(query.capture(), update.capture());
+		assertEquals(new Document("adminId", "admin1").append("date", date.plusDays(3)), query.getAllValues().get(0).getQueryObject());
+		assertEquals(new Document("_id", "admin1:2025-11-04").append("slots", slots),
+			update.getAllValues().get(0).getUpdateObject().get("$setOnInsert"));
+	}
+	
+	// TEST 8 — Horários retirados: $pull só dos não reservados, $bit condicional no bitmap e remoção dos dias vazios
+	@Test
+	void shouldRetractOnlyFreeSlotsAndRemoveEmptyDays() {
+		// Arrange
+		BulkOperations bulk = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlotDay.class)).thenReturn(bulk);
+		when(mongoTemplate.remove(any(Query.class), eq(TimeSlotDay.class))).thenReturn(DeleteResult.acknowledged(1));
+		
+		// Act
+		long removed = repository.retractFreeSlots("admin1", Map.of(date, Set.of("14:00")));
+		
+		// Assert
+		assertEquals(1, removed);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(2)).updateOne(query.capture(), update.capture());
+		assertEquals(new Document("slots", new Document("time", new Document("$in", List.of("14:00"))).append("booked", false)),
+			update.getAllValues().get(0).getUpdateObject().get("$pull"));
+		Document bitmapQuery = query.getAllValues().get(1).getQueryObject();
+		String word = "." + TimeSlotBitmap.word(TimeSlotBitmap.bucketOf("14:00"));
+		assertTrue(bitmapQuery.containsKey("slotBits" + word) && bitmapQuery.containsKey("bookedBits" + word));
+		assertTrue(update.getAllValues().get(1).getUpdateObject().containsKey("$bit"));
+		verify(bulk).execute();
+		
+		ArgumentCaptor<Query> emptyDays = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).remove(emptyDays.capture(), eq(TimeSlotDay.class));
+		assertEquals(List.of(new Document("slots", new Document("$size", 0)),
+				new Document("slotBits", new Document("$exists", true).append("$not", new Document("$elemMatch", new Document("$ne", 0L))))),
+			emptyDays.getValue().getQueryObject().get("$or"));
+	}
+}
@@ -0,0 +1,114 @@
+package com.maisprati.hub.infrastructure.persistence.repository;
+
+import com.maisprati.hub.domain.model.TimeSlot;
+import com.maisprati.hub.domain.model.TimeSlotBitmap;
+import com.maisprati.hub.domain.model.TimeSlotDay;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara os dois formatos de {@code TimeSlotDay} em memória (não precisa de MongoDB).
+ *
+ * <ul>
+ *     <li>{@code legacyMerge}: merge de {@code createOrUpdateDay} com {@code anyMatch} aninhado (O(n²))</li>
+ *     <li>{@code bitmapMerge}: lista → {@link TimeSlotBitmap} → operações de bits → lista</li>
+ * </ul>
+ *
+ * <p>O setup imprime o tamanho BSON de um dia em cada formato (o que vai para o disco e para a
+ * consulta do mês, que traz até 31 dias por admin).</p>
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.infrastructure.persistence.repository.TimeSlotStorageBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSlotStorageBenchmark {
+	
+	/** Horários do dia: de 30 em 30 minutos (8h–18h) e a cada 5 minutos o dia todo */
+	@Param({"20", "288"})
+	private int slotsPerDay;
+	
+	private List<TimeSlot> current;
+	private List<TimeSlot> incoming;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		int step = slotsPerDay >= TimeSlotBitmap.BUCKETS ? 1 : 6;
+		int first = slotsPerDay >= TimeSlotBitmap.BUCKETS ? 0 : 8 * 12;
+		current = new ArrayList<>();
+		incoming = new ArrayList<>();
+		for (int i = 0; i < slotsPerDay; i++) {
+			int minutes = (first + i * step) * TimeSlotBitmap.GRANULARITY_MINUTES;
+			String time = String.format("%02d:%02d", minutes / 60, minutes % 60);
+			current.add(new TimeSlot(time, i % 3 != 0, i % 3 == 0));
+			incoming.add(new TimeSlot(time, true, false));
+		}
+		
+		System.out.printf("%n[%d horários] documento lista: %d bytes, bitmap: %d bytes%n",
+			slotsPerDay, bsonSize(listDocument()), bsonSize(bitmapDocument()));
+	}
+	
+	@Benchmark
+	public List<TimeSlot> legacyMerge() {
+		List<TimeSlot> bookedSlots = current.stream().filter(TimeSlot::isBooked).toList();
+		List<TimeSlot> merged = new ArrayList<>(bookedSlots);
+		for (TimeSlot newSlot : incoming) {
+			boolean isAlreadyBooked = bookedSlots.stream().anyMatch(s -> s.getTime().equals(newSlot.getTime()));
+			if (!isAlreadyBooked) merged.add(newSlot);
+		}
+		return merged;
+	}
+	
+	@Benchmark
+	public List<TimeSlot> bitmapMerge() {
+		return TimeSlotBitmap.of(current).mergeKeepingBooked(TimeSlotBitmap.of(incoming)).toSlots();
+	}
+	
+	private Document listDocument() {
+		List<Document> slots = current.stream()
+			                       .map(s -> new Document("time", s.getTime()).append("available", s.isAvailable()).append("booked", s.isBooked()))
+			                       .toList();
+		return baseDocument().append("slots", slots).append("_class", TimeSlotDay.class.getName());
+	}
+	
+	private Document bitmapDocument() {
+		TimeSlotBitmap bitmap = TimeSlotBitmap.of(current);
+		return baseDocument()
+			       .append("slotBits", Arrays.stream(bitmap.getSlots()).boxed().toList())
+			       .append("availableBits", Arrays.stream(bitmap.getAvailable()).boxed().toList())
+			       .append("bookedBits", Arrays.stream(bitmap.getBooked()).boxed().toList())
+			       .append("_class", TimeSlotDay.class.getName());
+	}
+	
+	private static Document baseDocument() {
+		return new Document("_id", new ObjectId()).append("adminId", "admin1")
+			       .append("date", Date.from(LocalDate.now().atStartOfDay(ZoneOffset.UTC).toInstant()));
+	}
+	
+	private static int bsonSize(Document document) {
+		return RawBsonDocument.parse(document.toJson()).getByteBuffer().remaining();
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TimeSlotStorageBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -5,6 +5,9 @@ import com.maisprati.hub.application.service.UserService;
 import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.infrastructure.security.jwt.JwtProperties;
 import com.maisprati.hub.infrastructure.security.jwt.JwtService;
+import com.maisprati.hub.infrastructure.security.jwt.RefreshedAccess;
+import com.maisprati.hub.infrastructure.security.jwt.VerifiedToken;
+import com.maisprati.hub.infrastructure.security.password.PasswordHashingBusyException;
 import com.maisprati.hub.presentation.dto.ForgotPasswordRequest;
 import com.maisprati.hub.presentation.dto.LoginRequest;
 import com.maisprati.hub.presentation.dto.RegisterStudentRequest;
@@ -18,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Map;
 
@@ -155,9 +159,10 @@ class AuthControllerTest {
 	void refreshToken_ShouldReturnNewAccessToken() {
 		String refreshToken = "refresh-token";
 		
-		when(jwtService.extractUsernameFromRefreshToken(refreshToken)).thenReturn("email@test.com");
-		when(userService.getUserByEmail("email@test.com")).thenReturn(Optional.of(user));
-		when(jwtService.generateAccessToken(user)).thenReturn("new-access-token");
+		VerifiedToken verified = new VerifiedToken("refresh", "email@test.com", "1", "student", null, null,
+			Instant.now().plusSeconds(60));
+		when(jwtService.verify(refreshToken)).thenReturn(verified);
+		when(jwtService.refreshAccessToken(verified)).thenReturn(new RefreshedAccess("new-access-token", user));
 		when(jwtProperties.isSecureCookie()).thenReturn(false);
 		when(jwtProperties.getAccessTokenExpiration()).thenReturn(3600L);
 		
@@ -166,6 +171,9 @@ class AuthControllerTest {
 		assertEquals(200, response.getStatusCodeValue());
 		assertTrue(response.getHeaders().containsKey(HttpHeaders.SET_COOKIE));
 		assertEquals("Access token renovado com sucesso!", ((Map<?, ?>) response.getBody()).get("message"));
+		// uma única verificação do refresh token
+		verify(jwtService, times(1)).verify(refreshToken);
+		verify(jwtService, never()).extractUsernameFromRefreshToken(any());
 	}
 	
 	// TEST 8
@@ -181,7 +189,7 @@ class AuthControllerTest {
 	void refreshToken_ShouldReturnUnauthorizedWhenTokenInvalid() {
 		String refreshToken = "invalid-token";
 		
-		when(jwtService.extractUsernameFromRefreshToken(refreshToken)).thenReturn(null);
+		when(jwtService.verify(refreshToken)).thenReturn(null);
 		
 		ResponseEntity<?> response = authController.refreshToken(refreshToken);
 		
@@ -280,4 +288,40 @@ class AuthControllerTest {
 		assertTrue(cookies.get(1).contains("refresh_token="));
 		assertTrue(cookies.get(1).contains("Max-Age=0"));
 	}
+	
+	// TEST 15 - /login com hashing saturado
+	@Test
+	void login_ShouldReturnServiceUnavailableWhenHashingIsBusy() {
+		
+		LoginRequest req = new LoginRequest();
+		req.setEmail("email@test.com");
+		req.setPassword("123");
+		
+		when(authService.login(req.getEmail(), req.getPassword()))
+			.thenThrow(new PasswordHashingBusyException(2));
+		
+		ResponseEntity<?> response = authController.login(req);
+		
+		assertEquals(503, response.getStatusCodeValue());
+		assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertNotNull(((Map<?, ?>) response.getBody()).get("error"));
+	}
+	
+	// TEST 16 - /register com hashing saturado
+	@Test
+	void registerStudent_ShouldReturnServiceUnavailableWhenHashingIsBusy() {
+		
+		RegisterStudentRequest req = new RegisterStudentRequest();
+		req.setName("Test User");
+		req.setEmail("email@test.com");
+		req.setPassword("123");
+		
+		when(userService.registerStudent(any(User.class)))
+			.thenThrow(new PasswordHashingBusyException(2));
+		
+		ResponseEntity<?> response = authController.registerStudent(req);
+		
+		assertEquals(503, response.getStatusCodeValue());
+		assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
 }
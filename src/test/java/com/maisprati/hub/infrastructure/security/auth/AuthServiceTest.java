@@ -1,6 +1,7 @@
 package com.maisprati.hub.infrastructure.security.auth;
 
 import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
 import com.maisprati.hub.infrastructure.security.jwt.JwtService;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import static org.mockito.Mockito.*;
 class AuthServiceTest {
 	
 	@Mock private UserRepository userRepository;
+	@Mock private UserCache userCache;
 	@Mock private PasswordEncoder passwordEncoder;
 	@Mock private JwtService jwtService;
 	@InjectMocks private AuthService authService;
@@ -39,8 +41,8 @@ class AuthServiceTest {
 	// TEST 1 — Carregar usuário por email existente
 	@Test
 	void loadUserByUsername_ShouldReturnUserWhenExists() {
-		// Arrange: Mock do repositório retornando o usuário
-		when(userRepository.findByEmail("email@test.com")).thenReturn(Optional.of(user));
+		// Arrange: Mock do cache retornando o usuário
+		when(userCache.findByEmail("email@test.com")).thenReturn(Optional.of(user));
 		
 		// Act: Chama o método loadUserByUsername
 		var result = authService.loadUserByUsername("email@test.com");
@@ -52,8 +54,8 @@ class AuthServiceTest {
 	// TEST 2 — Carregar usuário por email inexistente lança exceção
 	@Test
 	void loadUserByUsername_ShouldThrowWhenNotExists() {
-		// Arrange: Mock do repositório retornando vazio
-		when(userRepository.findByEmail("email@test.com")).thenReturn(Optional.empty());
+		// Arrange: Mock do cache retornando vazio
+		when(userCache.findByEmail("email@test.com")).thenReturn(Optional.empty());
 		
 		// Act + Assert: Deve lançar UsernameNotFoundException
 		assertThrows(UsernameNotFoundException.class,
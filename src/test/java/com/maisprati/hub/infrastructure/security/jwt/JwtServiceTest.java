@@ -2,7 +2,7 @@ package com.maisprati.hub.infrastructure.security.jwt;
 
 import com.maisprati.hub.domain.enums.UserType;
 import com.maisprati.hub.domain.model.User;
-import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.security.Key;
 import java.util.Base64;
 import java.util.Optional;
@@ -20,12 +21,12 @@ import static org.mockito.Mockito.*;
 class JwtServiceTest {
 	
 	private JwtService jwtService;
-	private UserRepository userRepository;
+	private UserCache userCache;
 	
 	@BeforeEach
 	void setup() {
 		// Mock do repositório e das propriedades do JWT
-		userRepository = mock(UserRepository.class);
+		userCache = mock(UserCache.class);
 		JwtProperties jwtProperties = mock(JwtProperties.class);
 		
 		// Gera chave secreta segura de 512 bits para assinatura HS512
@@ -38,7 +39,8 @@ class JwtServiceTest {
 		when(jwtProperties.getRefreshTokenExpiration()).thenReturn(7200L);  // 2 horas
 		
 		// Cria instância do serviço e inicializa a chave
-		jwtService = new JwtService(userRepository, jwtProperties);
+		// Cache de tokens desligado (tamanho 0): cada teste verifica o token de fato
+		jwtService = new JwtService(userCache, jwtProperties, new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry()));
 		jwtService.init();
 	}
 	
@@ -112,8 +114,8 @@ class JwtServiceTest {
 		
 		String refreshToken = jwtService.generateRefreshToken(user);
 		
-		// Mock para garantir que o usuário existe no repositório
-		when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+		// Mock para garantir que o usuário existe no cache/repositório
+		when(userCache.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
 		
 		// Executa refresh e valida resultado
 		String newAccessToken = jwtService.refreshAccessToken(refreshToken);
@@ -121,6 +123,69 @@ class JwtServiceTest {
 		assertTrue(jwtService.isAccessTokenValid(newAccessToken));
 	}
 	
+	@Test
+	void buildPrincipal_ShouldRestoreUserFromAccessToken() {
+		// Usuário com os dados embutidos no access token
+		User user = User.builder()
+			            .id("1").email("teste@email.com").type(UserType.STUDENT)
+			            .codename("Agente").isActive(true)
+			            .build();
+		
+		String token = jwtService.generateAccessToken(user);
+		User principal = jwtService.buildPrincipal(jwtService.verify(token));
+		
+		// Principal reconstruído sem acesso ao repositório
+		assertNotNull(principal);
+		assertEquals("1", principal.getId());
+		assertEquals("teste@email.com", principal.getUsername());
+		assertEquals(UserType.STUDENT, principal.getType());
+		assertEquals("Agente", principal.getCodename());
+		assertTrue(principal.isEnabled());
+		verifyNoInteractions(userCache);
+	}
+	
+	@Test
+	void verify_ShouldReturnTypedClaimsInSinglePass() {
+		User user = User.builder().id("1").email("teste@email.com").type(UserType.ADMIN).build();
+		
+		VerifiedToken access = jwtService.verify(jwtService.generateAccessToken(user));
+		VerifiedToken refresh = jwtService.verify(jwtService.generateRefreshToken(user));
+		
+		// Tipo, subject, id, role e expiração disponíveis sem novo parse
+		assertTrue(access.isAccess());
+		assertFalse(access.isRefresh());
+		assertEquals("teste@email.com", access.subject());
+		assertEquals("1", access.id());
+		assertEquals("admin", access.role());
+		assertTrue(access.expiresAt().isAfter(java.time.Instant.now()));
+		
+		// Refresh token não pode ser usado como access token
+		assertTrue(refresh.isRefresh());
+		assertNull(jwtService.buildPrincipal(refresh));
+	}
+	
+	@Test
+	void verify_ShouldReturnNullForTamperedOrExpiredToken() {
+		User user = User.builder().id("1").email("teste@email.com").type(UserType.STUDENT).build();
+		
+		String token = jwtService.generateAccessToken(user);
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+		String expired = jwtService.generateAccessToken(user, -10);
+		
+		assertNull(jwtService.verify(tampered));
+		assertNull(jwtService.verify(expired));
+		assertNull(jwtService.verify(null));
+	}
+	
+	@Test
+	void refreshAccessToken_ShouldReturnNullWhenGivenAccessToken() {
+		User user = User.builder().id("1").email("teste@email.com").type(UserType.STUDENT).build();
+		
+		// Access token não autoriza refresh e não consulta o usuário
+		assertNull(jwtService.refreshAccessToken(jwtService.verify(jwtService.generateAccessToken(user))));
+		verifyNoInteractions(userCache);
+	}
+	
 	@Test
 	void addAccessTokenToResponse_ShouldAddCookie() {
 		// Mock de HttpServletResponse
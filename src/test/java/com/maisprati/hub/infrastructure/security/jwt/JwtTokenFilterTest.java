@@ -1,7 +1,8 @@
 package com.maisprati.hub.infrastructure.security.jwt;
 
+import com.maisprati.hub.domain.enums.UserType;
 import com.maisprati.hub.domain.model.User;
-import com.maisprati.hub.infrastructure.persistence.repository.UserRepository;
+import com.maisprati.hub.infrastructure.cache.UserCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +10,16 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,18 +29,25 @@ class JwtTokenFilterTest {
 	
 	// Dependências mockadas
 	@Mock private JwtService jwtService;
-	@Mock private UserRepository userRepository;
+	@Mock private UserCache userCache;
 	@Mock private HttpServletRequest request;
 	@Mock private HttpServletResponse response;
 	@Mock private FilterChain filterChain;
+	@Mock private JwtProperties jwtProperties;
 	
 	private JwtTokenFilter filter;
 	
+	private final VerifiedToken validAccess = new VerifiedToken(
+		"access", "user@mail.com", "u1", "student", true, null, Instant.now().plusSeconds(60));
+	private final VerifiedToken validRefresh = new VerifiedToken(
+		"refresh", "user@mail.com", "u1", "student", null, null, Instant.now().plusSeconds(60));
+	
 	@BeforeEach
 	void setup() {
 		// Inicializa os mocks e cria a instância do filtro
 		MockitoAnnotations.openMocks(this);
-		filter = new JwtTokenFilter(jwtService, userRepository);
+		// janela de agrupamento 0 (mock): refresh executado diretamente
+		filter = new JwtTokenFilter(jwtService, userCache, jwtProperties, new RefreshTokenCoalescer(jwtProperties));
 		SecurityContextHolder.clearContext(); // limpa contexto antes de cada teste
 	}
 	
@@ -40,20 +56,21 @@ class JwtTokenFilterTest {
 		// Cenário: token de acesso válido
 		Cookie accessCookie = new Cookie("access_token", "validAccess");
 		when(request.getCookies()).thenReturn(new Cookie[]{accessCookie});
-		when(jwtService.isAccessTokenValid("validAccess")).thenReturn(true);
-		when(jwtService.extractUsernameFromAccessToken("validAccess")).thenReturn("user@mail.com");
+		when(jwtService.verify("validAccess")).thenReturn(validAccess);
 		
 		// Mock de usuário autenticável
 		User mockUser = mock(User.class);
-		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(mockUser));
+		when(userCache.findByEmail("user@mail.com")).thenReturn(Optional.of(mockUser));
 		when(mockUser.getAuthorities()).thenReturn(null);
 		
 		// Ação: executa o filtro
 		filter.doFilterInternal(request, response, filterChain);
 		
-		// Verificações
-		verify(jwtService).isAccessTokenValid("validAccess");
-		verify(userRepository).findByEmail("user@mail.com");
+		// Verificações: uma única verificação do token
+		verify(jwtService, times(1)).verify("validAccess");
+		verify(jwtService, never()).isAccessTokenValid(any());
+		verify(jwtService, never()).extractUsernameFromAccessToken(any());
+		verify(userCache).findByEmail("user@mail.com");
 		verify(filterChain).doFilter(request, response);
 		
 		// Deve haver autenticação configurada
@@ -62,30 +79,40 @@ class JwtTokenFilterTest {
 	
 	@Test
 	void shouldRefreshTokenWhenAccessTokenExpiredAndRefreshValid() throws Exception {
-		// Cenário: access token inválido, mas refresh válido
+		// Cenário: access token ausente, mas refresh válido
 		Cookie refreshCookie = new Cookie("refresh_token", "validRefresh");
 		when(request.getCookies()).thenReturn(new Cookie[]{refreshCookie});
 		
-		when(jwtService.isAccessTokenValid(any())).thenReturn(false);
-		when(jwtService.isRefreshTokenValid("validRefresh")).thenReturn(true);
-		when(jwtService.refreshAccessToken("validRefresh")).thenReturn("newAccess");
-		when(jwtService.extractUsernameFromAccessToken("newAccess")).thenReturn("user@mail.com");
+		when(jwtService.verify("validRefresh")).thenReturn(validRefresh);
 		
 		// Mock do usuário
 		User user = mock(User.class);
-		when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
 		when(user.getAuthorities()).thenReturn(null);
+		when(jwtService.refreshAccessToken(validRefresh)).thenReturn(new RefreshedAccess("newAccess", user));
 		
 		// Executa o filtro
 		filter.doFilterInternal(request, response, filterChain);
 		
-		// Verifica se o refresh foi feito corretamente
-		verify(jwtService).isRefreshTokenValid("validRefresh");
-		verify(jwtService).refreshAccessToken("validRefresh");
+		// Verifica se o refresh foi feito corretamente, sem verificar o novo token
+		verify(jwtService, times(1)).verify("validRefresh");
+		verify(jwtService, never()).verify("newAccess");
+		verify(jwtService).refreshAccessToken(validRefresh);
 		verify(jwtService).addAccessTokenToResponse(response, "newAccess");
-		verify(userRepository).findByEmail("user@mail.com");
+		verifyNoInteractions(userCache);
 		verify(filterChain).doFilter(request, response);
-		assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+		assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+	}
+	
+	@Test
+	void shouldNotRefreshWhenRefreshCookieHoldsAccessToken() throws Exception {
+		// Cenário: cookie de refresh contém um access token
+		when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("refresh_token", "validAccess")});
+		when(jwtService.verify("validAccess")).thenReturn(validAccess);
+		
+		filter.doFilterInternal(request, response, filterChain);
+		
+		verify(jwtService, never()).refreshAccessToken(any(VerifiedToken.class));
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
 	}
 	
 	@Test
@@ -96,8 +123,7 @@ class JwtTokenFilterTest {
 		filter.doFilterInternal(request, response, filterChain);
 		
 		// Nenhum método de validação de token deve ser chamado
-		verify(jwtService, never()).isAccessTokenValid(any());
-		verify(jwtService, never()).isRefreshTokenValid(any());
+		verify(jwtService, never()).verify(any());
 		verify(filterChain).doFilter(request, response);
 		
 		// Nenhuma autenticação deve ser criada
@@ -109,7 +135,7 @@ class JwtTokenFilterTest {
 		// Cenário: exceção durante a validação do token
 		Cookie cookie = new Cookie("access_token", "invalid");
 		when(request.getCookies()).thenReturn(new Cookie[]{cookie});
-		when(jwtService.isAccessTokenValid("invalid")).thenThrow(new RuntimeException("boom"));
+		when(jwtService.verify("invalid")).thenThrow(new RuntimeException("boom"));
 		
 		// A exceção não deve interromper a execução
 		filter.doFilterInternal(request, response, filterChain);
@@ -117,6 +143,58 @@ class JwtTokenFilterTest {
 		verify(filterChain).doFilter(request, response);
 	}
 	
+	@Test
+	void shouldAuthenticateFromClaimsWithoutRepositoryWhenStatelessPrincipalEnabled() throws Exception {
+		// Cenário: modo stateless com JwtService real gerando o token
+		when(jwtProperties.isStatelessPrincipal()).thenReturn(true);
+		when(jwtProperties.getSecret()).thenReturn(
+			Base64.getEncoder().encodeToString(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded()));
+		when(jwtProperties.getAccessTokenExpiration()).thenReturn(3600L);
+		
+		JwtService realJwtService = new JwtService(userCache, jwtProperties,
+			new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry()));
+		realJwtService.init();
+		filter = new JwtTokenFilter(realJwtService, userCache, jwtProperties, new RefreshTokenCoalescer(jwtProperties));
+		
+		User user = User.builder()
+			            .id("u1").email("user@mail.com").type(UserType.ADMIN)
+			            .codename("Codinome").isActive(true)
+			            .build();
+		String token = realJwtService.generateAccessToken(user);
+		when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("access_token", token)});
+		
+		// Ação
+		filter.doFilterInternal(request, response, filterChain);
+		
+		// Nenhuma busca de usuário durante a requisição autenticada
+		verifyNoInteractions(userCache);
+		verify(filterChain).doFilter(request, response);
+		
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		assertNotNull(auth);
+		User principal = (User) auth.getPrincipal();
+		assertEquals("u1", principal.getId());
+		assertEquals("user@mail.com", principal.getEmail());
+		assertEquals(UserType.ADMIN, principal.getType());
+		assertEquals("Codinome", principal.getCodename());
+		assertTrue(auth.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority())));
+	}
+	
+	@Test
+	void shouldNotAuthenticateInactiveUserWhenStatelessPrincipalEnabled() throws Exception {
+		// Cenário: claims indicam usuário inativo
+		when(jwtProperties.isStatelessPrincipal()).thenReturn(true);
+		when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("access_token", "validAccess")});
+		when(jwtService.verify("validAccess")).thenReturn(validAccess);
+		when(jwtService.buildPrincipal(validAccess))
+			.thenReturn(User.builder().id("u1").type(UserType.STUDENT).isActive(false).build());
+		
+		filter.doFilterInternal(request, response, filterChain);
+		
+		verifyNoInteractions(userCache);
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+	
 	@Test
 	void shouldReturnNullIfCookieNotFound() {
 		// Cenário: nenhum cookie com o nome esperado
@@ -131,6 +209,24 @@ class JwtTokenFilterTest {
 		assertNull(token);
 	}
 	
+	@Test
+	void shouldStoreSecurityContextInRequestForAsyncDispatch() throws Exception {
+		// Cenário: token de acesso válido
+		when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("access_token", "validAccess")});
+		when(jwtService.verify("validAccess")).thenReturn(validAccess);
+		User mockUser = mock(User.class);
+		when(userCache.findByEmail("user@mail.com")).thenReturn(Optional.of(mockUser));
+		
+		// Ação
+		filter.doFilterInternal(request, response, filterChain);
+		
+		// O contexto fica na requisição (sem sessão): o dispatch assíncrono é autorizado com ele
+		ArgumentCaptor<SecurityContext> context = ArgumentCaptor.forClass(SecurityContext.class);
+		verify(request).setAttribute(eq(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME), context.capture());
+		assertSame(mockUser, context.getValue().getAuthentication().getPrincipal());
+		verify(request, never()).getSession();
+	}
+	
 	/**
 	 * Método auxiliar para acessar o método privado getCookie()
 	 * via reflexão e testá-lo separadamente.
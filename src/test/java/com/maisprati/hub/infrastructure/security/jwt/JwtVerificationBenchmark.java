@@ -0,0 +1,103 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a validação de access token do filtro JWT antes e depois do {@link JwtService#verify}.
+ *
+ * <ul>
+ *     <li>{@code legacyFilterPath}: novo parser por chamada, {@code isAccessTokenValid} + {@code extractUsernameFromAccessToken}
+ *     (duas verificações HS512 por requisição)</li>
+ *     <li>{@code verifyOnce}: parser pré-construído e uma única verificação</li>
+ *     <li>{@code verifyCached}: {@link VerifiedTokenCache} na frente do {@code verify} (token repetido)</li>
+ * </ul>
+ *
+ * <p>Executar com:</p>
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.infrastructure.security.jwt.JwtVerificationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+	
+	private Key signingKey;
+	private JwtService jwtService;
+	private JwtService cachedJwtService;
+	private String accessToken;
+	
+	@Setup
+	public void setup() {
+		signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+		
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret(Base64.getEncoder().encodeToString(signingKey.getEncoded()));
+		properties.setAccessTokenExpiration(3600);
+		
+		jwtService = new JwtService(Mockito.mock(UserCache.class), properties,
+			new VerifiedTokenCache(properties, new SimpleMeterRegistry()));
+		jwtService.init();
+		
+		JwtProperties cachedProperties = new JwtProperties();
+		cachedProperties.setSecret(properties.getSecret());
+		cachedProperties.setAccessTokenExpiration(3600);
+		cachedProperties.setVerifiedTokenCacheSize(10_000);
+		VerifiedTokenCache tokenCache = new VerifiedTokenCache(cachedProperties, new SimpleMeterRegistry());
+		tokenCache.init();
+		cachedJwtService = new JwtService(Mockito.mock(UserCache.class), cachedProperties, tokenCache);
+		cachedJwtService.init();
+		
+		User user = User.builder().id("1").email("bench@mail.com").type(UserType.STUDENT).codename("Bench").build();
+		accessToken = jwtService.generateAccessToken(user);
+	}
+	
+	@Benchmark
+	public String legacyFilterPath() {
+		// isAccessTokenValid
+		Claims claims = Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(accessToken).getBody();
+		boolean valid = "access".equals(claims.get("type")) && claims.getExpiration().after(new Date());
+		if (!valid) return null;
+		
+		// extractUsernameFromAccessToken
+		Claims again = Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(accessToken).getBody();
+		return "access".equals(again.get("type")) ? again.getSubject() : null;
+	}
+	
+	@Benchmark
+	public String verifyOnce() {
+		VerifiedToken verified = jwtService.verify(accessToken);
+		return verified != null && verified.isAccess() ? verified.subject() : null;
+	}
+	
+	@Benchmark
+	public String verifyCached() {
+		VerifiedToken verified = cachedJwtService.verify(accessToken);
+		return verified != null && verified.isAccess() ? verified.subject() : null;
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtVerificationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,128 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.User;
+import com.maisprati.hub.infrastructure.cache.UserCache;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenCoalescerTest {
+	
+	private JwtProperties jwtProperties;
+	private RefreshTokenCoalescer coalescer;
+	
+	@BeforeEach
+	void setup() {
+		jwtProperties = new JwtProperties();
+		jwtProperties.setSecret(Base64.getEncoder().encodeToString(
+			Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded()));
+		jwtProperties.setAccessTokenExpiration(3600);
+		jwtProperties.setRefreshTokenExpiration(7200);
+		jwtProperties.setRefreshCoalesceWindowMs(5000);
+		coalescer = new RefreshTokenCoalescer(jwtProperties);
+		coalescer.init();
+	}
+	
+	// TEST 1 — 50 refreshes simultâneos: uma busca de usuário e uma assinatura
+	@Test
+	void shouldCoalesceConcurrentRefreshes() throws Exception {
+		// Arrange: JwtService real (spy) e busca de usuário lenta
+		UserCache userCache = mock(UserCache.class);
+		JwtService jwtService = spy(new JwtService(userCache, jwtProperties,
+			new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry())));
+		jwtService.init();
+		
+		User user = User.builder().id("u1").email("user@mail.com").type(UserType.STUDENT).isActive(true).build();
+		when(userCache.findByEmail("user@mail.com")).thenAnswer(invocation -> {
+			Thread.sleep(200);
+			return Optional.of(user);
+		});
+		String refreshToken = jwtService.generateRefreshToken(user);
+		
+		int threads = 50;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<RefreshedAccess>> results = new ArrayList<>();
+		
+		// Act: todas as threads disparam o refresh ao mesmo tempo
+		for (int i = 0; i < threads; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				VerifiedToken verified = jwtService.verify(refreshToken);
+				return coalescer.refresh(refreshToken, () -> jwtService.refreshAccessToken(verified));
+			}));
+		}
+		start.countDown();
+		
+		Set<String> accessTokens = ConcurrentHashMap.newKeySet();
+		for (Future<RefreshedAccess> result : results) {
+			RefreshedAccess refreshed = result.get(10, TimeUnit.SECONDS);
+			assertNotNull(refreshed);
+			accessTokens.add(refreshed.accessToken());
+		}
+		executor.shutdown();
+		
+		// Assert
+		verify(userCache, times(1)).findByEmail("user@mail.com");
+		verify(jwtService, times(1)).generateAccessToken(any(User.class));
+		assertEquals(1, accessTokens.size());
+	}
+	
+	// TEST 2 — Refresh sem resultado não é reaproveitado
+	@Test
+	void shouldNotReuseFailedRefresh() {
+		AtomicInteger calls = new AtomicInteger();
+		
+		assertNull(coalescer.refresh("token", () -> {
+			calls.incrementAndGet();
+			return null;
+		}));
+		RefreshedAccess refreshed = coalescer.refresh("token", () -> {
+			calls.incrementAndGet();
+			return new RefreshedAccess("novo", new User());
+		});
+		
+		assertEquals("novo", refreshed.accessToken());
+		assertEquals(2, calls.get());
+	}
+	
+	// TEST 3 — Exceção no refresh é propagada e não fica em cache
+	@Test
+	void shouldPropagateExceptionAndAllowRetry() {
+		assertThrows(IllegalStateException.class, () -> coalescer.refresh("token", () -> {
+			throw new IllegalStateException("falha");
+		}));
+		
+		RefreshedAccess refreshed = coalescer.refresh("token", () -> new RefreshedAccess("novo", new User()));
+		assertEquals("novo", refreshed.accessToken());
+	}
+	
+	// TEST 4 — Janela 0 desliga o agrupamento
+	@Test
+	void shouldCallRefresherEveryTimeWhenDisabled() {
+		jwtProperties.setRefreshCoalesceWindowMs(0);
+		RefreshTokenCoalescer disabled = new RefreshTokenCoalescer(jwtProperties);
+		disabled.init();
+		AtomicInteger calls = new AtomicInteger();
+		
+		disabled.refresh("token", () -> new RefreshedAccess("t" + calls.incrementAndGet(), new User()));
+		disabled.refresh("token", () -> new RefreshedAccess("t" + calls.incrementAndGet(), new User()));
+		
+		assertEquals(2, calls.get());
+	}
+}
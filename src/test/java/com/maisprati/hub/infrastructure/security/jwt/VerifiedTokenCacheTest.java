@@ -0,0 +1,99 @@
+package com.maisprati.hub.infrastructure.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+	
+	private JwtProperties jwtProperties;
+	private SimpleMeterRegistry meterRegistry;
+	private VerifiedTokenCache cache;
+	private AtomicInteger verifications;
+	
+	@BeforeEach
+	void setup() {
+		jwtProperties = new JwtProperties();
+		jwtProperties.setVerifiedTokenCacheSize(100);
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new VerifiedTokenCache(jwtProperties, meterRegistry);
+		cache.init();
+		verifications = new AtomicInteger();
+	}
+	
+	private Function<String, VerifiedToken> verifierReturning(VerifiedToken result) {
+		return token -> {
+			verifications.incrementAndGet();
+			return result;
+		};
+	}
+	
+	private static VerifiedToken accessToken(Instant expiresAt) {
+		return new VerifiedToken("access", "user@mail.com", "1", "STUDENT", true, "Codinome", expiresAt);
+	}
+	
+	// TEST 1 — Token repetido é verificado uma única vez
+	@Test
+	void shouldVerifyRepeatedTokenOnlyOnce() {
+		VerifiedToken verified = accessToken(Instant.now().plusSeconds(3600));
+		
+		VerifiedToken first = cache.get("token-a", verifierReturning(verified));
+		VerifiedToken second = cache.get("token-a", verifierReturning(verified));
+		
+		assertSame(verified, first);
+		assertSame(verified, second);
+		assertEquals(1, verifications.get());
+	}
+	
+	// TEST 2 — Tokens inválidos não são armazenados
+	@Test
+	void shouldNotCacheInvalidToken() {
+		assertNull(cache.get("invalido", verifierReturning(null)));
+		assertNull(cache.get("invalido", verifierReturning(null)));
+		
+		assertEquals(2, verifications.get());
+	}
+	
+	// TEST 3 — Token expirado no cache é verificado novamente
+	@Test
+	void shouldNotServeExpiredToken() {
+		VerifiedToken expired = accessToken(Instant.now().minusSeconds(1));
+		
+		cache.get("token-expirado", verifierReturning(expired));
+		cache.get("token-expirado", verifierReturning(expired));
+		
+		assertEquals(2, verifications.get());
+	}
+	
+	// TEST 4 — Tamanho 0 desliga o cache
+	@Test
+	void shouldBypassWhenDisabled() {
+		jwtProperties.setVerifiedTokenCacheSize(0);
+		VerifiedTokenCache disabled = new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry());
+		disabled.init();
+		VerifiedToken verified = accessToken(Instant.now().plusSeconds(3600));
+		
+		disabled.get("token-a", verifierReturning(verified));
+		disabled.get("token-a", verifierReturning(verified));
+		
+		assertEquals(2, verifications.get());
+	}
+	
+	// TEST 5 — Taxa de acerto exposta como métrica
+	@Test
+	void shouldExposeHitRatio() {
+		VerifiedToken verified = accessToken(Instant.now().plusSeconds(3600));
+		
+		cache.get("token-a", verifierReturning(verified));
+		cache.get("token-a", verifierReturning(verified));
+		
+		double hitRatio = meterRegistry.get("jwt.verified.cache.hit.ratio").gauge().value();
+		assertEquals(0.5, hitRatio, 0.0001);
+	}
+}
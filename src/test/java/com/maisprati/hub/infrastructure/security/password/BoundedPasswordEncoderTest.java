@@ -0,0 +1,96 @@
+package com.maisprati.hub.infrastructure.security.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+	
+	private PasswordHashingProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private BoundedPasswordEncoder encoder;
+	
+	@BeforeEach
+	void setup() {
+		properties = new PasswordHashingProperties();
+		properties.setThreads(1);
+		properties.setQueueCapacity(1);
+		properties.setRetryAfterSeconds(3);
+		meterRegistry = new SimpleMeterRegistry();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		if (encoder != null) encoder.shutdown();
+	}
+	
+	// TEST 1 — Encode e matches delegam ao BCrypt e registram a latência
+	@Test
+	void shouldDelegateToBCryptAndRecordLatency() {
+		// Arrange
+		encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), properties, meterRegistry);
+		
+		// Act
+		String hash = encoder.encode("senha123");
+		
+		// Assert
+		assertTrue(encoder.matches("senha123", hash));
+		assertFalse(encoder.matches("outra", hash));
+		assertEquals(1, meterRegistry.get("password.hash").tag("operation", "encode").timer().count());
+		assertEquals(2, meterRegistry.get("password.hash").tag("operation", "matches").timer().count());
+	}
+	
+	// TEST 2 — Fila cheia rejeita imediatamente com Retry-After
+	@Test
+	void shouldRejectWhenQueueIsFull() throws Exception {
+		// Arrange: delegate bloqueado ocupa a única thread
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		PasswordEncoder blocking = mock(PasswordEncoder.class);
+		when(blocking.encode(any())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return "hash";
+		});
+		encoder = new BoundedPasswordEncoder(blocking, properties, meterRegistry);
+		
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		Future<String> running = callers.submit(() -> encoder.encode("a"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		Future<String> queued = callers.submit(() -> encoder.encode("b"));
+		while (meterRegistry.get("password.hash.queue.size").gauge().value() < 1) {
+			Thread.sleep(5);
+		}
+		
+		// Act + Assert: terceira chamada não cabe na fila
+		PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+		assertEquals(3, ex.getRetryAfterSeconds());
+		assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+		
+		// as chamadas aceitas concluem normalmente
+		release.countDown();
+		assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+		assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+		callers.shutdown();
+	}
+	
+	// TEST 3 — Exceções do encoder delegado são propagadas
+	@Test
+	void shouldPropagateDelegateException() {
+		PasswordEncoder failing = mock(PasswordEncoder.class);
+		when(failing.matches(any(), any())).thenThrow(new IllegalArgumentException("hash inválido"));
+		encoder = new BoundedPasswordEncoder(failing, properties, meterRegistry);
+		
+		IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> encoder.matches("a", "b"));
+		assertEquals("hash inválido", ex.getMessage());
+	}
+}
@@ -0,0 +1,53 @@
+package com.maisprati.hub.infrastructure.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityCodeGeneratorTest {
+	
+	// TEST 1 — Códigos gerados têm o tamanho certo, passam no verificador e não se repetem
+	@Test
+	void shouldGenerateValidDistinctCodes() {
+		Set<String> codes = new HashSet<>();
+		for (int i = 0; i < 10_000; i++) {
+			String code = SecurityCodeGenerator.generate();
+			assertEquals(SecurityCodeGenerator.CODE_LENGTH, code.length());
+			assertTrue(SecurityCodeGenerator.isValid(code), code);
+			codes.add(code);
+		}
+		assertEquals(10_000, codes.size());
+	}
+	
+	// TEST 2 — Um caractere trocado ou dois vizinhos invertidos são detectados (único ponto cego do Luhn mod 32: 0 ↔ Z)
+	@Test
+	void shouldRejectSingleSubstitutionAndAdjacentTransposition() {
+		for (int n = 0; n < 1_000; n++) {
+			String code = SecurityCodeGenerator.generate();
+			
+			char[] substituted = code.toCharArray();
+			substituted[n % SecurityCodeGenerator.CODE_LENGTH] = substituted[n % SecurityCodeGenerator.CODE_LENGTH] == 'A' ? 'B' : 'A';
+			assertFalse(SecurityCodeGenerator.isValid(new String(substituted)), code);
+			
+			for (int i = 0; i < SecurityCodeGenerator.RANDOM_LENGTH - 1; i++) {
+				char a = code.charAt(i), b = code.charAt(i + 1);
+				if (a == b || (a == '0' && b == 'Z') || (a == 'Z' && b == '0')) continue;
+				char[] swapped = code.toCharArray();
+				swapped[i] = b;
+				swapped[i + 1] = a;
+				assertFalse(SecurityCodeGenerator.isValid(new String(swapped)), code);
+			}
+		}
+	}
+	
+	// TEST 3 — Normalização de Crockford (minúsculas, hífen, O → 0, I/L → 1)
+	@Test
+	void shouldNormalizeTypedCode() {
+		assertEquals("0AB1C1D7", SecurityCodeGenerator.normalize(" oab-ic-ld7 "));
+		assertNull(SecurityCodeGenerator.normalize(null));
+		assertFalse(SecurityCodeGenerator.isValid("TEAMABC123"));
+	}
+}
@@ -0,0 +1,142 @@
+package com.maisprati.hub.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga dos endpoints mais acessados, para comparar threads de plataforma
+ * com o profile {@code virtual} (threads virtuais).
+ *
+ * <p>Não roda no {@code mvn test}: é executado manualmente contra um servidor já iniciado,
+ * uma vez com cada configuração, usando o mesmo banco e os mesmos parâmetros.</p>
+ *
+ * <pre>
+ * # terminal 1 (uma execução por modo)
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=dev
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=dev,virtual
+ *
+ * # terminal 2
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.maisprati.hub.loadtest.HotEndpointsLoadRunner \
+ *     -Dexec.args="http://localhost:8080 admin@admin.com admin123 400 60"
+ * </pre>
+ *
+ * <p>Argumentos: URL base, e-mail, senha, clientes simultâneos (padrão 200) e duração em segundos (padrão 30).
+ * Para cada endpoint imprime requisições/s, erros e latências p50/p95/p99.</p>
+ */
+public class HotEndpointsLoadRunner {
+	
+	private static final Pattern ACCESS_COOKIE = Pattern.compile("access_token=([^;]+)");
+	private static final Pattern USER_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+	
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+		String email = args.length > 1 ? args[1] : "admin@admin.com";
+		String password = args.length > 2 ? args[2] : "admin123";
+		int clients = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+		int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+		
+		HttpClient http = HttpClient.newBuilder()
+			                  .connectTimeout(Duration.ofSeconds(5))
+			                  .executor(Executors.newVirtualThreadPerTaskExecutor())
+			                  .build();
+		
+		String cookie = "access_token=" + login(http, baseUrl, email, password);
+		String userId = currentUserId(http, baseUrl, cookie);
+		LocalDate today = LocalDate.now();
+		
+		Map<String, String> endpoints = new LinkedHashMap<>();
+		endpoints.put("GET /api/auth/me", "/api/auth/me");
+		endpoints.put("GET /api/teams/active", "/api/teams/active");
+		endpoints.put("GET /api/notifications", "/api/notifications");
+		endpoints.put("GET /api/timeslots/month",
+			"/api/timeslots/month?adminId=" + userId + "&year=" + today.getYear() + "&month=" + today.getMonthValue());
+		
+		Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+		Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+		endpoints.keySet().forEach(name -> {
+			latencies.put(name, new ConcurrentLinkedQueue<>());
+			errors.put(name, new LongAdder());
+		});
+		List<String> names = new ArrayList<>(endpoints.keySet());
+		
+		System.out.printf("Carga: %d clientes, %ds em %s%n", clients, seconds, baseUrl);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < clients; c++) {
+				int offset = c;
+				workers.submit(() -> {
+					for (int i = offset; System.nanoTime() < deadline; i++) {
+						String name = names.get(i % names.size());
+						HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoints.get(name)))
+							                      .header("Cookie", cookie)
+							                      .timeout(Duration.ofSeconds(30))
+							                      .GET()
+							                      .build();
+						long start = System.nanoTime();
+						try {
+							int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+							if (status >= 400) errors.get(name).increment();
+							else latencies.get(name).add(System.nanoTime() - start);
+						} catch (Exception e) {
+							errors.get(name).increment();
+						}
+					}
+				});
+			}
+		}
+		
+		System.out.printf("%-26s %10s %8s %9s %9s %9s%n", "endpoint", "req/s", "erros", "p50 ms", "p95 ms", "p99 ms");
+		for (String name : names) {
+			long[] sorted = latencies.get(name).stream().mapToLong(Long::longValue).sorted().toArray();
+			System.out.printf("%-26s %10.1f %8d %9.1f %9.1f %9.1f%n",
+				name, (double) sorted.length / seconds, errors.get(name).sum(),
+				percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+		}
+	}
+	
+	private static String login(HttpClient http, String baseUrl, String email, String password) throws Exception {
+		String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+		HttpResponse<String> response = http.send(
+			HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build(),
+			HttpResponse.BodyHandlers.ofString());
+		
+		for (String setCookie : response.headers().allValues("Set-Cookie")) {
+			Matcher matcher = ACCESS_COOKIE.matcher(setCookie);
+			if (matcher.find()) return matcher.group(1);
+		}
+		throw new IllegalStateException("Login falhou (HTTP " + response.statusCode() + "): " + response.body());
+	}
+	
+	private static String currentUserId(HttpClient http, String baseUrl, String cookie) throws Exception {
+		HttpResponse<String> response = http.send(
+			HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/me")).header("Cookie", cookie).GET().build(),
+			HttpResponse.BodyHandlers.ofString());
+		Matcher matcher = USER_ID.matcher(response.body());
+		if (!matcher.find()) throw new IllegalStateException("Não foi possível obter o id do usuário: " + response.body());
+		return matcher.group(1);
+	}
+	
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) return 0;
+		int index = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+}
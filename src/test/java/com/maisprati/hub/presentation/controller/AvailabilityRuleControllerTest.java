@@ -0,0 +1,70 @@
+package com.maisprati.hub.presentation.controller;
+
+import com.maisprati.hub.application.service.AvailabilityRuleService;
+import com.maisprati.hub.domain.exception.AvailabilityRuleNotFoundException;
+import com.maisprati.hub.domain.model.AvailabilityRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilityRuleControllerTest {
+	
+	@Mock private AvailabilityRuleService availabilityRuleService;
+	@InjectMocks private AvailabilityRuleController controller;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+	
+	@Test
+	void createRule_ShouldReturnCreated() {
+		AvailabilityRule rule = new AvailabilityRule();
+		when(availabilityRuleService.createRule("admin1", rule)).thenReturn(rule);
+		
+		ResponseEntity<?> response = controller.createRule("admin1", rule);
+		
+		assertEquals(201, response.getStatusCode().value());
+		assertSame(rule, response.getBody());
+	}
+	
+	@Test
+	void createRule_ShouldReturnBadRequestOnInvalidRule() {
+		AvailabilityRule rule = new AvailabilityRule();
+		when(availabilityRuleService.createRule("admin1", rule)).thenThrow(new IllegalArgumentException("Janela de horário inválida"));
+		
+		ResponseEntity<?> response = controller.createRule("admin1", rule);
+		
+		assertEquals(400, response.getStatusCode().value());
+		assertEquals(Map.of("error", "Janela de horário inválida"), response.getBody());
+	}
+	
+	@Test
+	void getRules_ShouldReturnAdminRules() {
+		when(availabilityRuleService.getRules("admin1")).thenReturn(List.of(new AvailabilityRule()));
+		
+		ResponseEntity<List<AvailabilityRule>> response = controller.getRules("admin1");
+		
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals(1, response.getBody().size());
+	}
+	
+	@Test
+	void deleteRule_ShouldReturnNotFoundForUnknownRule() {
+		doThrow(new AvailabilityRuleNotFoundException("Regra de disponibilidade não encontrada"))
+			.when(availabilityRuleService).deleteRule("admin1", "rule1");
+		
+		ResponseEntity<?> response = controller.deleteRule("rule1", "admin1");
+		
+		assertEquals(404, response.getStatusCode().value());
+	}
+}
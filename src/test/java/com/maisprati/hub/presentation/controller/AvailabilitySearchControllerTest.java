@@ -0,0 +1,69 @@
+package com.maisprati.hub.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.maisprati.hub.application.service.TimeSlotDayService;
+import com.maisprati.hub.domain.model.AvailableSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilitySearchControllerTest {
+	
+	@Mock private TimeSlotDayService timeSlotDayService;
+	private AvailabilitySearchController controller;
+	
+	private final LocalDate from = LocalDate.of(2025, 11, 3);
+	private final LocalDate to = LocalDate.of(2025, 11, 14);
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			                            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		controller = new AvailabilitySearchController(timeSlotDayService, objectMapper);
+	}
+	
+	@Test
+	void searchAvailableSlots_ShouldStreamNdjsonAndCloseCursor() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		when(timeSlotDayService.findAvailableSlots(from, to, null, null, 2)).thenReturn(Stream.of(
+			new AvailableSlot("admin1", from, "09:00"),
+			new AvailableSlot("admin2", from, "10:00")).onClose(() -> closed.set(true)));
+		
+		ResponseEntity<?> response = controller.searchAvailableSlots(from, to, null, null, 2);
+		
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((StreamingResponseBody) response.getBody()).writeTo(out);
+		assertEquals("{\"adminId\":\"admin1\",\"date\":\"2025-11-03\",\"time\":\"09:00\"}\n"
+			             + "{\"adminId\":\"admin2\",\"date\":\"2025-11-03\",\"time\":\"10:00\"}\n",
+			out.toString(StandardCharsets.UTF_8));
+		assertTrue(closed.get());
+	}
+	
+	@Test
+	void searchAvailableSlots_ShouldReturnBadRequestOnInvalidRange() {
+		when(timeSlotDayService.findAvailableSlots(to, from, null, null, null))
+			.thenThrow(new IllegalArgumentException("Intervalo de datas inválido"));
+		
+		ResponseEntity<?> response = controller.searchAvailableSlots(to, from, null, null, null);
+		
+		assertEquals(400, response.getStatusCode().value());
+		assertEquals(Map.of("error", "Intervalo de datas inválido"), response.getBody());
+	}
+}
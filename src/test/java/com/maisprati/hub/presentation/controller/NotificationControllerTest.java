@@ -1,12 +1,18 @@
 package com.maisprati.hub.presentation.controller;
 
+import com.maisprati.hub.application.dto.NotificationPage;
+import com.maisprati.hub.domain.exception.NotificationNotFoundException;
 import com.maisprati.hub.application.service.NotificationService;
+import com.maisprati.hub.application.service.NotificationStreamBroker;
+import com.maisprati.hub.domain.enums.UserType;
+import com.maisprati.hub.domain.model.User;
 import com.maisprati.hub.domain.model.Notification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -17,9 +23,11 @@ import static org.mockito.Mockito.*;
 class NotificationControllerTest {
 	
 	@Mock private NotificationService notificationService;
+	@Mock private NotificationStreamBroker notificationStreamBroker;
 	@InjectMocks private NotificationController notificationController;
 	
 	private Notification notification;
+	private final User student = User.builder().id("user1").type(UserType.STUDENT).build();
 	
 	@BeforeEach
 	void setup() {
@@ -34,13 +42,56 @@ class NotificationControllerTest {
 	// ==================== GET /api/notifications ====================
 	@Test
 	void getUserNotifications_ShouldReturnList() {
-		when(notificationService.getUserNotifications("user1")).thenReturn(List.of(notification));
+		when(notificationService.getUserNotifications("user1", null, null))
+			.thenReturn(new NotificationPage(List.of(notification), null));
 		
-		ResponseEntity<List<Notification>> response = notificationController.getUserNotifications("user1");
+		ResponseEntity<?> response = notificationController.getUserNotifications(student, null, null, null);
 		
 		assertEquals(200, response.getStatusCodeValue());
-		assertEquals(1, response.getBody().size());
-		assertEquals(notification, response.getBody().get(0));
+		assertEquals(List.of(notification), response.getBody());
+		assertFalse(response.getHeaders().containsKey(NotificationController.NEXT_CURSOR_HEADER));
+	}
+	
+	@Test
+	void getUserNotifications_ShouldExposeNextCursorHeader() {
+		when(notificationService.getUserNotifications("user1", 1, null))
+			.thenReturn(new NotificationPage(List.of(notification), "cursor"));
+		
+		ResponseEntity<?> response = notificationController.getUserNotifications(student, null, 1, null);
+		
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals("cursor", response.getHeaders().getFirst(NotificationController.NEXT_CURSOR_HEADER));
+	}
+	
+	@Test
+	void getUserNotifications_ShouldReturnBadRequestOnInvalidCursor() {
+		when(notificationService.getUserNotifications("user1", null, "x"))
+			.thenThrow(new IllegalArgumentException("Cursor inválido"));
+		
+		ResponseEntity<?> response = notificationController.getUserNotifications(student, null, null, "x");
+		
+		assertEquals(400, response.getStatusCodeValue());
+		assertEquals(Map.of("error", "Cursor inválido"), response.getBody());
+	}
+	
+	@Test
+	void getUserNotifications_ShouldForbidOtherUserForNonAdmin() {
+		ResponseEntity<?> response = notificationController.getUserNotifications(student, "user2", null, null);
+		
+		assertEquals(403, response.getStatusCodeValue());
+		verifyNoInteractions(notificationService);
+	}
+	
+	@Test
+	void getUserNotifications_ShouldAllowAdminToReadOtherUser() {
+		User admin = User.builder().id("admin1").type(UserType.ADMIN).build();
+		when(notificationService.getUserNotifications("user1", null, null))
+			.thenReturn(new NotificationPage(List.of(notification), null));
+		
+		ResponseEntity<?> response = notificationController.getUserNotifications(admin, "user1", null, null);
+		
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(List.of(notification), response.getBody());
 	}
 	
 	// ==================== POST /api/notifications ====================
@@ -100,19 +151,22 @@ class NotificationControllerTest {
 	// ==================== GET /api/notifications/admin ====================
 	@Test
 	void getAdminNotifications_ShouldReturnList() {
-		when(notificationService.getAdminNotifications()).thenReturn(List.of(notification));
+		User admin = User.builder().id("admin1").build();
+		when(notificationService.getAdminNotifications("admin1", null, null))
+			.thenReturn(new NotificationPage(List.of(notification), null));
 		
-		ResponseEntity<List<Notification>> response = notificationController.getAdminNotifications();
+		ResponseEntity<?> response = notificationController.getAdminNotifications(admin, null, null);
 		
 		assertEquals(200, response.getStatusCodeValue());
-		assertEquals(1, response.getBody().size());
+		assertEquals(List.of(notification), response.getBody());
 	}
 	
 	@Test
 	void getAdminNotifications_ShouldReturnBadRequestOnError() {
-		when(notificationService.getAdminNotifications()).thenThrow(new RuntimeException("Erro"));
+		User admin = User.builder().id("admin1").build();
+		when(notificationService.getAdminNotifications("admin1", null, null)).thenThrow(new RuntimeException("Erro"));
 		
-		ResponseEntity<List<Notification>> response = notificationController.getAdminNotifications();
+		ResponseEntity<?> response = notificationController.getAdminNotifications(admin, null, null);
 		
 		assertEquals(400, response.getStatusCodeValue());
 		assertNull(response.getBody());
@@ -136,4 +190,60 @@ class NotificationControllerTest {
 		
 		assertEquals(400, response.getStatusCodeValue());
 	}
+	
+	// ==================== Leitura / não lidas ====================
+	@Test
+	void getUnreadCount_ShouldReturnCounterOfAuthenticatedUser() {
+		User user = User.builder().id("user1").build();
+		when(notificationService.getUnreadCount("user1")).thenReturn(3L);
+		
+		ResponseEntity<Map<String, Long>> response = notificationController.getUnreadCount(user);
+		
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(Map.of("unread", 3L), response.getBody());
+	}
+	
+	@Test
+	void markAsRead_ShouldReturnNoContent() {
+		User user = User.builder().id("user1").build();
+		
+		ResponseEntity<Void> response = notificationController.markAsRead(user, "notif1");
+		
+		assertEquals(204, response.getStatusCodeValue());
+		verify(notificationService).markAsRead("user1", "notif1");
+	}
+	
+	@Test
+	void markAsRead_ShouldReturnNotFoundForNotificationOfAnotherUser() {
+		User user = User.builder().id("user1").build();
+		when(notificationService.markAsRead("user1", "notif2")).thenThrow(new NotificationNotFoundException("Notificação não encontrada"));
+		
+		ResponseEntity<Void> response = notificationController.markAsRead(user, "notif2");
+		
+		assertEquals(404, response.getStatusCodeValue());
+	}
+	
+	@Test
+	void markAllAsRead_ShouldReturnUpdatedCount() {
+		User user = User.builder().id("user1").build();
+		when(notificationService.markAllAsRead("user1")).thenReturn(5L);
+		
+		ResponseEntity<Map<String, Long>> response = notificationController.markAllAsRead(user);
+		
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(Map.of("updated", 5L), response.getBody());
+	}
+	
+	// ==================== GET /api/notifications/stream ====================
+	@Test
+	void streamNotifications_ShouldSubscribeAuthenticatedUserWithLastEventId() {
+		User user = User.builder().id("user1").build();
+		SseEmitter emitter = new SseEmitter();
+		when(notificationStreamBroker.subscribe("user1", "abc")).thenReturn(emitter);
+		
+		SseEmitter result = notificationController.streamNotifications(user, "abc");
+		
+		assertSame(emitter, result);
+		verify(notificationStreamBroker).subscribe("user1", "abc");
+	}
 }
@@ -60,6 +60,16 @@ class TeamControllerTest {
 		assertEquals(1, response.getBody().size());
 	}
 	
+	@Test
+	void getActiveTeamsWithMembers_ShouldReturnEnrichedList() {
+		when(teamService.getActiveTeamsWithMembers()).thenReturn(List.of(team));
+		
+		ResponseEntity<List<Team>> response = teamController.getActiveTeamsWithMembers();
+		
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(List.of(team), response.getBody());
+	}
+	
 	@Test
 	void getTeamById_ShouldReturnTeam() {
 		when(teamService.getTeamByIdWithUserData("team1")).thenReturn(Optional.of(team));
@@ -261,4 +271,24 @@ class TeamControllerTest {
 		assertEquals(404, response.getStatusCodeValue());
 	}
 	
+	// ==================== POST /api/teams/bulk ====================
+	@Test
+	void createTeamsForClass_ShouldReturnCreatedTeams() {
+		when(teamService.createTeamsForClass("Turma 12", 2, 6, null, "admin1")).thenReturn(List.of(team, team));
+		
+		ResponseEntity<?> response = teamController.createTeamsForClass(
+			Map.of("className", "Turma 12", "count", 2, "maxMembers", 6), "admin1");
+		
+		assertEquals(200, response.getStatusCodeValue());
+		assertEquals(2, ((List<?>) response.getBody()).size());
+	}
+	
+	@Test
+	void createTeamsForClass_ShouldReturnBadRequestWithoutCount() {
+		ResponseEntity<?> response = teamController.createTeamsForClass(Map.of("className", "Turma 12"), "admin1");
+		
+		assertEquals(400, response.getStatusCodeValue());
+		verifyNoInteractions(teamService);
+	}
+	
 }
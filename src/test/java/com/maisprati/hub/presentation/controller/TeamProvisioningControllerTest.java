@@ -0,0 +1,76 @@
+package com.maisprati.hub.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maisprati.hub.application.dto.TeamProvisioningResult;
+import com.maisprati.hub.application.dto.TeamProvisioningRow;
+import com.maisprati.hub.application.service.TeamProvisioningService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TeamProvisioningControllerTest {
+	
+	@Mock private TeamProvisioningService teamProvisioningService;
+	private TeamProvisioningController controller;
+	
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		controller = new TeamProvisioningController(teamProvisioningService, new ObjectMapper());
+	}
+	
+	@Test
+	void provisionTeams_ShouldStreamOneJsonLinePerRow() throws Exception {
+		List<TeamProvisioningRow> rows = List.of(new TeamProvisioningRow("Time A", null, null, null, List.of()));
+		doAnswer(i -> {
+			Consumer<TeamProvisioningResult> sink = i.getArgument(1);
+			sink.accept(TeamProvisioningResult.rejected(2, null, List.of("Nome do time é obrigatório")));
+			sink.accept(TeamProvisioningResult.created(1, "Time A", "t1", "CODE"));
+			return null;
+		}).when(teamProvisioningService).provision(eq(rows), any());
+		
+		ResponseEntity<?> response = controller.provisionTeams(rows, "admin1");
+		
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((StreamingResponseBody) response.getBody()).writeTo(out);
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].contains("\"status\":\"REJECTED\""));
+		assertTrue(lines[1].contains("\"teamId\":\"t1\""));
+	}
+	
+	@Test
+	void provisionTeamsFromCsv_ShouldReturnBadRequestOnMalformedCsv() {
+		when(teamProvisioningService.parseCsv("x")).thenThrow(new IllegalArgumentException("CSV sem a coluna 'name'"));
+		
+		ResponseEntity<?> response = controller.provisionTeamsFromCsv("x", "admin1");
+		
+		assertEquals(400, response.getStatusCode().value());
+		assertEquals(Map.of("error", "CSV sem a coluna 'name'"), response.getBody());
+		verify(teamProvisioningService, never()).provision(any(), any());
+	}
+	
+	@Test
+	void provisionTeams_ShouldReturnBadRequestWhenCreatorIsNotAdmin() {
+		doThrow(new RuntimeException("Apenas administradores podem criar times"))
+			.when(teamProvisioningService).requireAdmin("user1");
+		
+		ResponseEntity<?> response = controller.provisionTeams(List.of(), "user1");
+		
+		assertEquals(400, response.getStatusCode().value());
+	}
+}
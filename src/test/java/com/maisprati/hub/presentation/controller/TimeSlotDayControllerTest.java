@@ -3,6 +3,8 @@ package com.maisprati.hub.presentation.controller;
 import com.maisprati.hub.application.service.TimeSlotDayService;
 import com.maisprati.hub.domain.model.TimeSlot;
 import com.maisprati.hub.domain.model.TimeSlotDay;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache;
+import com.maisprati.hub.infrastructure.cache.AvailabilityCalendarCache.MonthSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,7 +13,9 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
+import java.time.Instant;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,7 +70,7 @@ class TimeSlotDayControllerTest {
 		when(timeSlotDayService.getDayByAdminAndDate(anyString(), any(LocalDate.class)))
 			.thenReturn(mockDay);
 		
-		ResponseEntity<?> response = controller.getDaySlots(LocalDate.now(), "admin123");
+		ResponseEntity<?> response = controller.getDaySlots(LocalDate.now(), "admin123", null);
 		
 		assertEquals(200, response.getStatusCodeValue());
 		assertTrue(((List<?>) ((java.util.Map<?, ?>) response.getBody()).get("slots")).size() > 0);
@@ -83,7 +87,7 @@ class TimeSlotDayControllerTest {
 		when(timeSlotDayService.getDayByAdminAndDate(anyString(), any(LocalDate.class)))
 			.thenThrow(new RuntimeException("Erro inesperado"));
 		
-		ResponseEntity<?> response = controller.getDaySlots(LocalDate.now(), "admin123");
+		ResponseEntity<?> response = controller.getDaySlots(LocalDate.now(), "admin123", null);
 		
 		assertEquals(200, response.getStatusCodeValue());
 		List<?> slots = (List<?>) ((java.util.Map<?, ?>) response.getBody()).get("slots");
@@ -131,14 +135,52 @@ class TimeSlotDayControllerTest {
 	 */
 	@Test
 	void testGetMonthSlots() {
-		when(timeSlotDayService.getSlotsByAdminAndMonth(anyString(), anyInt(), anyInt()))
-			.thenReturn(List.of(mockDay));
+		MonthSnapshot snapshot = snapshotOf(mockDay);
+		when(timeSlotDayService.getMonthSnapshot("admin123", YearMonth.of(2025, 11))).thenReturn(snapshot);
 		
-		ResponseEntity<List<TimeSlotDay>> response = controller.getMonthSlots("admin123", 2025, 11);
+		ResponseEntity<List<TimeSlotDay>> response = controller.getMonthSlots("admin123", 2025, 11, null);
 		
 		assertEquals(200, response.getStatusCodeValue());
 		assertEquals(1, response.getBody().size());
-		verify(timeSlotDayService, times(1))
-			.getSlotsByAdminAndMonth(eq("admin123"), eq(2025), eq(11));
+		assertEquals(snapshot.etag(), response.getHeaders().getETag());
+		verify(timeSlotDayService, times(1)).getMonthSnapshot("admin123", YearMonth.of(2025, 11));
+	}
+	
+	/**
+	 * Testa o endpoint GET /api/timeslots/month com If-None-Match
+	 * - Deve retornar 304 sem corpo quando o ETag não mudou, e 200 quando mudou.
+	 */
+	@Test
+	void testGetMonthSlots_NotModified() {
+		MonthSnapshot snapshot = snapshotOf(mockDay);
+		when(timeSlotDayService.getMonthSnapshot("admin123", YearMonth.of(2025, 11))).thenReturn(snapshot);
+		
+		ResponseEntity<List<TimeSlotDay>> notModified =
+			controller.getMonthSlots("admin123", 2025, 11, "W/\"other\", " + snapshot.etag());
+		ResponseEntity<List<TimeSlotDay>> modified = controller.getMonthSlots("admin123", 2025, 11, "\"other\"");
+		
+		assertEquals(304, notModified.getStatusCode().value());
+		assertNull(notModified.getBody());
+		assertEquals(snapshot.etag(), notModified.getHeaders().getETag());
+		assertEquals(200, modified.getStatusCode().value());
+	}
+	
+	/**
+	 * Testa o endpoint GET /api/timeslots/days/{date} com If-None-Match
+	 * - Deve retornar 304 quando os horários do dia não mudaram.
+	 */
+	@Test
+	void testGetDaySlots_NotModified() {
+		when(timeSlotDayService.getDayByAdminAndDate(anyString(), any(LocalDate.class))).thenReturn(mockDay);
+		String etag = AvailabilityCalendarCache.etagOf(List.of(mockDay));
+		
+		ResponseEntity<?> response = controller.getDaySlots(LocalDate.now(), "admin123", etag);
+		
+		assertEquals(304, response.getStatusCode().value());
+		assertNull(response.getBody());
+	}
+	
+	private static MonthSnapshot snapshotOf(TimeSlotDay... days) {
+		return new MonthSnapshot(List.of(days), AvailabilityCalendarCache.etagOf(List.of(days)), Instant.now());
 	}
 }